@@ -0,0 +1,46 @@
+// Comparative load test for the servlet (default) and reactive profiles.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=1000 loadtest/payments.js
+//
+// Run the service pinned to a small number of cores (e.g. `taskset -c 0,1`) once per profile
+// and compare http_req_duration percentiles, http_reqs/s and the 503 SERVICE_BUSY rate.
+import http from 'k6/http';
+import { check } from 'k6';
+import { Rate } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = parseInt(__ENV.VUS || '1000');
+
+const serviceBusy = new Rate('service_busy');
+
+export const options = {
+    scenarios: {
+        payments: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: VUS },
+                { duration: '2m', target: VUS },
+                { duration: '15s', target: 0 },
+            ],
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+const body = JSON.stringify({
+    firstName: 'Cindy',
+    lastName: 'Wu',
+    zipCode: '3184',
+    cardNumber: '4242424242424242',
+});
+
+export default function () {
+    const res = http.post(`${BASE_URL}/v1/payments`, body, {
+        headers: { 'Content-Type': 'application/json' },
+    });
+    serviceBusy.add(res.status === 503);
+    check(res, { 'status is 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,105 @@
+package com.ezyCollect.payments.payment_service.benchmark;
+
+import com.ezyCollect.payments.payment_service.crypto.CounterIvGenerator;
+import com.ezyCollect.payments.payment_service.crypto.DataKey;
+import com.ezyCollect.payments.payment_service.crypto.DataKeyRing;
+import com.ezyCollect.payments.payment_service.crypto.IvGenerator;
+import com.ezyCollect.payments.payment_service.crypto.SharedRandomIvGenerator;
+import com.ezyCollect.payments.payment_service.crypto.ThreadLocalDrbgIvGenerator;
+import com.ezyCollect.payments.payment_service.dto.EncryptedCardInfo;
+import com.ezyCollect.payments.payment_service.repository.DataKeyRepository;
+import com.ezyCollect.payments.payment_service.service.CardEncryptionService;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.Provider;
+import java.security.Security;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Card encryption throughput per IV strategy and JCA provider at increasing thread counts.
+ * The counter strategy reserves blocks from an in-memory high-water mark instead of MySQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CardEncryptionBenchmark {
+    private static final String CARD_NUMBER = "4242424242424242";
+
+    @Param({"shared-random", "thread-local", "counter"})
+    public String strategy;
+
+    // Add BC or Conscrypt with -p provider=... once their jars are on the jmh classpath and registered
+    @Param({"SunJCE"})
+    public String provider;
+
+    private CardEncryptionService cardEncryptionService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Provider jcaProvider = Security.getProvider(provider);
+        cardEncryptionService = new CardEncryptionService(
+                new DataKeyRing("MDEyMzQ1Njc4OWFiY2RlZg==", new InMemoryDataKeyRepository(), jcaProvider, Duration.ofSeconds(30)),
+                "YmVuY2htYXJrLWZpbmdlcnByaW50LWtleQ==",
+                ivGenerator(strategy),
+                jcaProvider);
+    }
+
+    private static IvGenerator ivGenerator(String strategy) {
+        return switch (strategy) {
+            case "shared-random" -> new SharedRandomIvGenerator();
+            case "thread-local" -> new ThreadLocalDrbgIvGenerator();
+            case "counter" -> {
+                AtomicLong highWater = new AtomicLong();
+                yield new CounterIvGenerator((nodeId, blockSize) -> highWater.addAndGet(blockSize), 1, 1_000_000);
+            }
+            default -> throw new IllegalArgumentException("Unknown IV strategy: " + strategy);
+        };
+    }
+
+    @Benchmark
+    @Threads(1)
+    public EncryptedCardInfo encrypt_1thread() {
+        return cardEncryptionService.encryptCard(CARD_NUMBER);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public EncryptedCardInfo encrypt_4threads() {
+        return cardEncryptionService.encryptCard(CARD_NUMBER);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public EncryptedCardInfo encrypt_16threads() {
+        return cardEncryptionService.encryptCard(CARD_NUMBER);
+    }
+
+    // data_key table stand-in; the ring only touches it until the active key is cached
+    private static class InMemoryDataKeyRepository implements DataKeyRepository {
+        private final Map<Integer, DataKey> keys = new ConcurrentHashMap<>();
+
+        @Override
+        public Optional<DataKey> findLatest() {
+            return keys.values().stream().max(Comparator.comparingInt(DataKey::version));
+        }
+
+        @Override
+        public Optional<DataKey> findByVersion(int version) {
+            return Optional.ofNullable(keys.get(version));
+        }
+
+        @Override
+        public DataKey insert(String wrappedKey, String iv) {
+            DataKey dataKey = new DataKey(keys.size() + 1, wrappedKey, iv, LocalDateTime.now());
+            keys.put(dataKey.version(), dataKey);
+            return dataKey;
+        }
+    }
+}
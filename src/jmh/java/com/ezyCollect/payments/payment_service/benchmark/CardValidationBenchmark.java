@@ -0,0 +1,26 @@
+package com.ezyCollect.payments.payment_service.benchmark;
+
+import com.ezyCollect.payments.payment_service.validation.CardNumberValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the card number constraint for a valid card, a Luhn failure and an unknown BIN.
+ * Run with {@code -prof gc} to confirm it does not allocate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CardValidationBenchmark {
+
+    @Param({"4242424242424242", "4242424242424241", "1234567890123452"})
+    public String cardNumber;
+
+    private final CardNumberValidator validator = new CardNumberValidator();
+
+    @Benchmark
+    public boolean validate() {
+        return validator.isValid(cardNumber, null);
+    }
+}
@@ -0,0 +1,76 @@
+package com.ezyCollect.payments.payment_service.benchmark;
+
+import com.ezyCollect.payments.payment_service.PaymentServiceApplication;
+import com.ezyCollect.payments.payment_service.entity.Payment;
+import com.ezyCollect.payments.payment_service.repository.PaymentWriteRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the payment insert paths against an in-memory H2 database in MySQL mode, single-threaded
+ * and with 16 concurrent callers (where the coalescing path can group commits).
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PaymentInsertBenchmark {
+
+    @Param({"jpa", "jdbc", "coalescing"})
+    public String writePath;
+
+    private ConfigurableApplicationContext context;
+    private PaymentWriteRepository paymentWriteRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(PaymentServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.profiles.active=bench",
+                        "spring.datasource.url=jdbc:h2:mem:" + writePath
+                                + ";MODE=MySQL;DB_CLOSE_DELAY=-1;IGNORE_UNKNOWN_SETTINGS=TRUE",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.flyway.enabled=false",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "logging.level.root=WARN",
+                        "grpc.server.port=-1",
+                        "aes.secret.key=MDEyMzQ1Njc4OWFiY2RlZg==",
+                        "card.fingerprint.key=YmVuY2htYXJrLWZpbmdlcnByaW50LWtleQ==",
+                        "payment.write-path=" + writePath)
+                .run();
+        paymentWriteRepository = context.getBean(PaymentWriteRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Payment insert() {
+        return insertPayment();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Payment insert_16threads() {
+        return insertPayment();
+    }
+
+    private Payment insertPayment() {
+        return paymentWriteRepository.insert(Payment.builder()
+                .firstName("Christy")
+                .lastName("Wu")
+                .zipCode("2065")
+                .cardNumber("c2FtcGxlLWNpcGhlcnRleHQ=")
+                .iv("c2FtcGxlLWl2")
+                .build());
+    }
+}
@@ -0,0 +1,51 @@
+package com.ezyCollect.payments.payment_service.actuator;
+
+import com.ezyCollect.payments.payment_service.crypto.DataKeyRing;
+import com.ezyCollect.payments.payment_service.service.CardReEncryptionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Card data key administration. {@code POST /actuator/cardkeys/rotate} creates a new data key and
+ * starts re-encrypting stored cards with it; {@code POST /actuator/cardkeys/reencrypt} resumes the
+ * re-encryption without rotating.
+ */
+@Component
+@Endpoint(id = "cardkeys")
+@RequiredArgsConstructor
+public class CardKeyEndpoint {
+    private static final String ROTATE = "rotate";
+    private static final String RE_ENCRYPT = "reencrypt";
+
+    private final DataKeyRing dataKeyRing;
+    private final CardReEncryptionService cardReEncryptionService;
+
+    @ReadOperation
+    public Map<String, Object> keys() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("activeVersion", dataKeyRing.activeVersion());
+        result.put("reEncryption", cardReEncryptionService.status());
+        return result;
+    }
+
+    @WriteOperation
+    public Map<String, Object> run(@Selector String action) {
+        switch (action) {
+            case ROTATE -> dataKeyRing.rotate();
+            case RE_ENCRYPT -> { }
+            default -> throw new InvalidEndpointRequestException(
+                    "Unknown action: " + action, "Unknown action, expected rotate or reencrypt");
+        }
+        Map<String, Object> result = keys();
+        result.put("started", cardReEncryptionService.start());
+        return result;
+    }
+}
@@ -0,0 +1,75 @@
+package com.ezyCollect.payments.payment_service.actuator;
+
+import com.ezyCollect.payments.payment_service.crypto.CryptoProviderSelector;
+import com.sun.management.HotSpotDiagnosticMXBean;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.security.Provider;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reports the JCA provider used for card encryption, the startup self-test results
+ * and whether the JVM has the AES/GHASH intrinsics (AES-NI, ARMv8 crypto) enabled.
+ */
+@Component
+@Endpoint(id = "crypto")
+@RequiredArgsConstructor
+public class CryptoEndpoint {
+    private static final List<String> INTRINSIC_FLAGS =
+            List.of("UseAES", "UseAESIntrinsics", "UseAESCTRIntrinsics", "UseGHASHIntrinsics");
+    private static final String UNKNOWN = "unknown";
+
+    private final CryptoProviderSelector cryptoProviderSelector;
+
+    @ReadOperation
+    public Map<String, Object> crypto() {
+        Provider provider = cryptoProviderSelector.getProvider();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("provider", provider.getName());
+        result.put("version", provider.getVersionStr());
+        result.put("selfTests", cryptoProviderSelector.getSelfTests().stream()
+                .map(test -> Map.of(
+                        "provider", test.name(),
+                        "compliant", test.compliant(),
+                        "opsPerSecond", Math.round(test.opsPerSecond())))
+                .toList());
+        result.put("arch", System.getProperty("os.arch"));
+        result.put("intrinsics", intrinsics());
+        return result;
+    }
+
+    private static Map<String, String> intrinsics() {
+        Map<String, String> flags = new LinkedHashMap<>();
+        HotSpotDiagnosticMXBean hotSpot = hotSpotDiagnostics();
+        for (String flag : INTRINSIC_FLAGS) {
+            flags.put(flag, vmOption(hotSpot, flag));
+        }
+        return flags;
+    }
+
+    private static HotSpotDiagnosticMXBean hotSpotDiagnostics() {
+        try {
+            return ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // Flags are platform specific, e.g. UseAESCTRIntrinsics does not exist on every CPU architecture
+    private static String vmOption(HotSpotDiagnosticMXBean hotSpot, String flag) {
+        if (hotSpot == null) {
+            return UNKNOWN;
+        }
+        try {
+            return hotSpot.getVMOption(flag).getValue();
+        } catch (IllegalArgumentException e) {
+            return UNKNOWN;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.ezyCollect.payments.payment_service.actuator;
+
+import com.ezyCollect.payments.payment_service.service.PaymentEventFeed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code paymentEventFeed} in {@code /actuator/health}: {@code DOWN} while the feed writer's inserts
+ * are failing or another instance writes the feed. Events lost since startup are always reported,
+ * so a past outage stays visible after the writer recovers.
+ */
+@Component
+@RequiredArgsConstructor
+public class PaymentEventFeedHealthIndicator implements HealthIndicator {
+    private final PaymentEventFeed paymentEventFeed;
+
+    @Override
+    public Health health() {
+        PaymentEventFeed.Status status = paymentEventFeed.status();
+        Health.Builder health = status.writeFailure() == null && !status.otherWriter() ? Health.up() : Health.down();
+        health.withDetail("queued", status.queued())
+                .withDetail("queueCapacity", status.queueCapacity())
+                .withDetail("droppedEvents", status.droppedEvents())
+                .withDetail("failedEvents", status.failedEvents())
+                .withDetail("newestId", status.newestId());
+        if (status.writeFailure() != null) {
+            health.withDetail("writeFailure", status.writeFailure());
+        }
+        if (status.otherWriter()) {
+            health.withDetail("otherWriter", "another instance writes payment_event; the feed supports one writer");
+        }
+        return health.build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.ezyCollect.payments.payment_service.actuator;
+
+import com.ezyCollect.payments.payment_service.service.WebhookDeliveryStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Outgoing delivery statistics per webhook since startup: in-flight deliveries, success and
+ * failure rates, retries, circuit state and latency percentiles. {@code /actuator/webhooks/{id}}
+ * reports one webhook; unknown ids return 404.
+ */
+@Component
+@Endpoint(id = "webhooks")
+@RequiredArgsConstructor
+public class WebhookEndpoint {
+    private final WebhookDeliveryStats webhookDeliveryStats;
+
+    @ReadOperation
+    public Map<Long, WebhookDeliveryStats.Snapshot> webhooks() {
+        return webhookDeliveryStats.snapshot();
+    }
+
+    @ReadOperation
+    public WebhookDeliveryStats.Snapshot webhook(@Selector Long id) {
+        return webhookDeliveryStats.snapshot(id);
+    }
+}
@@ -1,16 +1,18 @@
 package com.ezyCollect.payments.payment_service.configuration;
 
+import com.ezyCollect.payments.payment_service.util.StripedExecutor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.retry.annotation.EnableRetry;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
 
 @Configuration
 @EnableAsync
-@EnableRetry
+@EnableScheduling
 public class AsyncConfig {
     @Bean
     public Executor taskExecutor() {
@@ -21,4 +23,50 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
-}
\ No newline at end of file
+
+    // CPU-bound card crypto, sized to the available cores
+    @Bean
+    public Executor cryptoExecutor() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(cores);
+        executor.setMaxPoolSize(cores);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("crypto-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Blocking gateway calls and database writes for async payments, sized to the payment connection pool
+    @Bean
+    public Executor ioExecutor(@Value("${payment.io.pool-size:${spring.datasource.payment.hikari.maximum-pool-size:20}}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("io-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Card re-encryption: one long-running job at a time, kept off the shared pool. The queue slot takes
+    // a restart submitted while the previous run's thread is still returning.
+    @Bean
+    public Executor cardReEncryptionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("card-reencryption-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Inbound webhooks: one single-threaded lane per stripe keeps each transaction's events in order
+    @Bean
+    public StripedExecutor webhookLanes(@Value("${webhook.inbound.lanes:0}") int lanes,
+                                        @Value("${webhook.inbound.queue-capacity:1000}") int queueCapacity) {
+        int stripes = lanes > 0 ? lanes : Runtime.getRuntime().availableProcessors();
+        return new StripedExecutor("webhook-lane", stripes, queueCapacity);
+    }
+}
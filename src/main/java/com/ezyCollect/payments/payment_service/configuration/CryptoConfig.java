@@ -0,0 +1,17 @@
+package com.ezyCollect.payments.payment_service.configuration;
+
+import com.ezyCollect.payments.payment_service.crypto.CryptoProviderSelector;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.security.Provider;
+
+@Configuration
+public class CryptoConfig {
+
+    // JCA provider for card AES-GCM, chosen by the startup self-test
+    @Bean
+    public Provider cardCryptoProvider(CryptoProviderSelector cryptoProviderSelector) {
+        return cryptoProviderSelector.getProvider();
+    }
+}
@@ -0,0 +1,74 @@
+package com.ezyCollect.payments.payment_service.configuration;
+
+import com.ezyCollect.payments.payment_service.entity.CardToken;
+import com.ezyCollect.payments.payment_service.entity.Payment;
+import com.ezyCollect.payments.payment_service.entity.Webhook;
+import com.ezyCollect.payments.payment_service.repository.PaymentRepository;
+import com.ezyCollect.payments.payment_service.repository.WebhookEventRepository;
+import com.ezyCollect.payments.payment_service.repository.WebhookLogRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+/**
+ * Primary persistence unit for payments and webhook registrations, backed by its own
+ * connection pool so webhook log traffic can never starve a payment commit.
+ */
+@Configuration
+@EnableJpaRepositories(
+        basePackageClasses = PaymentRepository.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                classes = {WebhookLogRepository.class, WebhookEventRepository.class}),
+        entityManagerFactoryRef = "entityManagerFactory",
+        transactionManagerRef = "transactionManager")
+public class PaymentPersistenceConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource.payment.hikari")
+    public HikariDataSource paymentDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public LocalContainerEntityManagerFactoryBean entityManagerFactory(
+            EntityManagerFactoryBuilder builder,
+            @Qualifier("paymentDataSource") DataSource paymentDataSource,
+            JpaProperties jpaProperties,
+            HibernateProperties hibernateProperties) {
+        return builder
+                .dataSource(paymentDataSource)
+                .managedTypes(PersistenceManagedTypes.of(
+                        Payment.class.getName(), CardToken.class.getName(), Webhook.class.getName()))
+                .properties(hibernateProperties.determineHibernateProperties(
+                        jpaProperties.getProperties(), new HibernateSettings()))
+                .persistenceUnit("payment")
+                .build();
+    }
+
+    @Bean
+    @Primary
+    public PlatformTransactionManager transactionManager(
+            @Qualifier("entityManagerFactory") EntityManagerFactory entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+}
@@ -0,0 +1,45 @@
+package com.ezyCollect.payments.payment_service.configuration;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.reactive.config.BlockingExecutionConfigurer;
+import org.springframework.web.reactive.config.CorsRegistry;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+import java.util.concurrent.Executor;
+
+/**
+ * WebFlux settings for the {@code reactive} profile. Controller methods with a plain return type
+ * still reach JPA, so they run on the I/O executor rather than the Netty event loop.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebConfig implements WebFluxConfigurer {
+    private final Executor ioExecutor;
+
+    public ReactiveWebConfig(@Qualifier("ioExecutor") Executor ioExecutor) {
+        this.ioExecutor = ioExecutor;
+    }
+
+    // Tomcat is also on the classpath for the servlet stack; serve the reactive profile from Netty
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Override
+    public void configureBlockingExecution(BlockingExecutionConfigurer configurer) {
+        configurer.setExecutor(new TaskExecutorAdapter(ioExecutor));
+    }
+
+    @Override
+    public void addCorsMappings(CorsRegistry registry) {
+        registry.addMapping("/v1/**")
+                .allowedOrigins("*")
+                .allowedMethods("POST", "GET");
+    }
+}
@@ -0,0 +1,69 @@
+package com.ezyCollect.payments.payment_service.configuration;
+
+import com.ezyCollect.payments.payment_service.entity.WebhookEvent;
+import com.ezyCollect.payments.payment_service.entity.WebhookLog;
+import com.ezyCollect.payments.payment_service.repository.WebhookEventRepository;
+import com.ezyCollect.payments.payment_service.repository.WebhookLogRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+/**
+ * Separate persistence unit and connection pool for the high-volume webhook_log table and the
+ * webhook_event dedupe table written alongside it.
+ * Services writing webhook logs must use {@link #TRANSACTION_MANAGER}.
+ */
+@Configuration
+@EnableJpaRepositories(
+        basePackageClasses = WebhookLogRepository.class,
+        includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                classes = {WebhookLogRepository.class, WebhookEventRepository.class}),
+        entityManagerFactoryRef = "webhookLogEntityManagerFactory",
+        transactionManagerRef = WebhookLogPersistenceConfig.TRANSACTION_MANAGER)
+public class WebhookLogPersistenceConfig {
+    public static final String TRANSACTION_MANAGER = "webhookLogTransactionManager";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.webhook-log.hikari")
+    public HikariDataSource webhookLogDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public LocalContainerEntityManagerFactoryBean webhookLogEntityManagerFactory(
+            EntityManagerFactoryBuilder builder,
+            @Qualifier("webhookLogDataSource") DataSource webhookLogDataSource,
+            JpaProperties jpaProperties,
+            HibernateProperties hibernateProperties) {
+        return builder
+                .dataSource(webhookLogDataSource)
+                .managedTypes(PersistenceManagedTypes.of(WebhookLog.class.getName(), WebhookEvent.class.getName()))
+                .properties(hibernateProperties.determineHibernateProperties(
+                        jpaProperties.getProperties(), new HibernateSettings()))
+                .persistenceUnit("webhookLog")
+                .build();
+    }
+
+    @Bean(TRANSACTION_MANAGER)
+    public PlatformTransactionManager webhookLogTransactionManager(
+            @Qualifier("webhookLogEntityManagerFactory") EntityManagerFactory webhookLogEntityManagerFactory) {
+        return new JpaTransactionManager(webhookLogEntityManagerFactory);
+    }
+}
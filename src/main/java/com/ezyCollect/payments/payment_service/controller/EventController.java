@@ -0,0 +1,84 @@
+package com.ezyCollect.payments.payment_service.controller;
+
+import com.ezyCollect.payments.payment_service.exception.ErrorCode;
+import com.ezyCollect.payments.payment_service.exception.PaymentException;
+import com.ezyCollect.payments.payment_service.service.PaymentEventFeed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/v1/events")
+public class EventController {
+    private static final int MAX_LIMIT = 1000;
+    private static final int MAX_WAIT_SECONDS = 25; // stays under spring.mvc.async.request-timeout
+    private static final String CURSOR_PREFIX = "pe1:";
+
+    private final PaymentEventFeed paymentEventFeed;
+
+    /**
+     * Events after {@code cursor} (from the start of the feed when absent). An empty read waits up
+     * to {@code wait} seconds for new events. Continue with the returned {@code cursor}.
+     */
+    @GetMapping
+    public CompletionStage<ResponseEntity<byte[]>> getEvents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "20") int wait) {
+
+        long afterId = cursor == null ? 0L : decodeCursor(cursor);
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+        Duration waitTime = Duration.ofSeconds(Math.max(0, Math.min(wait, MAX_WAIT_SECONDS)));
+
+        return paymentEventFeed.poll(afterId, pageSize, waitTime)
+                .thenApply(page -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(toJson(page.events(), encodeCursor(page.lastId()))));
+    }
+
+    // events are already serialized once in the feed; only the envelope is written per request
+    private static byte[] toJson(List<byte[]> events, String cursor) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes("{\"events\":[".getBytes(StandardCharsets.UTF_8));
+        for (int i = 0; i < events.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.writeBytes(events.get(i));
+        }
+        out.writeBytes(("],\"cursor\":\"" + cursor + "\"}").getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+
+    static String encodeCursor(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static long decodeCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (decoded.startsWith(CURSOR_PREFIX)) {
+                long afterId = Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+                if (afterId >= 0) {
+                    return afterId;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // not base64 or not a number, same as a wrong prefix
+        }
+        throw new PaymentException(ErrorCode.INVALID_EVENT_CURSOR);
+    }
+}
@@ -1,6 +1,7 @@
 package com.ezyCollect.payments.payment_service.controller;
 
 
+import com.ezyCollect.payments.payment_service.dto.PaymentDetailResponse;
 import com.ezyCollect.payments.payment_service.dto.PaymentRequest;
 import com.ezyCollect.payments.payment_service.dto.PaymentResponse;
 import com.ezyCollect.payments.payment_service.service.PaymentService;
@@ -10,17 +11,29 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/v1/payments")
 public class PaymentController {
     private final PaymentService paymentService;
     @PostMapping
-    public ResponseEntity<PaymentResponse> createPayment(
+    public CompletionStage<ResponseEntity<PaymentResponse>> createPayment(
             @RequestBody @Valid PaymentRequest request) {
 
-        PaymentResponse response = paymentService.processPayment(request);
+        return paymentService.processPaymentAsync(request)
+                .thenApply(response -> ResponseEntity.status(HttpStatus.OK).body(response));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<PaymentDetailResponse> getPayment(@PathVariable Long id) {
+        return ResponseEntity.ok(paymentService.getPayment(id));
+    }
 
-        return ResponseEntity.status(HttpStatus.OK).body(response);
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<PaymentDetailResponse>> getPayments(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(paymentService.getPayments(ids));
     }
 }
@@ -1,16 +1,22 @@
 package com.ezyCollect.payments.payment_service.controller;
 
-import com.ezyCollect.payments.payment_service.dto.PaymentResponse;
 import com.ezyCollect.payments.payment_service.dto.WebhookRequest;
+import com.ezyCollect.payments.payment_service.exception.ErrorCode;
+import com.ezyCollect.payments.payment_service.exception.WebhookException;
+import com.ezyCollect.payments.payment_service.service.WebhookDedupeService;
 import com.ezyCollect.payments.payment_service.service.WebhookReceivingService;
 import com.ezyCollect.payments.payment_service.service.WebhookService;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import jakarta.servlet.http.HttpServletRequest;
+import com.ezyCollect.payments.payment_service.util.JsonFields;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.RejectedExecutionException;
 
 @Slf4j
 @RestController
@@ -20,11 +26,19 @@ public class WebhookController {
 
     private final WebhookService webhookService;
 
+    private final WebhookDedupeService webhookDedupeService;
+
+    private final ObjectMapper objectMapper;
+
     public WebhookController(
             WebhookReceivingService webhookReceivingService,
-            WebhookService webhookService) {
+            WebhookService webhookService,
+            WebhookDedupeService webhookDedupeService,
+            ObjectMapper objectMapper) {
         this.webhookReceivingService = webhookReceivingService;
         this.webhookService = webhookService;
+        this.webhookDedupeService = webhookDedupeService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping("/register")
@@ -34,17 +48,36 @@ public class WebhookController {
     }
 
     @PostMapping("/receive")
-    public ResponseEntity<String> receiveWebhook(@RequestBody PaymentResponse payload,
+    public ResponseEntity<String> receiveWebhook(@RequestBody byte[] body,
                                                  @RequestHeader(value = "X-Signature", required = false) String signature,
-                                                 HttpServletRequest request) throws JsonProcessingException {
-        // TODO: Verify the signature to confirm the webhook is from a trusted source
+                                                 @RequestHeader(value = "X-Event-Id", required = false) String eventId,
+                                                 UriComponentsBuilder uriBuilder) {
+        // TODO: Verify the signature (over the raw body) to confirm the webhook is from a trusted source
+
+        // only the routing field is read here; the full payload is parsed on the worker
+        String transactionId;
+        try {
+            transactionId = JsonFields.topLevelText(objectMapper.getFactory(), body, "transactionId");
+        } catch (IOException e) {
+            throw new WebhookException(ErrorCode.REQUEST_BODY_MISSING, e);
+        }
+
+        // at-least-once senders retry: acknowledge a repeat delivery without any database write
+        String eventKey = WebhookDedupeService.eventKey(eventId, body);
+        if (webhookDedupeService.isDuplicate(eventKey)) {
+            return ResponseEntity.ok("Webhook already received");
+        }
 
         // fire and forget : Offload heavy work to background
         try{
-            webhookReceivingService.processWebhookAsync(payload, request.getRequestURL().toString());
+            webhookReceivingService.processWebhookAsync(body, transactionId, eventKey,
+                    uriBuilder.path("/v1/webhooks/receive").toUriString());
+        } catch (RejectedExecutionException e) {
+            // lane queue is full: answer 503 so the sender retries later instead of losing the event
+            throw e;
         } catch (Exception e) {
             log.warn("Async webhook processing failed for transactionI={}: {}",
-                    payload.transactionId(), e.getMessage());
+                    transactionId, e.getMessage());
         }
 
         // Respond immediately
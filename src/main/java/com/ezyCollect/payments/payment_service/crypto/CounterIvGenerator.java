@@ -0,0 +1,72 @@
+package com.ezyCollect.payments.payment_service.crypto;
+
+import com.ezyCollect.payments.payment_service.repository.IvCounterRepository;
+import com.ezyCollect.payments.payment_service.util.AESUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deterministic GCM IVs: a 4-byte node id followed by an 8-byte counter (NIST SP 800-38D, 8.2.1).
+ * Counters are handed out from blocks reserved in the iv_counter table, so a restart always
+ * continues above the persisted high-water mark and an IV is never reused. Every instance
+ * sharing the key must be configured with a unique {@code card.iv.node-id}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "card.iv.strategy", havingValue = "counter")
+public class CounterIvGenerator implements IvGenerator {
+    private final IvCounterRepository ivCounterRepository;
+    private final int nodeId;
+    private final long blockSize;
+    private volatile CounterBlock block;
+
+    public CounterIvGenerator(IvCounterRepository ivCounterRepository,
+                              @Value("${card.iv.node-id}") int nodeId,
+                              @Value("${card.iv.block-size:1000000}") long blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalStateException("IV counter block size must be positive");
+        }
+        this.ivCounterRepository = ivCounterRepository;
+        this.nodeId = nodeId;
+        this.blockSize = blockSize;
+        this.block = CounterBlock.EXHAUSTED;
+    }
+
+    @Override
+    public byte[] nextIv() {
+        while (true) {
+            CounterBlock current = block;
+            long counter = current.next.getAndIncrement();
+            if (counter < current.limit) {
+                return ByteBuffer.allocate(AESUtil.IV_LENGTH).putInt(nodeId).putLong(counter).array();
+            }
+            reserveBlock(current);
+        }
+    }
+
+    private synchronized void reserveBlock(CounterBlock exhausted) {
+        if (block != exhausted) {
+            return; // another thread already reserved a fresh block
+        }
+        long highWater = ivCounterRepository.reserveBlock(nodeId, blockSize);
+        block = new CounterBlock(highWater - blockSize, highWater);
+        log.info("Reserved IV counter block [{}, {}) for node {}", highWater - blockSize, highWater, nodeId);
+    }
+
+    private static final class CounterBlock {
+        static final CounterBlock EXHAUSTED = new CounterBlock(0, 0);
+
+        final AtomicLong next;
+        final long limit;
+
+        CounterBlock(long start, long limit) {
+            this.next = new AtomicLong(start);
+            this.limit = limit;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.ezyCollect.payments.payment_service.crypto;
+
+import com.ezyCollect.payments.payment_service.util.AESUtil;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.security.Provider;
+import java.security.Security;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Chooses the JCA provider used for card AES-GCM. At startup every available provider
+ * (SunJCE, plus BouncyCastle and Conscrypt when their jars are on the classpath) runs a
+ * known-answer test and a short throughput measurement. With {@code card.crypto.provider=auto}
+ * the fastest provider that passes the known-answer test is used; otherwise the named one.
+ */
+@Slf4j
+@Component
+public class CryptoProviderSelector {
+    public static final String AUTO = "auto";
+
+    // AES-128-GCM test case 3 from the GCM specification (McGrew & Viega)
+    private static final HexFormat HEX = HexFormat.of();
+    private static final byte[] KAT_KEY = HEX.parseHex("feffe9928665731c6d6a8f9467308308");
+    private static final byte[] KAT_IV = HEX.parseHex("cafebabefacedbaddecaf888");
+    private static final byte[] KAT_PLAIN = HEX.parseHex(
+            "d9313225f88406e5a55909c5aff5269a86a7a9531534f7da2e4c303d8a318a72"
+                    + "1c3c0c95956809532fcf0e2449a6b525b16aedf5aa0de657ba637b391aafd255");
+    private static final byte[] KAT_EXPECTED = HEX.parseHex(
+            "42831ec2217774244b7221b784d0d49ce3aa212f2c02a4e035c17e2329aca12e"
+                    + "21d514b25466931c7d8f6a5aac84aa051ba30b396a0aac973d58e091473f5985"
+                    + "4d5c2af327cd64a62cf35abd2ba6fab4");
+    private static final byte[] SAMPLE_CARD = "4242424242424242".getBytes();
+
+    @Getter
+    private final Provider provider;
+    @Getter
+    private final List<ProviderSelfTest> selfTests;
+
+    public CryptoProviderSelector(@Value("${card.crypto.provider:auto}") String configuredProvider,
+                                  @Value("${card.crypto.self-test-duration:200ms}") Duration selfTestDuration) {
+        this.selfTests = availableProviders().values().stream()
+                .map(candidate -> selfTest(candidate, selfTestDuration))
+                .toList();
+        this.provider = select(configuredProvider);
+        log.info("Card encryption uses JCA provider {} {}", provider.getName(), provider.getVersionStr());
+    }
+
+    private Provider select(String configuredProvider) {
+        if (AUTO.equalsIgnoreCase(configuredProvider)) {
+            return selfTests.stream()
+                    .filter(ProviderSelfTest::compliant)
+                    .max(Comparator.comparingDouble(ProviderSelfTest::opsPerSecond))
+                    .map(ProviderSelfTest::provider)
+                    .orElseThrow(() -> new IllegalStateException("No JCA provider passed the AES-GCM self-test"));
+        }
+
+        ProviderSelfTest selfTest = selfTests.stream()
+                .filter(test -> test.name().equalsIgnoreCase(configuredProvider))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException(
+                        "Configured JCA provider is not available: " + configuredProvider));
+        if (!selfTest.compliant()) {
+            throw new IllegalStateException("Configured JCA provider failed the AES-GCM self-test: " + configuredProvider);
+        }
+        return selfTest.provider();
+    }
+
+    private static Map<String, Provider> availableProviders() {
+        Map<String, Provider> providers = new LinkedHashMap<>();
+        Optional.ofNullable(Security.getProvider("SunJCE")).ifPresent(p -> providers.put(p.getName(), p));
+        instantiate("org.bouncycastle.jce.provider.BouncyCastleProvider", null)
+                .ifPresent(p -> providers.put(p.getName(), p));
+        instantiate("org.conscrypt.Conscrypt", "newProvider")
+                .ifPresent(p -> providers.put(p.getName(), p));
+        return providers;
+    }
+
+    // Optional providers are loaded reflectively so they stay optional runtime dependencies
+    private static Optional<Provider> instantiate(String className, String factoryMethod) {
+        try {
+            Class<?> type = Class.forName(className);
+            Object instance = factoryMethod == null
+                    ? type.getDeclaredConstructor().newInstance()
+                    : type.getMethod(factoryMethod).invoke(null);
+            return Optional.of((Provider) instance);
+        } catch (ClassNotFoundException e) {
+            return Optional.empty();
+        } catch (Exception | LinkageError e) {
+            log.warn("JCA provider {} is on the classpath but could not be loaded: {}", className, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static ProviderSelfTest selfTest(Provider candidate, Duration duration) {
+        SecretKey key = AESUtil.loadKeyFromBytes(KAT_KEY);
+        try {
+            boolean compliant = Arrays.equals(KAT_EXPECTED, AESUtil.encryptBytes(KAT_PLAIN, key, KAT_IV, candidate));
+            return new ProviderSelfTest(candidate, candidate.getName(), compliant, measure(candidate, key, duration));
+        } catch (Exception e) {
+            log.warn("JCA provider {} failed the AES-GCM self-test: {}", candidate.getName(), e.getMessage());
+            return new ProviderSelfTest(candidate, candidate.getName(), false, 0);
+        }
+    }
+
+    // Encryptions per second of a card-sized payload; the first half of the window is warm-up
+    private static double measure(Provider candidate, SecretKey key, Duration duration) throws Exception {
+        byte[] iv = KAT_IV.clone();
+        long warmupEnd = System.nanoTime() + duration.toNanos() / 2;
+        while (System.nanoTime() < warmupEnd) {
+            AESUtil.encryptBytes(SAMPLE_CARD, key, iv, candidate);
+        }
+
+        long operations = 0;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos() / 2;
+        long now;
+        do {
+            AESUtil.encryptBytes(SAMPLE_CARD, key, iv, candidate);
+            operations++;
+            now = System.nanoTime();
+        } while (now < end);
+        return operations * 1_000_000_000.0 / (now - start);
+    }
+
+    public record ProviderSelfTest(Provider provider, String name, boolean compliant, double opsPerSecond) {
+    }
+}
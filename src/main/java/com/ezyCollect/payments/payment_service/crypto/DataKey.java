@@ -0,0 +1,12 @@
+package com.ezyCollect.payments.payment_service.crypto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A data encryption key as stored in {@code data_key}.
+ * @param version     key version referenced by {@code payment.key_version}
+ * @param wrappedKey  Base64 AES-GCM encryption of the key bytes under the key-encryption key
+ * @param iv          Base64 IV used for wrapping
+ * @param createdAt   creation time
+ */
+public record DataKey(int version, String wrappedKey, String iv, LocalDateTime createdAt) { }
@@ -0,0 +1,159 @@
+package com.ezyCollect.payments.payment_service.crypto;
+
+import com.ezyCollect.payments.payment_service.exception.EncryptionException;
+import com.ezyCollect.payments.payment_service.repository.DataKeyRepository;
+import com.ezyCollect.payments.payment_service.util.AESUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.security.GeneralSecurityException;
+import java.security.Provider;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Envelope encryption keys for card data. Each key version is a random data key stored in
+ * {@code data_key}, wrapped with the key-encryption key from {@code aes.secret.key}; unwrapped
+ * keys are cached in memory. Version 0 means the row was encrypted directly with the
+ * key-encryption key, as all rows were before key versioning.
+ * <p>
+ * The latest {@code data_key} row is the active version for every instance. Each instance re-reads
+ * it every {@code card.data-key.refresh-interval}, so a rotation on one instance reaches the others
+ * within that interval without a restart.
+ */
+@Slf4j
+@Component
+public class DataKeyRing {
+    public static final int LEGACY_VERSION = 0;
+
+    private final SecretKey keyEncryptionKey;
+    private final DataKeyRepository dataKeyRepository;
+    private final Provider provider;
+    private final long refreshIntervalNanos;
+    private final Map<Integer, SecretKey> dataKeys = new ConcurrentHashMap<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile Integer activeVersion;
+    private volatile long loadedAtNanos;
+
+    public DataKeyRing(@Value("${aes.secret.key}") String keyEncryptionKeyString,
+                       DataKeyRepository dataKeyRepository,
+                       Provider provider,
+                       @Value("${card.data-key.refresh-interval:30s}") Duration refreshInterval) {
+        if (keyEncryptionKeyString == null || keyEncryptionKeyString.isBlank()) {
+            throw new IllegalStateException("AES secret key must not be blank");
+        }
+        this.keyEncryptionKey = AESUtil.decodeKeyFromBase64(keyEncryptionKeyString);
+        this.dataKeyRepository = dataKeyRepository;
+        this.provider = provider;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+    }
+
+    /**
+     * Version used for new encryptions. Loaded on first use; a data key is created if none exists yet.
+     * Once stale, one caller re-reads the latest version while the others keep using the cached one.
+     */
+    public int activeVersion() {
+        Integer version = activeVersion;
+        if (version == null) {
+            synchronized (this) {
+                if (activeVersion == null) {
+                    loadActiveVersion();
+                }
+                return activeVersion;
+            }
+        }
+        if (System.nanoTime() - loadedAtNanos >= refreshIntervalNanos && refreshing.compareAndSet(false, true)) {
+            try {
+                return refreshActiveVersion();
+            } catch (RuntimeException e) {
+                // keep encrypting with the cached key; the next caller after the interval retries
+                loadedAtNanos = System.nanoTime();
+                log.warn("Could not refresh the active card data key, keeping version {}: {}", version, e.getMessage());
+            } finally {
+                refreshing.set(false);
+            }
+        }
+        return version;
+    }
+
+    /**
+     * Re-read the latest data key version now, picking up a rotation done on another instance
+     * @return the active version
+     */
+    public synchronized int refreshActiveVersion() {
+        loadActiveVersion();
+        return activeVersion;
+    }
+
+    public SecretKey key(int version) {
+        if (version == LEGACY_VERSION) {
+            return keyEncryptionKey;
+        }
+        SecretKey key = dataKeys.get(version);
+        if (key != null) {
+            return key;
+        }
+        // written by another instance after a rotation there
+        DataKey dataKey = dataKeyRepository.findByVersion(version)
+                .orElseThrow(() -> new EncryptionException("Unknown data key version: " + version));
+        cache(dataKey);
+        return dataKeys.get(version);
+    }
+
+    /**
+     * Create a new data key and use it for all new encryptions; other instances switch to it at
+     * their next refresh
+     * @return the new active version
+     */
+    public synchronized int rotate() {
+        int version = createDataKey();
+        activeVersion = version;
+        loadedAtNanos = System.nanoTime();
+        log.info("Rotated card data key to version {}", version);
+        return version;
+    }
+
+    // caller holds the lock
+    private void loadActiveVersion() {
+        Integer previous = activeVersion;
+        activeVersion = dataKeyRepository.findLatest()
+                .map(dataKey -> dataKeys.containsKey(dataKey.version()) ? dataKey.version() : cache(dataKey))
+                .orElseGet(this::createDataKey);
+        loadedAtNanos = System.nanoTime();
+        if (previous != null && !previous.equals(activeVersion)) {
+            log.info("Card data key rotated elsewhere, now using version {}", activeVersion);
+        }
+    }
+
+    private int createDataKey() {
+        SecretKey dataKey;
+        byte[] iv = AESUtil.generateRandomIV();
+        byte[] wrapped;
+        try {
+            dataKey = AESUtil.generateKey();
+            wrapped = AESUtil.encryptBytes(dataKey.getEncoded(), keyEncryptionKey, iv, provider);
+        } catch (Exception e) {
+            throw new EncryptionException("Failed to create data key", e);
+        }
+        DataKey stored = dataKeyRepository.insert(
+                Base64.getEncoder().encodeToString(wrapped), Base64.getEncoder().encodeToString(iv));
+        dataKeys.put(stored.version(), dataKey);
+        return stored.version();
+    }
+
+    private int cache(DataKey dataKey) {
+        try {
+            byte[] keyBytes = AESUtil.decryptBytes(Base64.getDecoder().decode(dataKey.wrappedKey()),
+                    keyEncryptionKey, Base64.getDecoder().decode(dataKey.iv()), provider);
+            dataKeys.put(dataKey.version(), AESUtil.loadKeyFromBytes(keyBytes));
+            return dataKey.version();
+        } catch (GeneralSecurityException e) {
+            throw new EncryptionException("Failed to unwrap data key version " + dataKey.version(), e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.ezyCollect.payments.payment_service.crypto;
+
+/**
+ * Source of 96-bit AES-GCM IVs. An IV must never repeat under the same key.
+ * The strategy is selected with {@code card.iv.strategy} (thread-local | counter | shared-random).
+ */
+public interface IvGenerator {
+    byte[] nextIv();
+}
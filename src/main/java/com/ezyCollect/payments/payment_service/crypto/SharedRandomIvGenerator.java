@@ -0,0 +1,16 @@
+package com.ezyCollect.payments.payment_service.crypto;
+
+import com.ezyCollect.payments.payment_service.util.AESUtil;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Single SecureRandom shared by all threads; kept for comparison with the other strategies
+@Component
+@ConditionalOnProperty(name = "card.iv.strategy", havingValue = "shared-random")
+public class SharedRandomIvGenerator implements IvGenerator {
+
+    @Override
+    public byte[] nextIv() {
+        return AESUtil.generateRandomIV();
+    }
+}
@@ -0,0 +1,38 @@
+package com.ezyCollect.payments.payment_service.crypto;
+
+import com.ezyCollect.payments.payment_service.exception.EncryptionException;
+import com.ezyCollect.payments.payment_service.util.AESUtil;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.security.DrbgParameters;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+/**
+ * Random IVs from one DRBG per thread. Threads never contend on a shared generator, and a
+ * DRBG without prediction resistance only reads system entropy when it is first seeded.
+ */
+@Component
+@ConditionalOnProperty(name = "card.iv.strategy", havingValue = "thread-local", matchIfMissing = true)
+public class ThreadLocalDrbgIvGenerator implements IvGenerator {
+    private static final int SECURITY_STRENGTH = 256;
+
+    private final ThreadLocal<SecureRandom> drbg = ThreadLocal.withInitial(ThreadLocalDrbgIvGenerator::newDrbg);
+
+    @Override
+    public byte[] nextIv() {
+        byte[] iv = new byte[AESUtil.IV_LENGTH];
+        drbg.get().nextBytes(iv);
+        return iv;
+    }
+
+    private static SecureRandom newDrbg() {
+        try {
+            return SecureRandom.getInstance("DRBG",
+                    DrbgParameters.instantiation(SECURITY_STRENGTH, DrbgParameters.Capability.RESEED_ONLY, null));
+        } catch (NoSuchAlgorithmException e) {
+            throw new EncryptionException("DRBG is not available", e);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.ezyCollect.payments.payment_service.dto;
+
+/**
+ * What a payment needs to reference a vaulted card; never contains the card number or its cipher text.
+ * @param tokenId       card_token id
+ * @param fingerprint   keyed HMAC of the card number
+ * @param bin           first six digits
+ * @param last4         last four digits
+ */
+public record CardTokenInfo(Long tokenId, String fingerprint, String bin, String last4) { }
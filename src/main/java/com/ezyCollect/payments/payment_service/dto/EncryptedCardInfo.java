@@ -1,3 +1,12 @@
 package com.ezyCollect.payments.payment_service.dto;
 
-public record EncryptedCardInfo(String encryptedCard, String iv) { }
+/**
+ * @param encryptedCard   Base64 AES-GCM cipher text
+ * @param iv              Base64 IV used for encryption
+ * @param keyVersion      data key version the card was encrypted with
+ * @param fingerprint     keyed HMAC of the card number, for lookups without decryption
+ * @param bin             first six digits
+ * @param last4           last four digits
+ */
+public record EncryptedCardInfo(String encryptedCard, String iv, int keyVersion,
+                                String fingerprint, String bin, String last4) { }
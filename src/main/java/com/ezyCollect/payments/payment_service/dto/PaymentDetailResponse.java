@@ -0,0 +1,15 @@
+package com.ezyCollect.payments.payment_service.dto;
+
+import lombok.Builder;
+
+/**
+ * Read model for reconciliation. Only ever carries a masked card number.
+ */
+@Builder
+public record PaymentDetailResponse(
+        String transactionId,
+        String firstName,
+        String lastName,
+        String zipCode,
+        String maskedCardNumber
+) {}
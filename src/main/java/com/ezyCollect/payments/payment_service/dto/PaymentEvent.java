@@ -0,0 +1,18 @@
+package com.ezyCollect.payments.payment_service.dto;
+
+import com.ezyCollect.payments.payment_service.enums.WebhookEventType;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the pull-based event feed; {@code id} is its position in the feed.
+ */
+@Builder(toBuilder = true)
+public record PaymentEvent(
+        Long id,
+        WebhookEventType type,
+        String status,
+        String transactionId,
+        LocalDateTime createdAt
+) {}
@@ -1,7 +1,7 @@
 package com.ezyCollect.payments.payment_service.dto;
 
+import com.ezyCollect.payments.payment_service.validation.ValidCard;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.Builder;
 
@@ -18,9 +18,10 @@ public record PaymentRequest (
         String zipCode,
 
         /**
-         * Ensure PCI compliance before storing any card information
+         * Ensure PCI compliance before storing any card information;
+         * Luhn and BIN checks reject bad cards before any encryption or database work
          */
         @NotBlank(message = "Card number cannot be blank")
-        @Pattern(regexp = "\\d{13,19}", message = "Card number must be between 13 and 19 digits")
+        @ValidCard(message = "Card number must be 13 to 19 digits, pass the Luhn check and belong to a supported card network")
         String cardNumber
 ) {}
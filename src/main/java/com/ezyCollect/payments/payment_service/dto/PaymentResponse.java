@@ -1,11 +1,13 @@
 package com.ezyCollect.payments.payment_service.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 
 
-@Builder
+@Builder(toBuilder = true)
 public record PaymentResponse(
         String status,
-        String transactionId
+        String transactionId,
+        // per-webhook event sequence, only set on outgoing webhook payloads
+        @JsonInclude(JsonInclude.Include.NON_NULL) Long sequence
 ) {}
-
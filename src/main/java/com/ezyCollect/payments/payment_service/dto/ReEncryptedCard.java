@@ -0,0 +1,11 @@
+package com.ezyCollect.payments.payment_service.dto;
+
+/**
+ * A stored card encrypted again under a newer data key.
+ * @param id                  row id
+ * @param previousKeyVersion  version the row had when it was read; the update is skipped if it changed since
+ * @param encryptedCard       Base64 AES-GCM cipher text under the new key
+ * @param iv                  Base64 IV used for encryption
+ * @param keyVersion          new data key version
+ */
+public record ReEncryptedCard(long id, int previousKeyVersion, String encryptedCard, String iv, int keyVersion) { }
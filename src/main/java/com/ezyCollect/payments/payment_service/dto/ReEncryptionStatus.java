@@ -0,0 +1,18 @@
+package com.ezyCollect.payments.payment_service.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of the card re-encryption job.
+ * @param running        whether a run is in progress
+ * @param targetVersion  data key version cards are being moved to, null before the first run
+ * @param reEncrypted    rows written with the target version
+ * @param skipped        rows changed by someone else between read and write
+ * @param failed         rows that could not be decrypted; they keep their old key version
+ * @param table          table being processed, or the last one processed
+ * @param lastId         last id processed in that table
+ * @param startedAt      start of the current or last run
+ * @param finishedAt     end of the last run, null while running
+ */
+public record ReEncryptionStatus(boolean running, Integer targetVersion, long reEncrypted, long skipped, long failed,
+                                 String table, long lastId, LocalDateTime startedAt, LocalDateTime finishedAt) { }
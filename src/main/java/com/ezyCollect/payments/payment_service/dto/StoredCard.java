@@ -0,0 +1,10 @@
+package com.ezyCollect.payments.payment_service.dto;
+
+/**
+ * Encrypted card columns of a card_token or payment row.
+ * @param id              row id
+ * @param encryptedCard   Base64 AES-GCM cipher text
+ * @param iv              Base64 IV used for encryption
+ * @param keyVersion      data key version the card was encrypted with
+ */
+public record StoredCard(long id, String encryptedCard, String iv, int keyVersion) { }
@@ -0,0 +1,12 @@
+package com.ezyCollect.payments.payment_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+/**
+ * One element of a batched webhook POST: the payment event as sent on its own, plus the
+ * eventId the subscriber uses to report a per-event result in {@link WebhookBatchResponse}.
+ */
+public record WebhookBatchEvent(
+        Long eventId, // webhook_log id of this delivery
+        @JsonUnwrapped PaymentResponse payload
+) {}
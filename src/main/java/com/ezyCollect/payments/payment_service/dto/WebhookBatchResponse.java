@@ -0,0 +1,17 @@
+package com.ezyCollect.payments.payment_service.dto;
+
+import java.util.List;
+
+/**
+ * Optional 2xx response body to a batched webhook POST. Events listed with accepted=false are
+ * recorded as failed with their error; events not listed, or an empty body, count as accepted.
+ */
+public record WebhookBatchResponse(
+        List<EventResult> results
+) {
+    public record EventResult(
+            Long eventId,
+            boolean accepted,
+            String error
+    ) {}
+}
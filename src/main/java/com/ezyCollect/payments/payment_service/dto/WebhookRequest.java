@@ -1,14 +1,29 @@
 package com.ezyCollect.payments.payment_service.dto;
 
+import com.ezyCollect.payments.payment_service.enums.WebhookEventType;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.Builder;
 import org.hibernate.validator.constraints.URL;
 
+import java.util.Set;
+
 @Builder
 public record WebhookRequest (
         @URL(message = "Must be a valid URL")
         @NotBlank(message = "Webhook URL cannot be blank")
         @Size(max = 255, message = "Webhook URL must not exceed 255 characters")
-        String url
+        String url,
+
+        Set<WebhookEventType> eventTypes, // absent or empty subscribes to every event type
+
+        Boolean batchDelivery, // opt in to receiving events as JSON array batches
+
+        @Min(value = 1, message = "Delivery weight must be at least 1")
+        @Max(value = 100, message = "Delivery weight must not exceed 100")
+        Integer deliveryWeight, // share of delivery workers under contention; absent = 1
+
+        Boolean orderedDelivery // opt in to strictly in-sequence delivery; not combinable with batchDelivery
 ) {}
@@ -0,0 +1,47 @@
+package com.ezyCollect.payments.payment_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Token vault entry: the single encrypted copy of a card, shared by every payment made with it.
+ */
+@Entity
+@Table(
+        name = "card_token",
+        uniqueConstraints = @UniqueConstraint(name = "uk_card_token_fingerprint", columnNames = "fingerprint"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CardToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "fingerprint", nullable = false, length = 64)
+    private String fingerprint; // keyed HMAC-SHA256 of the card number (hex)
+
+    @Column(name = "card_number", nullable = false, length = 512)
+    private String cardNumber; // store encrypted value
+
+    @Column(name = "iv", nullable = false, length = 512)
+    private String iv; // Base64-encoded IV used for encryption
+
+    @Column(name = "key_version", nullable = false)
+    private int keyVersion; // data key version, see DataKeyRing
+
+    @Column(name = "card_bin", nullable = false, length = 6)
+    private String cardBin;
+
+    @Column(name = "card_last4", nullable = false, length = 4)
+    private String cardLast4;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
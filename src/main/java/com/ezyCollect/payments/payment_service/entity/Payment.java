@@ -7,7 +7,13 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "payment")
+@Table(
+        name = "payment",
+        indexes = {
+                @Index(name = "idx_card_fingerprint", columnList = "card_fingerprint"),
+                @Index(name = "idx_card_bin_last4", columnList = "card_bin, card_last4"),
+                @Index(name = "idx_card_token", columnList = "card_token_id")
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -26,9 +32,24 @@ public class Payment {
     @Column(name = "zip_code", nullable = false, length = 10)
     private String zipCode;
 
-    @Column(name = "card_number", nullable = false, length = 512)
-    private String cardNumber; // store encrypted value
+    @Column(name = "card_token_id")
+    private Long cardTokenId; // vaulted card, see CardToken
 
-    @Column(name = "iv", nullable = false, length = 512)
+    @Column(name = "card_number", length = 512)
+    private String cardNumber; // encrypted value; only on rows written before the token vault
+
+    @Column(name = "iv", length = 512)
     private String iv; // Base64-encoded IV used for encryption
+
+    @Column(name = "key_version", nullable = false)
+    private int keyVersion; // data key version, 0 = encrypted directly with aes.secret.key
+
+    @Column(name = "card_fingerprint", length = 64)
+    private String cardFingerprint; // keyed HMAC-SHA256 of the card number (hex)
+
+    @Column(name = "card_bin", length = 6)
+    private String cardBin;
+
+    @Column(name = "card_last4", length = 4)
+    private String cardLast4;
 }
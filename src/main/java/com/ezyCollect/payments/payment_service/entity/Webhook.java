@@ -1,5 +1,6 @@
 package com.ezyCollect.payments.payment_service.entity;
 
+import com.ezyCollect.payments.payment_service.enums.WebhookEventType;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -7,6 +8,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
 
 @Entity
 @Table(name = "webhooks")
@@ -27,4 +30,19 @@ public class Webhook {
 
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
+
+    @Convert(converter = WebhookEventTypesConverter.class)
+    @Column(name = "event_types", length = 255)
+    @Builder.Default
+    private Set<WebhookEventType> eventTypes = EnumSet.noneOf(WebhookEventType.class); // empty = every event type
+
+    @Column(name = "batch_delivery", nullable = false)
+    private boolean batchDelivery; // events are accumulated and POSTed together as a JSON array
+
+    @Column(name = "delivery_weight", nullable = false)
+    @Builder.Default
+    private int deliveryWeight = 1; // deliveries per scheduler round relative to other webhooks
+
+    @Column(name = "ordered_delivery", nullable = false)
+    private boolean orderedDelivery; // one delivery in flight at a time, in sequence order
 }
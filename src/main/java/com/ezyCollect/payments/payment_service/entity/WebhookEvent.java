@@ -0,0 +1,34 @@
+package com.ezyCollect.payments.payment_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row per inbound webhook event that was processed; the unique key rejects repeat deliveries.
+ * Rows older than the dedupe window are purged by WebhookDedupeService.
+ */
+@Entity
+@Table(
+        name = "webhook_event",
+        uniqueConstraints = @UniqueConstraint(name = "uk_webhook_event_key", columnNames = "event_key"),
+        indexes = @Index(name = "idx_webhook_event_received_at", columnList = "received_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WebhookEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_key", nullable = false, length = 128)
+    private String eventKey; // X-Event-Id header, else the payload's transactionId
+
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+}
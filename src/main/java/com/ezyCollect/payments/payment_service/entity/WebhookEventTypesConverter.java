@@ -0,0 +1,43 @@
+package com.ezyCollect.payments.payment_service.entity;
+
+import com.ezyCollect.payments.payment_service.enums.WebhookEventType;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Stores a webhook's event types as comma-separated names. An empty set is stored as NULL,
+ * meaning the webhook subscribes to every event type.
+ */
+@Converter
+public class WebhookEventTypesConverter implements AttributeConverter<Set<WebhookEventType>, String> {
+    private static final String SEPARATOR = ",";
+
+    @Override
+    public String convertToDatabaseColumn(Set<WebhookEventType> eventTypes) {
+        if (eventTypes == null || eventTypes.isEmpty()) {
+            return null;
+        }
+        // EnumSet iterates in declaration order, so equal sets give equal column values
+        return EnumSet.copyOf(eventTypes).stream()
+                .map(Enum::name)
+                .collect(Collectors.joining(SEPARATOR));
+    }
+
+    @Override
+    public Set<WebhookEventType> convertToEntityAttribute(String column) {
+        EnumSet<WebhookEventType> eventTypes = EnumSet.noneOf(WebhookEventType.class);
+        if (column == null || column.isBlank()) {
+            return eventTypes;
+        }
+        Arrays.stream(column.split(SEPARATOR))
+                .map(String::trim)
+                .map(WebhookEventType::valueOf)
+                .forEach(eventTypes::add);
+        return eventTypes;
+    }
+}
@@ -30,6 +30,10 @@ public class WebhookLog {
     @Column(name = "webhook_id")
     private Long webhookId;
 
+    // per-webhook event sequence, only set when sending
+    @Column(name = "sequence_number")
+    private Long sequenceNumber;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "direction", nullable = false, length = 20)
     private WebhookDirection direction;
@@ -38,7 +42,7 @@ public class WebhookLog {
     private String url;
 
     @Lob
-    @Column(name = "payload")
+    @Column(name = "payload", length = 65535)
     private String payload;
 
     @Enumerated(EnumType.STRING)
@@ -49,7 +53,7 @@ public class WebhookLog {
     private Integer httpStatus;
 
     @Lob
-    @Column(name = "response_body")
+    @Column(name = "response_body", length = 65535)
     private String responseBody;
 
     // only set when sending
@@ -0,0 +1,27 @@
+package com.ezyCollect.payments.payment_service.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Optional;
+
+@Getter
+@RequiredArgsConstructor
+public enum WebhookEventType {
+    PAYMENT_SUCCEEDED("SUCCESS", true),
+    // declined payments are rejected before they are stored, so nothing raises this yet;
+    // kept so webhooks registered for it still load
+    PAYMENT_FAILED("FAILED", false);
+
+    private final String paymentStatus; // PaymentResponse.status that raises this event
+    private final boolean emitted;      // false: new webhooks cannot subscribe to it
+
+    public static Optional<WebhookEventType> ofPaymentStatus(String paymentStatus) {
+        for (WebhookEventType eventType : values()) {
+            if (eventType.paymentStatus.equals(paymentStatus)) {
+                return Optional.of(eventType);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,37 @@
+package com.ezyCollect.payments.payment_service.exception;
+
+import com.ezyCollect.payments.payment_service.validation.ValidCard;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Bean validation failures shared by the servlet and reactive exception handlers.
+ */
+final class BindingErrors {
+    private static final String CARD_CONSTRAINT = ValidCard.class.getSimpleName();
+
+    private BindingErrors() {
+    }
+
+    static Map<String, String> fieldErrors(BindingResult bindingResult) {
+        return bindingResult.getFieldErrors()
+                .stream()
+                .collect(Collectors.toMap(
+                        FieldError::getField,
+                        error -> Objects.requireNonNullElse(error.getDefaultMessage(), "Invalid value"),
+                        (existing, duplicate) -> existing
+                ));
+    }
+
+    // a well-formed request whose only problem is the card itself is reported as an invalid card
+    static ErrorCode errorCode(BindingResult bindingResult) {
+        boolean invalidCardOnly = bindingResult.hasFieldErrors()
+                && bindingResult.getFieldErrors().stream()
+                .allMatch(error -> CARD_CONSTRAINT.equals(error.getCode()));
+        return invalidCardOnly ? ErrorCode.INVALID_CARD_NUMBER : ErrorCode.VALIDATION_ERROR;
+    }
+}
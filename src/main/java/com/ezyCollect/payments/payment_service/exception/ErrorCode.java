@@ -11,9 +11,14 @@ public enum ErrorCode {
     CARD_DECLINED           ("CARD_DECLINED",            "Payment declined by issuing bank",          HttpStatus.UNPROCESSABLE_ENTITY),
     CARD_EXPIRED            ("CARD_EXPIRED",             "The card has expired",                      HttpStatus.UNPROCESSABLE_ENTITY),
     CARD_ENCRYPTION_ERROR   ("CARD_ENCRYPTION_ERROR",    "The card encryption failed",                HttpStatus.UNPROCESSABLE_ENTITY),
+    CARD_DECRYPTION_ERROR   ("CARD_DECRYPTION_ERROR",    "The card decryption failed",                HttpStatus.INTERNAL_SERVER_ERROR),
     PAYMENT_DECLINED        ("PAYMENT_DECLINED",         "A payment was declined by payment gateway", HttpStatus.UNPROCESSABLE_ENTITY),
     INVALID_CARD_NUMBER     ("INVALID_CARD_NUMBER",      "The card number provided is invalid",       HttpStatus.BAD_REQUEST),
     DUPLICATE_PAYMENT       ("DUPLICATE_PAYMENT",        "A payment with this reference already exists", HttpStatus.CONFLICT),
+    PAYMENT_NOT_FOUND       ("PAYMENT_NOT_FOUND",        "No payment found for this transaction",     HttpStatus.NOT_FOUND),
+    LOOKUP_LIMIT_EXCEEDED   ("LOOKUP_LIMIT_EXCEEDED",    "Too many transaction ids in one lookup",    HttpStatus.BAD_REQUEST),
+    INVALID_EVENT_CURSOR    ("INVALID_EVENT_CURSOR",     "The event feed cursor is not valid",        HttpStatus.BAD_REQUEST),
+    EVENT_FEED_UNAVAILABLE  ("EVENT_FEED_UNAVAILABLE",   "The event feed is unavailable",             HttpStatus.SERVICE_UNAVAILABLE),
     VALIDATION_ERROR        ("VALIDATION_ERROR",         "Validation failed",                         HttpStatus.BAD_REQUEST),
     REQUEST_BODY_MISSING    ("REQUEST_BODY_MISSING",     "Request body is missing or malformed",      HttpStatus.BAD_REQUEST),
 
@@ -25,12 +30,16 @@ public enum ErrorCode {
     WEBHOOK_ALREADY_EXISTS   ("WEBHOOK_ALREADY_EXISTS",   "Webhook with this url already exists",      HttpStatus.CONFLICT),
     WEBHOOK_ACCESS_FAILED    ("WEBHOOK_ACCESS_FAILED",    "Failed to access the webhook after retires",HttpStatus.INTERNAL_SERVER_ERROR),
     WEBHOOK_CLIENT_ERROR     ("WEBHOOK_CLIENT_ERROR",     "Webhook client declined after reties",      HttpStatus.INTERNAL_SERVER_ERROR),
+    WEBHOOK_REJECTED         ("WEBHOOK_REJECTED",         "Webhook endpoint rejected the event",       HttpStatus.INTERNAL_SERVER_ERROR),
     WEBHOOK_PAYLOAD_SERIALIZATION_FAILED     ("WEBHOOK_PAYLOAD_SERIALIZATION_FAILED",     "Failed to convert the payload to json",      HttpStatus.INTERNAL_SERVER_ERROR),
     WEBHOOK_REGISTER_FAILED("WEBHOOK_REGISTER_FAILED",   "Failed to register webhook",               HttpStatus.INTERNAL_SERVER_ERROR),
+    WEBHOOK_EVENT_TYPE_UNSUPPORTED("WEBHOOK_EVENT_TYPE_UNSUPPORTED", "The event type is never sent to webhooks", HttpStatus.BAD_REQUEST),
+    WEBHOOK_ORDERED_BATCH_UNSUPPORTED("WEBHOOK_ORDERED_BATCH_UNSUPPORTED", "Ordered delivery cannot be combined with batch delivery", HttpStatus.BAD_REQUEST),
 
     // System errors
     DATABASE_ERROR          ("DATABASE_ERROR",           "A database error occurred",                 HttpStatus.INTERNAL_SERVER_ERROR),
     INTERNAL_SERVER_ERROR   ("INTERNAL_SERVER_ERROR",    "An unexpected error occurred",              HttpStatus.INTERNAL_SERVER_ERROR),
+    SERVICE_BUSY            ("SERVICE_BUSY",             "The service is busy, please retry later",   HttpStatus.SERVICE_UNAVAILABLE),
     GATEWAY_TIMEOUT         ("GATEWAY_TIMEOUT",          "Payment Gateway error occurred",            HttpStatus.INTERNAL_SERVER_ERROR);
 
     private final String code;
@@ -20,4 +20,19 @@ public record ErrorResponse(
         LocalDateTime timestamp,
         @JsonInclude(JsonInclude.Include.NON_NULL)
         Map<String, String> fieldErrors
-) {}
+) {
+    public static ErrorResponse of(ErrorCode errorCode, String path) {
+        return of(errorCode, path, null);
+    }
+
+    public static ErrorResponse of(ErrorCode errorCode, String path, Map<String, String> fieldErrors) {
+        return ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(errorCode.getHttpStatus().value())
+                .errorCode(errorCode.getCode())
+                .message(errorCode.getMessage())
+                .path(path)
+                .fieldErrors(fieldErrors)
+                .build();
+    }
+}
@@ -2,23 +2,22 @@ package com.ezyCollect.payments.payment_service.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
-import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 
-import java.time.LocalDateTime;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.concurrent.RejectedExecutionException;
 
 @Slf4j
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GlobalExceptionHandler {
-
     // ==============================
     //  PaymentException
     // ==============================
@@ -30,7 +29,7 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity.
                 status(ex.getErrorCode().getHttpStatus()).
-                body(buildResponse(ex.getErrorCode(), request.getRequestURI()));
+                body(ErrorResponse.of(ex.getErrorCode(), request.getRequestURI()));
     }
 
     // ==============================
@@ -44,7 +43,7 @@ public class GlobalExceptionHandler {
         log.error("Payment error [{}]: {}", ex.getErrorCode(), ex.getMessage());
 
         return ResponseEntity.status(ex.getErrorCode().getHttpStatus())
-                .body(buildResponse(ex.getErrorCode(), request.getRequestURI()));
+                .body(ErrorResponse.of(ex.getErrorCode(), request.getRequestURI()));
     }
 
     // ==============================
@@ -55,18 +54,28 @@ public class GlobalExceptionHandler {
             MethodArgumentNotValidException ex,
             HttpServletRequest request) {
 
-        Map<String, String> validationErrors = ex.getBindingResult()
-                .getFieldErrors()
-                .stream()
-                .collect(Collectors.toMap(
-                        FieldError::getField,
-                        error -> Objects.requireNonNullElse(error.getDefaultMessage(), "Invalid value"),
-                        (existing, duplicate) -> existing
-                ));
+        Map<String, String> validationErrors = BindingErrors.fieldErrors(ex.getBindingResult());
 
         log.warn("Validation failed: {}", validationErrors);
 
-        return ResponseEntity.badRequest().body(buildResponse(ErrorCode.VALIDATION_ERROR, request.getRequestURI(), validationErrors));
+        ErrorCode errorCode = BindingErrors.errorCode(ex.getBindingResult());
+
+        return ResponseEntity.badRequest().body(ErrorResponse.of(errorCode, request.getRequestURI(), validationErrors));
+    }
+
+    // ==============================
+    //  Executor saturation / async timeout
+    // ==============================
+    @ExceptionHandler({RejectedExecutionException.class, AsyncRequestTimeoutException.class})
+    public ResponseEntity<ErrorResponse> handleServiceBusy(
+            Exception ex,
+            HttpServletRequest request) {
+
+        log.warn("Request not completed, service busy: {}", ex.toString());
+
+        return ResponseEntity
+                .status(ErrorCode.SERVICE_BUSY.getHttpStatus())
+                .body(ErrorResponse.of(ErrorCode.SERVICE_BUSY, request.getRequestURI()));
     }
 
     // ==============================
@@ -81,7 +90,7 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity
                 .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(buildResponse(ErrorCode.INTERNAL_SERVER_ERROR, request.getRequestURI()));
+                .body(ErrorResponse.of(ErrorCode.INTERNAL_SERVER_ERROR, request.getRequestURI()));
     }
 
     @ExceptionHandler(HttpMessageNotReadableException.class)
@@ -93,27 +102,6 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity
                 .status(HttpStatus.BAD_REQUEST)
-                .body(buildResponse(ErrorCode.REQUEST_BODY_MISSING, request.getRequestURI()));
-    }
-
-    private ErrorResponse buildResponse(ErrorCode errorCode, String path) {
-        return ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(errorCode.getHttpStatus().value())
-                .errorCode(errorCode.getCode())
-                .message(errorCode.getMessage())
-                .path(path)
-                .build();
-    }
-
-    private ErrorResponse buildResponse(ErrorCode errorCode, String path, Map<String, String> fieldErrors) {
-        return ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(errorCode.getHttpStatus().value())
-                .errorCode(errorCode.getCode())
-                .message(errorCode.getMessage())
-                .path(path)
-                .fieldErrors(fieldErrors)
-                .build();
+                .body(ErrorResponse.of(ErrorCode.REQUEST_BODY_MISSING, request.getRequestURI()));
     }
 }
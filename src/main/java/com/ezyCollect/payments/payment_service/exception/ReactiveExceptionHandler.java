@@ -0,0 +1,87 @@
+package com.ezyCollect.payments.payment_service.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * WebFlux counterpart of {@link GlobalExceptionHandler} for the {@code reactive} profile,
+ * producing the same {@link ErrorResponse} bodies and status codes.
+ */
+@Slf4j
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(PaymentException.class)
+    public ResponseEntity<ErrorResponse> handlePaymentException(PaymentException ex,
+                                                                ServerHttpRequest request) {
+
+        log.error("Payment error [{}]: {}", ex.getErrorCode(), ex.getMessage());
+
+        return ResponseEntity.status(ex.getErrorCode().getHttpStatus())
+                .body(ErrorResponse.of(ex.getErrorCode(), request.getPath().value()));
+    }
+
+    @ExceptionHandler(WebhookException.class)
+    public ResponseEntity<ErrorResponse> handleWebhookException(WebhookException ex,
+                                                                ServerHttpRequest request) {
+
+        log.error("Payment error [{}]: {}", ex.getErrorCode(), ex.getMessage());
+
+        return ResponseEntity.status(ex.getErrorCode().getHttpStatus())
+                .body(ErrorResponse.of(ex.getErrorCode(), request.getPath().value()));
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleValidationException(WebExchangeBindException ex,
+                                                                   ServerHttpRequest request) {
+
+        Map<String, String> validationErrors = BindingErrors.fieldErrors(ex.getBindingResult());
+
+        log.warn("Validation failed: {}", validationErrors);
+
+        ErrorCode errorCode = BindingErrors.errorCode(ex.getBindingResult());
+
+        return ResponseEntity.badRequest().body(ErrorResponse.of(errorCode, request.getPath().value(), validationErrors));
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponse> handleServerWebInput(ServerWebInputException ex,
+                                                              ServerHttpRequest request) {
+
+        log.warn("Malformed or missing request body: {}", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ErrorResponse.of(ErrorCode.REQUEST_BODY_MISSING, request.getPath().value()));
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleServiceBusy(RejectedExecutionException ex,
+                                                           ServerHttpRequest request) {
+
+        log.warn("Request not completed, service busy: {}", ex.toString());
+
+        return ResponseEntity.status(ErrorCode.SERVICE_BUSY.getHttpStatus())
+                .body(ErrorResponse.of(ErrorCode.SERVICE_BUSY, request.getPath().value()));
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGenericException(Exception ex,
+                                                                ServerHttpRequest request) {
+
+        log.error("Unexpected system error: {}", ex.getMessage(), ex);
+
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ErrorResponse.of(ErrorCode.INTERNAL_SERVER_ERROR, request.getPath().value()));
+    }
+}
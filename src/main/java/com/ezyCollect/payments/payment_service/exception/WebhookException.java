@@ -2,17 +2,24 @@ package com.ezyCollect.payments.payment_service.exception;
 
 import lombok.Getter;
 
+import java.time.Duration;
+
 @Getter
 public class WebhookException extends RuntimeException {
     private final ErrorCode errorCode;
+    private final Duration retryAfter; // the subscriber's Retry-After, if it sent one
 
     public WebhookException(ErrorCode errorCode) {
-        super(errorCode.getMessage());
-        this.errorCode = errorCode;
+        this(errorCode, null, null);
     }
 
     public WebhookException(ErrorCode errorCode, Throwable cause) {
+        this(errorCode, null, cause);
+    }
+
+    public WebhookException(ErrorCode errorCode, Duration retryAfter, Throwable cause) {
         super(errorCode.getMessage(), cause);
         this.errorCode = errorCode;
+        this.retryAfter = retryAfter;
     }
 }
@@ -0,0 +1,114 @@
+package com.ezyCollect.payments.payment_service.grpc;
+
+import com.ezyCollect.payments.payment_service.exception.ErrorCode;
+import com.ezyCollect.payments.payment_service.exception.PaymentException;
+import com.ezyCollect.payments.payment_service.exception.WebhookException;
+import com.ezyCollect.payments.payment_service.grpc.proto.ApiError;
+import com.ezyCollect.payments.payment_service.validation.ValidCard;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import jakarta.validation.ConstraintViolation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Maps service failures to the gRPC error model: an {@link ApiError} mirroring the REST
+ * ErrorResponse, and a {@link Status} whose code follows the ErrorCode's HTTP status.
+ */
+@Slf4j
+final class GrpcErrors {
+    /** Trailer carrying the ErrorCode name, e.g. "INVALID_CARD_NUMBER" */
+    static final Metadata.Key<String> ERROR_CODE_KEY =
+            Metadata.Key.of("error-code", Metadata.ASCII_STRING_MARSHALLER);
+
+    private static final String CARD_CONSTRAINT = ValidCard.class.getSimpleName();
+
+    private GrpcErrors() {
+    }
+
+    static ApiError toApiError(Throwable ex) {
+        ErrorCode errorCode = errorCode(ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+        return apiError(errorCode).build();
+    }
+
+    // a well-formed request whose only problem is the card itself is reported as an invalid card
+    static ApiError toApiError(Set<? extends ConstraintViolation<?>> violations) {
+        boolean invalidCardOnly = violations.stream()
+                .allMatch(violation -> CARD_CONSTRAINT.equals(
+                        violation.getConstraintDescriptor().getAnnotation().annotationType().getSimpleName()));
+        Map<String, String> fieldErrors = violations.stream()
+                .collect(Collectors.toMap(
+                        violation -> violation.getPropertyPath().toString(),
+                        ConstraintViolation::getMessage,
+                        (existing, duplicate) -> existing
+                ));
+
+        log.warn("Validation failed: {}", fieldErrors);
+
+        return apiError(invalidCardOnly ? ErrorCode.INVALID_CARD_NUMBER : ErrorCode.VALIDATION_ERROR)
+                .putAllFieldErrors(fieldErrors)
+                .build();
+    }
+
+    static ApiError toApiError(String field, String message) {
+        log.warn("Validation failed: {}={}", field, message);
+
+        return apiError(ErrorCode.VALIDATION_ERROR)
+                .putFieldErrors(field, message)
+                .build();
+    }
+
+    static StatusRuntimeException toStatusException(ApiError error) {
+        ErrorCode errorCode = ErrorCode.valueOf(error.getErrorCode());
+        String description = error.getFieldErrorsMap().isEmpty()
+                ? error.getMessage()
+                : error.getMessage() + ": " + error.getFieldErrorsMap();
+
+        Metadata trailers = new Metadata();
+        trailers.put(ERROR_CODE_KEY, errorCode.getCode());
+        return statusFor(errorCode.getHttpStatus())
+                .withDescription(description)
+                .asRuntimeException(trailers);
+    }
+
+    private static ErrorCode errorCode(Throwable ex) {
+        if (ex instanceof PaymentException paymentException) {
+            log.error("Payment error [{}]: {}", paymentException.getErrorCode(), ex.getMessage());
+            return paymentException.getErrorCode();
+        }
+        if (ex instanceof WebhookException webhookException) {
+            log.error("Webhook error [{}]: {}", webhookException.getErrorCode(), ex.getMessage());
+            return webhookException.getErrorCode();
+        }
+        if (ex instanceof RejectedExecutionException) {
+            log.warn("Request not completed, service busy: {}", ex.toString());
+            return ErrorCode.SERVICE_BUSY;
+        }
+        log.error("Unexpected system error: {}", ex.getMessage(), ex);
+        return ErrorCode.INTERNAL_SERVER_ERROR;
+    }
+
+    private static ApiError.Builder apiError(ErrorCode errorCode) {
+        return ApiError.newBuilder()
+                .setErrorCode(errorCode.getCode())
+                .setMessage(errorCode.getMessage());
+    }
+
+    private static Status statusFor(HttpStatus httpStatus) {
+        return switch (httpStatus) {
+            case BAD_REQUEST -> Status.INVALID_ARGUMENT;
+            case NOT_FOUND -> Status.NOT_FOUND;
+            case CONFLICT -> Status.ALREADY_EXISTS;
+            case UNPROCESSABLE_ENTITY -> Status.FAILED_PRECONDITION;
+            case SERVICE_UNAVAILABLE -> Status.UNAVAILABLE;
+            default -> Status.INTERNAL;
+        };
+    }
+}
@@ -0,0 +1,222 @@
+package com.ezyCollect.payments.payment_service.grpc;
+
+import com.ezyCollect.payments.payment_service.dto.PaymentRequest;
+import com.ezyCollect.payments.payment_service.dto.PaymentResponse;
+import com.ezyCollect.payments.payment_service.grpc.proto.ApiError;
+import com.ezyCollect.payments.payment_service.grpc.proto.PaymentResult;
+import com.ezyCollect.payments.payment_service.grpc.proto.PaymentsGrpc;
+import com.ezyCollect.payments.payment_service.grpc.proto.ProcessPaymentRequest;
+import com.ezyCollect.payments.payment_service.grpc.proto.ProcessPaymentResponse;
+import com.ezyCollect.payments.payment_service.grpc.proto.ProcessPaymentStreamResponse;
+import com.ezyCollect.payments.payment_service.service.PaymentService;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import net.devh.boot.grpc.server.service.GrpcService;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * gRPC entry point for payments, backed by the same {@link PaymentService} as PaymentController.
+ * Requests are validated against the PaymentRequest constraints before any card work is done.
+ */
+@Slf4j
+@GrpcService
+public class PaymentGrpcService extends PaymentsGrpc.PaymentsImplBase {
+    private final PaymentService paymentService;
+    private final Validator validator;
+    private final int streamMaxInFlight;
+    private final int streamMaxPayments;
+
+    public PaymentGrpcService(PaymentService paymentService,
+                              Validator validator,
+                              @Value("${grpc.payments.stream.max-in-flight:64}") int streamMaxInFlight,
+                              @Value("${grpc.payments.stream.max-payments:10000}") int streamMaxPayments) {
+        this.paymentService = paymentService;
+        this.validator = validator;
+        this.streamMaxInFlight = streamMaxInFlight;
+        this.streamMaxPayments = streamMaxPayments;
+    }
+
+    @Override
+    public void processPayment(ProcessPaymentRequest request,
+                               StreamObserver<ProcessPaymentResponse> responseObserver) {
+        processSafely(request)
+                .thenAccept(result -> {
+                    if (result.hasError()) {
+                        responseObserver.onError(GrpcErrors.toStatusException(result.getError()));
+                    } else {
+                        responseObserver.onNext(result.getPayment());
+                        responseObserver.onCompleted();
+                    }
+                })
+                .exceptionally(ex -> {
+                    log.error("Unexpected gRPC payment error: {}", ex.getMessage(), ex);
+                    responseObserver.onError(Status.INTERNAL.withDescription(ex.getMessage()).withCause(ex).asRuntimeException());
+                    return null;
+                });
+    }
+
+    /**
+     * At most {@code max-in-flight} payments of one stream are processed at a time: further
+     * messages are only requested from the client as earlier payments finish. A stream longer
+     * than {@code max-payments} is failed with RESOURCE_EXHAUSTED, as every result is held until
+     * the client half-closes.
+     */
+    @Override
+    public StreamObserver<ProcessPaymentRequest> processPaymentStream(
+            StreamObserver<ProcessPaymentStreamResponse> responseObserver) {
+        PaymentStream stream = new PaymentStream(responseObserver);
+        if (responseObserver instanceof ServerCallStreamObserver<ProcessPaymentStreamResponse> call) {
+            call.disableAutoRequest();
+            stream.call = call;
+            call.request(streamMaxInFlight);
+        }
+        return stream;
+    }
+
+    /**
+     * Collects the results of one payment stream in request order. Inbound messages arrive
+     * serially, but payments complete on service threads, so state is guarded by the stream.
+     */
+    private class PaymentStream implements StreamObserver<ProcessPaymentRequest> {
+        private final StreamObserver<ProcessPaymentStreamResponse> responseObserver;
+        private final List<PaymentResult> results = new ArrayList<>();
+        private ServerCallStreamObserver<ProcessPaymentStreamResponse> call; // null without flow control
+        private int pending;
+        private boolean halfClosed;
+        private boolean closed;
+
+        private PaymentStream(StreamObserver<ProcessPaymentStreamResponse> responseObserver) {
+            this.responseObserver = responseObserver;
+        }
+
+        @Override
+        public void onNext(ProcessPaymentRequest request) {
+            int index;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (results.size() >= streamMaxPayments) {
+                    closed = true;
+                    responseObserver.onError(Status.RESOURCE_EXHAUSTED
+                            .withDescription("At most " + streamMaxPayments + " payments per stream")
+                            .asRuntimeException());
+                    log.warn("Payment stream failed after {} payments: limit reached", results.size());
+                    return;
+                }
+                index = results.size();
+                results.add(null);
+                pending++;
+            }
+            processSafely(request).whenComplete((result, ex) -> completed(index,
+                    ex == null ? result : errorResult(GrpcErrors.toApiError(ex))));
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            List<String> charged = new ArrayList<>();
+            int unfinished;
+            synchronized (this) {
+                closed = true;
+                results.stream().filter(result -> result != null && result.hasPayment())
+                        .forEach(result -> charged.add(result.getPayment().getTransactionId()));
+                unfinished = pending;
+            }
+            // the client never sees these outcomes; keep them in the log for reconciliation
+            log.warn("Payment stream cancelled by client: {}. Processed transactionIds={}, {} still in progress",
+                    t.getMessage(), charged, unfinished);
+        }
+
+        @Override
+        public void onCompleted() {
+            synchronized (this) {
+                halfClosed = true;
+                respondIfDone();
+            }
+        }
+
+        private void completed(int index, PaymentResult result) {
+            synchronized (this) {
+                results.set(index, result);
+                pending--;
+                if (closed) {
+                    if (result.hasPayment()) {
+                        log.warn("Payment {} {} after its stream was closed",
+                                result.getPayment().getTransactionId(), result.getPayment().getStatus());
+                    }
+                    return;
+                }
+                respondIfDone();
+            }
+            if (call != null) {
+                call.request(1);
+            }
+        }
+
+        // caller holds the lock
+        private void respondIfDone() {
+            if (!halfClosed || pending > 0 || closed) {
+                return;
+            }
+            closed = true;
+            responseObserver.onNext(ProcessPaymentStreamResponse.newBuilder().addAllResults(results).build());
+            responseObserver.onCompleted();
+        }
+    }
+
+    // also turns an unexpected synchronous throw into a failed future
+    private CompletableFuture<PaymentResult> processSafely(ProcessPaymentRequest request) {
+        return CompletableFuture.completedFuture(request).thenCompose(this::process);
+    }
+
+    // Only completes exceptionally on a bug: failures are folded into the result as an ApiError
+    private CompletableFuture<PaymentResult> process(ProcessPaymentRequest request) {
+        PaymentRequest paymentRequest = toPaymentRequest(request);
+
+        Set<ConstraintViolation<PaymentRequest>> violations = validator.validate(paymentRequest);
+        if (!violations.isEmpty()) {
+            return CompletableFuture.completedFuture(errorResult(GrpcErrors.toApiError(violations)));
+        }
+
+        try {
+            return paymentService.processPaymentAsync(paymentRequest)
+                    .toCompletableFuture()
+                    .handle((response, ex) -> ex == null
+                            ? paymentResult(response)
+                            : errorResult(GrpcErrors.toApiError(ex)));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(errorResult(GrpcErrors.toApiError(e)));
+        }
+    }
+
+    private PaymentRequest toPaymentRequest(ProcessPaymentRequest request) {
+        return PaymentRequest.builder()
+                .firstName(request.getFirstName())
+                .lastName(request.getLastName())
+                .zipCode(request.getZipCode())
+                .cardNumber(request.getCardNumber())
+                .build();
+    }
+
+    private PaymentResult paymentResult(PaymentResponse response) {
+        return PaymentResult.newBuilder()
+                .setPayment(ProcessPaymentResponse.newBuilder()
+                        .setStatus(response.status())
+                        .setTransactionId(response.transactionId()))
+                .build();
+    }
+
+    private PaymentResult errorResult(ApiError error) {
+        return PaymentResult.newBuilder().setError(error).build();
+    }
+}
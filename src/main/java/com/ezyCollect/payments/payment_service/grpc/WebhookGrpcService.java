@@ -0,0 +1,71 @@
+package com.ezyCollect.payments.payment_service.grpc;
+
+import com.ezyCollect.payments.payment_service.dto.WebhookRequest;
+import com.ezyCollect.payments.payment_service.entity.Webhook;
+import com.ezyCollect.payments.payment_service.enums.WebhookEventType;
+import com.ezyCollect.payments.payment_service.exception.WebhookException;
+import com.ezyCollect.payments.payment_service.grpc.proto.RegisterWebhookRequest;
+import com.ezyCollect.payments.payment_service.grpc.proto.RegisterWebhookResponse;
+import com.ezyCollect.payments.payment_service.grpc.proto.WebhooksGrpc;
+import com.ezyCollect.payments.payment_service.service.WebhookService;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import net.devh.boot.grpc.server.service.GrpcService;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * gRPC entry point for webhook registration, backed by the same {@link WebhookService} as WebhookController.
+ */
+@GrpcService
+@RequiredArgsConstructor
+public class WebhookGrpcService extends WebhooksGrpc.WebhooksImplBase {
+    private final WebhookService webhookService;
+    private final Validator validator;
+
+    @Override
+    public void registerWebhook(RegisterWebhookRequest request,
+                                StreamObserver<RegisterWebhookResponse> responseObserver) {
+        EnumSet<WebhookEventType> eventTypes = EnumSet.noneOf(WebhookEventType.class);
+        for (String eventType : request.getEventTypesList()) {
+            try {
+                eventTypes.add(WebhookEventType.valueOf(eventType));
+            } catch (IllegalArgumentException e) {
+                responseObserver.onError(GrpcErrors.toStatusException(
+                        GrpcErrors.toApiError("eventTypes", "Unknown event type: " + eventType)));
+                return;
+            }
+        }
+
+        WebhookRequest webhookRequest = WebhookRequest.builder()
+                .url(request.getUrl())
+                .eventTypes(eventTypes)
+                .batchDelivery(request.getBatchDelivery())
+                .deliveryWeight(request.getDeliveryWeight() == 0 ? null : request.getDeliveryWeight())
+                .orderedDelivery(request.getOrderedDelivery())
+                .build();
+
+        Set<ConstraintViolation<WebhookRequest>> violations = validator.validate(webhookRequest);
+        if (!violations.isEmpty()) {
+            responseObserver.onError(GrpcErrors.toStatusException(GrpcErrors.toApiError(violations)));
+            return;
+        }
+
+        Webhook webhook;
+        try {
+            webhook = webhookService.registerWebhook(webhookRequest);
+        } catch (WebhookException e) {
+            responseObserver.onError(GrpcErrors.toStatusException(GrpcErrors.toApiError(e)));
+            return;
+        }
+
+        responseObserver.onNext(RegisterWebhookResponse.newBuilder()
+                .setWebhookId(webhook.getId())
+                .setUrl(webhook.getUrl())
+                .build());
+        responseObserver.onCompleted();
+    }
+}
@@ -0,0 +1,98 @@
+package com.ezyCollect.payments.payment_service.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.NoSuchFileException;
+import java.time.Instant;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+import static com.ezyCollect.payments.payment_service.journal.SegmentedJournal.FRAME_HEADER;
+import static com.ezyCollect.payments.payment_service.journal.SegmentedJournal.RECORD_HEADER;
+
+/**
+ * Tailing cursor over a {@link SegmentedJournal}. Reads sequentially from mapped segments, follows
+ * the writer across rolls and stops at the last complete record; poll again to pick up new ones.
+ * A reader that falls behind retention skips ahead to the oldest retained record.
+ * Not thread-safe: one reader per consumer.
+ */
+@Slf4j
+public class JournalReader {
+    private final SegmentedJournal journal;
+    private final CRC32C crc = new CRC32C();
+    private ByteBuffer segment;
+    private long segmentBase;
+    private long position;
+
+    JournalReader(SegmentedJournal journal, long position) {
+        this.journal = journal;
+        this.position = position;
+    }
+
+    /** Position of the next record this reader returns. */
+    public long position() {
+        return position;
+    }
+
+    /**
+     * Hands up to {@code maxRecords} records to {@code consumer}, oldest first.
+     * @return number of records read; 0 when the reader is at the end of the journal
+     * @throws IllegalStateException when a record fails its checksum
+     */
+    public int poll(Consumer<JournalRecord> consumer, int maxRecords) {
+        int read = 0;
+        while (read < maxRecords && position < journal.endPosition()) {
+            if (segment == null) {
+                openSegment();
+            }
+            int offset = (int) (position - segmentBase);
+            int length = offset + FRAME_HEADER + RECORD_HEADER <= segment.capacity() ? segment.getInt(offset) : 0;
+            if (length == 0) {
+                // the writer rolled before filling this segment
+                Long next = journal.nextSegmentBase(segmentBase);
+                if (next == null) {
+                    break;
+                }
+                position = next;
+                segment = null;
+                continue;
+            }
+            if (segment.getInt(offset + 4) != SegmentedJournal.checksum(crc, segment, offset + FRAME_HEADER, length)) {
+                throw new IllegalStateException("Corrupt journal record at position " + position);
+            }
+
+            byte[] payload = new byte[length - RECORD_HEADER];
+            segment.get(offset + FRAME_HEADER + RECORD_HEADER, payload);
+            long next = position + FRAME_HEADER + length;
+            consumer.accept(new JournalRecord(position, next, segment.get(offset + FRAME_HEADER),
+                    Instant.ofEpochMilli(segment.getLong(offset + FRAME_HEADER + 1)), payload));
+            position = next;
+            read++;
+        }
+        return read;
+    }
+
+    private void openSegment() {
+        while (true) {
+            Long base = journal.segmentBaseFor(position);
+            if (base == null) {
+                long start = journal.startPosition();
+                log.warn("Journal position {} is no longer retained, skipping to {}", position, start);
+                position = start;
+                continue;
+            }
+            try {
+                segment = journal.mapSegment(base);
+                segmentBase = base;
+                return;
+            } catch (NoSuchFileException e) {
+                // deleted by retention between the lookup and the mapping; look it up again
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to map journal segment " + base, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.ezyCollect.payments.payment_service.journal;
+
+import java.time.Instant;
+
+/**
+ * One record read back from a {@link SegmentedJournal}.
+ * @param position journal position of the record; a reader opened here reads it again
+ * @param nextPosition position of the record after it, to resume from
+ */
+public record JournalRecord(
+        long position,
+        long nextPosition,
+        byte type,
+        Instant timestamp,
+        byte[] payload
+) {}
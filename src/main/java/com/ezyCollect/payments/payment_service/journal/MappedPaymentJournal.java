@@ -0,0 +1,69 @@
+package com.ezyCollect.payments.payment_service.journal;
+
+import com.ezyCollect.payments.payment_service.dto.PaymentResponse;
+import com.ezyCollect.payments.payment_service.entity.WebhookLog;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+
+/**
+ * Appends processed payments and webhook outcomes to a {@link SegmentedJournal} under
+ * {@code journal.directory}. Replay with {@link #reader(long)} and {@link PaymentJournalCodec#decode}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "journal.enabled", havingValue = "true")
+public class MappedPaymentJournal implements PaymentJournal {
+    private final SegmentedJournal journal;
+
+    @Autowired
+    public MappedPaymentJournal(@Value("${journal.directory:./data/journal}") Path directory,
+                                @Value("${journal.segment-size:64MB}") DataSize segmentSize,
+                                @Value("${journal.retention.max-segments:16}") int maxSegments) throws IOException {
+        this(SegmentedJournal.open(directory, Math.toIntExact(segmentSize.toBytes()), maxSegments, Clock.systemUTC()));
+    }
+
+    MappedPaymentJournal(SegmentedJournal journal) {
+        this.journal = journal;
+    }
+
+    @Override
+    public void recordPayment(PaymentResponse paymentResponse) {
+        try {
+            journal.append(PaymentJournalCodec.PAYMENT, PaymentJournalCodec.encodePayment(paymentResponse));
+        } catch (RuntimeException e) {
+            log.error("Failed to journal payment {}: {}", paymentResponse.transactionId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void recordWebhookOutcome(WebhookLog webhookLog) {
+        try {
+            journal.append(PaymentJournalCodec.WEBHOOK_OUTCOME, PaymentJournalCodec.encodeWebhookOutcome(webhookLog));
+        } catch (RuntimeException e) {
+            log.error("Failed to journal webhook outcome {}: {}", webhookLog.getId(), e.getMessage());
+        }
+    }
+
+    /** Tailing reader from {@code position}; {@link #startPosition()} replays all retained records. */
+    public JournalReader reader(long position) {
+        return journal.reader(position);
+    }
+
+    public long startPosition() {
+        return journal.startPosition();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        journal.close();
+    }
+}
@@ -0,0 +1,18 @@
+package com.ezyCollect.payments.payment_service.journal;
+
+import com.ezyCollect.payments.payment_service.dto.PaymentResponse;
+import com.ezyCollect.payments.payment_service.entity.WebhookLog;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "journal.enabled", havingValue = "false", matchIfMissing = true)
+public class NoOpPaymentJournal implements PaymentJournal {
+    @Override
+    public void recordPayment(PaymentResponse paymentResponse) {
+    }
+
+    @Override
+    public void recordWebhookOutcome(WebhookLog webhookLog) {
+    }
+}
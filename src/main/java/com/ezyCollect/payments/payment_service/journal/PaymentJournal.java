@@ -0,0 +1,15 @@
+package com.ezyCollect.payments.payment_service.journal;
+
+import com.ezyCollect.payments.payment_service.dto.PaymentResponse;
+import com.ezyCollect.payments.payment_service.entity.WebhookLog;
+
+/**
+ * Local record of payment events for sequential replay without querying MySQL.
+ * Enabled with {@code journal.enabled}; recording never fails the caller.
+ */
+public interface PaymentJournal {
+    void recordPayment(PaymentResponse paymentResponse);
+
+    /** Records the final status of a webhook delivery. */
+    void recordWebhookOutcome(WebhookLog webhookLog);
+}
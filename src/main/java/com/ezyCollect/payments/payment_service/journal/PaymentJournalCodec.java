@@ -0,0 +1,124 @@
+package com.ezyCollect.payments.payment_service.journal;
+
+import com.ezyCollect.payments.payment_service.dto.PaymentResponse;
+import com.ezyCollect.payments.payment_service.entity.WebhookLog;
+import com.ezyCollect.payments.payment_service.enums.WebhookEventStatus;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Binary payloads of the payment journal records. Ids and numbers are fixed-width, strings are
+ * length-prefixed UTF-8; -1 (0 for the HTTP status) stands for null.
+ */
+public final class PaymentJournalCodec {
+    public static final byte PAYMENT = 1;
+    public static final byte WEBHOOK_OUTCOME = 2;
+
+    private static final long NO_ID = -1;
+    private static final int MAX_STRING_BYTES = Short.MAX_VALUE;
+
+    private PaymentJournalCodec() {}
+
+    public sealed interface Entry permits PaymentEntry, WebhookOutcomeEntry {
+        Instant timestamp();
+    }
+
+    public record PaymentEntry(
+            Instant timestamp,
+            String transactionId,
+            String status
+    ) implements Entry {}
+
+    public record WebhookOutcomeEntry(
+            Instant timestamp,
+            Long webhookLogId,
+            Long webhookId,
+            Long sequenceNumber,
+            WebhookEventStatus status,
+            Integer httpStatus
+    ) implements Entry {}
+
+    static byte[] encodePayment(PaymentResponse paymentResponse) {
+        byte[] transactionId = utf8(paymentResponse.transactionId());
+        byte[] status = utf8(paymentResponse.status());
+        ByteBuffer payload = ByteBuffer.allocate(stringSize(transactionId) + stringSize(status));
+        putString(payload, transactionId);
+        putString(payload, status);
+        return payload.array();
+    }
+
+    static byte[] encodeWebhookOutcome(WebhookLog webhookLog) {
+        byte[] status = utf8(webhookLog.getEventStatus() == null ? null : webhookLog.getEventStatus().name());
+        ByteBuffer payload = ByteBuffer.allocate(3 * Long.BYTES + Short.BYTES + stringSize(status))
+                .putLong(idOrNone(webhookLog.getId()))
+                .putLong(idOrNone(webhookLog.getWebhookId()))
+                .putLong(idOrNone(webhookLog.getSequenceNumber()))
+                .putShort(webhookLog.getHttpStatus() == null ? 0 : webhookLog.getHttpStatus().shortValue());
+        putString(payload, status);
+        return payload.array();
+    }
+
+    /**
+     * Decodes a record written by {@link MappedPaymentJournal}.
+     * @throws IllegalArgumentException for a record type this codec does not know
+     */
+    public static Entry decode(JournalRecord record) {
+        ByteBuffer payload = ByteBuffer.wrap(record.payload());
+        return switch (record.type()) {
+            case PAYMENT -> new PaymentEntry(record.timestamp(), readString(payload), readString(payload));
+            case WEBHOOK_OUTCOME -> {
+                Long webhookLogId = idOrNull(payload.getLong());
+                Long webhookId = idOrNull(payload.getLong());
+                Long sequenceNumber = idOrNull(payload.getLong());
+                short httpStatus = payload.getShort();
+                String status = readString(payload);
+                yield new WebhookOutcomeEntry(record.timestamp(), webhookLogId, webhookId, sequenceNumber,
+                        status == null ? null : WebhookEventStatus.valueOf(status),
+                        httpStatus == 0 ? null : (int) httpStatus);
+            }
+            default -> throw new IllegalArgumentException("Unknown journal record type " + record.type());
+        };
+    }
+
+    private static byte[] utf8(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("Journal string field exceeds " + MAX_STRING_BYTES + " bytes");
+        }
+        return bytes;
+    }
+
+    private static int stringSize(byte[] value) {
+        return Short.BYTES + (value == null ? 0 : value.length);
+    }
+
+    private static void putString(ByteBuffer payload, byte[] value) {
+        payload.putShort(value == null ? -1 : (short) value.length);
+        if (value != null) {
+            payload.put(value);
+        }
+    }
+
+    private static String readString(ByteBuffer payload) {
+        short length = payload.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long idOrNone(Long id) {
+        return id == null ? NO_ID : id;
+    }
+
+    private static Long idOrNull(long id) {
+        return id == NO_ID ? null : id;
+    }
+}
@@ -0,0 +1,236 @@
+package com.ezyCollect.payments.payment_service.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of small binary records, written through memory-mapped segment files.
+ * Each segment is a pre-sized file named after the journal position of its first byte; when a
+ * record does not fit, the writer rolls to a new segment and the oldest segments beyond
+ * {@code maxSegments} are deleted. Positions are stable across restarts, so a reader can resume
+ * from the {@link JournalRecord#nextPosition()} it last saw.
+ * <p>
+ * Record layout: {@code length:int crc32c:int type:byte timestamp:long payload}, where length
+ * covers type, timestamp and payload. The length is written last, so a zero length marks the end
+ * of the data; on open the active segment is scanned up to the first incomplete or corrupt record.
+ * Appends reach the page cache, not the disk: records survive a process crash but not a power loss
+ * until the segment is forced on roll or close.
+ */
+@Slf4j
+public class SegmentedJournal implements Closeable {
+    static final int FRAME_HEADER = 8;     // length + crc
+    static final int RECORD_HEADER = 9;    // type + timestamp
+    private static final String SUFFIX = ".journal";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final Clock clock;
+    private final ConcurrentSkipListMap<Long, Path> segments = new ConcurrentSkipListMap<>();
+
+    // guarded by this
+    private final CRC32C crc = new CRC32C();
+    private MappedByteBuffer active;
+    private long activeBase;
+    private volatile long endPosition;
+
+    private SegmentedJournal(Path directory, int segmentSize, int maxSegments, Clock clock) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        this.clock = clock;
+    }
+
+    /**
+     * Opens the journal in {@code directory}, creating it if needed, and positions the writer
+     * after the last complete record.
+     */
+    public static SegmentedJournal open(Path directory, int segmentSize, int maxSegments, Clock clock)
+            throws IOException {
+        if (segmentSize <= FRAME_HEADER + RECORD_HEADER) {
+            throw new IllegalArgumentException("Journal segment size too small: " + segmentSize);
+        }
+        if (maxSegments < 1) {
+            throw new IllegalArgumentException("Journal must retain at least one segment");
+        }
+        SegmentedJournal journal = new SegmentedJournal(directory, segmentSize, maxSegments, clock);
+        journal.load();
+        return journal;
+    }
+
+    private void load() throws IOException {
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .forEach(file -> segments.put(baseOf(file), file));
+        }
+        if (segments.isEmpty()) {
+            openSegment(0);
+            endPosition = 0;
+            return;
+        }
+        Map.Entry<Long, Path> last = segments.lastEntry();
+        try (FileChannel channel = FileChannel.open(last.getValue(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            active = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+        activeBase = last.getKey();
+        endPosition = activeBase + recover(active);
+        log.info("Opened journal {} with {} segment(s), positions [{}, {})",
+                directory, segments.size(), startPosition(), endPosition);
+    }
+
+    /** Offset just after the last valid record; a torn record after it is cleared. */
+    private int recover(MappedByteBuffer segment) {
+        int offset = 0;
+        while (offset + FRAME_HEADER + RECORD_HEADER <= segment.capacity()) {
+            int length = segment.getInt(offset);
+            if (length == 0) {
+                return offset;
+            }
+            if (length < RECORD_HEADER || offset + FRAME_HEADER + length > segment.capacity()
+                    || segment.getInt(offset + 4) != checksum(crc, segment, offset + FRAME_HEADER, length)) {
+                log.warn("Journal segment {} has an incomplete record at offset {}, truncating",
+                        activeBase, offset);
+                int end = length < RECORD_HEADER ? offset + FRAME_HEADER
+                        : (int) Math.min(segment.capacity(), (long) offset + FRAME_HEADER + length);
+                for (int i = offset; i < end; i++) {
+                    segment.put(i, (byte) 0);
+                }
+                return offset;
+            }
+            offset += FRAME_HEADER + length;
+        }
+        return offset;
+    }
+
+    /**
+     * Appends a record and returns its position.
+     * @throws IllegalArgumentException when the record does not fit in one segment
+     * @throws UncheckedIOException when a new segment cannot be created
+     */
+    public synchronized long append(byte type, byte[] payload) {
+        int length = RECORD_HEADER + payload.length;
+        if (FRAME_HEADER + length > segmentSize) {
+            throw new IllegalArgumentException("Journal record of " + payload.length + " bytes exceeds the segment size");
+        }
+        int offset = (int) (endPosition - activeBase);
+        if (offset + FRAME_HEADER + length > active.capacity()) {
+            roll();
+            offset = 0;
+        }
+
+        active.put(offset + FRAME_HEADER, type);
+        active.putLong(offset + FRAME_HEADER + 1, clock.millis());
+        active.put(offset + FRAME_HEADER + RECORD_HEADER, payload);
+        active.putInt(offset + 4, checksum(crc, active, offset + FRAME_HEADER, length));
+        active.putInt(offset, length); // last: a non-zero length marks a complete record
+
+        long position = endPosition;
+        endPosition = position + FRAME_HEADER + length;
+        return position;
+    }
+
+    /** Opens a reader at {@code position}, e.g. {@link #startPosition()} to replay everything retained. */
+    public JournalReader reader(long position) {
+        return new JournalReader(this, position);
+    }
+
+    /** Position of the oldest retained record. */
+    public long startPosition() {
+        return segments.firstKey();
+    }
+
+    /** Position the next record will be appended at; everything before it is readable. */
+    public long endPosition() {
+        return endPosition;
+    }
+
+    @Override
+    public synchronized void close() {
+        active.force();
+    }
+
+    private void roll() {
+        active.force();
+        long base = activeBase + active.capacity();
+        try {
+            openSegment(base);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to roll journal segment " + base, e);
+        }
+        endPosition = base;
+        while (segments.size() > maxSegments) {
+            Map.Entry<Long, Path> oldest = segments.pollFirstEntry();
+            try {
+                Files.deleteIfExists(oldest.getValue());
+            } catch (IOException e) {
+                log.warn("Failed to delete expired journal segment {}: {}", oldest.getValue(), e.getMessage());
+            }
+        }
+    }
+
+    private void openSegment(long base) throws IOException {
+        Path file = directory.resolve(String.format("%020d%s", base, SUFFIX));
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            active = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        activeBase = base;
+        segments.put(base, file);
+    }
+
+    // ─── Reader support ───────────────────────────────────────────────────────
+
+    /** Base position of the segment holding {@code position}, or null when it is no longer retained. */
+    Long segmentBaseFor(long position) {
+        Long base = segments.floorKey(position);
+        return base == null || position < segments.firstKey() ? null : base;
+    }
+
+    /** Base position of the segment after {@code base}, or null when {@code base} is the newest. */
+    Long nextSegmentBase(long base) {
+        return segments.higherKey(base);
+    }
+
+    /** Read-only view of a segment; the active one shares the writer's mapping. */
+    ByteBuffer mapSegment(long base) throws IOException {
+        synchronized (this) {
+            if (base == activeBase) {
+                return active.asReadOnlyBuffer();
+            }
+        }
+        Path file = segments.get(base);
+        if (file == null) {
+            throw new NoSuchFileException("journal segment " + base);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    static int checksum(CRC32C crc, ByteBuffer segment, int offset, int length) {
+        crc.reset();
+        crc.update(segment.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    private static long baseOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+}
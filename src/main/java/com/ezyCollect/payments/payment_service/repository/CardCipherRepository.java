@@ -0,0 +1,26 @@
+package com.ezyCollect.payments.payment_service.repository;
+
+import com.ezyCollect.payments.payment_service.dto.ReEncryptedCard;
+import com.ezyCollect.payments.payment_service.dto.StoredCard;
+
+import java.util.List;
+
+/**
+ * Keyset-paged access to encrypted card columns of a {@link CardCipherTable}, used by the re-encryption job.
+ */
+public interface CardCipherRepository {
+    /**
+     * Next chunk of cards not yet encrypted with the given key version, in id order
+     * @param table table to read
+     * @param afterId last id of the previous chunk (0 to start)
+     * @param keyVersion target key version
+     * @param limit chunk size
+     */
+    List<StoredCard> findChunkNotOnKeyVersion(CardCipherTable table, long afterId, int keyVersion, int limit);
+
+    /**
+     * Write back re-encrypted cards in one batch
+     * @return number of rows updated; rows whose key version changed since they were read are skipped
+     */
+    int updateCiphers(CardCipherTable table, List<ReEncryptedCard> cards);
+}
@@ -0,0 +1,16 @@
+package com.ezyCollect.payments.payment_service.repository;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Tables holding encrypted cards, each with id, card_number, iv and key_version columns.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum CardCipherTable {
+    CARD_TOKEN("card_token"),
+    PAYMENT("payment"); // rows written before the token vault
+
+    private final String tableName;
+}
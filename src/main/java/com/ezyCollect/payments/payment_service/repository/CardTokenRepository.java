@@ -0,0 +1,12 @@
+package com.ezyCollect.payments.payment_service.repository;
+
+import com.ezyCollect.payments.payment_service.entity.CardToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CardTokenRepository extends JpaRepository<CardToken, Long> {
+    Optional<CardToken> findByFingerprint(String fingerprint);
+}
@@ -0,0 +1,146 @@
+package com.ezyCollect.payments.payment_service.repository;
+
+import com.ezyCollect.payments.payment_service.entity.Payment;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit for payment inserts. Callers hand their payment to a single collector thread and
+ * wait; the collector gathers whatever arrives within {@code payment.coalescing.linger} (or up to
+ * {@code max-batch-size} payments) and writes the group in one transaction, then completes each
+ * caller with its generated id. Under concurrent load many requests share one commit and fsync;
+ * a lone request pays at most the linger time.
+ */
+@Slf4j
+@Repository
+@ConditionalOnProperty(name = "payment.write-path", havingValue = "coalescing")
+public class CoalescingPaymentWriteRepository implements PaymentWriteRepository {
+    private final JdbcPaymentBatchRepository paymentBatchRepository;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final BlockingQueue<PendingInsert> queue;
+    private final Thread collector;
+    private volatile boolean running = true;
+
+    public CoalescingPaymentWriteRepository(JdbcPaymentBatchRepository paymentBatchRepository,
+                                            @Value("${payment.coalescing.max-batch-size:64}") int maxBatchSize,
+                                            @Value("${payment.coalescing.linger:200us}") Duration linger,
+                                            @Value("${payment.coalescing.queue-capacity:10000}") int queueCapacity) {
+        this.paymentBatchRepository = paymentBatchRepository;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = linger.toNanos();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.collector = new Thread(this::collect, "payment-write-coalescer");
+        this.collector.setDaemon(true);
+        this.collector.start();
+    }
+
+    @Override
+    public Payment insert(Payment payment) {
+        PendingInsert pending = new PendingInsert(payment, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            throw new TransientDataAccessResourceException("Payment write queue is full or shut down");
+        }
+        try {
+            return pending.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // stop accepting, let the collector flush what is already queued
+        running = false;
+        collector.join(TimeUnit.SECONDS.toMillis(5));
+        PendingInsert leftover;
+        while ((leftover = queue.poll()) != null) {
+            leftover.result().completeExceptionally(
+                    new TransientDataAccessResourceException("Payment write coalescer shut down"));
+        }
+    }
+
+    private void collect() {
+        List<PendingInsert> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingInsert first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (RuntimeException e) {
+                log.error("Payment write coalescer failed: {}", e.getMessage(), e);
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Take what is already queued, then wait for more until the batch is full or the linger time is up
+    private void fill(List<PendingInsert> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + lingerNanos;
+        queue.drainTo(batch, maxBatchSize - batch.size());
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            PendingInsert next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            queue.drainTo(batch, maxBatchSize - batch.size());
+        }
+    }
+
+    private void flush(List<PendingInsert> batch) {
+        List<Payment> payments = batch.stream().map(PendingInsert::payment).toList();
+        try {
+            paymentBatchRepository.insertAll(payments);
+            batch.forEach(pending -> pending.result().complete(pending.payment()));
+        } catch (DataAccessException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(e);
+                return;
+            }
+            // one bad row must not fail the others: retry each payment in its own transaction
+            log.warn("Batched insert of {} payments failed, retrying one by one: {}", batch.size(), e.getMessage());
+            for (PendingInsert pending : batch) {
+                pending.payment().setId(null);
+                try {
+                    paymentBatchRepository.insertAll(List.of(pending.payment()));
+                    pending.result().complete(pending.payment());
+                } catch (RuntimeException single) {
+                    pending.result().completeExceptionally(single);
+                }
+            }
+        }
+    }
+
+    private record PendingInsert(Payment payment, CompletableFuture<Payment> result) { }
+}
@@ -0,0 +1,20 @@
+package com.ezyCollect.payments.payment_service.repository;
+
+import com.ezyCollect.payments.payment_service.crypto.DataKey;
+
+import java.util.Optional;
+
+/**
+ * Wrapped data encryption keys, one row per key version.
+ */
+public interface DataKeyRepository {
+    Optional<DataKey> findLatest();
+
+    Optional<DataKey> findByVersion(int version);
+
+    /**
+     * Store a new wrapped key; the version is assigned by the database
+     * @return the stored key including its version
+     */
+    DataKey insert(String wrappedKey, String iv);
+}
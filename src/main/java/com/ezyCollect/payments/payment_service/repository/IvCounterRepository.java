@@ -0,0 +1,14 @@
+package com.ezyCollect.payments.payment_service.repository;
+
+/**
+ * Persisted high-water mark for counter-based IVs, one row per node.
+ */
+public interface IvCounterRepository {
+    /**
+     * Atomically advance the node's high-water mark by one block
+     * @param nodeId node prefix used in the IV
+     * @param blockSize number of counters to reserve
+     * @return the new high-water mark; counters in [highWater - blockSize, highWater) are reserved
+     */
+    long reserveBlock(int nodeId, long blockSize);
+}
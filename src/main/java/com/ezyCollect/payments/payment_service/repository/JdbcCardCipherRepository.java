@@ -0,0 +1,49 @@
+package com.ezyCollect.payments.payment_service.repository;
+
+import com.ezyCollect.payments.payment_service.dto.ReEncryptedCard;
+import com.ezyCollect.payments.payment_service.dto.StoredCard;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class JdbcCardCipherRepository implements CardCipherRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<StoredCard> findChunkNotOnKeyVersion(CardCipherTable table, long afterId, int keyVersion, int limit) {
+        // primary key range scan; a plain consistent read, so no row locks are taken
+        return jdbcTemplate.query(
+                "SELECT id, card_number, iv, key_version FROM " + table.getTableName()
+                        + " WHERE id > ? AND key_version <> ? AND card_number IS NOT NULL ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new StoredCard(
+                        rs.getLong("id"),
+                        rs.getString("card_number"),
+                        rs.getString("iv"),
+                        rs.getInt("key_version")),
+                afterId, keyVersion, limit);
+    }
+
+    @Override
+    @Transactional
+    public int updateCiphers(CardCipherTable table, List<ReEncryptedCard> cards) {
+        int[][] counts = jdbcTemplate.batchUpdate(
+                "UPDATE " + table.getTableName()
+                        + " SET card_number = ?, iv = ?, key_version = ? WHERE id = ? AND key_version = ?",
+                cards,
+                cards.size(),
+                (ps, card) -> {
+                    ps.setString(1, card.encryptedCard());
+                    ps.setString(2, card.iv());
+                    ps.setInt(3, card.keyVersion());
+                    ps.setLong(4, card.id());
+                    ps.setInt(5, card.previousKeyVersion());
+                });
+        return Arrays.stream(counts).flatMapToInt(Arrays::stream).map(count -> Math.max(count, 0)).sum();
+    }
+}
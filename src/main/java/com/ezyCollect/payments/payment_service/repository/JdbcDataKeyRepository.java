@@ -0,0 +1,53 @@
+package com.ezyCollect.payments.payment_service.repository;
+
+import com.ezyCollect.payments.payment_service.crypto.DataKey;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public class JdbcDataKeyRepository implements DataKeyRepository {
+    private static final String SELECT = "SELECT version, wrapped_key, iv, created_at FROM data_key";
+    private static final RowMapper<DataKey> ROW_MAPPER = (rs, rowNum) -> new DataKey(
+            rs.getInt("version"),
+            rs.getString("wrapped_key"),
+            rs.getString("iv"),
+            rs.getObject("created_at", LocalDateTime.class));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SimpleJdbcInsert dataKeyInsert;
+
+    public JdbcDataKeyRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataKeyInsert = new SimpleJdbcInsert(jdbcTemplate)
+                .withTableName("data_key")
+                .usingColumns("wrapped_key", "iv", "created_at")
+                .usingGeneratedKeyColumns("version")
+                .withoutTableColumnMetaDataAccess();
+    }
+
+    @Override
+    public Optional<DataKey> findLatest() {
+        return jdbcTemplate.query(SELECT + " ORDER BY version DESC LIMIT 1", ROW_MAPPER).stream().findFirst();
+    }
+
+    @Override
+    public Optional<DataKey> findByVersion(int version) {
+        return jdbcTemplate.query(SELECT + " WHERE version = ?", ROW_MAPPER, version).stream().findFirst();
+    }
+
+    @Override
+    public DataKey insert(String wrappedKey, String iv) {
+        LocalDateTime createdAt = LocalDateTime.now();
+        Number version = dataKeyInsert.executeAndReturnKey(new MapSqlParameterSource()
+                .addValue("wrapped_key", wrappedKey)
+                .addValue("iv", iv)
+                .addValue("created_at", createdAt));
+        return new DataKey(version.intValue(), wrappedKey, iv, createdAt);
+    }
+}
@@ -0,0 +1,23 @@
+package com.ezyCollect.payments.payment_service.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@RequiredArgsConstructor
+public class JdbcIvCounterRepository implements IvCounterRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public long reserveBlock(int nodeId, long blockSize) {
+        jdbcTemplate.update("INSERT IGNORE INTO iv_counter (node_id, high_water) VALUES (?, 0)", nodeId);
+        // the row lock taken by the UPDATE keeps the following read consistent
+        jdbcTemplate.update("UPDATE iv_counter SET high_water = high_water + ? WHERE node_id = ?", blockSize, nodeId);
+        Long highWater = jdbcTemplate.queryForObject(
+                "SELECT high_water FROM iv_counter WHERE node_id = ?", Long.class, nodeId);
+        return highWater != null ? highWater : 0L;
+    }
+}
@@ -0,0 +1,70 @@
+package com.ezyCollect.payments.payment_service.repository;
+
+import com.ezyCollect.payments.payment_service.entity.Payment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Inserts a group of payments as one JDBC batch in a single transaction, so the whole
+ * group costs one commit. Used by {@link CoalescingPaymentWriteRepository}.
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "payment.write-path", havingValue = "coalescing")
+public class JdbcPaymentBatchRepository {
+    private static final String INSERT_SQL = "INSERT INTO payment (first_name, last_name, zip_code, card_token_id, "
+            + "card_number, iv, key_version, card_fingerprint, card_bin, card_last4) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert all payments and populate their generated ids
+     * @return the same payments, in the same order
+     */
+    @Transactional
+    public List<Payment> insertAll(List<Payment> payments) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Payment>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Payment payment : payments) {
+                    ps.setString(1, payment.getFirstName());
+                    ps.setString(2, payment.getLastName());
+                    ps.setString(3, payment.getZipCode());
+                    if (payment.getCardTokenId() != null) {
+                        ps.setLong(4, payment.getCardTokenId());
+                    } else {
+                        ps.setNull(4, Types.BIGINT);
+                    }
+                    ps.setString(5, payment.getCardNumber());
+                    ps.setString(6, payment.getIv());
+                    ps.setInt(7, payment.getKeyVersion());
+                    ps.setString(8, payment.getCardFingerprint());
+                    ps.setString(9, payment.getCardBin());
+                    ps.setString(10, payment.getCardLast4());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                // keys come back in batch order
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (Payment payment : payments) {
+                        if (!keys.next()) {
+                            throw new IllegalStateException("Missing generated key for batched payment insert");
+                        }
+                        payment.setId(keys.getLong(1));
+                    }
+                }
+            }
+            return payments;
+        });
+    }
+}
@@ -0,0 +1,80 @@
+package com.ezyCollect.payments.payment_service.repository;
+
+import com.ezyCollect.payments.payment_service.dto.PaymentEvent;
+import com.ezyCollect.payments.payment_service.enums.WebhookEventType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only store of the payment event feed. Rows are only inserted by
+ * {@link com.ezyCollect.payments.payment_service.service.PaymentEventFeed}'s single writer.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcPaymentEventRepository {
+    private static final String INSERT_SQL =
+            "INSERT INTO payment_event (event_type, status, transaction_id, created_at) VALUES (?, ?, ?, ?)";
+
+    private static final RowMapper<PaymentEvent> ROW_MAPPER = (rs, rowNum) -> PaymentEvent.builder()
+            .id(rs.getLong("id"))
+            .type(WebhookEventType.valueOf(rs.getString("event_type")))
+            .status(rs.getString("status"))
+            .transactionId(rs.getString("transaction_id"))
+            .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert all events in one transaction
+     * @return the events with their generated ids, in the same order
+     */
+    @Transactional
+    public List<PaymentEvent> insertAll(List<PaymentEvent> events) {
+        return jdbcTemplate.execute((ConnectionCallback<List<PaymentEvent>>) connection -> {
+            List<PaymentEvent> inserted = new ArrayList<>(events.size());
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (PaymentEvent event : events) {
+                    ps.setString(1, event.type().name());
+                    ps.setString(2, event.status());
+                    ps.setString(3, event.transactionId());
+                    ps.setTimestamp(4, Timestamp.valueOf(event.createdAt()));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                // keys come back in batch order
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (PaymentEvent event : events) {
+                        if (!keys.next()) {
+                            throw new IllegalStateException("Missing generated key for batched payment event insert");
+                        }
+                        inserted.add(event.toBuilder().id(keys.getLong(1)).build());
+                    }
+                }
+            }
+            return inserted;
+        });
+    }
+
+    public List<PaymentEvent> findAfter(long afterId, int limit) {
+        return jdbcTemplate.query("SELECT id, event_type, status, transaction_id, created_at FROM payment_event "
+                + "WHERE id > ? ORDER BY id LIMIT ?", ROW_MAPPER, afterId, limit);
+    }
+
+    public long maxId() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM payment_event", Long.class);
+        return maxId != null ? maxId : 0L;
+    }
+}
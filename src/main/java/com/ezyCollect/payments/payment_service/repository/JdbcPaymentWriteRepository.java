@@ -0,0 +1,47 @@
+package com.ezyCollect.payments.payment_service.repository;
+
+import com.ezyCollect.payments.payment_service.entity.Payment;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Plain JDBC insert for payments. Skips the persistence context, dirty checking and
+ * entity equality checks entirely; the INSERT statement is compiled once and reused.
+ */
+@Repository
+@ConditionalOnProperty(name = "payment.write-path", havingValue = "jdbc")
+public class JdbcPaymentWriteRepository implements PaymentWriteRepository {
+    private final SimpleJdbcInsert paymentInsert;
+
+    public JdbcPaymentWriteRepository(JdbcTemplate jdbcTemplate) {
+        // Column list is fixed, so no table metadata lookup is needed on first use
+        this.paymentInsert = new SimpleJdbcInsert(jdbcTemplate)
+                .withTableName("payment")
+                .usingColumns("first_name", "last_name", "zip_code", "card_token_id", "card_number", "iv", "key_version",
+                        "card_fingerprint", "card_bin", "card_last4")
+                .usingGeneratedKeyColumns("id")
+                .withoutTableColumnMetaDataAccess();
+    }
+
+    @Override
+    public Payment insert(Payment payment) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("first_name", payment.getFirstName())
+                .addValue("last_name", payment.getLastName())
+                .addValue("zip_code", payment.getZipCode())
+                .addValue("card_token_id", payment.getCardTokenId())
+                .addValue("card_number", payment.getCardNumber())
+                .addValue("iv", payment.getIv())
+                .addValue("key_version", payment.getKeyVersion())
+                .addValue("card_fingerprint", payment.getCardFingerprint())
+                .addValue("card_bin", payment.getCardBin())
+                .addValue("card_last4", payment.getCardLast4());
+
+        Number id = paymentInsert.executeAndReturnKey(params);
+        payment.setId(id.longValue());
+        return payment;
+    }
+}
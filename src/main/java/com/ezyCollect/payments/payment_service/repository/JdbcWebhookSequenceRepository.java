@@ -0,0 +1,23 @@
+package com.ezyCollect.payments.payment_service.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@RequiredArgsConstructor
+public class JdbcWebhookSequenceRepository implements WebhookSequenceRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public long reserveBlock(long webhookId, long blockSize) {
+        jdbcTemplate.update("INSERT IGNORE INTO webhook_sequence (webhook_id, high_water) VALUES (?, 0)", webhookId);
+        // the row lock taken by the UPDATE keeps the following read consistent
+        jdbcTemplate.update("UPDATE webhook_sequence SET high_water = high_water + ? WHERE webhook_id = ?", blockSize, webhookId);
+        Long highWater = jdbcTemplate.queryForObject(
+                "SELECT high_water FROM webhook_sequence WHERE webhook_id = ?", Long.class, webhookId);
+        return highWater != null ? highWater : 0L;
+    }
+}
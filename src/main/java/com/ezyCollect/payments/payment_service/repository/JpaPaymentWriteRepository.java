@@ -0,0 +1,18 @@
+package com.ezyCollect.payments.payment_service.repository;
+
+import com.ezyCollect.payments.payment_service.entity.Payment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "payment.write-path", havingValue = "jpa", matchIfMissing = true)
+public class JpaPaymentWriteRepository implements PaymentWriteRepository {
+    private final PaymentRepository paymentRepository;
+
+    @Override
+    public Payment insert(Payment payment) {
+        return paymentRepository.save(payment);
+    }
+}
@@ -0,0 +1,17 @@
+package com.ezyCollect.payments.payment_service.repository;
+
+import com.ezyCollect.payments.payment_service.entity.Payment;
+
+/**
+ * Insert-only write path for payments. A payment row is written once and never updated,
+ * so the implementation is selected with {@code payment.write-path} (jpa | jdbc) while
+ * {@link PaymentRepository} stays in charge of reads.
+ */
+public interface PaymentWriteRepository {
+    /**
+     * Insert a new payment row
+     * @param payment payment without an id
+     * @return the same payment with its generated id populated
+     */
+    Payment insert(Payment payment);
+}
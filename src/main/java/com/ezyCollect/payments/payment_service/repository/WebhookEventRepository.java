@@ -0,0 +1,36 @@
+package com.ezyCollect.payments.payment_service.repository;
+
+import com.ezyCollect.payments.payment_service.configuration.WebhookLogPersistenceConfig;
+import com.ezyCollect.payments.payment_service.entity.WebhookEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface WebhookEventRepository extends JpaRepository<WebhookEvent, Long> {
+    boolean existsByEventKey(String eventKey);
+
+    /**
+     * Claims an event key without raising on a duplicate, so the surrounding transaction stays usable.
+     * @return 1 when the key was new, 0 when it had already been claimed
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO webhook_event (event_key, received_at) VALUES (:eventKey, :receivedAt)",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("eventKey") String eventKey, @Param("receivedAt") LocalDateTime receivedAt);
+
+    /**
+     * Deletes up to {@code limit} of the rows received before the cutoff, each call in its own short
+     * transaction so a large purge does not hold locks against inserts.
+     * @return the number of rows deleted; fewer than {@code limit} means none are left
+     */
+    @Modifying
+    @Transactional(transactionManager = WebhookLogPersistenceConfig.TRANSACTION_MANAGER)
+    @Query(value = "DELETE FROM webhook_event WHERE received_at < :cutoff LIMIT :limit", nativeQuery = true)
+    int deleteReceivedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
@@ -1,9 +1,17 @@
 package com.ezyCollect.payments.payment_service.repository;
 
 import com.ezyCollect.payments.payment_service.entity.WebhookLog;
+import com.ezyCollect.payments.payment_service.enums.WebhookDirection;
+import com.ezyCollect.payments.payment_service.enums.WebhookEventStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface WebhookLogRepository extends JpaRepository<WebhookLog, Long> {
+    List<WebhookLog> findByDirectionAndEventStatusOrderByIdAsc(WebhookDirection direction,
+                                                               WebhookEventStatus eventStatus,
+                                                               Pageable pageable);
 }
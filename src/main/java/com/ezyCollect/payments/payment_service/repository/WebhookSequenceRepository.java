@@ -0,0 +1,14 @@
+package com.ezyCollect.payments.payment_service.repository;
+
+/**
+ * Persisted high-water mark of outgoing event sequence numbers, one row per webhook.
+ */
+public interface WebhookSequenceRepository {
+    /**
+     * Atomically advance the webhook's high-water mark by one block
+     * @param webhookId webhook the sequence numbers belong to
+     * @param blockSize number of sequence numbers to reserve
+     * @return the new high-water mark; numbers in (highWater - blockSize, highWater] are reserved
+     */
+    long reserveBlock(long webhookId, long blockSize);
+}
@@ -1,37 +1,106 @@
 package com.ezyCollect.payments.payment_service.service;
 
+import com.ezyCollect.payments.payment_service.crypto.DataKeyRing;
+import com.ezyCollect.payments.payment_service.crypto.IvGenerator;
 import com.ezyCollect.payments.payment_service.dto.EncryptedCardInfo;
+import com.ezyCollect.payments.payment_service.dto.ReEncryptedCard;
+import com.ezyCollect.payments.payment_service.dto.StoredCard;
 import com.ezyCollect.payments.payment_service.exception.EncryptionException;
 import com.ezyCollect.payments.payment_service.util.AESUtil;
+import com.ezyCollect.payments.payment_service.util.CardNumberUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.security.Provider;
 import java.util.Base64;
 
 @Slf4j
 @Service
 public class CardEncryptionService {
-    private final SecretKey secretKey;
+    private final DataKeyRing dataKeyRing;
+    private final SecretKey fingerprintKey;
+    private final IvGenerator ivGenerator;
+    private final Provider provider;
 
-    public CardEncryptionService(@Value("${aes.secret.key}") String secretKeyString) {
-        if (secretKeyString == null || secretKeyString.isBlank()) {
-            throw new IllegalStateException("AES secret key must not be blank");
+    public CardEncryptionService(DataKeyRing dataKeyRing,
+                                 @Value("${card.fingerprint.key}") String fingerprintKeyString,
+                                 IvGenerator ivGenerator,
+                                 Provider provider) {
+        if (fingerprintKeyString == null || fingerprintKeyString.isBlank()) {
+            throw new IllegalStateException("Card fingerprint key must not be blank");
         }
-        this.secretKey = AESUtil.decodeKeyFromBase64(secretKeyString);
-        log.info("CardEncryptionService initialized successfully");
+        this.dataKeyRing = dataKeyRing;
+        this.fingerprintKey = CardNumberUtil.decodeFingerprintKeyFromBase64(fingerprintKeyString);
+        this.ivGenerator = ivGenerator;
+        this.provider = provider;
+        log.info("CardEncryptionService initialized successfully with provider {}", provider.getName());
     }
 
     public EncryptedCardInfo encryptCard(String cardNumber) {
         try {
-            byte[] iv = AESUtil.generateRandomIV();
-            String encryptedCard = AESUtil.encrypt(cardNumber, secretKey, iv);
+            int keyVersion = dataKeyRing.activeVersion();
+            byte[] iv = ivGenerator.nextIv();
+            String encryptedCard = AESUtil.encrypt(cardNumber, dataKeyRing.key(keyVersion), iv, provider);
             String ivBase64 = Base64.getEncoder().encodeToString(iv);
-            return new EncryptedCardInfo(encryptedCard, ivBase64);
+            return new EncryptedCardInfo(
+                    encryptedCard,
+                    ivBase64,
+                    keyVersion,
+                    CardNumberUtil.fingerprint(cardNumber, fingerprintKey),
+                    CardNumberUtil.bin(cardNumber),
+                    CardNumberUtil.last4(cardNumber));
         } catch (Exception e) {
             log.error("Failed to encrypt card number: {}", e.getMessage());
             throw new EncryptionException("Failed to encrypt card number", e);
         }
     }
+
+    /**
+     * Fingerprint a card number so stored payments for the same card can be found by index
+     * @param cardNumber plain card number
+     * @return hex encoded HMAC-SHA256
+     */
+    public String fingerprintCard(String cardNumber) {
+        return CardNumberUtil.fingerprint(cardNumber, fingerprintKey);
+    }
+
+    /**
+     * Decrypt a stored card and return only its masked form, so the plain PAN never leaves this service
+     * @param encryptedCard Base64 cipher text
+     * @param iv Base64 IV used for encryption
+     * @param keyVersion data key version the card was encrypted with
+     * @return masked card number, e.g. ************4242
+     */
+    public String maskCard(String encryptedCard, String iv, int keyVersion) {
+        return CardNumberUtil.mask(decrypt(encryptedCard, iv, keyVersion));
+    }
+
+    /**
+     * Decrypt a stored card and encrypt it again under another data key version, with a fresh IV
+     * @param card stored cipher text and its key version
+     * @param targetVersion data key version to re-encrypt with
+     */
+    public ReEncryptedCard reEncryptCard(StoredCard card, int targetVersion) {
+        String cardNumber = decrypt(card.encryptedCard(), card.iv(), card.keyVersion());
+        try {
+            byte[] iv = ivGenerator.nextIv();
+            String encryptedCard = AESUtil.encrypt(cardNumber, dataKeyRing.key(targetVersion), iv, provider);
+            return new ReEncryptedCard(card.id(), card.keyVersion(), encryptedCard,
+                    Base64.getEncoder().encodeToString(iv), targetVersion);
+        } catch (Exception e) {
+            log.error("Failed to re-encrypt card number: {}", e.getMessage());
+            throw new EncryptionException("Failed to re-encrypt card number", e);
+        }
+    }
+
+    private String decrypt(String encryptedCard, String iv, int keyVersion) {
+        try {
+            return AESUtil.decrypt(encryptedCard, dataKeyRing.key(keyVersion), Base64.getDecoder().decode(iv), provider);
+        } catch (Exception e) {
+            log.error("Failed to decrypt card number: {}", e.getMessage());
+            throw new EncryptionException("Failed to decrypt card number", e);
+        }
+    }
 }
@@ -0,0 +1,190 @@
+package com.ezyCollect.payments.payment_service.service;
+
+import com.ezyCollect.payments.payment_service.crypto.DataKeyRing;
+import com.ezyCollect.payments.payment_service.dto.ReEncryptedCard;
+import com.ezyCollect.payments.payment_service.dto.ReEncryptionStatus;
+import com.ezyCollect.payments.payment_service.dto.StoredCard;
+import com.ezyCollect.payments.payment_service.exception.EncryptionException;
+import com.ezyCollect.payments.payment_service.repository.CardCipherRepository;
+import com.ezyCollect.payments.payment_service.repository.CardCipherTable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves stored cards (the token vault, then pre-vault payments) to the active data key while the
+ * service keeps running, on its own single-thread executor. Each table is read in id-ordered chunks
+ * (keyset paging, no OFFSET), re-encrypted in parallel on a dedicated ForkJoin pool and written back
+ * in one short batch transaction per chunk, with a pause between chunks so the job never holds many
+ * row locks or saturates the database. The active version is re-read before each chunk; when another instance
+ * has rotated meanwhile, the job starts over with the newer key.
+ */
+@Slf4j
+@Service
+public class CardReEncryptionService {
+    private final CardCipherRepository cardCipherRepository;
+    private final CardEncryptionService cardEncryptionService;
+    private final DataKeyRing dataKeyRing;
+    private final Executor cardReEncryptionExecutor;
+    private final int chunkSize;
+    private final Duration throttle;
+    private final int parallelism;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong reEncrypted = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile Integer targetVersion;
+    private volatile CardCipherTable table;
+    private volatile long lastId;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+
+    public CardReEncryptionService(CardCipherRepository cardCipherRepository,
+                                   CardEncryptionService cardEncryptionService,
+                                   DataKeyRing dataKeyRing,
+                                   @Qualifier("cardReEncryptionExecutor") Executor cardReEncryptionExecutor,
+                                   @Value("${card.reencryption.chunk-size:500}") int chunkSize,
+                                   @Value("${card.reencryption.throttle:100ms}") Duration throttle,
+                                   @Value("${card.reencryption.parallelism:0}") int parallelism) {
+        this.cardCipherRepository = cardCipherRepository;
+        this.cardEncryptionService = cardEncryptionService;
+        this.dataKeyRing = dataKeyRing;
+        this.cardReEncryptionExecutor = cardReEncryptionExecutor;
+        this.chunkSize = chunkSize;
+        this.throttle = throttle;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Start re-encrypting every card not on the active data key version in the background
+     * @return false if a run is already in progress
+     */
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        int version = dataKeyRing.refreshActiveVersion();
+        targetVersion = version;
+        reEncrypted.set(0);
+        skipped.set(0);
+        failed.set(0);
+        table = null;
+        lastId = 0;
+        startedAt = LocalDateTime.now();
+        finishedAt = null;
+        try {
+            cardReEncryptionExecutor.execute(() -> run(version));
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    public ReEncryptionStatus status() {
+        return new ReEncryptionStatus(running.get(), targetVersion, reEncrypted.get(), skipped.get(),
+                failed.get(), table != null ? table.getTableName() : null, lastId, startedAt, finishedAt);
+    }
+
+    void run(int startVersion) {
+        log.info("Card re-encryption to key version {} started", startVersion);
+        int version = startVersion;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            int newerVersion;
+            do {
+                newerVersion = 0;
+                for (CardCipherTable cardTable : CardCipherTable.values()) {
+                    newerVersion = reEncryptTable(pool, cardTable, version);
+                    if (newerVersion != 0) {
+                        log.info("Card data key rotated to version {} during re-encryption, starting over", newerVersion);
+                        version = newerVersion;
+                        targetVersion = version;
+                        break;
+                    }
+                }
+            } while (newerVersion != 0);
+            log.info("Card re-encryption to key version {} finished: {} re-encrypted, {} skipped, {} failed",
+                    version, reEncrypted.get(), skipped.get(), failed.get());
+        } catch (RuntimeException e) {
+            log.error("Card re-encryption to key version {} stopped after {} id {}: {}",
+                    version, table, lastId, e.getMessage());
+        } finally {
+            pool.shutdown();
+            finishedAt = LocalDateTime.now();
+            running.set(false);
+        }
+    }
+
+    /**
+     * @return 0 when the table is done, or the newer active version when a rotation interrupted it
+     */
+    private int reEncryptTable(ForkJoinPool pool, CardCipherTable cardTable, int version) {
+        table = cardTable;
+        lastId = 0;
+        long afterId = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            int activeVersion = dataKeyRing.refreshActiveVersion();
+            if (activeVersion > version) {
+                return activeVersion;
+            }
+            List<StoredCard> chunk = cardCipherRepository.findChunkNotOnKeyVersion(cardTable, afterId, version, chunkSize);
+            if (chunk.isEmpty()) {
+                return 0;
+            }
+            processChunk(pool, cardTable, chunk, version);
+            afterId = chunk.get(chunk.size() - 1).id();
+            lastId = afterId;
+            pause();
+        }
+        return 0;
+    }
+
+    private void processChunk(ForkJoinPool pool, CardCipherTable cardTable, List<StoredCard> chunk, int version) {
+        // a parallel stream submitted to a ForkJoinPool runs in that pool, not the common pool
+        List<ReEncryptedCard> cards = pool.submit(() -> chunk.parallelStream()
+                        .map(card -> reEncrypt(card, version))
+                        .filter(Objects::nonNull)
+                        .toList())
+                .join();
+        if (cards.isEmpty()) {
+            return;
+        }
+        int updated = cardCipherRepository.updateCiphers(cardTable, cards);
+        reEncrypted.addAndGet(updated);
+        skipped.addAndGet(cards.size() - updated);
+    }
+
+    private ReEncryptedCard reEncrypt(StoredCard card, int version) {
+        try {
+            return cardEncryptionService.reEncryptCard(card, version);
+        } catch (EncryptionException e) {
+            failed.incrementAndGet();
+            log.warn("Could not re-encrypt card in {} row {}: {}", table, card.id(), e.getMessage());
+            return null;
+        }
+    }
+
+    private void pause() {
+        if (throttle.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(throttle.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
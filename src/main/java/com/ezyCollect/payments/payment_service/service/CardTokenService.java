@@ -0,0 +1,86 @@
+package com.ezyCollect.payments.payment_service.service;
+
+import com.ezyCollect.payments.payment_service.dto.CardTokenInfo;
+import com.ezyCollect.payments.payment_service.dto.EncryptedCardInfo;
+import com.ezyCollect.payments.payment_service.entity.CardToken;
+import com.ezyCollect.payments.payment_service.repository.CardTokenRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Card token vault. Each unique card is encrypted and stored once in {@code card_token}, found again
+ * by its keyed fingerprint. Recently seen fingerprints are cached, so a repeat card costs one HMAC
+ * and no encryption or database round trip.
+ */
+@Slf4j
+@Service
+public class CardTokenService {
+    private final CardTokenRepository cardTokenRepository;
+    private final CardEncryptionService cardEncryptionService;
+    private final Cache<String, CardTokenInfo> tokenCache;
+
+    public CardTokenService(CardTokenRepository cardTokenRepository,
+                            CardEncryptionService cardEncryptionService,
+                            @Value("${card.token-cache.max-size:100000}") long maxSize,
+                            @Value("${card.token-cache.ttl:1h}") Duration ttl) {
+        this.cardTokenRepository = cardTokenRepository;
+        this.cardEncryptionService = cardEncryptionService;
+        this.tokenCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(ttl)
+                .build();
+    }
+
+    /**
+     * Find or create the vault token for a card number
+     * @param cardNumber plain card number
+     * @return token reference for the payment row
+     */
+    public CardTokenInfo tokenize(String cardNumber) {
+        String fingerprint = cardEncryptionService.fingerprintCard(cardNumber);
+        CardTokenInfo cached = tokenCache.getIfPresent(fingerprint);
+        if (cached != null) {
+            return cached;
+        }
+
+        CardTokenInfo token = cardTokenRepository.findByFingerprint(fingerprint)
+                .map(CardTokenService::toInfo)
+                .orElseGet(() -> createToken(cardNumber, fingerprint));
+        tokenCache.put(fingerprint, token);
+        return token;
+    }
+
+    private CardTokenInfo createToken(String cardNumber, String fingerprint) {
+        EncryptedCardInfo encryptedCardInfo = cardEncryptionService.encryptCard(cardNumber);
+        CardToken cardToken = CardToken.builder()
+                .fingerprint(fingerprint)
+                .cardNumber(encryptedCardInfo.encryptedCard())
+                .iv(encryptedCardInfo.iv())
+                .keyVersion(encryptedCardInfo.keyVersion())
+                .cardBin(encryptedCardInfo.bin())
+                .cardLast4(encryptedCardInfo.last4())
+                .createdAt(LocalDateTime.now())
+                .build();
+        try {
+            return toInfo(cardTokenRepository.save(cardToken));
+        } catch (DataIntegrityViolationException e) {
+            // the same card was vaulted concurrently; the unique fingerprint keeps a single copy
+            log.debug("Card token already created concurrently, reusing it");
+            return cardTokenRepository.findByFingerprint(fingerprint)
+                    .map(CardTokenService::toInfo)
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    private static CardTokenInfo toInfo(CardToken cardToken) {
+        return new CardTokenInfo(cardToken.getId(), cardToken.getFingerprint(),
+                cardToken.getCardBin(), cardToken.getCardLast4());
+    }
+}
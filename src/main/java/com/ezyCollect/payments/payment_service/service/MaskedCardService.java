@@ -0,0 +1,84 @@
+package com.ezyCollect.payments.payment_service.service;
+
+import com.ezyCollect.payments.payment_service.entity.Payment;
+import com.ezyCollect.payments.payment_service.util.CardNumberUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves masked card numbers for stored payments. Payments with a stored last4 are masked
+ * directly; older rows are decrypted and only the masked value is cached (keyed by payment id).
+ */
+@Service
+public class MaskedCardService {
+    private final CardEncryptionService cardEncryptionService;
+    private final Executor cryptoExecutor;
+    private final Cache<Long, String> maskedCardCache;
+
+    public MaskedCardService(CardEncryptionService cardEncryptionService,
+                             @Qualifier("cryptoExecutor") Executor cryptoExecutor,
+                             @Value("${card.mask-cache.max-size:10000}") long maxSize,
+                             @Value("${card.mask-cache.ttl:5m}") Duration ttl) {
+        this.cardEncryptionService = cardEncryptionService;
+        this.cryptoExecutor = cryptoExecutor;
+        this.maskedCardCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public String getMaskedCard(Payment payment) {
+        if (payment.getCardLast4() != null) {
+            return CardNumberUtil.maskLast4(payment.getCardLast4());
+        }
+        // rows written before last4 was stored need a decryption
+        return maskedCardCache.get(payment.getId(),
+                id -> cardEncryptionService.maskCard(
+                        payment.getCardNumber(), payment.getIv(), payment.getKeyVersion()));
+    }
+
+    /**
+     * Resolve masked cards for many payments, decrypting cache misses in parallel
+     * @return masked card number by payment id
+     */
+    public Map<Long, String> getMaskedCards(List<Payment> payments) {
+        Map<Long, CompletableFuture<String>> futures = payments.stream()
+                .collect(Collectors.toMap(
+                        Payment::getId,
+                        payment -> {
+                            String cached = payment.getCardLast4() != null
+                                    ? CardNumberUtil.maskLast4(payment.getCardLast4())
+                                    : maskedCardCache.getIfPresent(payment.getId());
+                            return cached != null
+                                    ? CompletableFuture.completedFuture(cached)
+                                    : CompletableFuture.supplyAsync(() -> getMaskedCard(payment), cryptoExecutor);
+                        },
+                        (existing, duplicate) -> existing));
+
+        return futures.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> join(entry.getValue())));
+    }
+
+    private String join(CompletableFuture<String> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // surface the original EncryptionException to the caller
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
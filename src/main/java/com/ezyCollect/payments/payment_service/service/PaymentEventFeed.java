@@ -0,0 +1,354 @@
+package com.ezyCollect.payments.payment_service.service;
+
+import com.ezyCollect.payments.payment_service.dto.PaymentEvent;
+import com.ezyCollect.payments.payment_service.dto.PaymentResponse;
+import com.ezyCollect.payments.payment_service.enums.WebhookEventType;
+import com.ezyCollect.payments.payment_service.exception.ErrorCode;
+import com.ezyCollect.payments.payment_service.exception.PaymentException;
+import com.ezyCollect.payments.payment_service.repository.JdbcPaymentEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Pull-based feed of payment events behind {@code GET /v1/events}. Payments hand their event to a
+ * single writer thread, which appends batches to the payment_event table and then to an in-memory
+ * ring of the most recent {@code buffer-size} events, each serialized once. Readers at the tail are
+ * served from the ring by id, so any number of consumers share the same bytes; readers further
+ * behind page through the table. Empty reads can wait for the next append (long polling).
+ * <p>
+ * Ids are feed positions only while a single writer inserts. Rows of another writer found in the
+ * id gap before a batch stop the feed: reads then fail with {@code EVENT_FEED_UNAVAILABLE} rather
+ * than skip events the ring never saw. Events the feed loses, to a full queue or to a batch whose
+ * inserts kept failing, are counted in {@link #status()} and logged with their transaction ids.
+ */
+@Slf4j
+@Service
+public class PaymentEventFeed {
+    private final JdbcPaymentEventRepository paymentEventRepository;
+    private final ObjectMapper objectMapper;
+    private final TaskScheduler taskScheduler;
+    private final int maxBatchSize;
+    private final int queueCapacity;
+    private final int writeAttempts;
+    private final Duration writeRetryDelay;
+    private final BlockingQueue<PaymentEvent> queue;
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder droppedEvents = new LongAdder();
+    private final LongAdder failedEvents = new LongAdder();
+    private volatile String writeFailure; // last insert error while the writer is failing, null once it succeeds
+    private volatile boolean otherWriter;
+
+    // ring of the newest events in id order; events with id > floorId are all in it
+    private final ReentrantReadWriteLock ringLock = new ReentrantReadWriteLock();
+    private final long[] ringIds;
+    private final byte[][] ringEvents;
+    private int ringStart;
+    private int ringSize;
+    private long floorId;
+    private volatile long newestId;
+
+    private Thread writer;
+    private volatile boolean running;
+
+    public PaymentEventFeed(JdbcPaymentEventRepository paymentEventRepository,
+                            ObjectMapper objectMapper,
+                            TaskScheduler taskScheduler,
+                            @Value("${payment.events.buffer-size:10000}") int bufferSize,
+                            @Value("${payment.events.max-batch-size:256}") int maxBatchSize,
+                            @Value("${payment.events.queue-capacity:10000}") int queueCapacity,
+                            @Value("${payment.events.write-attempts:5}") int writeAttempts,
+                            @Value("${payment.events.write-retry-delay:1s}") Duration writeRetryDelay) {
+        this.paymentEventRepository = paymentEventRepository;
+        this.objectMapper = objectMapper;
+        this.taskScheduler = taskScheduler;
+        this.maxBatchSize = maxBatchSize;
+        this.queueCapacity = queueCapacity;
+        this.writeAttempts = Math.max(1, writeAttempts);
+        this.writeRetryDelay = writeRetryDelay;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.ringIds = new long[bufferSize];
+        this.ringEvents = new byte[bufferSize][];
+    }
+
+    @PostConstruct
+    public void start() {
+        floorId = paymentEventRepository.maxId();
+        newestId = floorId;
+        running = true;
+        writer = new Thread(this::write, "payment-event-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // stop accepting, let the writer append what is already queued
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * Queues the event for a completed payment. Never blocks or fails the payment: when the queue
+     * is full the event is left out of the feed, logged and counted in {@link #status()}.
+     */
+    public void publish(PaymentResponse paymentResponse) {
+        WebhookEventType eventType = WebhookEventType.ofPaymentStatus(paymentResponse.status()).orElse(null);
+        if (eventType == null) {
+            return;
+        }
+        PaymentEvent event = PaymentEvent.builder()
+                .type(eventType)
+                .status(paymentResponse.status())
+                .transactionId(paymentResponse.transactionId())
+                .createdAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS)) // DATETIME(6), same in memory and table
+                .build();
+        if (!running || !queue.offer(event)) {
+            droppedEvents.increment();
+            log.error("Payment event feed queue full, event left out of the feed. transactionId={}",
+                    paymentResponse.transactionId());
+        }
+    }
+
+    /**
+     * Up to {@code limit} events after {@code afterId}. When there are none yet, the result
+     * completes on the next append or, empty, after {@code wait}.
+     * @throws PaymentException {@code EVENT_FEED_UNAVAILABLE} once another writer has been seen
+     */
+    public CompletableFuture<Page> poll(long afterId, int limit, Duration wait) {
+        if (otherWriter) {
+            throw new PaymentException(ErrorCode.EVENT_FEED_UNAVAILABLE);
+        }
+        Page page = read(afterId, limit);
+        if (!page.events().isEmpty() || wait.isZero() || wait.isNegative()) {
+            return CompletableFuture.completedFuture(page);
+        }
+
+        Waiter waiter = new Waiter(afterId, limit, new CompletableFuture<>());
+        ScheduledFuture<?> timeout = taskScheduler.schedule(
+                () -> {
+                    waiters.remove(waiter);
+                    waiter.result().complete(page);
+                },
+                Instant.now().plus(wait));
+        waiter.result().whenComplete((result, ex) -> timeout.cancel(false));
+        waiters.add(waiter);
+        if (newestId > afterId) {
+            // an append landed between the read and registering, and its wake may have missed this
+            // waiter; complete only our own, as draining the shared queue here would hide other
+            // waiters from the writer's next wake
+            Page appended = read(afterId, limit);
+            if (!appended.events().isEmpty() && waiter.result().complete(appended)) {
+                waiters.remove(waiter);
+            }
+        }
+        return waiter.result();
+    }
+
+    Page read(long afterId, int limit) {
+        ringLock.readLock().lock();
+        try {
+            if (afterId >= floorId) {
+                return readRing(afterId, limit);
+            }
+        } finally {
+            ringLock.readLock().unlock();
+        }
+
+        // behind the ring: catch up from the table
+        List<byte[]> events = new ArrayList<>();
+        long lastId = afterId;
+        for (PaymentEvent event : paymentEventRepository.findAfter(afterId, limit)) {
+            events.add(serialize(event));
+            lastId = event.id();
+        }
+        return new Page(events, lastId);
+    }
+
+    // caller holds the read lock
+    private Page readRing(long afterId, int limit) {
+        // first ring slot with id > afterId
+        int low = 0;
+        int high = ringSize;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ringIds[slot(mid)] <= afterId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        int count = Math.min(limit, ringSize - low);
+        List<byte[]> events = new ArrayList<>(count);
+        long lastId = afterId;
+        for (int i = low; i < low + count; i++) {
+            events.add(ringEvents[slot(i)]);
+            lastId = ringIds[slot(i)];
+        }
+        return new Page(events, lastId);
+    }
+
+    private void write() {
+        List<PaymentEvent> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PaymentEvent first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    void flush(List<PaymentEvent> batch) throws InterruptedException {
+        List<PaymentEvent> inserted = null;
+        for (int attempt = 1; inserted == null; attempt++) {
+            try {
+                inserted = paymentEventRepository.insertAll(batch);
+            } catch (DataAccessException e) {
+                writeFailure = e.getMessage();
+                if (attempt >= writeAttempts) {
+                    // retrying for good would stall the writer and drop every later event on a full queue
+                    failedEvents.add(batch.size());
+                    log.error("Payment event insert failed {} times, {} events left out of the feed. transactionIds={}",
+                            attempt, batch.size(), batch.stream().map(PaymentEvent::transactionId).toList(), e);
+                    return;
+                }
+                log.warn("Payment event insert of {} events failed, retrying: {}", batch.size(), e.getMessage());
+                Thread.sleep(writeRetryDelay.toMillis());
+            }
+        }
+        writeFailure = null;
+
+        if (!otherWriter && foreignRowsBefore(inserted.get(0).id())) {
+            otherWriter = true;
+            log.error("Another instance is writing payment_event; the event feed supports one writer and stops serving reads");
+        }
+        append(inserted);
+        wake();
+    }
+
+    // rows between the newest appended id and this batch that this writer did not insert
+    private boolean foreignRowsBefore(long firstId) {
+        if (firstId <= newestId + 1) {
+            return false;
+        }
+        // a gap alone is not enough: rolled back inserts also use up ids
+        List<PaymentEvent> next = paymentEventRepository.findAfter(newestId, 1);
+        return !next.isEmpty() && next.get(0).id() < firstId;
+    }
+
+    /** Writer state, for health reporting. */
+    public Status status() {
+        return new Status(queue.size(), queueCapacity, droppedEvents.sum(), failedEvents.sum(), writeFailure,
+                otherWriter, newestId);
+    }
+
+    private void append(List<PaymentEvent> events) {
+        List<byte[]> serialized = events.stream().map(this::serialize).toList();
+        ringLock.writeLock().lock();
+        try {
+            for (int i = 0; i < events.size(); i++) {
+                if (ringSize == ringIds.length) {
+                    // evict the oldest; from now on it is read from the table
+                    floorId = ringIds[ringStart];
+                    ringStart = (ringStart + 1) % ringIds.length;
+                    ringSize--;
+                }
+                int slot = slot(ringSize);
+                ringIds[slot] = events.get(i).id();
+                ringEvents[slot] = serialized.get(i);
+                ringSize++;
+            }
+            newestId = ringIds[slot(ringSize - 1)];
+        } finally {
+            ringLock.writeLock().unlock();
+        }
+    }
+
+    // writer thread only, so a waiter put back for the next append is never missed by it
+    private void wake() {
+        List<Waiter> stillWaiting = new ArrayList<>();
+        Waiter waiter;
+        while ((waiter = waiters.poll()) != null) {
+            if (waiter.result().isDone()) {
+                continue;
+            }
+            if (otherWriter) {
+                waiter.result().completeExceptionally(new PaymentException(ErrorCode.EVENT_FEED_UNAVAILABLE));
+                continue;
+            }
+            try {
+                Page page = read(waiter.afterId(), waiter.limit());
+                if (page.events().isEmpty()) {
+                    stillWaiting.add(waiter); // cursor is ahead of this append
+                } else {
+                    waiter.result().complete(page);
+                }
+            } catch (RuntimeException e) {
+                waiter.result().completeExceptionally(e);
+            }
+        }
+        waiters.addAll(stillWaiting);
+    }
+
+    private int slot(int index) {
+        return (ringStart + index) % ringIds.length;
+    }
+
+    private byte[] serialize(PaymentEvent event) {
+        try {
+            return objectMapper.writeValueAsBytes(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize payment event " + event.id(), e);
+        }
+    }
+
+    /**
+     * One read of the feed: serialized events in id order, and the id to continue after.
+     */
+    public record Page(List<byte[]> events, long lastId) {}
+
+    /**
+     * @param droppedEvents events left out since startup because the queue was full
+     * @param failedEvents  events left out since startup because their batch could not be inserted
+     * @param writeFailure  last insert error while the writer is failing, null when healthy
+     * @param otherWriter   another instance inserts into payment_event, so reads are refused
+     */
+    public record Status(int queued, int queueCapacity, long droppedEvents, long failedEvents, String writeFailure,
+                         boolean otherWriter, long newestId) {}
+
+    private record Waiter(long afterId, int limit, CompletableFuture<Page> result) {}
+}
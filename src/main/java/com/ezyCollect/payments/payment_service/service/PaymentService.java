@@ -1,8 +1,12 @@
 package com.ezyCollect.payments.payment_service.service;
 
+import com.ezyCollect.payments.payment_service.dto.PaymentDetailResponse;
 import com.ezyCollect.payments.payment_service.dto.PaymentRequest;
 import com.ezyCollect.payments.payment_service.dto.PaymentResponse;
 
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
 public interface PaymentService {
     /**
      * Process a payment request
@@ -10,4 +14,26 @@ public interface PaymentService {
      * @return PaymentResponse DTO
      */
     PaymentResponse processPayment(PaymentRequest request);
+
+    /**
+     * Process a payment request without holding the caller's thread: card tokenization runs on
+     * the crypto pool, the gateway call and database write on the I/O pool
+     * @param request PaymentRequest DTO
+     * @return stage completing with the PaymentResponse DTO, or exceptionally with a PaymentException
+     */
+    CompletionStage<PaymentResponse> processPaymentAsync(PaymentRequest request);
+
+    /**
+     * Look up a stored payment with its card masked
+     * @param id payment id (transactionId)
+     * @return PaymentDetailResponse DTO
+     */
+    PaymentDetailResponse getPayment(Long id);
+
+    /**
+     * Look up many stored payments with their cards masked. Unknown ids are skipped.
+     * @param ids payment ids (transactionIds)
+     * @return PaymentDetailResponse DTOs in the order of the given ids
+     */
+    List<PaymentDetailResponse> getPayments(List<Long> ids);
 }
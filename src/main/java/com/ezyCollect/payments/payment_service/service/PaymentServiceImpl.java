@@ -1,6 +1,7 @@
 package com.ezyCollect.payments.payment_service.service;
 
-import com.ezyCollect.payments.payment_service.dto.EncryptedCardInfo;
+import com.ezyCollect.payments.payment_service.dto.CardTokenInfo;
+import com.ezyCollect.payments.payment_service.dto.PaymentDetailResponse;
 import com.ezyCollect.payments.payment_service.dto.PaymentRequest;
 import com.ezyCollect.payments.payment_service.dto.PaymentResponse;
 import com.ezyCollect.payments.payment_service.entity.Payment;
@@ -8,31 +9,82 @@ import com.ezyCollect.payments.payment_service.exception.EncryptionException;
 import com.ezyCollect.payments.payment_service.exception.ErrorCode;
 import com.ezyCollect.payments.payment_service.exception.PaymentException;
 import com.ezyCollect.payments.payment_service.exception.WebhookException;
+import com.ezyCollect.payments.payment_service.journal.PaymentJournal;
 import com.ezyCollect.payments.payment_service.repository.PaymentRepository;
+import com.ezyCollect.payments.payment_service.repository.PaymentWriteRepository;
 import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class PaymentServiceImpl implements PaymentService{
+    private static final int MAX_LOOKUP_IDS = 100;
+
     private final PaymentRepository paymentRepository;
+    private final PaymentWriteRepository paymentWriteRepository;
     private final WebhookService webhookService;
-    private final CardEncryptionService cardEncryptionService;
+    private final PaymentEventFeed paymentEventFeed;
+    private final PaymentJournal paymentJournal;
+    private final CardTokenService cardTokenService;
+    private final MaskedCardService maskedCardService;
+    private final Executor cryptoExecutor;
+    private final Executor ioExecutor;
+
+    public PaymentServiceImpl(PaymentRepository paymentRepository,
+                              PaymentWriteRepository paymentWriteRepository,
+                              WebhookService webhookService,
+                              PaymentEventFeed paymentEventFeed,
+                              PaymentJournal paymentJournal,
+                              CardTokenService cardTokenService,
+                              MaskedCardService maskedCardService,
+                              @Qualifier("cryptoExecutor") Executor cryptoExecutor,
+                              @Qualifier("ioExecutor") Executor ioExecutor) {
+        this.paymentRepository = paymentRepository;
+        this.paymentWriteRepository = paymentWriteRepository;
+        this.webhookService = webhookService;
+        this.paymentEventFeed = paymentEventFeed;
+        this.paymentJournal = paymentJournal;
+        this.cardTokenService = cardTokenService;
+        this.maskedCardService = maskedCardService;
+        this.cryptoExecutor = cryptoExecutor;
+        this.ioExecutor = ioExecutor;
+    }
 
     @Override
     public PaymentResponse processPayment(PaymentRequest request) {
 
-        Payment payment = buildEncryptedPayment(request);
-        processPaymentViaGateway(payment);
+        Payment payment = buildTokenizedPayment(request);
 
         // TODO: Add metrics to track payment success and failure counts
 
+        return completePayment(payment);
+    }
+
+    @Override
+    public CompletionStage<PaymentResponse> processPaymentAsync(PaymentRequest request) {
+        return CompletableFuture
+                .supplyAsync(() -> buildTokenizedPayment(request), cryptoExecutor)
+                .thenApplyAsync(this::completePayment, ioExecutor);
+    }
+
+    private PaymentResponse completePayment(Payment payment) {
+        processPaymentViaGateway(payment);
+
         Payment savedPayment = savePayment(payment);
         PaymentResponse response = buildSuccessResponse(savedPayment);
+        paymentEventFeed.publish(response);
+        paymentJournal.recordPayment(response);
 
         try {
             webhookService.triggerWebhooks(response);
@@ -45,6 +97,45 @@ public class PaymentServiceImpl implements PaymentService{
         return response;
     }
 
+    @Override
+    public PaymentDetailResponse getPayment(Long id) {
+        Payment payment = paymentRepository.findById(id)
+                .orElseThrow(() -> new PaymentException(ErrorCode.PAYMENT_NOT_FOUND));
+
+        try {
+            return buildDetailResponse(payment, maskedCardService.getMaskedCard(payment));
+        } catch (EncryptionException e) {
+            log.error("Card decryption error for payment {}: {}", id, e.getMessage());
+            throw new PaymentException(ErrorCode.CARD_DECRYPTION_ERROR, e);
+        }
+    }
+
+    @Override
+    public List<PaymentDetailResponse> getPayments(List<Long> ids) {
+        if (ids.size() > MAX_LOOKUP_IDS) {
+            throw new PaymentException(ErrorCode.LOOKUP_LIMIT_EXCEEDED);
+        }
+
+        List<Payment> payments = paymentRepository.findAllById(ids);
+        Map<Long, Payment> paymentsById = payments.stream()
+                .collect(Collectors.toMap(Payment::getId, payment -> payment));
+
+        Map<Long, String> maskedCards;
+        try {
+            maskedCards = maskedCardService.getMaskedCards(payments);
+        } catch (EncryptionException e) {
+            log.error("Card decryption error during bulk lookup: {}", e.getMessage());
+            throw new PaymentException(ErrorCode.CARD_DECRYPTION_ERROR, e);
+        }
+
+        return ids.stream()
+                .distinct()
+                .map(paymentsById::get)
+                .filter(Objects::nonNull)
+                .map(payment -> buildDetailResponse(payment, maskedCards.get(payment.getId())))
+                .toList();
+    }
+
     private void processPaymentViaGateway(Payment payment) {
         // TODO : Process the payment via a payment gateway, e.g. Stripe, PayPal
         boolean gatewaySuccess = true;
@@ -53,28 +144,33 @@ public class PaymentServiceImpl implements PaymentService{
         }
     }
 
-    private Payment buildEncryptedPayment(PaymentRequest request) {
+    private Payment buildTokenizedPayment(PaymentRequest request) {
         try {
-            EncryptedCardInfo encryptedCardInfo = cardEncryptionService.encryptCard(request.cardNumber());
+            CardTokenInfo cardToken = cardTokenService.tokenize(request.cardNumber());
 
             return Payment.builder()
                     .firstName(request.firstName())
                     .lastName(request.lastName())
                     .zipCode(request.zipCode())
-                    .cardNumber(encryptedCardInfo.encryptedCard())
-                    .iv(encryptedCardInfo.iv())
+                    .cardTokenId(cardToken.tokenId())
+                    .cardFingerprint(cardToken.fingerprint())
+                    .cardBin(cardToken.bin())
+                    .cardLast4(cardToken.last4())
                     .build();
 
         } catch (EncryptionException e) {
             log.error("Card Encryption error during payment: {}", e.getMessage());
             throw new PaymentException(ErrorCode.CARD_ENCRYPTION_ERROR, e);
+        } catch (DataAccessException e) {
+            log.error("Database error while tokenizing card: {}", e.getMessage());
+            throw new PaymentException(ErrorCode.DATABASE_ERROR, e);
         }
     }
 
     @Transactional
     public Payment savePayment(Payment payment) {
         try {
-            return paymentRepository.save(payment);
+            return paymentWriteRepository.insert(payment);
         } catch (DataAccessException e) {
             log.error("Database error during payment: {}", e.getMessage());
             throw new PaymentException(ErrorCode.DATABASE_ERROR, e);
@@ -87,4 +183,14 @@ public class PaymentServiceImpl implements PaymentService{
                 .transactionId(savedPayment.getId().toString())
                 .build();
     }
+
+    private PaymentDetailResponse buildDetailResponse(Payment payment, String maskedCardNumber) {
+        return PaymentDetailResponse.builder()
+                .transactionId(payment.getId().toString())
+                .firstName(payment.getFirstName())
+                .lastName(payment.getLastName())
+                .zipCode(payment.getZipCode())
+                .maskedCardNumber(maskedCardNumber)
+                .build();
+    }
 }
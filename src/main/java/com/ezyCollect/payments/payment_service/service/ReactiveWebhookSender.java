@@ -0,0 +1,201 @@
+package com.ezyCollect.payments.payment_service.service;
+
+import com.ezyCollect.payments.payment_service.dto.PaymentResponse;
+import com.ezyCollect.payments.payment_service.entity.Webhook;
+import com.ezyCollect.payments.payment_service.entity.WebhookLog;
+import com.ezyCollect.payments.payment_service.exception.ErrorCode;
+import com.ezyCollect.payments.payment_service.exception.WebhookException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Non-blocking webhook delivery over {@link WebClient}. Every delivery is queued into one bounded
+ * pipeline and at most {@code max-concurrency} HTTP calls are in flight across all events, so a
+ * burst of payments or a slow subscriber cannot open unbounded connections. A full queue marks the
+ * delivery as failed instead of blocking the caller. Retries follow {@link WebhookRetryPolicy}.
+ * <p>
+ * Webhooks registered for ordered delivery bypass the pipeline: each attempt completes on the
+ * {@link WebhookDeliveryScheduler} worker, so the scheduler starts the next event only once the
+ * subscriber has answered, and retries are re-queued like the blocking sender's.
+ * <p>
+ * Both paths record every delivery and attempt in {@link WebhookDeliveryStats}.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "webhook.delivery", havingValue = "reactive")
+public class ReactiveWebhookSender implements WebhookSender {
+    private final WebClient webClient;
+    private final WebhookLogService webhookLogService;
+    private final WebhookRetryPolicy webhookRetryPolicy;
+    private final WebhookDeliveryStats webhookDeliveryStats;
+    private final Duration timeout;
+    private final Sinks.Many<Delivery> deliveries;
+    private final Disposable pipeline;
+
+    public ReactiveWebhookSender(WebClient.Builder webClientBuilder,
+                                 WebhookLogService webhookLogService,
+                                 WebhookRetryPolicy webhookRetryPolicy,
+                                 WebhookDeliveryStats webhookDeliveryStats,
+                                 @Value("${webhook.reactive.max-concurrency:64}") int maxConcurrency,
+                                 @Value("${webhook.reactive.queue-capacity:10000}") int queueCapacity,
+                                 @Value("${webhook.reactive.timeout:5s}") Duration timeout) {
+        this.webClient = webClientBuilder.build();
+        this.webhookLogService = webhookLogService;
+        this.webhookRetryPolicy = webhookRetryPolicy;
+        this.webhookDeliveryStats = webhookDeliveryStats;
+        this.timeout = timeout;
+        this.deliveries = Sinks.many().unicast()
+                .onBackpressureBuffer(Queues.<Delivery>get(queueCapacity).get());
+        this.pipeline = deliveries.asFlux()
+                .flatMap(this::deliver, maxConcurrency)
+                .subscribe();
+    }
+
+    @Override
+    public void sendWebhook(Webhook webhook, WebhookLog webhookLog, PaymentResponse paymentResponse) {
+        Delivery delivery = new Delivery(webhook, webhookLog, paymentResponse);
+        Sinks.EmitResult result;
+        // the unicast sink allows one producer at a time; concurrent emits fail with FAIL_NON_SERIALIZED
+        synchronized (deliveries) {
+            result = deliveries.tryEmitNext(delivery);
+        }
+        if (result.isFailure()) {
+            recover(new WebhookException(ErrorCode.WEBHOOK_SENDING_FAILED,
+                    new Sinks.EmissionException(result, "Webhook delivery queue rejected the event")), delivery);
+        }
+    }
+
+    /**
+     * Ordered webhooks make one exchange on the calling worker and return the backoff of a
+     * retryable failure; everything else is handed to the pipeline.
+     */
+    @Override
+    public Backoff attemptDelivery(Webhook webhook, WebhookLog webhookLog, PaymentResponse paymentResponse,
+                                   WebhookRetryPolicy.Retries retries) {
+        if (!webhook.isOrderedDelivery()) {
+            sendWebhook(webhook, webhookLog, paymentResponse);
+            return null;
+        }
+
+        if (retries == null) {
+            retries = webhookRetryPolicy.start();
+            webhookDeliveryStats.deliveryStarted(webhook.getId());
+        }
+        ResponseEntity<String> response;
+        try {
+            response = exchange(webhook, paymentResponse).block();
+        } catch (WebhookException ex) {
+            Duration delay = retries.next(ex);
+            if (delay != null) {
+                return new Backoff(retries, delay);
+            }
+            webhookDeliveryStats.deliveryFailed(webhook.getId(), retries.elapsedNanos());
+            recover(ex, new Delivery(webhook, webhookLog, paymentResponse));
+            return null;
+        } catch (RuntimeException ex) {
+            webhookDeliveryStats.deliveryFailed(webhook.getId(), retries.elapsedNanos());
+            throw ex;
+        }
+        webhookDeliveryStats.deliverySucceeded(webhook.getId(), retries.elapsedNanos());
+
+        webhookLogService.handleSuccess(webhookLog, response);
+        return null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        synchronized (deliveries) {
+            deliveries.tryEmitComplete();
+        }
+        pipeline.dispose();
+    }
+
+    private Mono<Void> deliver(Delivery delivery) {
+        Long webhookId = delivery.webhook().getId();
+        return Mono.defer(() -> {
+                    WebhookRetryPolicy.Retries retries = webhookRetryPolicy.start();
+                    webhookDeliveryStats.deliveryStarted(webhookId);
+                    return exchange(delivery.webhook(), delivery.paymentResponse())
+                            .retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+                                Duration delay = retries.next(signal.failure());
+                                return delay != null ? Mono.delay(delay) : Mono.error(signal.failure());
+                            })))
+                            // outcome of the exchange, before the log row is written
+                            .doOnNext(response -> webhookDeliveryStats.deliverySucceeded(webhookId, retries.elapsedNanos()))
+                            .doOnError(ex -> webhookDeliveryStats.deliveryFailed(webhookId, retries.elapsedNanos()));
+                })
+                // webhook_log writes are blocking JPA calls, keep them off the event loop
+                .flatMap(response -> Mono.fromRunnable(() -> webhookLogService.handleSuccess(delivery.webhookLog(), response))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .onErrorResume(WebhookException.class, ex -> Mono.fromRunnable(() -> recover(ex, delivery))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .onErrorResume(ex -> {
+                    // an error escaping here would terminate the shared pipeline
+                    log.error("Unexpected webhook delivery error. webhookId={}", delivery.webhook().getId(), ex);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    // one attempt per subscription; every failure is a WebhookException
+    private Mono<ResponseEntity<String>> exchange(Webhook webhook, PaymentResponse paymentResponse) {
+        return Mono.defer(() -> {
+                    webhookDeliveryStats.attemptStarted(webhook.getId());
+                    long started = System.nanoTime();
+                    Runnable completed = () -> webhookDeliveryStats.attemptCompleted(webhook.getId(), System.nanoTime() - started);
+                    // recorded before the outcome travels downstream, unlike doFinally
+                    return webClient.post()
+                            .uri(webhook.getUrl())
+                            .bodyValue(paymentResponse)
+                            .retrieve()
+                            .toEntity(String.class)
+                            .timeout(timeout)
+                            .doOnTerminate(completed)
+                            .doOnCancel(completed);
+                })
+                .onErrorMap(this::toWebhookException);
+    }
+
+    private Throwable toWebhookException(Throwable ex) {
+        if (ex instanceof WebhookException) {
+            return ex;
+        }
+        if (ex instanceof WebClientRequestException || ex instanceof TimeoutException) {
+            // Internet / timeout error
+            return new WebhookException(ErrorCode.WEBHOOK_ACCESS_FAILED, ex);
+        }
+        if (ex instanceof WebClientResponseException responseException) {
+            // Non-2xx response, retryable or terminal by status
+            return webhookRetryPolicy.responseFailure(responseException.getStatusCode(), responseException.getHeaders(), ex);
+        }
+        return new WebhookException(ErrorCode.WEBHOOK_CLIENT_ERROR, ex);
+    }
+
+    private void recover(WebhookException ex, Delivery delivery) {
+        webhookLogService.handleFailure(delivery.webhookLog(), ex);
+        log.warn(
+                "Webhook permanently failed after retries. webhookId={}, transactionId={}, reason={}",
+                delivery.webhook().getId(),
+                delivery.paymentResponse() != null ? delivery.paymentResponse().transactionId() : "unknown",
+                ex.getMessage()
+        );
+    }
+
+    private record Delivery(Webhook webhook, WebhookLog webhookLog, PaymentResponse paymentResponse) {}
+}
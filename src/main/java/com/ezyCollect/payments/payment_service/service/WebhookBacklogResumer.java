@@ -0,0 +1,41 @@
+package com.ezyCollect.payments.payment_service.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Re-queues the outgoing webhook backlog before the HTTP and gRPC servers start accepting
+ * traffic, so an ordered webhook's resumed deliveries are queued ahead of any new payment's.
+ * The web server starts at phase {@code DEFAULT_PHASE - 2048} and the gRPC server at
+ * {@code DEFAULT_PHASE}; lower phases start first.
+ */
+@Component
+@RequiredArgsConstructor
+public class WebhookBacklogResumer implements SmartLifecycle {
+    static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final WebhookService webhookService;
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        webhookService.resumePendingDeliveries();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
@@ -0,0 +1,140 @@
+package com.ezyCollect.payments.payment_service.service;
+
+import com.ezyCollect.payments.payment_service.dto.WebhookBatchEvent;
+import com.ezyCollect.payments.payment_service.dto.WebhookBatchResponse;
+import com.ezyCollect.payments.payment_service.entity.Webhook;
+import com.ezyCollect.payments.payment_service.entity.WebhookLog;
+import com.ezyCollect.payments.payment_service.exception.ErrorCode;
+import com.ezyCollect.payments.payment_service.exception.WebhookException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delivers one batch of events to one webhook as a JSON array POST. Transport errors and non-2xx
+ * responses fail the whole batch and are retried like {@link WebhookSenderService}; a 2xx response
+ * may reject individual events, see {@link WebhookBatchResponse}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WebhookBatchSender {
+
+    private final WebhookLogService webhookLogService;
+    private final ObjectMapper objectMapper;
+    private final WebhookRetryPolicy webhookRetryPolicy;
+    private final WebhookDeliveryStats webhookDeliveryStats;
+
+    /**
+     * One attempt of a batch retried by {@link WebhookDeliveryScheduler}: a retryable failure
+     * returns the backoff instead of sleeping through it. Records the outcome of every event once
+     * the batch is acknowledged or given up.
+     * @param retries state returned by the previous attempt, null on the first one
+     */
+    public WebhookSender.Backoff attemptBatch(Webhook webhook,
+                                              List<WebhookLog> webhookLogs,
+                                              List<WebhookBatchEvent> events,
+                                              WebhookRetryPolicy.Retries retries) {
+        if (retries == null) {
+            retries = webhookRetryPolicy.start();
+            webhookDeliveryStats.deliveryStarted(webhook.getId());
+        }
+        ResponseEntity<String> response;
+        try {
+            response = attempt(webhook, events);
+        } catch (WebhookException ex) {
+            Duration delay = retries.next(ex);
+            if (delay != null) {
+                return new WebhookSender.Backoff(retries, delay);
+            }
+            webhookDeliveryStats.deliveryFailed(webhook.getId(), retries.elapsedNanos());
+            recover(ex, webhook, webhookLogs, events);
+            return null;
+        } catch (RuntimeException ex) {
+            webhookDeliveryStats.deliveryFailed(webhook.getId(), retries.elapsedNanos());
+            throw ex;
+        }
+        webhookDeliveryStats.deliverySucceeded(webhook.getId(), retries.elapsedNanos());
+
+        webhookLogService.handleBatchResult(webhookLogs, response, rejectedEvents(webhook, response.getBody()));
+        return null;
+    }
+
+    ResponseEntity<String> attempt(Webhook webhook, List<WebhookBatchEvent> events) {
+        ResponseEntity<String> response;
+
+        webhookDeliveryStats.attemptStarted(webhook.getId());
+        long started = System.nanoTime();
+        try {
+            response = webhookLogService.executeBatchCall(webhook, events);
+        } catch (ResourceAccessException e) {
+            // Internet / timeout error
+            throw new WebhookException(ErrorCode.WEBHOOK_ACCESS_FAILED, e);
+        } catch (RestClientResponseException e) {
+            // Non-2xx response, retryable or terminal by status
+            throw webhookRetryPolicy.responseFailure(e.getStatusCode(), e.getResponseHeaders(), e);
+        } catch (RestClientException e) {
+            // Other HTTP client errors
+            throw new WebhookException(ErrorCode.WEBHOOK_CLIENT_ERROR, e);
+        } finally {
+            webhookDeliveryStats.attemptCompleted(webhook.getId(), System.nanoTime() - started);
+        }
+
+        // Separate non-2xx response
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            throw webhookRetryPolicy.responseFailure(response.getStatusCode(), response.getHeaders(), null);
+        }
+        return response;
+    }
+
+    public void recover(WebhookException ex,
+                        Webhook webhook,
+                        List<WebhookLog> webhookLogs,
+                        List<WebhookBatchEvent> events) {
+        webhookLogService.handleBatchFailure(webhookLogs, ex);
+        log.warn(
+                "Webhook batch permanently failed after retries. webhookId={}, events={}, reason={}",
+                webhook.getId(),
+                events.size(),
+                ex.getMessage(),
+                ex
+        );
+    }
+
+    private Map<Long, String> rejectedEvents(Webhook webhook, String body) {
+        Map<Long, String> rejected = new HashMap<>();
+        if (!StringUtils.hasText(body)) {
+            return rejected;
+        }
+
+        WebhookBatchResponse batchResponse;
+        try {
+            batchResponse = objectMapper.readValue(body, WebhookBatchResponse.class);
+        } catch (JsonProcessingException e) {
+            // the subscriber took the batch; an unrecognised body is not a per-event rejection
+            log.warn("Unrecognised batch response from webhookId={}, treating all events as accepted", webhook.getId());
+            return rejected;
+        }
+
+        if (batchResponse.results() != null) {
+            for (WebhookBatchResponse.EventResult result : batchResponse.results()) {
+                if (result.eventId() != null && !result.accepted()) {
+                    rejected.put(result.eventId(), StringUtils.hasText(result.error()) ? result.error() : "Rejected by subscriber");
+                }
+            }
+        }
+        return rejected;
+    }
+}
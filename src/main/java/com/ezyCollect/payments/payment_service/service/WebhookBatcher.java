@@ -0,0 +1,103 @@
+package com.ezyCollect.payments.payment_service.service;
+
+import com.ezyCollect.payments.payment_service.dto.PaymentResponse;
+import com.ezyCollect.payments.payment_service.dto.WebhookBatchEvent;
+import com.ezyCollect.payments.payment_service.entity.Webhook;
+import com.ezyCollect.payments.payment_service.entity.WebhookLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Accumulates events per batch-delivery webhook and queues them on {@link WebhookDeliveryScheduler}
+ * as one POST, either when {@code webhook.batch.max-size} events are waiting or
+ * {@code webhook.batch.linger} after the first one arrived, whichever comes first.
+ */
+@Slf4j
+@Service
+public class WebhookBatcher {
+    private final WebhookDeliveryScheduler webhookDeliveryScheduler;
+    private final TaskScheduler taskScheduler;
+    private final int maxSize;
+    private final Duration linger;
+
+    private final Map<Long, Batch> batches = new ConcurrentHashMap<>();
+
+    public WebhookBatcher(WebhookDeliveryScheduler webhookDeliveryScheduler,
+                          TaskScheduler taskScheduler,
+                          @Value("${webhook.batch.max-size:100}") int maxSize,
+                          @Value("${webhook.batch.linger:200ms}") Duration linger) {
+        this.webhookDeliveryScheduler = webhookDeliveryScheduler;
+        this.taskScheduler = taskScheduler;
+        this.maxSize = maxSize;
+        this.linger = linger;
+    }
+
+    public void enqueue(Webhook webhook, WebhookLog webhookLog, PaymentResponse paymentResponse) {
+        Batch batch = batches.computeIfAbsent(webhook.getId(), id -> new Batch());
+        List<Pending> ready = null;
+
+        synchronized (batch) {
+            batch.webhook = webhook;
+            batch.pending.add(new Pending(webhookLog, paymentResponse));
+            if (batch.pending.size() >= maxSize) {
+                ready = batch.drain();
+            } else if (batch.pending.size() == 1) {
+                batch.lingerTimer = taskScheduler.schedule(() -> flush(batch), Instant.now().plus(linger));
+            }
+        }
+
+        if (ready != null) {
+            dispatch(webhook, ready);
+        }
+    }
+
+    private void flush(Batch batch) {
+        Webhook webhook;
+        List<Pending> ready;
+        synchronized (batch) {
+            webhook = batch.webhook;
+            ready = batch.drain();
+        }
+        if (!ready.isEmpty()) {
+            dispatch(webhook, ready);
+        }
+    }
+
+    // the POST and its retries run on the delivery workers, within the webhook's fair share and in-flight limit
+    private void dispatch(Webhook webhook, List<Pending> ready) {
+        List<WebhookLog> webhookLogs = ready.stream().map(Pending::webhookLog).toList();
+        List<WebhookBatchEvent> events = ready.stream()
+                .map(pending -> new WebhookBatchEvent(pending.webhookLog().getId(), pending.paymentResponse()))
+                .toList();
+        webhookDeliveryScheduler.submitBatch(webhook, webhookLogs, events);
+    }
+
+    private record Pending(WebhookLog webhookLog, PaymentResponse paymentResponse) {}
+
+    private static class Batch {
+        private final List<Pending> pending = new ArrayList<>();
+        private Webhook webhook;
+        private ScheduledFuture<?> lingerTimer;
+
+        // caller holds the batch monitor
+        private List<Pending> drain() {
+            if (lingerTimer != null) {
+                lingerTimer.cancel(false);
+                lingerTimer = null;
+            }
+            List<Pending> drained = new ArrayList<>(pending);
+            pending.clear();
+            return drained;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.ezyCollect.payments.payment_service.service;
+
+import com.ezyCollect.payments.payment_service.repository.WebhookEventRepository;
+import com.ezyCollect.payments.payment_service.util.RotatingBloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+
+/**
+ * Recognises repeat deliveries of inbound webhooks. A time-windowed bloom filter answers
+ * "definitely new" from memory; only possible duplicates are confirmed against the uniquely
+ * indexed webhook_event table, which WebhookReceivingService claims when it processes an event.
+ * Rows older than the window are purged, so a redelivery after the window is processed again.
+ */
+@Slf4j
+@Service
+public class WebhookDedupeService {
+    private static final int MAX_KEY_LENGTH = 128;
+    private static final String BODY_KEY_PREFIX = "body:";
+
+    private final WebhookEventRepository webhookEventRepository;
+    private final RotatingBloomFilter recentEvents;
+    private final Duration window;
+    private final int purgeBatchSize;
+
+    public WebhookDedupeService(WebhookEventRepository webhookEventRepository,
+                                @Value("${webhook.dedupe.expected-insertions:1000000}") long expectedInsertions,
+                                @Value("${webhook.dedupe.false-positive-rate:0.01}") double falsePositiveRate,
+                                @Value("${webhook.dedupe.window:24h}") Duration window,
+                                @Value("${webhook.dedupe.purge-batch-size:10000}") int purgeBatchSize) {
+        this.webhookEventRepository = webhookEventRepository;
+        this.recentEvents = new RotatingBloomFilter(expectedInsertions, falsePositiveRate, window, Clock.systemUTC());
+        this.window = window;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    /**
+     * Dedupe key of an inbound event: the sender's event id when given, else a digest of the body.
+     * A payment has several events (e.g. PENDING then SUCCESS), so its transaction id alone would
+     * drop the later ones; a redelivery repeats the same body and so maps to the same key.
+     */
+    public static String eventKey(String eventId, byte[] body) {
+        if (!StringUtils.hasText(eventId)) {
+            return BODY_KEY_PREFIX + sha256(body);
+        }
+        // keep oversized ids within the indexed column
+        return eventId.length() <= MAX_KEY_LENGTH ? eventId : sha256(eventId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * @return true when the event was already processed and must only be acknowledged
+     */
+    public boolean isDuplicate(String eventKey) {
+        if (!recentEvents.mightContain(eventKey)) {
+            recentEvents.put(eventKey);
+            return false;
+        }
+
+        // possible duplicate (or a bloom false positive): a read, never a write
+        boolean duplicate;
+        try {
+            duplicate = webhookEventRepository.existsByEventKey(eventKey);
+        } catch (DataAccessException e) {
+            // fail open: the unique claim in WebhookReceivingService still rejects a real duplicate
+            log.warn("Webhook dedupe lookup failed for event {}: {}", eventKey, e.getMessage());
+            return false;
+        }
+        if (duplicate) {
+            log.info("Duplicate webhook event {} acknowledged without processing", eventKey);
+        }
+        return duplicate;
+    }
+
+    /**
+     * Deletes webhook_event rows received more than one window ago, in batches until none are left.
+     * A failure leaves the remaining rows for the next run.
+     */
+    @Scheduled(fixedDelayString = "${webhook.dedupe.purge-interval:PT1H}")
+    public void purgeExpired() {
+        // received_at is written from the local clock
+        LocalDateTime cutoff = LocalDateTime.now().minus(window);
+        long purged = 0;
+        try {
+            int deleted;
+            do {
+                deleted = webhookEventRepository.deleteReceivedBefore(cutoff, purgeBatchSize);
+                purged += deleted;
+            } while (deleted == purgeBatchSize);
+        } catch (DataAccessException e) {
+            log.warn("Webhook dedupe purge stopped after {} rows: {}", purged, e.getMessage());
+            return;
+        }
+        if (purged > 0) {
+            log.info("Purged {} webhook dedupe rows received before {}", purged, cutoff);
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.ezyCollect.payments.payment_service.service;
+
+import com.ezyCollect.payments.payment_service.dto.PaymentResponse;
+import com.ezyCollect.payments.payment_service.dto.WebhookBatchEvent;
+import com.ezyCollect.payments.payment_service.entity.Webhook;
+import com.ezyCollect.payments.payment_service.entity.WebhookLog;
+import com.ezyCollect.payments.payment_service.exception.ErrorCode;
+import com.ezyCollect.payments.payment_service.exception.WebhookException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands queued deliveries to a fixed set of workers with deficit round-robin across webhooks.
+ * Each webhook with pending work gets up to {@code deliveryWeight} deliveries per round, and at most
+ * {@code max-in-flight-per-webhook} of the workers at once, so a subscriber draining a large or slow
+ * backlog cannot delay fresh deliveries to everyone else. Webhooks registered for ordered delivery
+ * are limited to a single delivery in flight, so they receive events one at a time in queue order.
+ * <p>
+ * A delivery waiting out a retry backoff does not hold a worker: it is handed back to the
+ * {@link TaskScheduler} and re-queued ahead of its webhook's pending deliveries once the delay has
+ * passed. It keeps its in-flight slot meanwhile, so ordering and per-webhook limits still hold.
+ * <p>
+ * Batches flushed by {@link WebhookBatcher} are queued the same way, as one delivery each.
+ */
+@Slf4j
+@Service
+public class WebhookDeliveryScheduler {
+    private final WebhookSender webhookSender;
+    private final WebhookBatchSender webhookBatchSender;
+    private final WebhookLogService webhookLogService;
+    private final TaskScheduler taskScheduler;
+    private final int workers;
+    private final int maxInFlightPerWebhook;
+    private final int queueCapacity;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition ready = lock.newCondition();
+    private final Map<Long, Flow> flows = new HashMap<>();
+    private final ArrayDeque<Flow> activeFlows = new ArrayDeque<>();
+    private final List<Thread> workerThreads = new ArrayList<>();
+    private int queued;
+    private volatile boolean running;
+
+    public WebhookDeliveryScheduler(WebhookSender webhookSender,
+                                    WebhookBatchSender webhookBatchSender,
+                                    WebhookLogService webhookLogService,
+                                    TaskScheduler taskScheduler,
+                                    @Value("${webhook.scheduler.workers:8}") int workers,
+                                    @Value("${webhook.scheduler.max-in-flight-per-webhook:4}") int maxInFlightPerWebhook,
+                                    @Value("${webhook.scheduler.queue-capacity:100000}") int queueCapacity) {
+        this.webhookSender = webhookSender;
+        this.webhookBatchSender = webhookBatchSender;
+        this.webhookLogService = webhookLogService;
+        this.taskScheduler = taskScheduler;
+        this.workers = workers;
+        this.maxInFlightPerWebhook = maxInFlightPerWebhook;
+        this.queueCapacity = queueCapacity;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            Thread worker = new Thread(this::work, "webhook-delivery-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workerThreads.add(worker);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        workerThreads.forEach(Thread::interrupt);
+    }
+
+    /**
+     * Queues one delivery behind the webhook's earlier ones. When the scheduler is full the
+     * delivery is recorded as failed instead of blocking the caller.
+     */
+    public void submit(Webhook webhook, WebhookLog webhookLog, PaymentResponse paymentResponse) {
+        if (enqueue(new Delivery(webhook, webhookLog, paymentResponse, null, null))) {
+            return;
+        }
+
+        webhookLogService.handleFailure(webhookLog, new WebhookException(ErrorCode.WEBHOOK_SENDING_FAILED));
+        log.warn("Webhook delivery queue full, delivery failed. webhookId={}, transactionId={}",
+                webhook.getId(), paymentResponse.transactionId());
+    }
+
+    /** Queues one batch POST like a single delivery; fails every event of it when the scheduler is full. */
+    public void submitBatch(Webhook webhook, List<WebhookLog> webhookLogs, List<WebhookBatchEvent> events) {
+        if (enqueue(new Delivery(webhook, null, null, new Batch(webhookLogs, events), null))) {
+            return;
+        }
+
+        webhookBatchSender.recover(new WebhookException(ErrorCode.WEBHOOK_SENDING_FAILED), webhook, webhookLogs, events);
+    }
+
+    private boolean enqueue(Delivery delivery) {
+        Webhook webhook = delivery.webhook();
+        lock.lock();
+        try {
+            if (queued < queueCapacity) {
+                Flow flow = flows.computeIfAbsent(webhook.getId(), Flow::new);
+                flow.weight = Math.max(1, webhook.getDeliveryWeight());
+                flow.ordered = webhook.isOrderedDelivery();
+                flow.pending.addLast(delivery);
+                queued++;
+                if (!flow.active) {
+                    flow.active = true;
+                    flow.deficit = 0;
+                    activeFlows.addLast(flow);
+                }
+                ready.signal();
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int queuedDeliveries() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void work() {
+        while (running) {
+            Delivery delivery;
+            lock.lock();
+            try {
+                while ((delivery = poll()) == null) {
+                    ready.await();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            WebhookSender.Backoff backoff = null;
+            try {
+                backoff = attempt(delivery);
+            } catch (RuntimeException e) {
+                log.error("Unexpected webhook delivery error. webhookId={}", delivery.webhook().getId(), e);
+            }
+            if (backoff != null) {
+                retryLater(delivery, backoff);
+            } else {
+                complete(delivery);
+            }
+        }
+    }
+
+    private WebhookSender.Backoff attempt(Delivery delivery) {
+        Batch batch = delivery.batch();
+        if (batch != null) {
+            return webhookBatchSender.attemptBatch(delivery.webhook(), batch.webhookLogs(), batch.events(),
+                    delivery.retries());
+        }
+        return webhookSender.attemptDelivery(delivery.webhook(), delivery.webhookLog(),
+                delivery.paymentResponse(), delivery.retries());
+    }
+
+    private void retryLater(Delivery delivery, WebhookSender.Backoff backoff) {
+        Delivery next = new Delivery(delivery.webhook(), delivery.webhookLog(), delivery.paymentResponse(),
+                delivery.batch(), backoff.retries());
+        try {
+            taskScheduler.schedule(() -> requeue(next), Instant.now().plus(backoff.delay()));
+        } catch (RejectedExecutionException e) {
+            // shutting down: the log row stays PENDING and is resumed on the next start
+            log.warn("Webhook retry not scheduled. webhookId={}", delivery.webhook().getId());
+            complete(delivery);
+        }
+    }
+
+    /** Puts a delivery whose backoff has passed back in front of its webhook's pending ones. */
+    void requeue(Delivery delivery) {
+        lock.lock();
+        try {
+            Flow flow = flows.get(delivery.webhook().getId());
+            flow.retrying.addLast(delivery);
+            if (!flow.active) {
+                flow.active = true;
+                flow.deficit = 0;
+                activeFlows.addLast(flow);
+            }
+            ready.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Next delivery in deficit round-robin order, skipping webhooks already at their in-flight
+     * limit; null when nothing is eligible. Retries come first and are always eligible, as they
+     * already hold an in-flight slot. Caller holds the lock.
+     */
+    Delivery poll() {
+        for (int visited = activeFlows.size(); visited > 0; visited--) {
+            Flow flow = activeFlows.pollFirst();
+            boolean retry = !flow.retrying.isEmpty();
+            if (!retry && flow.inFlight >= (flow.ordered ? 1 : maxInFlightPerWebhook)) {
+                activeFlows.addLast(flow);
+                continue;
+            }
+
+            if (flow.deficit <= 0) {
+                // a new round for this webhook: one delivery per unit of weight
+                flow.deficit += flow.weight;
+            }
+            Delivery delivery;
+            if (retry) {
+                delivery = flow.retrying.pollFirst();
+            } else {
+                delivery = flow.pending.pollFirst();
+                flow.inFlight++;
+                queued--;
+            }
+            flow.deficit--;
+
+            if (flow.pending.isEmpty() && flow.retrying.isEmpty()) {
+                flow.active = false;
+                flow.deficit = 0;
+            } else if (flow.deficit > 0) {
+                activeFlows.addFirst(flow); // quantum left: stays at the head
+            } else {
+                activeFlows.addLast(flow);
+            }
+            return delivery;
+        }
+        return null;
+    }
+
+    void complete(Delivery delivery) {
+        lock.lock();
+        try {
+            Flow flow = flows.get(delivery.webhook().getId());
+            flow.inFlight--;
+            if (!flow.active && flow.inFlight == 0) {
+                flows.remove(flow.webhookId);
+            }
+            // a webhook at its in-flight limit may have become eligible again
+            ready.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param batch   events sent as one POST, in place of webhookLog and paymentResponse; null for a
+     *                single event
+     * @param retries state of a delivery being retried, null before its first attempt
+     */
+    record Delivery(Webhook webhook, WebhookLog webhookLog, PaymentResponse paymentResponse, Batch batch,
+                    WebhookRetryPolicy.Retries retries) {}
+
+    record Batch(List<WebhookLog> webhookLogs, List<WebhookBatchEvent> events) {}
+
+    private static class Flow {
+        private final Long webhookId;
+        private final ArrayDeque<Delivery> pending = new ArrayDeque<>();
+        private final ArrayDeque<Delivery> retrying = new ArrayDeque<>(); // backoff passed, in-flight slot held
+        private int weight = 1;
+        private int deficit;
+        private int inFlight;
+        private boolean active;
+        private boolean ordered; // next delivery waits until the previous one is acknowledged or given up
+
+        private Flow(Long webhookId) {
+            this.webhookId = webhookId;
+        }
+    }
+}
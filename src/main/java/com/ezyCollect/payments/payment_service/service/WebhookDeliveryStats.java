@@ -0,0 +1,160 @@
+package com.ezyCollect.payments.payment_service.service;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-webhook delivery statistics since startup, reported by {@code /actuator/webhooks}.
+ * Recording is lock-free and allocation-free once a webhook has been seen: counters are
+ * {@link LongAdder}s and latencies go to fixed-range HdrHistogram {@link Recorder}s, which
+ * readers swap out and fold into a cumulative histogram.
+ * <p>
+ * There is no circuit breaker on the delivery path; the reported circuit is {@code OPEN} while a
+ * subscriber's last {@code webhook.stats.open-after-failures} deliveries have all failed.
+ */
+@Component
+public class WebhookDeliveryStats {
+    public static final String CIRCUIT_CLOSED = "CLOSED";
+    public static final String CIRCUIT_OPEN = "OPEN";
+
+    // microseconds, 2 significant digits; longer latencies are recorded as the maximum
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final Map<Long, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final int openAfterFailures;
+
+    public WebhookDeliveryStats(@Value("${webhook.stats.open-after-failures:5}") int openAfterFailures) {
+        this.openAfterFailures = openAfterFailures;
+    }
+
+    public void deliveryStarted(Long webhookId) {
+        subscriber(webhookId).inFlight.increment();
+    }
+
+    /** Start of one HTTP call to the subscriber; counted up front so in-flight calls show as attempts. */
+    public void attemptStarted(Long webhookId) {
+        subscriber(webhookId).attempts.increment();
+    }
+
+    public void attemptCompleted(Long webhookId, long latencyNanos) {
+        subscriber(webhookId).attemptLatency.recordValue(micros(latencyNanos));
+    }
+
+    /** End of a delivery started with {@link #deliveryStarted}, after any retries. */
+    public void deliverySucceeded(Long webhookId, long latencyNanos) {
+        Subscriber subscriber = subscriber(webhookId);
+        subscriber.inFlight.decrement();
+        subscriber.succeeded.increment();
+        subscriber.consecutiveFailures.set(0);
+        subscriber.deliveryLatency.recordValue(micros(latencyNanos));
+    }
+
+    public void deliveryFailed(Long webhookId, long latencyNanos) {
+        Subscriber subscriber = subscriber(webhookId);
+        subscriber.inFlight.decrement();
+        subscriber.failed.increment();
+        subscriber.consecutiveFailures.incrementAndGet();
+        subscriber.deliveryLatency.recordValue(micros(latencyNanos));
+    }
+
+    /** Statistics of every webhook with a delivery since startup, by webhook id. */
+    public Map<Long, Snapshot> snapshot() {
+        Map<Long, Snapshot> result = new TreeMap<>();
+        subscribers.forEach((webhookId, subscriber) -> result.put(webhookId, subscriber.snapshot()));
+        return result;
+    }
+
+    /** Statistics of one webhook, or null when it has had no delivery since startup. */
+    public Snapshot snapshot(Long webhookId) {
+        Subscriber subscriber = subscribers.get(webhookId);
+        return subscriber == null ? null : subscriber.snapshot();
+    }
+
+    private Subscriber subscriber(Long webhookId) {
+        Subscriber subscriber = subscribers.get(webhookId);
+        return subscriber != null ? subscriber : subscribers.computeIfAbsent(webhookId, id -> new Subscriber());
+    }
+
+    private static long micros(long nanos) {
+        return Math.max(0, Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), MAX_LATENCY_MICROS));
+    }
+
+    /**
+     * @param successRate         share of finished deliveries that succeeded, 0 before the first one
+     * @param retries             attempts beyond the first of each delivery
+     * @param consecutiveFailures failed deliveries since the last success
+     */
+    public record Snapshot(long inFlight, long succeeded, long failed, double successRate, double failureRate,
+                           long attempts, long retries, long consecutiveFailures, String circuit,
+                           Latency attemptLatency, Latency deliveryLatency) { }
+
+    /** Latency percentiles in milliseconds. */
+    public record Latency(long count, double p50, double p90, double p99, double p999, double max) { }
+
+    private class Subscriber {
+        final LongAdder inFlight = new LongAdder();
+        final LongAdder succeeded = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder attempts = new LongAdder();
+        final AtomicLong consecutiveFailures = new AtomicLong();
+        final LatencyRecorder attemptLatency = new LatencyRecorder();
+        final LatencyRecorder deliveryLatency = new LatencyRecorder();
+
+        Snapshot snapshot() {
+            long inFlightNow = Math.max(0, inFlight.sum());
+            long succeededNow = succeeded.sum();
+            long failedNow = failed.sum();
+            long finished = succeededNow + failedNow;
+            long attemptsNow = attempts.sum();
+            long failures = consecutiveFailures.get();
+            return new Snapshot(
+                    inFlightNow,
+                    succeededNow,
+                    failedNow,
+                    finished == 0 ? 0 : (double) succeededNow / finished,
+                    finished == 0 ? 0 : (double) failedNow / finished,
+                    attemptsNow,
+                    Math.max(0, attemptsNow - finished - inFlightNow),
+                    failures,
+                    failures >= openAfterFailures ? CIRCUIT_OPEN : CIRCUIT_CLOSED,
+                    attemptLatency.latency(),
+                    deliveryLatency.latency());
+        }
+    }
+
+    private static class LatencyRecorder {
+        private final Recorder recorder = new Recorder(MAX_LATENCY_MICROS, SIGNIFICANT_DIGITS);
+        // guarded by this
+        private final Histogram total = new Histogram(MAX_LATENCY_MICROS, SIGNIFICANT_DIGITS);
+        private Histogram interval;
+
+        void recordValue(long micros) {
+            recorder.recordValue(micros);
+        }
+
+        synchronized Latency latency() {
+            interval = recorder.getIntervalHistogram(interval);
+            total.add(interval);
+            return new Latency(total.getTotalCount(),
+                    millis(total.getValueAtPercentile(50)),
+                    millis(total.getValueAtPercentile(90)),
+                    millis(total.getValueAtPercentile(99)),
+                    millis(total.getValueAtPercentile(99.9)),
+                    millis(total.getMaxValue()));
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+}
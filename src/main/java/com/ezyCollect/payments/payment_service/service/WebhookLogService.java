@@ -1,21 +1,28 @@
 package com.ezyCollect.payments.payment_service.service;
 
+import com.ezyCollect.payments.payment_service.configuration.WebhookLogPersistenceConfig;
 import com.ezyCollect.payments.payment_service.dto.PaymentResponse;
+import com.ezyCollect.payments.payment_service.dto.WebhookBatchEvent;
 import com.ezyCollect.payments.payment_service.entity.Webhook;
 import com.ezyCollect.payments.payment_service.entity.WebhookLog;
 import com.ezyCollect.payments.payment_service.enums.WebhookEventStatus;
+import com.ezyCollect.payments.payment_service.journal.PaymentJournal;
 import com.ezyCollect.payments.payment_service.repository.WebhookLogRepository;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.List;
+import java.util.Map;
+
 @Service
 @RequiredArgsConstructor
 public class WebhookLogService {
     private final RestTemplate restTemplate;
     private final WebhookLogRepository webhookLogRepository;
+    private final PaymentJournal paymentJournal;
 
     public ResponseEntity<String> executeWebhookCall(Webhook webhook,
                                                      PaymentResponse paymentResponse) {
@@ -26,15 +33,26 @@ public class WebhookLogService {
         );
     }
 
-    @Transactional
+    public ResponseEntity<String> executeBatchCall(Webhook webhook,
+                                                   List<WebhookBatchEvent> events) {
+        return restTemplate.postForEntity(
+                webhook.getUrl(),
+                events,
+                String.class
+        );
+    }
+
+    @Transactional(transactionManager = WebhookLogPersistenceConfig.TRANSACTION_MANAGER)
     public void handleSuccess(WebhookLog webhookLog, ResponseEntity<String> response) {
+        webhookLog.setEventStatus(WebhookEventStatus.SUCCESS);
         webhookLog.setHttpStatus(response.getStatusCode().value());
         webhookLog.setResponseBody(response.getBody());
 
         webhookLogRepository.save(webhookLog);
+        paymentJournal.recordWebhookOutcome(webhookLog);
     }
 
-    @Transactional
+    @Transactional(transactionManager = WebhookLogPersistenceConfig.TRANSACTION_MANAGER)
     public void handleFailure(WebhookLog webhookLog, Exception ex) {
 
         webhookLog.setEventStatus(WebhookEventStatus.FAILED);
@@ -42,5 +60,42 @@ public class WebhookLogService {
         webhookLog.setResponseBody(ex.getMessage());
 
         webhookLogRepository.save(webhookLog);
+        paymentJournal.recordWebhookOutcome(webhookLog);
+    }
+
+    /**
+     * Records a delivered batch: events the subscriber rejected are failed with its error, the
+     * rest succeed. All rows are written in one transaction.
+     * @param rejected webhook_log id to the subscriber's error for each rejected event
+     */
+    @Transactional(transactionManager = WebhookLogPersistenceConfig.TRANSACTION_MANAGER)
+    public void handleBatchResult(List<WebhookLog> webhookLogs,
+                                  ResponseEntity<String> response,
+                                  Map<Long, String> rejected) {
+        for (WebhookLog webhookLog : webhookLogs) {
+            webhookLog.setHttpStatus(response.getStatusCode().value());
+            if (rejected.containsKey(webhookLog.getId())) {
+                webhookLog.setEventStatus(WebhookEventStatus.FAILED);
+                webhookLog.setResponseBody(rejected.get(webhookLog.getId()));
+            } else {
+                webhookLog.setEventStatus(WebhookEventStatus.SUCCESS);
+                webhookLog.setResponseBody("Accepted in batch of " + webhookLogs.size());
+            }
+        }
+
+        webhookLogRepository.saveAll(webhookLogs);
+        webhookLogs.forEach(paymentJournal::recordWebhookOutcome);
+    }
+
+    @Transactional(transactionManager = WebhookLogPersistenceConfig.TRANSACTION_MANAGER)
+    public void handleBatchFailure(List<WebhookLog> webhookLogs, Exception ex) {
+        for (WebhookLog webhookLog : webhookLogs) {
+            webhookLog.setEventStatus(WebhookEventStatus.FAILED);
+            webhookLog.setHttpStatus(null);
+            webhookLog.setResponseBody(ex.getMessage());
+        }
+
+        webhookLogRepository.saveAll(webhookLogs);
+        webhookLogs.forEach(paymentJournal::recordWebhookOutcome);
     }
 }
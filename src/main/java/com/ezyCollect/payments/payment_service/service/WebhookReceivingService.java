@@ -1,17 +1,23 @@
 package com.ezyCollect.payments.payment_service.service;
 
+import com.ezyCollect.payments.payment_service.configuration.WebhookLogPersistenceConfig;
 import com.ezyCollect.payments.payment_service.dto.PaymentResponse;
 import com.ezyCollect.payments.payment_service.entity.WebhookLog;
 import com.ezyCollect.payments.payment_service.enums.WebhookDirection;
 import com.ezyCollect.payments.payment_service.enums.WebhookEventStatus;
+import com.ezyCollect.payments.payment_service.repository.WebhookEventRepository;
 import com.ezyCollect.payments.payment_service.repository.WebhookLogRepository;
+import com.ezyCollect.payments.payment_service.util.StripedExecutor;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 
 @Service
@@ -19,22 +25,50 @@ import java.time.LocalDateTime;
 public class WebhookReceivingService {
     private final ObjectMapper objectMapper;
     private final WebhookLogRepository webhookLogRepository;
+    private final WebhookEventRepository webhookEventRepository;
+    private final StripedExecutor webhookLanes;
+    private final TransactionTemplate transactionTemplate;
     public WebhookReceivingService(WebhookLogRepository webhookLogRepository,
-                                   ObjectMapper objectMapper) {
+                                   WebhookEventRepository webhookEventRepository,
+                                   ObjectMapper objectMapper,
+                                   StripedExecutor webhookLanes,
+                                   @Qualifier(WebhookLogPersistenceConfig.TRANSACTION_MANAGER)
+                                   PlatformTransactionManager transactionManager) {
         this.webhookLogRepository = webhookLogRepository;
+        this.webhookEventRepository = webhookEventRepository;
         this.objectMapper = objectMapper;
+        this.webhookLanes = webhookLanes;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
-    @Async
-    @Transactional
-    public void processWebhookAsync(PaymentResponse payload, String url) {
-        // TODO: Process the business operations triggered by an incoming webhook event
+    /**
+     * Queues the raw event on the lane of its transactionId, so events for one payment are processed
+     * one at a time in arrival order while other payments proceed on other lanes.
+     * @param body the request body exactly as received; parsed and stored on the worker
+     * @param eventKey dedupe key from WebhookDedupeService#eventKey; null skips dedupe
+     * @throws java.util.concurrent.RejectedExecutionException when the lane's queue is full
+     */
+    public void processWebhookAsync(byte[] body, String transactionId, String eventKey, String url) {
+        webhookLanes.execute(transactionId,
+                () -> transactionTemplate.executeWithoutResult(status -> processWebhook(body, transactionId, eventKey, url, status)));
+    }
 
+    private void processWebhook(byte[] body, String transactionId, String eventKey, String url, TransactionStatus status) {
         try {
+            // claimed first, in the same transaction as the business step and the log row;
+            // a concurrent repeat delivery loses here before doing any work
+            if (eventKey != null && webhookEventRepository.insertIfAbsent(eventKey, LocalDateTime.now()) == 0) {
+                log.info("Duplicate webhook event {} skipped for payment: {}", eventKey, transactionId);
+                return;
+            }
+
+            PaymentResponse payload = objectMapper.readValue(body, PaymentResponse.class);
+            // TODO: Process the business operations triggered by an incoming webhook event
+
             WebhookLog webhookLog = WebhookLog.builder()
                     .url(url)
                     .direction(WebhookDirection.INCOMING)
-                    .payload(objectMapper.writeValueAsString(payload))
+                    .payload(new String(body, StandardCharsets.UTF_8))
                     .eventStatus(WebhookEventStatus.RECEIVED)
                     .httpStatus(HttpStatus.OK.value())
                     .receiveAt(LocalDateTime.now())
@@ -42,9 +76,12 @@ public class WebhookReceivingService {
                     .build();
 
             webhookLogRepository.save(webhookLog);
-            log.info("Business operations are processed successfully for payment: {}", payload.transactionId());
+            log.info("Business operations are processed successfully for payment: {} ({})",
+                    transactionId, payload.status());
         } catch (Exception e) {
-            log.error("Failed the business operations for payment: {}", payload.transactionId());
+            // release the claim with the rest of the work, so a redelivery is processed again
+            status.setRollbackOnly();
+            log.error("Failed the business operations for payment: {}", transactionId);
         }
     }
 }
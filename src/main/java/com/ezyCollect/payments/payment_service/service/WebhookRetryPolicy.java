@@ -0,0 +1,181 @@
+package com.ezyCollect.payments.payment_service.service;
+
+import com.ezyCollect.payments.payment_service.exception.ErrorCode;
+import com.ezyCollect.payments.payment_service.exception.WebhookException;
+import com.ezyCollect.payments.payment_service.util.RetryBudget;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.retry.backoff.Sleeper;
+import org.springframework.retry.backoff.ThreadWaitSleeper;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Retry rules shared by every outgoing webhook sender. Only transport errors and timeout, throttling
+ * or server-side statuses are retried; other responses will not succeed on a second try. Delays use
+ * decorrelated jitter so failing deliveries do not retry in lockstep, and never undercut the
+ * subscriber's {@code Retry-After}. Every retry also spends from a {@link RetryBudget} fed by
+ * original deliveries, so an outage cannot multiply outbound load.
+ */
+@Slf4j
+@Component
+public class WebhookRetryPolicy {
+    // timeouts, throttling and server-side failures; anything else is the same on a second try
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(408, 425, 429, 500, 502, 503, 504);
+
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final long maxRetryAfterMillis;
+    private final RetryBudget retryBudget;
+    private final Sleeper sleeper;
+    private final Clock clock;
+
+    @Autowired
+    public WebhookRetryPolicy(@Value("${webhook.retry.max-attempts:3}") int maxAttempts,
+                              @Value("${webhook.retry.base-delay:2s}") Duration baseDelay,
+                              @Value("${webhook.retry.max-delay:30s}") Duration maxDelay,
+                              @Value("${webhook.retry.max-retry-after:60s}") Duration maxRetryAfter,
+                              @Value("${webhook.retry.budget.ratio:0.2}") double budgetRatio,
+                              @Value("${webhook.retry.budget.min-per-second:1}") double budgetMinPerSecond,
+                              @Value("${webhook.retry.budget.max-balance:100}") double budgetMaxBalance) {
+        this(maxAttempts, baseDelay, maxDelay, maxRetryAfter,
+                new RetryBudget(budgetRatio, budgetMinPerSecond, budgetMaxBalance, Clock.systemUTC()),
+                new ThreadWaitSleeper(), Clock.systemUTC());
+    }
+
+    WebhookRetryPolicy(int maxAttempts, Duration baseDelay, Duration maxDelay, Duration maxRetryAfter,
+                       RetryBudget retryBudget, Sleeper sleeper, Clock clock) {
+        if (maxAttempts < 1 || baseDelay.compareTo(maxDelay) > 0) {
+            throw new IllegalStateException("Webhook retry needs max-attempts >= 1 and base-delay <= max-delay");
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = baseDelay.toMillis();
+        this.maxDelayMillis = maxDelay.toMillis();
+        this.maxRetryAfterMillis = maxRetryAfter.toMillis();
+        this.retryBudget = retryBudget;
+        this.sleeper = sleeper;
+        this.clock = clock;
+    }
+
+    /**
+     * Failure for a non-2xx response: retryable statuses become {@code WEBHOOK_SENDING_FAILED} with
+     * the subscriber's {@code Retry-After}, everything else {@code WEBHOOK_REJECTED}.
+     */
+    public WebhookException responseFailure(HttpStatusCode status, HttpHeaders headers, Throwable cause) {
+        if (!RETRYABLE_STATUSES.contains(status.value())) {
+            return new WebhookException(ErrorCode.WEBHOOK_REJECTED, cause);
+        }
+        String retryAfter = headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+        return new WebhookException(ErrorCode.WEBHOOK_SENDING_FAILED, parseRetryAfter(retryAfter), cause);
+    }
+
+    public boolean isRetryable(Throwable failure) {
+        return failure instanceof WebhookException ex
+                && (ex.getErrorCode() == ErrorCode.WEBHOOK_ACCESS_FAILED || ex.getErrorCode() == ErrorCode.WEBHOOK_SENDING_FAILED);
+    }
+
+    /** Starts one delivery: counts it towards the retry budget and tracks its attempts. */
+    public Retries start() {
+        retryBudget.deposit();
+        return new Retries();
+    }
+
+    /**
+     * Runs {@code attempt} on the calling thread, sleeping between retries, and returns its first
+     * result. Throws the last failure once it is terminal, attempts run out or the budget is spent.
+     */
+    public <T> T execute(Supplier<T> attempt) {
+        Retries retries = start();
+        while (true) {
+            try {
+                return attempt.get();
+            } catch (WebhookException ex) {
+                Duration delay = retries.next(ex);
+                if (delay == null) {
+                    throw ex;
+                }
+                try {
+                    sleeper.sleep(delay.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    public double budgetBalance() {
+        return retryBudget.balance();
+    }
+
+    Duration parseRetryAfter(String value) {
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            // not delta-seconds, so it should be an HTTP-date
+        }
+        try {
+            Duration untilDate = Duration.between(ZonedDateTime.now(clock),
+                    ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+            return untilDate.isNegative() ? Duration.ZERO : untilDate;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /** Attempt state of one delivery; not thread-safe, each delivery retries sequentially. */
+    public final class Retries {
+        private final long startedNanos = System.nanoTime();
+        private int attempts = 1;
+        private long previousDelayMillis = baseDelayMillis;
+
+        /** Time since the delivery started, across all attempts and backoffs. */
+        public long elapsedNanos() {
+            return System.nanoTime() - startedNanos;
+        }
+
+        /**
+         * Delay before retrying after {@code failure}, or null to give up: the failure is terminal,
+         * attempts are used up, the requested Retry-After is too long, or the retry budget is spent.
+         */
+        public Duration next(Throwable failure) {
+            if (!isRetryable(failure) || attempts >= maxAttempts) {
+                return null;
+            }
+            Duration retryAfter = ((WebhookException) failure).getRetryAfter();
+            long retryAfterMillis = retryAfter != null ? retryAfter.toMillis() : 0;
+            if (retryAfterMillis > maxRetryAfterMillis) {
+                return null;
+            }
+            if (!retryBudget.tryWithdraw()) {
+                log.debug("Webhook retry budget exhausted, not retrying: {}", failure.getMessage());
+                return null;
+            }
+
+            // decorrelated jitter: uniform between the base delay and three times the previous delay
+            long upper = Math.min(maxDelayMillis, previousDelayMillis * 3);
+            long delay = upper > baseDelayMillis
+                    ? ThreadLocalRandom.current().nextLong(baseDelayMillis, upper + 1)
+                    : baseDelayMillis;
+            previousDelayMillis = delay;
+            attempts++;
+            return Duration.ofMillis(Math.max(delay, retryAfterMillis));
+        }
+    }
+}
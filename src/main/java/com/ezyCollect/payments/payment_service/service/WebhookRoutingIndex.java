@@ -0,0 +1,59 @@
+package com.ezyCollect.payments.payment_service.service;
+
+import com.ezyCollect.payments.payment_service.entity.Webhook;
+import com.ezyCollect.payments.payment_service.enums.WebhookEventType;
+import com.ezyCollect.payments.payment_service.repository.WebhookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory routing table from event type to the active webhooks subscribed to it, so fan-out
+ * touches only interested subscribers. The table is an immutable snapshot swapped on rebuild:
+ * after a registration on this instance, and periodically to pick up changes made elsewhere.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WebhookRoutingIndex {
+    private final WebhookRepository webhookRepository;
+
+    private volatile Map<WebhookEventType, List<Webhook>> routes;
+
+    public List<Webhook> subscribers(WebhookEventType eventType) {
+        Map<WebhookEventType, List<Webhook>> current = routes;
+        if (current == null) {
+            rebuild();
+            current = routes;
+        }
+        return current.get(eventType);
+    }
+
+    @Scheduled(fixedDelayString = "${webhook.routing.refresh-interval:PT1M}")
+    public synchronized void rebuild() {
+        Map<WebhookEventType, List<Webhook>> next = new EnumMap<>(WebhookEventType.class);
+        for (WebhookEventType eventType : WebhookEventType.values()) {
+            next.put(eventType, new ArrayList<>());
+        }
+
+        List<Webhook> webhooks = webhookRepository.findAllByActiveTrue();
+        for (Webhook webhook : webhooks) {
+            // no event types means the webhook predates subscriptions or asked for everything
+            if (webhook.getEventTypes() == null || webhook.getEventTypes().isEmpty()) {
+                next.values().forEach(subscribers -> subscribers.add(webhook));
+            } else {
+                webhook.getEventTypes().forEach(eventType -> next.get(eventType).add(webhook));
+            }
+        }
+
+        next.replaceAll((eventType, subscribers) -> List.copyOf(subscribers));
+        routes = next;
+        log.debug("Webhook routing index rebuilt from {} active webhooks", webhooks.size());
+    }
+}
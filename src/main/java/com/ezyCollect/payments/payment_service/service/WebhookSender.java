@@ -0,0 +1,31 @@
+package com.ezyCollect.payments.payment_service.service;
+
+import com.ezyCollect.payments.payment_service.dto.PaymentResponse;
+import com.ezyCollect.payments.payment_service.entity.Webhook;
+import com.ezyCollect.payments.payment_service.entity.WebhookLog;
+
+import java.time.Duration;
+
+/**
+ * Delivers one payment event to one webhook and records the outcome on its log row.
+ * Selected with {@code webhook.delivery}: {@code blocking} (default) or {@code reactive}.
+ */
+public interface WebhookSender {
+    void sendWebhook(Webhook webhook, WebhookLog webhookLog, PaymentResponse paymentResponse);
+
+    /**
+     * Makes one attempt of a delivery whose retries the caller schedules, so no thread waits out
+     * the backoff. Returns when to try again, or null once the outcome is recorded on the log row.
+     * The default hands the whole delivery to {@link #sendWebhook}, for senders that already retry
+     * without holding the calling thread.
+     * @param retries state returned by the previous attempt, null on the first one
+     */
+    default Backoff attemptDelivery(Webhook webhook, WebhookLog webhookLog, PaymentResponse paymentResponse,
+                                  WebhookRetryPolicy.Retries retries) {
+        sendWebhook(webhook, webhookLog, paymentResponse);
+        return null;
+    }
+
+    /** A failed attempt to be repeated after {@code delay}, passing {@code retries} back in. */
+    record Backoff(WebhookRetryPolicy.Retries retries, Duration delay) {}
+}
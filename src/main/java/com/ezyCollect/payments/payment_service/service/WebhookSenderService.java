@@ -7,50 +7,112 @@ import com.ezyCollect.payments.payment_service.exception.ErrorCode;
 import com.ezyCollect.payments.payment_service.exception.WebhookException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.ResponseEntity;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Recover;
-import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.time.Duration;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class WebhookSenderService {
+@ConditionalOnProperty(name = "webhook.delivery", havingValue = "blocking", matchIfMissing = true)
+public class WebhookSenderService implements WebhookSender {
 
     private final WebhookLogService webhookLogService;
+    private final WebhookRetryPolicy webhookRetryPolicy;
+    private final WebhookDeliveryStats webhookDeliveryStats;
 
-    @Retryable(
-            retryFor  = { WebhookException.class },
-            maxAttempts = 3,
-            backoff = @Backoff(delay = 2000, multiplier = 2.0)
-    )
+    /**
+     * Delivers on the calling thread, retrying as {@link WebhookRetryPolicy} allows, and records the
+     * outcome on the log row.
+     */
+    @Override
     public void sendWebhook(Webhook webhook,
                             WebhookLog webhookLog,
                             PaymentResponse paymentResponse) {
+        long started = System.nanoTime();
+        webhookDeliveryStats.deliveryStarted(webhook.getId());
+        ResponseEntity<String> response;
+        try {
+            response = webhookRetryPolicy.execute(() -> attempt(webhook, paymentResponse));
+        } catch (WebhookException ex) {
+            webhookDeliveryStats.deliveryFailed(webhook.getId(), System.nanoTime() - started);
+            recover(ex, webhook, webhookLog, paymentResponse);
+            return;
+        } catch (RuntimeException ex) {
+            webhookDeliveryStats.deliveryFailed(webhook.getId(), System.nanoTime() - started);
+            throw ex;
+        }
+        webhookDeliveryStats.deliverySucceeded(webhook.getId(), System.nanoTime() - started);
+
+        webhookLogService.handleSuccess(webhookLog, response);
+    }
+
+    /**
+     * One attempt of a delivery retried by {@link WebhookDeliveryScheduler}: a retryable failure
+     * returns the backoff instead of sleeping through it.
+     */
+    @Override
+    public Backoff attemptDelivery(Webhook webhook,
+                                 WebhookLog webhookLog,
+                                 PaymentResponse paymentResponse,
+                                 WebhookRetryPolicy.Retries retries) {
+        if (retries == null) {
+            retries = webhookRetryPolicy.start();
+            webhookDeliveryStats.deliveryStarted(webhook.getId());
+        }
         ResponseEntity<String> response;
+        try {
+            response = attempt(webhook, paymentResponse);
+        } catch (WebhookException ex) {
+            Duration delay = retries.next(ex);
+            if (delay != null) {
+                return new Backoff(retries, delay);
+            }
+            webhookDeliveryStats.deliveryFailed(webhook.getId(), retries.elapsedNanos());
+            recover(ex, webhook, webhookLog, paymentResponse);
+            return null;
+        } catch (RuntimeException ex) {
+            webhookDeliveryStats.deliveryFailed(webhook.getId(), retries.elapsedNanos());
+            throw ex;
+        }
+        webhookDeliveryStats.deliverySucceeded(webhook.getId(), retries.elapsedNanos());
+
+        webhookLogService.handleSuccess(webhookLog, response);
+        return null;
+    }
 
+    ResponseEntity<String> attempt(Webhook webhook, PaymentResponse paymentResponse) {
+        ResponseEntity<String> response;
+
+        webhookDeliveryStats.attemptStarted(webhook.getId());
+        long started = System.nanoTime();
         try {
             response = webhookLogService.executeWebhookCall(webhook, paymentResponse);
         } catch (ResourceAccessException e) {
             // Internet / timeout error
             throw new WebhookException(ErrorCode.WEBHOOK_ACCESS_FAILED, e);
+        } catch (RestClientResponseException e) {
+            // Non-2xx response, retryable or terminal by status
+            throw webhookRetryPolicy.responseFailure(e.getStatusCode(), e.getResponseHeaders(), e);
         } catch (RestClientException e) {
             // Other HTTP client errors
             throw new WebhookException(ErrorCode.WEBHOOK_CLIENT_ERROR, e);
+        } finally {
+            webhookDeliveryStats.attemptCompleted(webhook.getId(), System.nanoTime() - started);
         }
 
         // Separate non-2xx response
         if (!response.getStatusCode().is2xxSuccessful()) {
-            throw new WebhookException(ErrorCode.WEBHOOK_SENDING_FAILED);
+            throw webhookRetryPolicy.responseFailure(response.getStatusCode(), response.getHeaders(), null);
         }
-
-        webhookLogService.handleSuccess(webhookLog, response);
+        return response;
     }
 
-    @Recover
     public void recover(WebhookException ex,
                         Webhook webhook,
                         WebhookLog webhookLog,
@@ -0,0 +1,65 @@
+package com.ezyCollect.payments.payment_service.service;
+
+import com.ezyCollect.payments.payment_service.repository.WebhookSequenceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out a strictly increasing sequence number per webhook for its outgoing events. Numbers come
+ * from blocks reserved in the webhook_sequence table, so the hot path is an in-memory increment and
+ * a restart continues above the persisted high-water mark. Unused numbers of the last block before
+ * a restart are skipped, so subscribers see gaps only then.
+ */
+@Slf4j
+@Service
+public class WebhookSequencer {
+    private final WebhookSequenceRepository webhookSequenceRepository;
+    private final long blockSize;
+    private final Map<Long, SequenceBlock> blocks = new ConcurrentHashMap<>();
+
+    public WebhookSequencer(WebhookSequenceRepository webhookSequenceRepository,
+                            @Value("${webhook.sequence.block-size:1000}") long blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalStateException("Webhook sequence block size must be positive");
+        }
+        this.webhookSequenceRepository = webhookSequenceRepository;
+        this.blockSize = blockSize;
+    }
+
+    public long next(Long webhookId) {
+        while (true) {
+            SequenceBlock current = blocks.getOrDefault(webhookId, SequenceBlock.EXHAUSTED);
+            long sequence = current.next.getAndIncrement();
+            if (sequence <= current.last) {
+                return sequence;
+            }
+            reserveBlock(webhookId, current);
+        }
+    }
+
+    private synchronized void reserveBlock(Long webhookId, SequenceBlock exhausted) {
+        if (blocks.getOrDefault(webhookId, SequenceBlock.EXHAUSTED) != exhausted) {
+            return; // another thread already reserved a fresh block
+        }
+        long highWater = webhookSequenceRepository.reserveBlock(webhookId, blockSize);
+        blocks.put(webhookId, new SequenceBlock(highWater - blockSize + 1, highWater));
+        log.debug("Reserved sequence block ({}, {}] for webhook {}", highWater - blockSize, highWater, webhookId);
+    }
+
+    private static final class SequenceBlock {
+        static final SequenceBlock EXHAUSTED = new SequenceBlock(1, 0);
+
+        final AtomicLong next;
+        final long last;
+
+        SequenceBlock(long first, long last) {
+            this.next = new AtomicLong(first);
+            this.last = last;
+        }
+    }
+}
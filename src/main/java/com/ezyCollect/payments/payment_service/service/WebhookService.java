@@ -6,17 +6,27 @@ import com.ezyCollect.payments.payment_service.entity.Webhook;
 import com.ezyCollect.payments.payment_service.entity.WebhookLog;
 import com.ezyCollect.payments.payment_service.enums.WebhookDirection;
 import com.ezyCollect.payments.payment_service.enums.WebhookEventStatus;
+import com.ezyCollect.payments.payment_service.enums.WebhookEventType;
 import com.ezyCollect.payments.payment_service.exception.ErrorCode;
 import com.ezyCollect.payments.payment_service.exception.WebhookException;
 import com.ezyCollect.payments.payment_service.repository.WebhookLogRepository;
 import com.ezyCollect.payments.payment_service.repository.WebhookRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -25,14 +35,87 @@ public class WebhookService {
     private final ObjectMapper objectMapper;
     private final WebhookRepository webhookRepository;
     private final WebhookLogRepository webhookLogRepository;
-    private final WebhookSenderService webhookSenderService;
+    private final WebhookDeliveryScheduler webhookDeliveryScheduler;
+    private final WebhookRoutingIndex webhookRoutingIndex;
+    private final WebhookBatcher webhookBatcher;
+    private final WebhookLogService webhookLogService;
+    private final WebhookSequencer webhookSequencer;
+    // per-webhook locks so ordered webhooks enter the scheduler queue in sequence order
+    private final Map<Long, Object> orderingLocks = new ConcurrentHashMap<>();
+
+    @Value("${webhook.scheduler.resume-limit:100000}")
+    private int resumeLimit;
 
     @Async
     public void triggerWebhooks(PaymentResponse paymentResponse) {
-        for (Webhook webhook : webhookRepository.findAllByActiveTrue()) {
-            WebhookLog webhookLog = createWebhookLog(webhook, paymentResponse);
-            webhookLogRepository.save(webhookLog);
-            webhookSenderService.sendWebhook(webhook, webhookLog, paymentResponse);
+        WebhookEventType eventType = WebhookEventType.ofPaymentStatus(paymentResponse.status()).orElse(null);
+        if (eventType == null) {
+            log.warn("No webhook event type for payment status {}, payment: {}",
+                    paymentResponse.status(), paymentResponse.transactionId());
+            return;
+        }
+
+        // only the webhooks subscribed to this event type
+        for (Webhook webhook : webhookRoutingIndex.subscribers(eventType)) {
+            if (webhook.isOrderedDelivery()) {
+                synchronized (orderingLocks.computeIfAbsent(webhook.getId(), id -> new Object())) {
+                    sendEvent(webhook, paymentResponse);
+                }
+            } else {
+                sendEvent(webhook, paymentResponse);
+            }
+        }
+    }
+
+    private void sendEvent(Webhook webhook, PaymentResponse paymentResponse) {
+        long sequence = webhookSequencer.next(webhook.getId());
+        PaymentResponse event = paymentResponse.toBuilder().sequence(sequence).build();
+        WebhookLog webhookLog = createWebhookLog(webhook, event);
+        webhookLogRepository.save(webhookLog);
+        dispatch(webhook, webhookLog, event);
+    }
+
+    /**
+     * Re-queues outgoing deliveries left PENDING by a restart or outage, oldest first, so the backlog
+     * is drained through the fair scheduler alongside fresh deliveries. Assumes one instance owns
+     * outgoing delivery; several instances would each resend the same backlog. Runs at startup,
+     * before traffic is accepted (see {@link WebhookBacklogResumer}).
+     */
+    public void resumePendingDeliveries() {
+        List<WebhookLog> pending = webhookLogRepository.findByDirectionAndEventStatusOrderByIdAsc(
+                WebhookDirection.OUTGOING, WebhookEventStatus.PENDING, PageRequest.of(0, resumeLimit));
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Set<Long> webhookIds = pending.stream().map(WebhookLog::getWebhookId).collect(Collectors.toSet());
+        Map<Long, Webhook> webhooks = webhookRepository.findAllById(webhookIds).stream()
+                .collect(Collectors.toMap(Webhook::getId, webhook -> webhook));
+
+        int resumed = 0;
+        for (WebhookLog webhookLog : pending) {
+            Webhook webhook = webhooks.get(webhookLog.getWebhookId());
+            if (webhook == null || !webhook.isActive()) {
+                webhookLogService.handleFailure(webhookLog, new WebhookException(ErrorCode.WEBHOOK_NOT_FOUND));
+                continue;
+            }
+            try {
+                PaymentResponse paymentResponse = objectMapper.readValue(webhookLog.getPayload(), PaymentResponse.class);
+                dispatch(webhook, webhookLog, paymentResponse);
+                resumed++;
+            } catch (JsonProcessingException e) {
+                webhookLogService.handleFailure(webhookLog,
+                        new WebhookException(ErrorCode.WEBHOOK_PAYLOAD_SERIALIZATION_FAILED, e));
+            }
+        }
+        log.info("Resumed {} pending webhook deliveries", resumed);
+    }
+
+    private void dispatch(Webhook webhook, WebhookLog webhookLog, PaymentResponse paymentResponse) {
+        if (webhook.isBatchDelivery()) {
+            webhookBatcher.enqueue(webhook, webhookLog, paymentResponse);
+        } else {
+            webhookDeliveryScheduler.submit(webhook, webhookLog, paymentResponse);
         }
     }
 
@@ -40,6 +123,7 @@ public class WebhookService {
         String payload = convertToJson(paymentResponse);
          return WebhookLog.builder()
                 .webhookId(webhook.getId())
+                .sequenceNumber(paymentResponse.sequence())
                 .direction(WebhookDirection.OUTGOING)
                 .url(webhook.getUrl())
                 .payload(payload)
@@ -58,20 +142,39 @@ public class WebhookService {
 
     public Webhook registerWebhook(WebhookRequest request) {
 
+        if (Boolean.TRUE.equals(request.orderedDelivery()) && Boolean.TRUE.equals(request.batchDelivery())) {
+            throw new WebhookException(ErrorCode.WEBHOOK_ORDERED_BATCH_UNSUPPORTED);
+        }
+
+        if (request.eventTypes() != null
+                && request.eventTypes().stream().anyMatch(eventType -> !eventType.isEmitted())) {
+            throw new WebhookException(ErrorCode.WEBHOOK_EVENT_TYPE_UNSUPPORTED);
+        }
+
         if (webhookRepository.existsByUrl(request.url())) {
             throw new WebhookException(ErrorCode.WEBHOOK_ALREADY_EXISTS);
         }
 
+        Webhook webhook;
         try {
-            Webhook webhook = Webhook.builder()
+            webhook = Webhook.builder()
                     .url(request.url())
                     .active(true)
                     .createdAt(LocalDateTime.now())
+                    .eventTypes(request.eventTypes() == null || request.eventTypes().isEmpty()
+                            ? EnumSet.noneOf(WebhookEventType.class)
+                            : EnumSet.copyOf(request.eventTypes()))
+                    .batchDelivery(Boolean.TRUE.equals(request.batchDelivery()))
+                    .deliveryWeight(request.deliveryWeight() == null ? 1 : request.deliveryWeight())
+                    .orderedDelivery(Boolean.TRUE.equals(request.orderedDelivery()))
                     .build();
-            return webhookRepository.save(webhook);
+            webhook = webhookRepository.save(webhook);
         } catch (Exception e) {
             // Wrap DB exceptions in a custom webhook exception
             throw new WebhookException(ErrorCode.WEBHOOK_REGISTER_FAILED, e);
         }
+
+        webhookRoutingIndex.rebuild();
+        return webhook;
     }
 }
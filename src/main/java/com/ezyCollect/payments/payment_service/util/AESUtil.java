@@ -7,13 +7,15 @@ import javax.crypto.KeyGenerator;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.Provider;
 import java.security.SecureRandom;
 import java.util.Base64;
 
 public class AESUtil {
     private static final String AES = "AES";
-    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
-    private static final int IV_LENGTH = 12; // 96 bits recommended for GCM
+    public static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    public static final int IV_LENGTH = 12; // 96 bits recommended for GCM
     private static final int KEY_SIZE = 128;
     private static final SecureRandom secureRandom = new SecureRandom();
 
@@ -31,29 +33,60 @@ public class AESUtil {
 
     // Encrypt a plain text string
     public static String encrypt(String plainText, SecretKey key, byte[] iv) {
+        return encrypt(plainText, key, iv, null);
+    }
+
+    // Encrypt a plain text string with a specific JCA provider (null = default provider)
+    public static String encrypt(String plainText, SecretKey key, byte[] iv, Provider provider) {
         try{
             if (iv.length != IV_LENGTH) {
                 throw new IllegalArgumentException("IV must be 12 bytes for AES-GCM");
             }
-            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-            GCMParameterSpec spec = new GCMParameterSpec(KEY_SIZE, iv);
-            cipher.init(Cipher.ENCRYPT_MODE, key, spec);
-            byte[] encrypted = cipher.doFinal(plainText.getBytes());
+            byte[] encrypted = encryptBytes(plainText.getBytes(), key, iv, provider);
             return Base64.getEncoder().encodeToString(encrypted);
         } catch (Exception e) {
             throw new EncryptionException("Failed to encrypt data", e);
         }
     }
 
+    // Encrypt raw bytes; returns cipher text followed by the GCM tag
+    public static byte[] encryptBytes(byte[] plain, SecretKey key, byte[] iv, Provider provider)
+            throws GeneralSecurityException {
+        Cipher cipher = getCipher(provider);
+        GCMParameterSpec spec = new GCMParameterSpec(KEY_SIZE, iv);
+        cipher.init(Cipher.ENCRYPT_MODE, key, spec);
+        return cipher.doFinal(plain);
+    }
+
     // Decrypt a cipher text string
     public static String decrypt(String cipherText, SecretKey key, byte[] iv) throws Exception {
-        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+        return decrypt(cipherText, key, iv, null);
+    }
+
+    // Decrypt a cipher text string with a specific JCA provider (null = default provider)
+    public static String decrypt(String cipherText, SecretKey key, byte[] iv, Provider provider) throws Exception {
+        Cipher cipher = getCipher(provider);
         GCMParameterSpec spec = new GCMParameterSpec(KEY_SIZE, iv);
         cipher.init(Cipher.DECRYPT_MODE, key, spec);
         byte[] decoded = Base64.getDecoder().decode(cipherText);
         return new String(cipher.doFinal(decoded));
     }
 
+    // Decrypt raw bytes produced by encryptBytes
+    public static byte[] decryptBytes(byte[] cipherText, SecretKey key, byte[] iv, Provider provider)
+            throws GeneralSecurityException {
+        Cipher cipher = getCipher(provider);
+        GCMParameterSpec spec = new GCMParameterSpec(KEY_SIZE, iv);
+        cipher.init(Cipher.DECRYPT_MODE, key, spec);
+        return cipher.doFinal(cipherText);
+    }
+
+    private static Cipher getCipher(Provider provider) throws GeneralSecurityException {
+        return provider == null
+                ? Cipher.getInstance(TRANSFORMATION)
+                : Cipher.getInstance(TRANSFORMATION, provider);
+    }
+
     // Generate a random IV
     public static byte[] generateRandomIV() {
         byte[] iv = new byte[IV_LENGTH];
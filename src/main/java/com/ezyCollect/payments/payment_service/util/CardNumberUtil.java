@@ -0,0 +1,53 @@
+package com.ezyCollect.payments.payment_service.util;
+
+import com.ezyCollect.payments.payment_service.exception.EncryptionException;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HexFormat;
+
+public class CardNumberUtil {
+    private static final String HMAC = "HmacSHA256";
+    private static final int BIN_LENGTH = 6;
+    private static final int LAST4_LENGTH = 4;
+    private static final String MASK = "************";
+
+    private CardNumberUtil() {}
+
+    // Issuer identification number (first six digits)
+    public static String bin(String cardNumber) {
+        return cardNumber.substring(0, BIN_LENGTH);
+    }
+
+    public static String last4(String cardNumber) {
+        return cardNumber.substring(cardNumber.length() - LAST4_LENGTH);
+    }
+
+    // Mask a card number; the masked width is fixed so the PAN length is not revealed
+    public static String mask(String cardNumber) {
+        return maskLast4(last4(cardNumber));
+    }
+
+    public static String maskLast4(String last4) {
+        return MASK + last4;
+    }
+
+    // Keyed HMAC-SHA256 of the card number, hex encoded. Same card + key always gives the same fingerprint
+    public static String fingerprint(String cardNumber, SecretKey key) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(key);
+            return HexFormat.of().formatHex(mac.doFinal(cardNumber.getBytes(StandardCharsets.US_ASCII)));
+        } catch (Exception e) {
+            throw new EncryptionException("Failed to fingerprint card number", e);
+        }
+    }
+
+    // Decode Base64 HMAC key to SecretKey
+    public static SecretKey decodeFingerprintKeyFromBase64(String base64Key) {
+        return new SecretKeySpec(Base64.getDecoder().decode(base64Key), HMAC);
+    }
+}
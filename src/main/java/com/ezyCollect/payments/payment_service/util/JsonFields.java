@@ -0,0 +1,39 @@
+package com.ezyCollect.payments.payment_service.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Reads single fields out of raw JSON with the streaming parser, without binding the document.
+ */
+public class JsonFields {
+
+    private JsonFields() {}
+
+    /**
+     * Scans a JSON object for a top-level scalar field and stops as soon as it is found. Nested
+     * values are skipped without being materialised.
+     * @return the field as text, or null when it is absent, null or not a scalar
+     * @throws IOException when the body is not a JSON object or is malformed before the field
+     */
+    public static String topLevelText(JsonFactory factory, byte[] json, String fieldName) throws IOException {
+        try (JsonParser parser = factory.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                boolean match = fieldName.equals(parser.currentName());
+                JsonToken value = parser.nextToken();
+                if (match) {
+                    return value.isScalarValue() ? parser.getValueAsString() : null;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.ezyCollect.payments.payment_service.util;
+
+import java.time.Clock;
+
+/**
+ * Token bucket that caps retries at a fraction of live traffic. Every original request deposits
+ * {@code ratio} tokens and every retry spends one, so while a dependency is down retries add at most
+ * {@code ratio} extra load instead of multiplying it. {@code minPerSecond} tokens accrue over time so
+ * retries stay possible at low traffic, and the balance never exceeds {@code maxBalance}, so a quiet
+ * period cannot bank enough tokens for a retry storm.
+ */
+public class RetryBudget {
+    // balances are kept in thousandths of a token so repeated fractional deposits add up exactly
+    private static final long TOKEN = 1000;
+
+    private final long depositMillis;
+    private final long refillMillisPerSecond;
+    private final long maxBalanceMillis;
+    private final Clock clock;
+
+    private long balanceMillis;
+    private long refilledAt;
+
+    public RetryBudget(double ratio, double minPerSecond, double maxBalance, Clock clock) {
+        if (ratio < 0 || minPerSecond < 0 || maxBalance < 1) {
+            throw new IllegalArgumentException("Retry budget needs ratio >= 0, minPerSecond >= 0 and maxBalance >= 1");
+        }
+        this.depositMillis = Math.round(ratio * TOKEN);
+        this.refillMillisPerSecond = Math.round(minPerSecond * TOKEN);
+        this.maxBalanceMillis = Math.round(maxBalance * TOKEN);
+        this.clock = clock;
+        this.refilledAt = clock.millis();
+    }
+
+    /** Records one original request. */
+    public synchronized void deposit() {
+        refill();
+        balanceMillis = Math.min(maxBalanceMillis, balanceMillis + depositMillis);
+    }
+
+    /** Spends one token for a retry; false when the budget is exhausted and the retry must not happen. */
+    public synchronized boolean tryWithdraw() {
+        refill();
+        if (balanceMillis < TOKEN) {
+            return false;
+        }
+        balanceMillis -= TOKEN;
+        return true;
+    }
+
+    public synchronized double balance() {
+        refill();
+        return (double) balanceMillis / TOKEN;
+    }
+
+    private void refill() {
+        long now = clock.millis();
+        long refill = (now - refilledAt) * refillMillisPerSecond / 1000;
+        if (refill > 0) {
+            balanceMillis = Math.min(maxBalanceMillis, balanceMillis + refill);
+            refilledAt = now;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.ezyCollect.payments.payment_service.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free, time-windowed bloom filter over strings. Keys are added to the current generation and
+ * looked up in the current and previous one; every {@code window} the previous generation is
+ * dropped, so a key is remembered for at least one and at most two windows.
+ * {@link #mightContain} never returns a false negative inside that period.
+ */
+public class RotatingBloomFilter {
+    private static final double LN2 = Math.log(2);
+
+    private final int numBits;
+    private final int numHashes;
+    private final long windowMillis;
+    private final Clock clock;
+
+    private volatile Generation current;
+    private volatile Generation previous;
+
+    public RotatingBloomFilter(long expectedInsertions, double falsePositiveRate, Duration window, Clock clock) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Bloom filter needs expectedInsertions > 0 and 0 < falsePositiveRate < 1");
+        }
+        // standard sizing: m = -n ln p / (ln 2)^2, k = m/n ln 2
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (LN2 * LN2));
+        this.numBits = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, bits));
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * LN2));
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+        this.current = new Generation(numBits, clock.millis());
+        this.previous = new Generation(numBits, clock.millis());
+    }
+
+    public boolean mightContain(String key) {
+        rotateIfExpired();
+        long hash1 = hash(key);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        return current.contains(hash1, hash2) || previous.contains(hash1, hash2);
+    }
+
+    public void put(String key) {
+        rotateIfExpired();
+        long hash1 = hash(key);
+        current.set(hash1, mix(hash1 ^ 0x9E3779B97F4A7C15L));
+    }
+
+    public int numBits() {
+        return numBits;
+    }
+
+    public int numHashes() {
+        return numHashes;
+    }
+
+    private void rotateIfExpired() {
+        if (clock.millis() - current.startedAt < windowMillis) {
+            return;
+        }
+        synchronized (this) {
+            long now = clock.millis();
+            if (now - current.startedAt >= windowMillis) {
+                // a key put between these two writes lands in the generation becoming previous: still found
+                previous = current;
+                current = new Generation(numBits, now);
+            }
+        }
+    }
+
+    // FNV-1a over the UTF-8 bytes, finished with a 64-bit mixer
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    // MurmurHash3 fmix64 finalizer
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private final class Generation {
+        private final AtomicLongArray words;
+        private final long startedAt;
+
+        private Generation(int numBits, long startedAt) {
+            this.words = new AtomicLongArray((numBits + 63) >>> 6);
+            this.startedAt = startedAt;
+        }
+
+        // Kirsch-Mitzenmacher: the i-th index is hash1 + i * hash2
+        private boolean contains(long hash1, long hash2) {
+            for (int i = 0; i < numHashes; i++) {
+                int bit = (int) Math.floorMod(hash1 + i * hash2, (long) numBits);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void set(long hash1, long hash2) {
+            for (int i = 0; i < numHashes; i++) {
+                int bit = (int) Math.floorMod(hash1 + i * hash2, (long) numBits);
+                long mask = 1L << bit;
+                int word = bit >>> 6;
+                long value = words.get(word);
+                while ((value & mask) == 0 && !words.compareAndSet(word, value, value | mask)) {
+                    value = words.get(word);
+                }
+            }
+        }
+    }
+}
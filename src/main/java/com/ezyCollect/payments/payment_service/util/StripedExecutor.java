@@ -0,0 +1,78 @@
+package com.ezyCollect.payments.payment_service.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs tasks on N single-threaded lanes chosen by a stripe key. Tasks with the same key run one at
+ * a time in submission order; different keys spread across lanes. Each lane has a bounded queue and
+ * a full lane rejects with {@link RejectedExecutionException} instead of blocking the caller.
+ */
+@Slf4j
+public class StripedExecutor {
+    private final ThreadPoolExecutor[] lanes;
+    private final AtomicInteger unkeyed = new AtomicInteger();
+
+    public StripedExecutor(String name, int stripes, int queueCapacity) {
+        if (stripes <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Striped executor needs stripes > 0 and queueCapacity > 0");
+        }
+        this.lanes = new ThreadPoolExecutor[stripes];
+        for (int i = 0; i < stripes; i++) {
+            String threadName = name + "-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    task -> new Thread(task, threadName),
+                    (task, lane) -> {
+                        throw new RejectedExecutionException(threadName + " is full");
+                    });
+        }
+    }
+
+    /**
+     * @param stripeKey tasks with equal keys run in order; null spreads the task round-robin
+     */
+    public void execute(Object stripeKey, Runnable task) {
+        lanes[laneOf(stripeKey)].execute(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                // keep the lane's single thread alive for the tasks queued behind this one
+                log.error("Striped task failed for key {}: {}", stripeKey, e.getMessage(), e);
+            }
+        });
+    }
+
+    public int stripes() {
+        return lanes.length;
+    }
+
+    /** Tasks waiting per lane, for monitoring */
+    public int[] queueDepths() {
+        int[] depths = new int[lanes.length];
+        for (int i = 0; i < lanes.length; i++) {
+            depths[i] = lanes[i].getQueue().size();
+        }
+        return depths;
+    }
+
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+    private int laneOf(Object stripeKey) {
+        if (stripeKey == null) {
+            return Math.floorMod(unkeyed.getAndIncrement(), lanes.length);
+        }
+        int hash = stripeKey.hashCode();
+        // spread the high bits like HashMap so sequential ids do not cluster
+        return Math.floorMod(hash ^ (hash >>> 16), lanes.length);
+    }
+}
@@ -0,0 +1,134 @@
+package com.ezyCollect.payments.payment_service.validation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Issuer (BIN) ranges of the accepted card networks, compared on the first eight digits of the card
+ * number. Ranges live in parallel primitive arrays sorted by start, so a lookup is one binary search
+ * with no allocation.
+ */
+public final class BinRangeTable {
+    static final int PREFIX_DIGITS = 8;
+
+    public static final BinRangeTable DEFAULT = builder()
+            // Visa
+            .range("4", "4", 13, 19)
+            // Mastercard
+            .range("51", "55", 16, 16)
+            .range("2221", "2720", 16, 16)
+            // American Express
+            .range("34", "34", 15, 15)
+            .range("37", "37", 15, 15)
+            // Discover
+            .range("6011", "6011", 16, 19)
+            .range("644", "649", 16, 19)
+            .range("65", "65", 16, 19)
+            // UnionPay
+            .range("62", "62", 16, 19)
+            // JCB
+            .range("3528", "3589", 16, 19)
+            // Diners Club
+            .range("300", "305", 14, 19)
+            .range("36", "36", 14, 19)
+            .range("38", "39", 16, 19)
+            // Mir
+            .range("2200", "2204", 16, 19)
+            // Maestro: 50 and 56-69 around the Discover and UnionPay ranges above
+            .range("50", "50", 12, 19)
+            .range("56", "59", 12, 19)
+            .range("6000", "6010", 12, 19)
+            .range("6012", "6199", 12, 19)
+            .range("63", "63", 12, 19)
+            .range("640", "643", 12, 19)
+            .range("66", "69", 12, 19)
+            .build();
+
+    private final long[] starts;
+    private final long[] ends;
+    private final byte[] minLengths;
+    private final byte[] maxLengths;
+
+    private BinRangeTable(long[] starts, long[] ends, byte[] minLengths, byte[] maxLengths) {
+        this.starts = starts;
+        this.ends = ends;
+        this.minLengths = minLengths;
+        this.maxLengths = maxLengths;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Whether the card number falls in a known range and has a valid length for it
+     * @param cardNumber digits only; shorter numbers are compared as if padded with zeros
+     */
+    public boolean contains(CharSequence cardNumber) {
+        int length = cardNumber.length();
+        long prefix = 0;
+        for (int i = 0; i < PREFIX_DIGITS; i++) {
+            prefix = prefix * 10 + (i < length ? cardNumber.charAt(i) - '0' : 0);
+        }
+
+        int index = Arrays.binarySearch(starts, prefix);
+        if (index < 0) {
+            // insertion point - 1: the last range starting below the prefix
+            index = -index - 2;
+        }
+        return index >= 0
+                && prefix <= ends[index]
+                && length >= minLengths[index]
+                && length <= maxLengths[index];
+    }
+
+    public static final class Builder {
+        private final List<long[]> ranges = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Add the issuer range from {@code firstPrefix} to {@code lastPrefix} inclusive, e.g. "2221" to "2720"
+         */
+        public Builder range(String firstPrefix, String lastPrefix, int minLength, int maxLength) {
+            ranges.add(new long[]{pad(firstPrefix, '0'), pad(lastPrefix, '9'), minLength, maxLength});
+            return this;
+        }
+
+        public BinRangeTable build() {
+            List<long[]> sorted = new ArrayList<>(ranges);
+            sorted.sort(Comparator.comparingLong(range -> range[0]));
+
+            int size = sorted.size();
+            long[] starts = new long[size];
+            long[] ends = new long[size];
+            byte[] minLengths = new byte[size];
+            byte[] maxLengths = new byte[size];
+            for (int i = 0; i < size; i++) {
+                long[] range = sorted.get(i);
+                if (range[0] > range[1] || (i > 0 && range[0] <= ends[i - 1])) {
+                    throw new IllegalArgumentException("BIN ranges must be ascending and must not overlap: " + range[0]);
+                }
+                starts[i] = range[0];
+                ends[i] = range[1];
+                minLengths[i] = (byte) range[2];
+                maxLengths[i] = (byte) range[3];
+            }
+            return new BinRangeTable(starts, ends, minLengths, maxLengths);
+        }
+
+        private static long pad(String prefix, char fill) {
+            if (prefix.isEmpty() || prefix.length() > PREFIX_DIGITS || !prefix.chars().allMatch(Character::isDigit)) {
+                throw new IllegalArgumentException("BIN prefix must be 1 to " + PREFIX_DIGITS + " digits: " + prefix);
+            }
+            StringBuilder padded = new StringBuilder(prefix);
+            while (padded.length() < PREFIX_DIGITS) {
+                padded.append(fill);
+            }
+            return Long.parseLong(padded.toString());
+        }
+    }
+}
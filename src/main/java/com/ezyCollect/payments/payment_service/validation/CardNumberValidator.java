@@ -0,0 +1,58 @@
+package com.ezyCollect.payments.payment_service.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * Rejects bad card numbers before they reach encryption or the database. Works directly on the
+ * incoming characters: no regex, no substring and no boxing, so a rejection costs nanoseconds.
+ */
+public class CardNumberValidator implements ConstraintValidator<ValidCard, CharSequence> {
+    private static final int MIN_LENGTH = 13;
+    private static final int MAX_LENGTH = 19;
+
+    private final BinRangeTable binRangeTable;
+
+    public CardNumberValidator() {
+        this(BinRangeTable.DEFAULT);
+    }
+
+    CardNumberValidator(BinRangeTable binRangeTable) {
+        this.binRangeTable = binRangeTable;
+    }
+
+    @Override
+    public boolean isValid(CharSequence cardNumber, ConstraintValidatorContext context) {
+        if (cardNumber == null || cardNumber.isEmpty()) {
+            return true;
+        }
+        int length = cardNumber.length();
+        return length >= MIN_LENGTH
+                && length <= MAX_LENGTH
+                && passesLuhn(cardNumber)
+                && binRangeTable.contains(cardNumber);
+    }
+
+    /**
+     * Luhn (mod 10) check; also fails on any non-digit character
+     */
+    static boolean passesLuhn(CharSequence cardNumber) {
+        int sum = 0;
+        boolean doubleDigit = false;
+        for (int i = cardNumber.length() - 1; i >= 0; i--) {
+            int digit = cardNumber.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return false;
+            }
+            if (doubleDigit) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubleDigit = !doubleDigit;
+        }
+        return sum % 10 == 0;
+    }
+}
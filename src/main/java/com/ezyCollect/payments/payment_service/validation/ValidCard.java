@@ -0,0 +1,30 @@
+package com.ezyCollect.payments.payment_service.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotated card number must be 13 to 19 digits, pass the Luhn check and fall in a
+ * {@link BinRangeTable} issuer range. {@code null} and empty values are left to {@code @NotBlank}.
+ * <p>
+ * Only the networks in {@link BinRangeTable#DEFAULT} are accepted: Visa, Mastercard, American
+ * Express, Discover, UnionPay, JCB, Diners Club, Mir and Maestro. Cards of any other network, such
+ * as Troy (9792) or UATP (1), are rejected even when they pass the Luhn check.
+ */
+@Documented
+@Constraint(validatedBy = CardNumberValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER, ElementType.RECORD_COMPONENT})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidCard {
+    String message() default "Card number is invalid";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
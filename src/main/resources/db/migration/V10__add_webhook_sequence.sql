@@ -0,0 +1,13 @@
+-- Per-subscriber sequence numbers on outgoing webhook events, and an opt-in strictly ordered mode.
+ALTER TABLE webhooks
+    ADD COLUMN ordered_delivery BIT NOT NULL DEFAULT 0;
+
+ALTER TABLE webhook_log
+    ADD COLUMN sequence_number BIGINT;
+
+-- High-water mark of the sequence numbers handed out per webhook, reserved in blocks
+CREATE TABLE webhook_sequence (
+    webhook_id BIGINT NOT NULL,
+    high_water BIGINT NOT NULL,
+    PRIMARY KEY (webhook_id)
+) ENGINE = InnoDB;
@@ -0,0 +1,9 @@
+-- Append-only payment event log behind GET /v1/events; ids are the feed order.
+CREATE TABLE payment_event (
+    id             BIGINT      NOT NULL AUTO_INCREMENT,
+    event_type     VARCHAR(30) NOT NULL,
+    status         VARCHAR(20) NOT NULL,
+    transaction_id VARCHAR(64) NOT NULL,
+    created_at     DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
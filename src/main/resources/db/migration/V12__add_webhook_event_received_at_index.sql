@@ -0,0 +1,3 @@
+-- Dedupe rows are purged once they fall out of webhook.dedupe.window, oldest first.
+ALTER TABLE webhook_event
+    ADD INDEX idx_webhook_event_received_at (received_at);
@@ -0,0 +1,42 @@
+-- Baseline schema. IF NOT EXISTS lets databases previously created by
+-- Hibernate ddl-auto adopt Flyway without a manual migration.
+
+CREATE TABLE IF NOT EXISTS payment (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    first_name  VARCHAR(50)  NOT NULL,
+    last_name   VARCHAR(50)  NOT NULL,
+    zip_code    VARCHAR(10)  NOT NULL,
+    card_number VARCHAR(512) NOT NULL,
+    iv          VARCHAR(512) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS webhooks (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    url        VARCHAR(255) NOT NULL,
+    active     BIT          NOT NULL,
+    created_at DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS webhook_log (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    webhook_id    BIGINT,
+    direction     ENUM ('OUTGOING','INCOMING') NOT NULL,
+    url           VARCHAR(512) NOT NULL,
+    payload       TEXT,
+    event_status  ENUM ('PENDING','SENT','SUCCESS','FAILED','RECEIVED') NOT NULL,
+    http_status   INT,
+    response_body TEXT,
+    sent_at       DATETIME(6),
+    receive_at    DATETIME(6),
+    PRIMARY KEY (id),
+    INDEX idx_webhook_id (webhook_id),
+    INDEX idx_event_status (event_status),
+    INDEX idx_direction (direction)
+) ENGINE = InnoDB;
+
+-- Hibernate-created schemas mapped the @Lob columns to TINYTEXT (255 bytes)
+ALTER TABLE webhook_log
+    MODIFY payload TEXT,
+    MODIFY response_body TEXT;
@@ -0,0 +1,7 @@
+-- Card lookups without decryption. Nullable: rows written before this migration have no values.
+ALTER TABLE payment
+    ADD COLUMN card_fingerprint VARCHAR(64),
+    ADD COLUMN card_bin         VARCHAR(6),
+    ADD COLUMN card_last4       VARCHAR(4),
+    ADD INDEX idx_card_fingerprint (card_fingerprint),
+    ADD INDEX idx_card_bin_last4 (card_bin, card_last4);
@@ -0,0 +1,6 @@
+-- High-water mark for counter-based AES-GCM IVs (card.iv.strategy=counter)
+CREATE TABLE iv_counter (
+    node_id    INT    NOT NULL,
+    high_water BIGINT NOT NULL,
+    PRIMARY KEY (node_id)
+) ENGINE = InnoDB;
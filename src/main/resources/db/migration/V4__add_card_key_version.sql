@@ -0,0 +1,11 @@
+-- Envelope encryption: data keys wrapped with the key-encryption key (aes.secret.key).
+-- key_version 0 marks cards encrypted directly with aes.secret.key before data keys existed.
+CREATE TABLE data_key (
+    version     INT          NOT NULL AUTO_INCREMENT,
+    wrapped_key VARCHAR(255) NOT NULL,
+    iv          VARCHAR(24)  NOT NULL,
+    created_at  DATETIME(6)  NOT NULL,
+    PRIMARY KEY (version)
+) ENGINE = InnoDB;
+
+ALTER TABLE payment ADD COLUMN key_version INT NOT NULL DEFAULT 0;
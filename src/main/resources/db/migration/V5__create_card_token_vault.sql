@@ -0,0 +1,21 @@
+-- Token vault: one encrypted copy per unique card, found by its keyed fingerprint.
+-- New payments reference a token; card_number/iv stay only on rows written before the vault.
+CREATE TABLE card_token (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    fingerprint VARCHAR(64)  NOT NULL,
+    card_number VARCHAR(512) NOT NULL,
+    iv          VARCHAR(512) NOT NULL,
+    key_version INT          NOT NULL,
+    card_bin    VARCHAR(6)   NOT NULL,
+    card_last4  VARCHAR(4)   NOT NULL,
+    created_at  DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_card_token_fingerprint UNIQUE (fingerprint)
+) ENGINE = InnoDB;
+
+ALTER TABLE payment
+    ADD COLUMN card_token_id BIGINT NULL,
+    MODIFY card_number VARCHAR(512) NULL,
+    MODIFY iv VARCHAR(512) NULL,
+    ADD INDEX idx_card_token (card_token_id),
+    ADD CONSTRAINT fk_payment_card_token FOREIGN KEY (card_token_id) REFERENCES card_token (id);
@@ -0,0 +1,8 @@
+-- Inbound webhook dedupe: one row per processed event, keyed by X-Event-Id or the transactionId.
+CREATE TABLE webhook_event (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    event_key   VARCHAR(128) NOT NULL,
+    received_at DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_webhook_event_key UNIQUE (event_key)
+) ENGINE = InnoDB;
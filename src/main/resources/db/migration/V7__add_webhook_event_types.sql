@@ -0,0 +1,4 @@
+-- Event-type subscriptions: comma-separated WebhookEventType names. NULL subscribes to every event type,
+-- which keeps webhooks registered before this migration receiving everything.
+ALTER TABLE webhooks
+    ADD COLUMN event_types VARCHAR(255);
@@ -0,0 +1,3 @@
+-- Opt-in batched delivery: events for the webhook are POSTed together as one JSON array.
+ALTER TABLE webhooks
+    ADD COLUMN batch_delivery BIT NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+-- Share of delivery workers a webhook gets while subscribers compete for them (deficit round-robin).
+ALTER TABLE webhooks
+    ADD COLUMN delivery_weight INT NOT NULL DEFAULT 1;
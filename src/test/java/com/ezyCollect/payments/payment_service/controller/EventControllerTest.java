@@ -0,0 +1,86 @@
+package com.ezyCollect.payments.payment_service.controller;
+
+import com.ezyCollect.payments.payment_service.exception.GlobalExceptionHandler;
+import com.ezyCollect.payments.payment_service.service.PaymentEventFeed;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = {EventController.class, GlobalExceptionHandler.class})
+class EventControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PaymentEventFeed paymentEventFeed;
+
+    private static final String EVENTS_URL = "/v1/events";
+
+    @Test
+    @DisplayName("Should return the page of events and a cursor to continue after the last one")
+    void getEvents_returnsEventsAndCursor() throws Exception {
+        // Arrange
+        byte[] event = "{\"id\":5,\"type\":\"PAYMENT_SUCCEEDED\"}".getBytes(StandardCharsets.UTF_8);
+        when(paymentEventFeed.poll(0L, 100, Duration.ofSeconds(20)))
+                .thenReturn(CompletableFuture.completedFuture(new PaymentEventFeed.Page(List.of(event, event), 5L)));
+
+        // Act
+        MvcResult result = mockMvc.perform(get(EVENTS_URL)).andExpect(request().asyncStarted()).andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events.length()").value(2))
+                .andExpect(jsonPath("$.events[0].id").value(5))
+                .andExpect(jsonPath("$.cursor").value(EventController.encodeCursor(5L)));
+    }
+
+    @Test
+    @DisplayName("Should resume after the cursor's position and cap limit and wait")
+    void getEvents_withCursor_resumesAfterIt() throws Exception {
+        // Arrange
+        when(paymentEventFeed.poll(anyLong(), anyInt(), any()))
+                .thenReturn(CompletableFuture.completedFuture(new PaymentEventFeed.Page(List.of(), 42L)));
+
+        // Act
+        MvcResult result = mockMvc.perform(get(EVENTS_URL)
+                        .param("cursor", EventController.encodeCursor(42L))
+                        .param("limit", "50000")
+                        .param("wait", "600"))
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events").isEmpty());
+        verify(paymentEventFeed).poll(42L, 1000, Duration.ofSeconds(25));
+    }
+
+    @Test
+    @DisplayName("Should return 400 INVALID_EVENT_CURSOR for a cursor it did not issue")
+    void getEvents_invalidCursor_returns400() throws Exception {
+        mockMvc.perform(get(EVENTS_URL).param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_EVENT_CURSOR"));
+
+        verifyNoInteractions(paymentEventFeed);
+    }
+}
@@ -1,5 +1,6 @@
 package com.ezyCollect.payments.payment_service.controller;
 
+import com.ezyCollect.payments.payment_service.dto.PaymentDetailResponse;
 import com.ezyCollect.payments.payment_service.dto.PaymentRequest;
 import com.ezyCollect.payments.payment_service.dto.PaymentResponse;
 import com.ezyCollect.payments.payment_service.exception.ErrorCode;
@@ -15,9 +16,18 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -44,7 +54,7 @@ class PaymentControllerTest {
                 .firstName("Christy")
                 .lastName("Wu")
                 .zipCode("2065")
-                .cardNumber("1234567890123456")
+                .cardNumber("4242424242424242")
                 .build();
 
         successResponse = PaymentResponse.builder()
@@ -59,39 +69,35 @@ class PaymentControllerTest {
     @DisplayName("Should return 200 OK with SUCCESS response when payment is processed")
     void createPayment_success_returns200() throws Exception {
         // Arrange
-        when(paymentService.processPayment(any(PaymentRequest.class)))
-                .thenReturn(successResponse);
+        when(paymentService.processPaymentAsync(any(PaymentRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(successResponse));
 
         // Act & Assert
-        mockMvc.perform(post(URL)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(validRequest)))
+        performCreatePayment(validRequest)
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("SUCCESS"))
                 .andExpect(jsonPath("$.transactionId").value("42"));
 
-        verify(paymentService).processPayment(any(PaymentRequest.class));
+        verify(paymentService).processPaymentAsync(any(PaymentRequest.class));
     }
 
     @Test
     @DisplayName("Should pass correct request fields to service")
     void createPayment_success_passesCorrectFieldsToService() throws Exception {
         // Arrange
-        when(paymentService.processPayment(any(PaymentRequest.class)))
-                .thenReturn(successResponse);
+        when(paymentService.processPaymentAsync(any(PaymentRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(successResponse));
 
         // Act
-        mockMvc.perform(post(URL)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(validRequest)))
+        performCreatePayment(validRequest)
                 .andExpect(status().isOk());
 
         // Assert — verify service received correct request
-        verify(paymentService).processPayment(argThat(request ->
+        verify(paymentService).processPaymentAsync(argThat(request ->
                 request.firstName().equals("Christy") &&
                         request.lastName().equals("Wu") &&
                         request.zipCode().equals("2065") &&
-                        request.cardNumber().equals("1234567890123456")
+                        request.cardNumber().equals("4242424242424242")
         ));
     }
 
@@ -105,7 +111,7 @@ class PaymentControllerTest {
                 .firstName("")
                 .lastName("Wu")
                 .zipCode("2065")
-                .cardNumber("1234567890123456")
+                .cardNumber("4242424242424242")
                 .build();
 
         // Act & Assert
@@ -116,7 +122,7 @@ class PaymentControllerTest {
                 .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"))
                 .andExpect(jsonPath("$.fieldErrors.firstName").exists());
 
-        verify(paymentService, never()).processPayment(any());
+        verify(paymentService, never()).processPaymentAsync(any());
     }
 
     @Test
@@ -127,7 +133,7 @@ class PaymentControllerTest {
                 .firstName("Christy")
                 .lastName("")
                 .zipCode("2065")
-                .cardNumber("1234567890123456")
+                .cardNumber("4242424242424242")
                 .build();
 
         // Act & Assert
@@ -138,7 +144,7 @@ class PaymentControllerTest {
                 .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"))
                 .andExpect(jsonPath("$.fieldErrors.lastName").exists());
 
-        verify(paymentService, never()).processPayment(any());
+        verify(paymentService, never()).processPaymentAsync(any());
     }
 
     @Test
@@ -160,7 +166,50 @@ class PaymentControllerTest {
                 .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"))
                 .andExpect(jsonPath("$.fieldErrors.cardNumber").exists());
 
-        verify(paymentService, never()).processPayment(any());
+        verify(paymentService, never()).processPaymentAsync(any());
+    }
+
+    @Test
+    @DisplayName("Should return 400 INVALID_CARD_NUMBER when the card fails the Luhn check")
+    void createPayment_luhnFailure_returnsInvalidCardNumber() throws Exception {
+        // Arrange
+        PaymentRequest request = PaymentRequest.builder()
+                .firstName("Christy")
+                .lastName("Wu")
+                .zipCode("2065")
+                .cardNumber("4242424242424241")
+                .build();
+
+        // Act & Assert
+        mockMvc.perform(post(URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_CARD_NUMBER"))
+                .andExpect(jsonPath("$.fieldErrors.cardNumber").exists());
+
+        verify(paymentService, never()).processPaymentAsync(any());
+    }
+
+    @Test
+    @DisplayName("Should return 400 INVALID_CARD_NUMBER when the card is outside every known BIN range")
+    void createPayment_unknownBin_returnsInvalidCardNumber() throws Exception {
+        // Arrange — passes Luhn but no network issues 1xxx cards
+        PaymentRequest request = PaymentRequest.builder()
+                .firstName("Christy")
+                .lastName("Wu")
+                .zipCode("2065")
+                .cardNumber("1234567890123452")
+                .build();
+
+        // Act & Assert
+        mockMvc.perform(post(URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_CARD_NUMBER"));
+
+        verify(paymentService, never()).processPaymentAsync(any());
     }
 
     @Test
@@ -171,7 +220,7 @@ class PaymentControllerTest {
                 .firstName("Christy")
                 .lastName("Wu")
                 .zipCode("")
-                .cardNumber("1234567890123456")
+                .cardNumber("4242424242424242")
                 .build();
 
         // Act & Assert
@@ -182,7 +231,7 @@ class PaymentControllerTest {
                 .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"))
                 .andExpect(jsonPath("$.fieldErrors.zipCode").exists());
 
-        verify(paymentService, never()).processPayment(any());
+        verify(paymentService, never()).processPaymentAsync(any());
     }
 
     @Test
@@ -207,7 +256,7 @@ class PaymentControllerTest {
                 .andExpect(jsonPath("$.fieldErrors.zipCode").exists())
                 .andExpect(jsonPath("$.fieldErrors.cardNumber").exists());
 
-        verify(paymentService, never()).processPayment(any());
+        verify(paymentService, never()).processPaymentAsync(any());
     }
 
     @Test
@@ -217,7 +266,7 @@ class PaymentControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
 
-        verify(paymentService, never()).processPayment(any());
+        verify(paymentService, never()).processPaymentAsync(any());
     }
 
     // ─── Service Exceptions ───────────────────────────────────────────────────
@@ -226,13 +275,11 @@ class PaymentControllerTest {
     @DisplayName("Should return 422 with CARD_ENCRYPTION_ERROR when encryption fails")
     void createPayment_encryptionFails_returns422() throws Exception {
         // Arrange
-        when(paymentService.processPayment(any()))
-                .thenThrow(new PaymentException(ErrorCode.CARD_ENCRYPTION_ERROR));
+        when(paymentService.processPaymentAsync(any()))
+                .thenReturn(CompletableFuture.failedFuture(new PaymentException(ErrorCode.CARD_ENCRYPTION_ERROR)));
 
         // Act & Assert
-        mockMvc.perform(post(URL)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(validRequest)))
+        performCreatePayment(validRequest)
                 .andExpect(status().isUnprocessableEntity())
                 .andExpect(jsonPath("$.errorCode").value("CARD_ENCRYPTION_ERROR"))
                 .andExpect(jsonPath("$.timestamp").exists())
@@ -243,13 +290,11 @@ class PaymentControllerTest {
     @DisplayName("Should return 500 with DATABASE_ERROR when database fails")
     void createPayment_databaseFails_returns500() throws Exception {
         // Arrange
-        when(paymentService.processPayment(any()))
-                .thenThrow(new PaymentException(ErrorCode.DATABASE_ERROR));
+        when(paymentService.processPaymentAsync(any()))
+                .thenReturn(CompletableFuture.failedFuture(new PaymentException(ErrorCode.DATABASE_ERROR)));
 
         // Act & Assert
-        mockMvc.perform(post(URL)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(validRequest)))
+        performCreatePayment(validRequest)
                 .andExpect(status().isInternalServerError())
                 .andExpect(jsonPath("$.errorCode").value("DATABASE_ERROR"))
                 .andExpect(jsonPath("$.timestamp").exists())
@@ -260,28 +305,38 @@ class PaymentControllerTest {
     @DisplayName("Should return 500 with INTERNAL_SERVER_ERROR on unexpected exception")
     void createPayment_unexpectedException_returns500() throws Exception {
         // Arrange
-        when(paymentService.processPayment(any()))
-                .thenThrow(new RuntimeException("Unexpected error"));
+        when(paymentService.processPaymentAsync(any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Unexpected error")));
 
         // Act & Assert
-        mockMvc.perform(post(URL)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(validRequest)))
+        performCreatePayment(validRequest)
                 .andExpect(status().isInternalServerError())
                 .andExpect(jsonPath("$.errorCode").value("INTERNAL_SERVER_ERROR"));
     }
 
+    @Test
+    @DisplayName("Should return 503 with SERVICE_BUSY when a payment executor rejects the work")
+    void createPayment_executorSaturated_returns503() throws Exception {
+        // Arrange
+        when(paymentService.processPaymentAsync(any()))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new CompletionException(new RejectedExecutionException("queue full"))));
+
+        // Act & Assert
+        performCreatePayment(validRequest)
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.errorCode").value("SERVICE_BUSY"));
+    }
+
     @Test
     @DisplayName("Should return consistent ErrorResponse structure on failure")
     void createPayment_failure_returnsConsistentErrorStructure() throws Exception {
         // Arrange
-        when(paymentService.processPayment(any()))
-                .thenThrow(new PaymentException(ErrorCode.DATABASE_ERROR));
+        when(paymentService.processPaymentAsync(any()))
+                .thenReturn(CompletableFuture.failedFuture(new PaymentException(ErrorCode.DATABASE_ERROR)));
 
         // Act & Assert — verify all ErrorResponse fields are present
-        mockMvc.perform(post(URL)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(validRequest)))
+        performCreatePayment(validRequest)
                 .andExpect(status().isInternalServerError())
                 .andExpect(jsonPath("$.timestamp").exists())
                 .andExpect(jsonPath("$.status").value(500))
@@ -289,4 +344,64 @@ class PaymentControllerTest {
                 .andExpect(jsonPath("$.message").exists())
                 .andExpect(jsonPath("$.path").value(URL));
     }
-}
\ No newline at end of file
+
+    // ─── GET /v1/payments ─────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should return 200 OK with masked card when payment exists")
+    void getPayment_success_returns200() throws Exception {
+        // Arrange
+        when(paymentService.getPayment(42L)).thenReturn(PaymentDetailResponse.builder()
+                .transactionId("42")
+                .firstName("Christy")
+                .lastName("Wu")
+                .zipCode("2065")
+                .maskedCardNumber("************3456")
+                .build());
+
+        // Act & Assert
+        mockMvc.perform(get(URL + "/42"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactionId").value("42"))
+                .andExpect(jsonPath("$.maskedCardNumber").value("************3456"));
+    }
+
+    @Test
+    @DisplayName("Should return 404 with PAYMENT_NOT_FOUND when payment does not exist")
+    void getPayment_notFound_returns404() throws Exception {
+        // Arrange
+        when(paymentService.getPayment(99L))
+                .thenThrow(new PaymentException(ErrorCode.PAYMENT_NOT_FOUND));
+
+        // Act & Assert
+        mockMvc.perform(get(URL + "/99"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorCode").value("PAYMENT_NOT_FOUND"))
+                .andExpect(jsonPath("$.path").value(URL + "/99"));
+    }
+
+    @Test
+    @DisplayName("Should return 200 OK with all found payments for a bulk lookup")
+    void getPayments_success_returns200() throws Exception {
+        // Arrange
+        when(paymentService.getPayments(List.of(1L, 2L))).thenReturn(List.of(
+                PaymentDetailResponse.builder().transactionId("1").maskedCardNumber("************3456").build(),
+                PaymentDetailResponse.builder().transactionId("2").maskedCardNumber("************4242").build()));
+
+        // Act & Assert
+        mockMvc.perform(get(URL).param("ids", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].maskedCardNumber").value("************4242"));
+    }
+
+    // The create endpoint completes asynchronously: check it started, then dispatch the result
+    private ResultActions performCreatePayment(PaymentRequest body) throws Exception {
+        MvcResult result = mockMvc.perform(post(URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
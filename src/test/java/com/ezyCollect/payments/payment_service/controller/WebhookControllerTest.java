@@ -7,6 +7,7 @@ import com.ezyCollect.payments.payment_service.exception.ErrorCode;
 import com.ezyCollect.payments.payment_service.exception.GlobalExceptionHandler;
 import com.ezyCollect.payments.payment_service.exception.WebhookException;
 import com.ezyCollect.payments.payment_service.repository.WebhookRepository;
+import com.ezyCollect.payments.payment_service.service.WebhookDedupeService;
 import com.ezyCollect.payments.payment_service.service.WebhookReceivingService;
 import com.ezyCollect.payments.payment_service.service.WebhookService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -19,8 +20,11 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.concurrent.RejectedExecutionException;
 
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -45,6 +49,9 @@ class WebhookControllerTest {
     @MockBean
     private WebhookRepository webhookRepository;
 
+    @MockBean
+    private WebhookDedupeService webhookDedupeService;
+
     private WebhookRequest validWebhookRequest;
     private PaymentResponse paymentResponse;
     private Webhook savedWebhook;
@@ -54,7 +61,7 @@ class WebhookControllerTest {
 
     @BeforeEach
     void setUp() {
-        validWebhookRequest = new WebhookRequest("http://example.com/webhook");
+        validWebhookRequest = new WebhookRequest("http://example.com/webhook", null, null, null, null);
 
         paymentResponse = PaymentResponse.builder()
                 .status("SUCCESS")
@@ -107,7 +114,7 @@ class WebhookControllerTest {
     @DisplayName("Should return 400 when webhook URL is blank")
     void registerWebhook_blankUrl_returns400() throws Exception {
         // Arrange
-        WebhookRequest blankRequest = new WebhookRequest("");
+        WebhookRequest blankRequest = new WebhookRequest("", null, null, null, null);
 
         // Act & Assert
         mockMvc.perform(post(REGISTER_URL)
@@ -124,7 +131,7 @@ class WebhookControllerTest {
     @DisplayName("Should return 400 when webhook URL is not a valid URL format")
     void registerWebhook_invalidUrlFormat_returns400() throws Exception {
         // Arrange
-        WebhookRequest invalidRequest = new WebhookRequest("not-a-valid-url");
+        WebhookRequest invalidRequest = new WebhookRequest("not-a-valid-url", null, null, null, null);
 
         // Act & Assert
         mockMvc.perform(post(REGISTER_URL)
@@ -137,6 +144,23 @@ class WebhookControllerTest {
         verify(webhookService, never()).registerWebhook(any());
     }
 
+    @Test
+    @DisplayName("Should return 400 when delivery weight is out of range")
+    void registerWebhook_invalidDeliveryWeight_returns400() throws Exception {
+        // Arrange
+        WebhookRequest invalidRequest = new WebhookRequest("http://example.com/webhook", null, null, 0, null);
+
+        // Act & Assert
+        mockMvc.perform(post(REGISTER_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(invalidRequest)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"))
+                .andExpect(jsonPath("$.fieldErrors.deliveryWeight").exists());
+
+        verify(webhookService, never()).registerWebhook(any());
+    }
+
     @Test
     @DisplayName("Should return 400 when request body is missing")
     void registerWebhook_missingBody_returns400() throws Exception {
@@ -189,7 +213,7 @@ class WebhookControllerTest {
     void receiveWebhook_success_returns200() throws Exception {
         // Arrange
         doNothing().when(webhookReceivingService)
-                .processWebhookAsync(any(PaymentResponse.class), anyString());
+                .processWebhookAsync(any(byte[].class), any(), any(), anyString());
 
         // Act & Assert
         mockMvc.perform(post(RECEIVE_URL)
@@ -200,11 +224,11 @@ class WebhookControllerTest {
     }
 
     @Test
-    @DisplayName("Should call processWebhookAsync with correct payload and URL")
+    @DisplayName("Should call processWebhookAsync with the received bytes, transactionId and URL")
     void receiveWebhook_success_callsProcessWebhookAsync() throws Exception {
         // Arrange
         doNothing().when(webhookReceivingService)
-                .processWebhookAsync(any(PaymentResponse.class), anyString());
+                .processWebhookAsync(any(byte[].class), any(), any(), anyString());
 
         // Act
         mockMvc.perform(post(RECEIVE_URL)
@@ -213,9 +237,11 @@ class WebhookControllerTest {
                 .andExpect(status().isOk());
 
         // Assert — processWebhookAsync was called once
+        byte[] body = objectMapper.writeValueAsBytes(paymentResponse);
         verify(webhookReceivingService).processWebhookAsync(
-                argThat(p -> p.transactionId().equals("42") &&
-                        p.status().equals("SUCCESS")),
+                aryEq(body),
+                eq("42"),
+                eq(WebhookDedupeService.eventKey(null, body)),
                 anyString()
         );
     }
@@ -225,7 +251,7 @@ class WebhookControllerTest {
     void receiveWebhook_fireAndForget_respondsImmediately() throws Exception {
         // Arrange — simulate slow async processing
         doNothing().when(webhookReceivingService)
-                .processWebhookAsync(any(), anyString());
+                .processWebhookAsync(any(), any(), any(), anyString());
 
         // Act & Assert — controller returns 200 without waiting for async
         mockMvc.perform(post(RECEIVE_URL)
@@ -240,7 +266,7 @@ class WebhookControllerTest {
     void receiveWebhook_noSignatureHeader_returns200() throws Exception {
         // Arrange
         doNothing().when(webhookReceivingService)
-                .processWebhookAsync(any(), anyString());
+                .processWebhookAsync(any(), any(), any(), anyString());
 
         // Act & Assert — signature is optional (required = false)
         mockMvc.perform(post(RECEIVE_URL)
@@ -254,7 +280,7 @@ class WebhookControllerTest {
     void receiveWebhook_withSignatureHeader_returns200() throws Exception {
         // Arrange
         doNothing().when(webhookReceivingService)
-                .processWebhookAsync(any(), anyString());
+                .processWebhookAsync(any(), any(), any(), anyString());
 
         // Act & Assert
         mockMvc.perform(post(RECEIVE_URL)
@@ -270,7 +296,7 @@ class WebhookControllerTest {
         // Arrange — async method throws but should not affect response
         doThrow(new RuntimeException("Async processing failed"))
                 .when(webhookReceivingService)
-                .processWebhookAsync(any(), anyString());
+                .processWebhookAsync(any(), any(), any(), anyString());
 
         // Act & Assert — controller already responded before async runs
         mockMvc.perform(post(RECEIVE_URL)
@@ -280,8 +306,89 @@ class WebhookControllerTest {
                 .andExpect(content().string("Webhook sent successfully"));
     }
 
+    @Test
+    @DisplayName("Should return 503 when the transaction's processing lane is full")
+    void receiveWebhook_laneFull_returns503() throws Exception {
+        // Arrange
+        doThrow(new RejectedExecutionException("webhook-lane-3 is full"))
+                .when(webhookReceivingService)
+                .processWebhookAsync(any(), any(), any(), anyString());
+
+        // Act & Assert — sender is told to retry instead of the event being dropped
+        mockMvc.perform(post(RECEIVE_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(paymentResponse)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.errorCode").value(ErrorCode.SERVICE_BUSY.name()));
+    }
+
+    // ─── POST /receive — Dedupe ───────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should acknowledge a repeat delivery without processing it")
+    void receiveWebhook_duplicate_acknowledgesWithoutProcessing() throws Exception {
+        // Arrange — without X-Event-Id the key is a digest of the body
+        byte[] body = objectMapper.writeValueAsBytes(paymentResponse);
+        when(webhookDedupeService.isDuplicate(WebhookDedupeService.eventKey(null, body))).thenReturn(true);
+
+        // Act & Assert
+        mockMvc.perform(post(RECEIVE_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Webhook already received"));
+
+        verify(webhookReceivingService, never()).processWebhookAsync(any(), any(), any(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should dedupe on X-Event-Id when the sender provides one")
+    void receiveWebhook_eventIdHeader_usedAsDedupeKey() throws Exception {
+        // Act
+        mockMvc.perform(post(RECEIVE_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Event-Id", "evt_001")
+                        .content(objectMapper.writeValueAsString(paymentResponse)))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Webhook sent successfully"));
+
+        // Assert
+        verify(webhookDedupeService).isDuplicate("evt_001");
+        verify(webhookReceivingService).processWebhookAsync(any(byte[].class), eq("42"), eq("evt_001"), anyString());
+    }
+
     // ─── POST /receive — Validation ───────────────────────────────────────────
 
+    @Test
+    @DisplayName("Should pass the body through byte for byte without re-serializing it")
+    void receiveWebhook_rawBody_passedUnchanged() throws Exception {
+        // Arrange — formatting and fields the DTO does not know about must survive
+        String body = "{ \"transactionId\": \"42\",\n  \"status\": \"SUCCESS\", \"extra\": {\"a\": [1, 2]} }";
+
+        // Act
+        mockMvc.perform(post(RECEIVE_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk());
+
+        // Assert
+        verify(webhookReceivingService).processWebhookAsync(
+                aryEq(body.getBytes(StandardCharsets.UTF_8)), eq("42"),
+                eq(WebhookDedupeService.eventKey(null, body.getBytes(StandardCharsets.UTF_8))), anyString());
+    }
+
+    @Test
+    @DisplayName("Should return 400 when the receive body is not a JSON object")
+    void receiveWebhook_malformedBody_returns400() throws Exception {
+        mockMvc.perform(post(RECEIVE_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"42\"]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value(ErrorCode.REQUEST_BODY_MISSING.name()));
+
+        verify(webhookReceivingService, never()).processWebhookAsync(any(), any(), any(), anyString());
+    }
+
     @Test
     @DisplayName("Should return 400 when receive request body is missing")
     void receiveWebhook_missingBody_returns400() throws Exception {
@@ -289,6 +396,6 @@ class WebhookControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
 
-        verify(webhookReceivingService, never()).processWebhookAsync(any(), anyString());
+        verify(webhookReceivingService, never()).processWebhookAsync(any(), any(), any(), anyString());
     }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.ezyCollect.payments.payment_service.crypto;
+
+import com.ezyCollect.payments.payment_service.repository.IvCounterRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CounterIvGeneratorTest {
+
+    @Mock
+    private IvCounterRepository ivCounterRepository;
+
+    @Test
+    @DisplayName("Should build 12-byte IVs from the node id and a counter starting at the reserved block")
+    void nextIv_usesNodePrefixAndReservedCounter() {
+        // Arrange — persisted high-water mark was 100, block of 10 → counters 100..109
+        when(ivCounterRepository.reserveBlock(7, 10)).thenReturn(110L);
+        CounterIvGenerator generator = new CounterIvGenerator(ivCounterRepository, 7, 10);
+
+        // Act
+        ByteBuffer iv = ByteBuffer.wrap(generator.nextIv());
+
+        // Assert
+        assertThat(iv.capacity()).isEqualTo(12);
+        assertThat(iv.getInt()).isEqualTo(7);
+        assertThat(iv.getLong()).isEqualTo(100L);
+    }
+
+    @Test
+    @DisplayName("Should reserve a new block once the current block is used up")
+    void nextIv_blockExhausted_reservesNextBlock() {
+        // Arrange
+        when(ivCounterRepository.reserveBlock(1, 2)).thenReturn(2L, 4L);
+        CounterIvGenerator generator = new CounterIvGenerator(ivCounterRepository, 1, 2);
+
+        // Act
+        generator.nextIv();
+        generator.nextIv();
+        ByteBuffer third = ByteBuffer.wrap(generator.nextIv());
+
+        // Assert
+        third.getInt();
+        assertThat(third.getLong()).isEqualTo(2L);
+        verify(ivCounterRepository, times(2)).reserveBlock(1, 2);
+    }
+
+    @Test
+    @DisplayName("Should never hand out the same IV to concurrent callers")
+    void nextIv_concurrentCallers_uniqueIvs() throws Exception {
+        // Arrange — small blocks to force concurrent reservations
+        AtomicLong highWater = new AtomicLong();
+        when(ivCounterRepository.reserveBlock(anyInt(), anyLong()))
+                .thenAnswer(i -> highWater.addAndGet(i.getArgument(1)));
+        CounterIvGenerator generator = new CounterIvGenerator(ivCounterRepository, 1, 50);
+        Set<ByteBuffer> ivs = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        for (int i = 0; i < 8; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    ivs.add(ByteBuffer.wrap(generator.nextIv()));
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // Assert
+        assertThat(ivs).hasSize(8000);
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive block size")
+    void constructor_invalidBlockSize_throws() {
+        assertThatThrownBy(() -> new CounterIvGenerator(ivCounterRepository, 1, 0))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,51 @@
+package com.ezyCollect.payments.payment_service.crypto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CryptoProviderSelectorTest {
+
+    private static final Duration SELF_TEST_DURATION = Duration.ofMillis(20);
+
+    @Test
+    @DisplayName("Should select a provider that passes the AES-GCM known-answer test in auto mode")
+    void autoMode_selectsCompliantProvider() {
+        // Act
+        CryptoProviderSelector selector = new CryptoProviderSelector("auto", SELF_TEST_DURATION);
+
+        // Assert
+        assertThat(selector.getSelfTests())
+                .extracting(CryptoProviderSelector.ProviderSelfTest::name)
+                .contains("SunJCE");
+        assertThat(selector.getSelfTests())
+                .filteredOn(test -> test.provider() == selector.getProvider())
+                .singleElement()
+                .satisfies(test -> {
+                    assertThat(test.compliant()).isTrue();
+                    assertThat(test.opsPerSecond()).isPositive();
+                });
+    }
+
+    @Test
+    @DisplayName("Should use the explicitly configured provider, matching its name case-insensitively")
+    void configuredProvider_isUsed() {
+        // Act
+        CryptoProviderSelector selector = new CryptoProviderSelector("sunjce", SELF_TEST_DURATION);
+
+        // Assert
+        assertThat(selector.getProvider().getName()).isEqualTo("SunJCE");
+    }
+
+    @Test
+    @DisplayName("Should fail startup when the configured provider is not on the classpath")
+    void unavailableProvider_throws() {
+        // Act & Assert
+        assertThatThrownBy(() -> new CryptoProviderSelector("NoSuchProvider", SELF_TEST_DURATION))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("NoSuchProvider");
+    }
+}
@@ -0,0 +1,161 @@
+package com.ezyCollect.payments.payment_service.crypto;
+
+import com.ezyCollect.payments.payment_service.exception.EncryptionException;
+import com.ezyCollect.payments.payment_service.repository.DataKeyRepository;
+import com.ezyCollect.payments.payment_service.util.AESUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.crypto.SecretKey;
+import java.security.Provider;
+import java.security.Security;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DataKeyRingTest {
+
+    private static final String AES_KEY = "MDEyMzQ1Njc4OWFiY2RlZg==";
+    private static final Provider SUN_JCE = Security.getProvider("SunJCE");
+
+    @Mock
+    private DataKeyRepository dataKeyRepository;
+
+    @Test
+    @DisplayName("Should create and activate a data key when none is stored yet")
+    void activeVersion_noStoredKey_createsOne() {
+        // Arrange
+        when(dataKeyRepository.findLatest()).thenReturn(Optional.empty());
+        when(dataKeyRepository.insert(anyString(), anyString())).thenAnswer(invocation -> new DataKey(
+                1, invocation.getArgument(0), invocation.getArgument(1), LocalDateTime.now()));
+        DataKeyRing dataKeyRing = new DataKeyRing(AES_KEY, dataKeyRepository, SUN_JCE, Duration.ofSeconds(30));
+
+        // Act
+        int version = dataKeyRing.activeVersion();
+
+        // Assert
+        assertThat(version).isEqualTo(1);
+        assertThat(dataKeyRing.activeVersion()).isEqualTo(1);
+        assertThat(dataKeyRing.key(1)).isNotEqualTo(dataKeyRing.key(DataKeyRing.LEGACY_VERSION));
+        verify(dataKeyRepository, times(1)).findLatest();
+        verify(dataKeyRepository, times(1)).insert(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should unwrap a data key written by another instance with the same key-encryption key")
+    void key_storedByAnotherInstance_unwrapsAndCaches() {
+        // Arrange — another ring creates version 3 in the shared table
+        DataKey[] stored = new DataKey[1];
+        when(dataKeyRepository.insert(anyString(), anyString())).thenAnswer(invocation -> stored[0] = new DataKey(
+                3, invocation.getArgument(0), invocation.getArgument(1), LocalDateTime.now()));
+        DataKeyRing otherInstance = new DataKeyRing(AES_KEY, dataKeyRepository, SUN_JCE, Duration.ofSeconds(30));
+        otherInstance.rotate();
+        when(dataKeyRepository.findByVersion(3)).thenAnswer(invocation -> Optional.of(stored[0]));
+        DataKeyRing dataKeyRing = new DataKeyRing(AES_KEY, dataKeyRepository, SUN_JCE, Duration.ofSeconds(30));
+
+        // Act
+        SecretKey key = dataKeyRing.key(3);
+        dataKeyRing.key(3);
+
+        // Assert
+        assertThat(key.getEncoded()).isEqualTo(otherInstance.key(3).getEncoded());
+        verify(dataKeyRepository, times(1)).findByVersion(3);
+    }
+
+    @Test
+    @DisplayName("Should switch to a data key rotated on another instance once the refresh interval passes")
+    void activeVersion_rotatedElsewhere_pickedUpOnRefresh() {
+        // Arrange — versions 1 and 2 in the shared table; version 2 appears after this ring loaded 1
+        DataKey[] stored = new DataKey[3];
+        int[] nextVersion = {1};
+        when(dataKeyRepository.insert(anyString(), anyString())).thenAnswer(invocation -> {
+            int version = nextVersion[0]++;
+            return stored[version] = new DataKey(version, invocation.getArgument(0), invocation.getArgument(1), LocalDateTime.now());
+        });
+        DataKeyRing otherInstance = new DataKeyRing(AES_KEY, dataKeyRepository, SUN_JCE, Duration.ofSeconds(30));
+        otherInstance.rotate();
+        otherInstance.rotate();
+        when(dataKeyRepository.findLatest()).thenAnswer(invocation -> Optional.of(stored[1]))
+                .thenAnswer(invocation -> Optional.of(stored[2]));
+        DataKeyRing dataKeyRing = new DataKeyRing(AES_KEY, dataKeyRepository, SUN_JCE, Duration.ZERO);
+
+        // Act & Assert
+        assertThat(dataKeyRing.activeVersion()).isEqualTo(1);
+        assertThat(dataKeyRing.activeVersion()).isEqualTo(2);
+        assertThat(dataKeyRing.key(2).getEncoded()).isEqualTo(otherInstance.key(2).getEncoded());
+        verify(dataKeyRepository, never()).findByVersion(2);
+    }
+
+    @Test
+    @DisplayName("Should not re-read the active version within the refresh interval")
+    void activeVersion_withinInterval_cached() {
+        // Arrange
+        when(dataKeyRepository.findLatest()).thenReturn(Optional.empty());
+        when(dataKeyRepository.insert(anyString(), anyString())).thenAnswer(invocation -> new DataKey(
+                1, invocation.getArgument(0), invocation.getArgument(1), LocalDateTime.now()));
+        DataKeyRing dataKeyRing = new DataKeyRing(AES_KEY, dataKeyRepository, SUN_JCE, Duration.ofSeconds(30));
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            dataKeyRing.activeVersion();
+        }
+
+        // Assert
+        verify(dataKeyRepository, times(1)).findLatest();
+    }
+
+    @Test
+    @DisplayName("Should keep the cached version when the refresh fails")
+    void activeVersion_refreshFails_keepsCachedVersion() {
+        // Arrange
+        when(dataKeyRepository.findLatest()).thenReturn(Optional.empty())
+                .thenThrow(new IllegalStateException("DB down"));
+        when(dataKeyRepository.insert(anyString(), anyString())).thenAnswer(invocation -> new DataKey(
+                1, invocation.getArgument(0), invocation.getArgument(1), LocalDateTime.now()));
+        DataKeyRing dataKeyRing = new DataKeyRing(AES_KEY, dataKeyRepository, SUN_JCE, Duration.ZERO);
+        dataKeyRing.activeVersion();
+
+        // Act & Assert
+        assertThat(dataKeyRing.activeVersion()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should use the key-encryption key itself for legacy version 0")
+    void key_legacyVersion_returnsKeyEncryptionKey() {
+        // Arrange
+        DataKeyRing dataKeyRing = new DataKeyRing(AES_KEY, dataKeyRepository, SUN_JCE, Duration.ofSeconds(30));
+
+        // Act & Assert
+        assertThat(dataKeyRing.key(DataKeyRing.LEGACY_VERSION).getEncoded())
+                .isEqualTo(AESUtil.decodeKeyFromBase64(AES_KEY).getEncoded());
+        verifyNoInteractions(dataKeyRepository);
+    }
+
+    @Test
+    @DisplayName("Should throw EncryptionException for an unknown key version")
+    void key_unknownVersion_throwsEncryptionException() {
+        // Arrange
+        when(dataKeyRepository.findByVersion(9)).thenReturn(Optional.empty());
+        DataKeyRing dataKeyRing = new DataKeyRing(AES_KEY, dataKeyRepository, SUN_JCE, Duration.ofSeconds(30));
+
+        // Act & Assert
+        assertThatThrownBy(() -> dataKeyRing.key(9))
+                .isInstanceOf(EncryptionException.class)
+                .hasMessageContaining("9");
+    }
+
+    @Test
+    @DisplayName("Should fail fast when the AES secret key is blank")
+    void constructor_blankKey_throwsIllegalStateException() {
+        assertThatThrownBy(() -> new DataKeyRing(" ", dataKeyRepository, SUN_JCE, Duration.ofSeconds(30)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,265 @@
+package com.ezyCollect.payments.payment_service.grpc;
+
+import com.ezyCollect.payments.payment_service.dto.PaymentRequest;
+import com.ezyCollect.payments.payment_service.dto.PaymentResponse;
+import com.ezyCollect.payments.payment_service.exception.ErrorCode;
+import com.ezyCollect.payments.payment_service.exception.PaymentException;
+import com.ezyCollect.payments.payment_service.grpc.proto.PaymentResult;
+import com.ezyCollect.payments.payment_service.grpc.proto.ProcessPaymentRequest;
+import com.ezyCollect.payments.payment_service.grpc.proto.ProcessPaymentResponse;
+import com.ezyCollect.payments.payment_service.grpc.proto.ProcessPaymentStreamResponse;
+import com.ezyCollect.payments.payment_service.service.PaymentService;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentGrpcServiceTest {
+
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private StreamObserver<ProcessPaymentResponse> responseObserver;
+
+    @Mock
+    private StreamObserver<ProcessPaymentStreamResponse> streamResponseObserver;
+
+    private PaymentGrpcService grpcService;
+    private ProcessPaymentRequest validRequest;
+
+    @BeforeEach
+    void setUp() {
+        grpcService = new PaymentGrpcService(paymentService, VALIDATOR, 64, 10_000);
+
+        validRequest = ProcessPaymentRequest.newBuilder()
+                .setFirstName("Christy")
+                .setLastName("Wu")
+                .setZipCode("2065")
+                .setCardNumber("4242424242424242")
+                .build();
+    }
+
+    // ─── ProcessPayment ───────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should respond with the payment result from the shared PaymentService")
+    void processPayment_success_respondsWithTransaction() {
+        // Arrange
+        when(paymentService.processPaymentAsync(any()))
+                .thenReturn(CompletableFuture.completedFuture(successResponse("42")));
+
+        // Act
+        grpcService.processPayment(validRequest, responseObserver);
+
+        // Assert
+        verify(responseObserver).onNext(ProcessPaymentResponse.newBuilder()
+                .setStatus("SUCCESS")
+                .setTransactionId("42")
+                .build());
+        verify(responseObserver).onCompleted();
+        verify(paymentService).processPaymentAsync(argThat(request ->
+                request.firstName().equals("Christy") &&
+                        request.cardNumber().equals("4242424242424242")));
+    }
+
+    @Test
+    @DisplayName("Should fail with INVALID_ARGUMENT and INVALID_CARD_NUMBER without calling the service")
+    void processPayment_invalidCard_failsWithInvalidArgument() {
+        // Arrange
+        ProcessPaymentRequest request = validRequest.toBuilder().setCardNumber("4242424242424241").build();
+
+        // Act
+        grpcService.processPayment(request, responseObserver);
+
+        // Assert
+        StatusRuntimeException ex = captureError();
+        assertThat(ex.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+        assertThat(ex.getTrailers().get(GrpcErrors.ERROR_CODE_KEY)).isEqualTo("INVALID_CARD_NUMBER");
+        verify(paymentService, never()).processPaymentAsync(any());
+    }
+
+    @Test
+    @DisplayName("Should fail with INVALID_ARGUMENT and VALIDATION_ERROR when required fields are missing")
+    void processPayment_missingFields_failsWithValidationError() {
+        // Arrange — proto3 strings default to "", which @NotBlank rejects
+        ProcessPaymentRequest request = ProcessPaymentRequest.newBuilder()
+                .setCardNumber("4242424242424242")
+                .build();
+
+        // Act
+        grpcService.processPayment(request, responseObserver);
+
+        // Assert
+        StatusRuntimeException ex = captureError();
+        assertThat(ex.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+        assertThat(ex.getTrailers().get(GrpcErrors.ERROR_CODE_KEY)).isEqualTo("VALIDATION_ERROR");
+        assertThat(ex.getStatus().getDescription()).contains("firstName", "lastName", "zipCode");
+    }
+
+    @Test
+    @DisplayName("Should map PaymentException to the status matching its ErrorCode")
+    void processPayment_paymentException_mapsStatus() {
+        // Arrange
+        when(paymentService.processPaymentAsync(any()))
+                .thenReturn(CompletableFuture.failedFuture(new PaymentException(ErrorCode.CARD_ENCRYPTION_ERROR)));
+
+        // Act
+        grpcService.processPayment(validRequest, responseObserver);
+
+        // Assert
+        StatusRuntimeException ex = captureError();
+        assertThat(ex.getStatus().getCode()).isEqualTo(Status.Code.FAILED_PRECONDITION);
+        assertThat(ex.getTrailers().get(GrpcErrors.ERROR_CODE_KEY)).isEqualTo("CARD_ENCRYPTION_ERROR");
+    }
+
+    @Test
+    @DisplayName("Should fail with INTERNAL when processing throws unexpectedly")
+    void processPayment_unexpectedException_failsWithInternal() {
+        // Arrange
+        when(paymentService.processPaymentAsync(any())).thenThrow(new IllegalStateException("boom"));
+
+        // Act
+        grpcService.processPayment(validRequest, responseObserver);
+
+        // Assert
+        StatusRuntimeException ex = captureError();
+        assertThat(ex.getStatus().getCode()).isEqualTo(Status.Code.INTERNAL);
+    }
+
+    // ─── ProcessPaymentStream ─────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should return one result per streamed request, in order, without failing the stream")
+    void processPaymentStream_mixedRequests_returnsResultsInOrder() {
+        // Arrange
+        ProcessPaymentRequest failing = validRequest.toBuilder().setFirstName("Failing").build();
+        ProcessPaymentRequest invalid = validRequest.toBuilder().setCardNumber("1234").build();
+        when(paymentService.processPaymentAsync(any())).thenAnswer(invocation ->
+                invocation.<PaymentRequest>getArgument(0).firstName().equals("Failing")
+                        ? CompletableFuture.failedFuture(new PaymentException(ErrorCode.DATABASE_ERROR))
+                        : CompletableFuture.completedFuture(successResponse("1")));
+
+        // Act
+        StreamObserver<ProcessPaymentRequest> requests = grpcService.processPaymentStream(streamResponseObserver);
+        requests.onNext(validRequest);
+        requests.onNext(invalid);
+        requests.onNext(failing);
+        requests.onCompleted();
+
+        // Assert
+        ArgumentCaptor<ProcessPaymentStreamResponse> captor = ArgumentCaptor.forClass(ProcessPaymentStreamResponse.class);
+        verify(streamResponseObserver).onNext(captor.capture());
+        verify(streamResponseObserver).onCompleted();
+        verify(streamResponseObserver, never()).onError(any());
+
+        assertThat(captor.getValue().getResultsList())
+                .extracting(PaymentResult::getOutcomeCase)
+                .containsExactly(PaymentResult.OutcomeCase.PAYMENT, PaymentResult.OutcomeCase.ERROR,
+                        PaymentResult.OutcomeCase.ERROR);
+        assertThat(captor.getValue().getResults(0).getPayment().getTransactionId()).isEqualTo("1");
+        assertThat(captor.getValue().getResults(1).getError().getErrorCode()).isEqualTo("INVALID_CARD_NUMBER");
+        assertThat(captor.getValue().getResults(2).getError().getErrorCode()).isEqualTo("DATABASE_ERROR");
+    }
+
+    @Test
+    @DisplayName("Should request further messages only as in-flight payments finish")
+    @SuppressWarnings("unchecked")
+    void processPaymentStream_flowControl_capsInFlight() {
+        // Arrange
+        grpcService = new PaymentGrpcService(paymentService, VALIDATOR, 2, 10_000);
+        ServerCallStreamObserver<ProcessPaymentStreamResponse> call = mock(ServerCallStreamObserver.class);
+        CompletableFuture<PaymentResponse> first = new CompletableFuture<>();
+        when(paymentService.processPaymentAsync(any())).thenReturn(first, new CompletableFuture<>());
+
+        // Act
+        StreamObserver<ProcessPaymentRequest> requests = grpcService.processPaymentStream(call);
+        requests.onNext(validRequest);
+        requests.onNext(validRequest);
+
+        // Assert — two requested up front, one more once a payment finishes
+        verify(call).disableAutoRequest();
+        verify(call).request(2);
+        verify(call, never()).request(1);
+
+        first.complete(successResponse("1"));
+        verify(call).request(1);
+    }
+
+    @Test
+    @DisplayName("Should fail the stream with RESOURCE_EXHAUSTED past max-payments")
+    void processPaymentStream_tooManyPayments_failsStream() {
+        // Arrange
+        grpcService = new PaymentGrpcService(paymentService, VALIDATOR, 64, 2);
+        when(paymentService.processPaymentAsync(any()))
+                .thenReturn(CompletableFuture.completedFuture(successResponse("1")));
+
+        // Act
+        StreamObserver<ProcessPaymentRequest> requests = grpcService.processPaymentStream(streamResponseObserver);
+        requests.onNext(validRequest);
+        requests.onNext(validRequest);
+        requests.onNext(validRequest);
+        requests.onCompleted();
+
+        // Assert
+        ArgumentCaptor<Throwable> captor = ArgumentCaptor.forClass(Throwable.class);
+        verify(streamResponseObserver).onError(captor.capture());
+        assertThat(Status.fromThrowable(captor.getValue()).getCode()).isEqualTo(Status.Code.RESOURCE_EXHAUSTED);
+        verify(streamResponseObserver, never()).onNext(any());
+        verify(paymentService, times(2)).processPaymentAsync(any());
+    }
+
+    @Test
+    @DisplayName("Should not respond on a cancelled stream when its payments finish")
+    void processPaymentStream_cancelled_noResponse() {
+        // Arrange
+        CompletableFuture<PaymentResponse> inFlight = new CompletableFuture<>();
+        when(paymentService.processPaymentAsync(any()))
+                .thenReturn(CompletableFuture.completedFuture(successResponse("1")))
+                .thenReturn(inFlight);
+        StreamObserver<ProcessPaymentRequest> requests = grpcService.processPaymentStream(streamResponseObserver);
+        requests.onNext(validRequest);
+        requests.onNext(validRequest);
+
+        // Act — the outcomes are logged instead
+        requests.onError(Status.CANCELLED.asRuntimeException());
+        inFlight.complete(successResponse("2"));
+
+        // Assert
+        verifyNoInteractions(streamResponseObserver);
+    }
+
+    private StatusRuntimeException captureError() {
+        ArgumentCaptor<Throwable> captor = ArgumentCaptor.forClass(Throwable.class);
+        verify(responseObserver).onError(captor.capture());
+        verify(responseObserver, never()).onNext(any());
+        assertThat(captor.getValue()).isInstanceOf(StatusRuntimeException.class);
+        return (StatusRuntimeException) captor.getValue();
+    }
+
+    private PaymentResponse successResponse(String transactionId) {
+        return PaymentResponse.builder()
+                .status("SUCCESS")
+                .transactionId(transactionId)
+                .build();
+    }
+}
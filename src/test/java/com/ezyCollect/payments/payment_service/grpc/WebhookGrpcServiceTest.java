@@ -0,0 +1,131 @@
+package com.ezyCollect.payments.payment_service.grpc;
+
+import com.ezyCollect.payments.payment_service.dto.WebhookRequest;
+import com.ezyCollect.payments.payment_service.entity.Webhook;
+import com.ezyCollect.payments.payment_service.enums.WebhookEventType;
+import com.ezyCollect.payments.payment_service.exception.ErrorCode;
+import com.ezyCollect.payments.payment_service.exception.WebhookException;
+import com.ezyCollect.payments.payment_service.grpc.proto.RegisterWebhookRequest;
+import com.ezyCollect.payments.payment_service.grpc.proto.RegisterWebhookResponse;
+import com.ezyCollect.payments.payment_service.service.WebhookService;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WebhookGrpcServiceTest {
+
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+    private static final String URL = "http://localhost:8080/v1/webhooks/receive";
+
+    @Mock
+    private WebhookService webhookService;
+
+    @Mock
+    private StreamObserver<RegisterWebhookResponse> responseObserver;
+
+    private WebhookGrpcService grpcService;
+
+    @BeforeEach
+    void setUp() {
+        grpcService = new WebhookGrpcService(webhookService, VALIDATOR);
+    }
+
+    @Test
+    @DisplayName("Should register the webhook and respond with its id")
+    void registerWebhook_success_respondsWithId() {
+        // Arrange
+        when(webhookService.registerWebhook(new WebhookRequest(URL, Set.of(), false, null, false)))
+                .thenReturn(Webhook.builder().id(5L).url(URL).active(true).createdAt(LocalDateTime.now()).build());
+
+        // Act
+        grpcService.registerWebhook(RegisterWebhookRequest.newBuilder().setUrl(URL).build(), responseObserver);
+
+        // Assert
+        verify(responseObserver).onNext(RegisterWebhookResponse.newBuilder().setWebhookId(5L).setUrl(URL).build());
+        verify(responseObserver).onCompleted();
+    }
+
+    @Test
+    @DisplayName("Should fail with INVALID_ARGUMENT when the url is not a valid URL")
+    void registerWebhook_invalidUrl_failsWithInvalidArgument() {
+        // Act
+        grpcService.registerWebhook(RegisterWebhookRequest.newBuilder().setUrl("not-a-url").build(), responseObserver);
+
+        // Assert
+        assertThat(captureError().getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+        verify(webhookService, never()).registerWebhook(any());
+    }
+
+    @Test
+    @DisplayName("Should fail with ALREADY_EXISTS when the url is already registered")
+    void registerWebhook_duplicate_failsWithAlreadyExists() {
+        // Arrange
+        when(webhookService.registerWebhook(any()))
+                .thenThrow(new WebhookException(ErrorCode.WEBHOOK_ALREADY_EXISTS));
+
+        // Act
+        grpcService.registerWebhook(RegisterWebhookRequest.newBuilder().setUrl(URL).build(), responseObserver);
+
+        // Assert
+        StatusRuntimeException ex = captureError();
+        assertThat(ex.getStatus().getCode()).isEqualTo(Status.Code.ALREADY_EXISTS);
+        assertThat(ex.getTrailers().get(GrpcErrors.ERROR_CODE_KEY)).isEqualTo("WEBHOOK_ALREADY_EXISTS");
+    }
+
+    @Test
+    @DisplayName("Should pass requested event types through to the registration")
+    void registerWebhook_eventTypes_passedThrough() {
+        // Arrange
+        when(webhookService.registerWebhook(new WebhookRequest(URL, Set.of(WebhookEventType.PAYMENT_SUCCEEDED), false, null, false)))
+                .thenReturn(Webhook.builder().id(6L).url(URL).active(true).createdAt(LocalDateTime.now()).build());
+
+        // Act
+        grpcService.registerWebhook(RegisterWebhookRequest.newBuilder()
+                .setUrl(URL)
+                .addEventTypes("PAYMENT_SUCCEEDED")
+                .build(), responseObserver);
+
+        // Assert
+        verify(responseObserver).onNext(RegisterWebhookResponse.newBuilder().setWebhookId(6L).setUrl(URL).build());
+    }
+
+    @Test
+    @DisplayName("Should fail with INVALID_ARGUMENT when an event type is unknown")
+    void registerWebhook_unknownEventType_failsWithInvalidArgument() {
+        // Act
+        grpcService.registerWebhook(RegisterWebhookRequest.newBuilder()
+                .setUrl(URL)
+                .addEventTypes("PAYMENT_REFUNDED")
+                .build(), responseObserver);
+
+        // Assert
+        StatusRuntimeException ex = captureError();
+        assertThat(ex.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+        assertThat(ex.getTrailers().get(GrpcErrors.ERROR_CODE_KEY)).isEqualTo("VALIDATION_ERROR");
+        verify(webhookService, never()).registerWebhook(any());
+    }
+
+    private StatusRuntimeException captureError() {
+        ArgumentCaptor<Throwable> captor = ArgumentCaptor.forClass(Throwable.class);
+        verify(responseObserver).onError(captor.capture());
+        verify(responseObserver, never()).onNext(any());
+        return (StatusRuntimeException) captor.getValue();
+    }
+}
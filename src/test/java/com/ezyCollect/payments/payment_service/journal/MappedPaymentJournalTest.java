@@ -0,0 +1,102 @@
+package com.ezyCollect.payments.payment_service.journal;
+
+import com.ezyCollect.payments.payment_service.dto.PaymentResponse;
+import com.ezyCollect.payments.payment_service.entity.WebhookLog;
+import com.ezyCollect.payments.payment_service.enums.WebhookEventStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+class MappedPaymentJournalTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private SegmentedJournal segmentedJournal;
+    private MappedPaymentJournal journal;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        segmentedJournal = SegmentedJournal.open(directory, 4096, 4, Clock.fixed(NOW, ZoneOffset.UTC));
+        journal = new MappedPaymentJournal(segmentedJournal);
+    }
+
+    @Test
+    @DisplayName("Should replay a processed payment")
+    void recordPayment_replays() {
+        // Act
+        journal.recordPayment(PaymentResponse.builder().status("SUCCESS").transactionId("42").build());
+
+        // Assert
+        assertThat(replay()).containsExactly(
+                new PaymentJournalCodec.PaymentEntry(NOW, "42", "SUCCESS"));
+    }
+
+    @Test
+    @DisplayName("Should replay a webhook outcome with its ids, sequence and HTTP status")
+    void recordWebhookOutcome_replays() {
+        // Arrange
+        WebhookLog webhookLog = WebhookLog.builder()
+                .id(9L)
+                .webhookId(3L)
+                .sequenceNumber(17L)
+                .eventStatus(WebhookEventStatus.SUCCESS)
+                .httpStatus(200)
+                .build();
+
+        // Act
+        journal.recordWebhookOutcome(webhookLog);
+
+        // Assert
+        assertThat(replay()).containsExactly(new PaymentJournalCodec.WebhookOutcomeEntry(
+                NOW, 9L, 3L, 17L, WebhookEventStatus.SUCCESS, 200));
+    }
+
+    @Test
+    @DisplayName("Should replay missing webhook fields as null")
+    void recordWebhookOutcome_nullFields_replayAsNull() {
+        // Arrange
+        WebhookLog webhookLog = WebhookLog.builder()
+                .id(9L)
+                .eventStatus(WebhookEventStatus.FAILED)
+                .build();
+
+        // Act
+        journal.recordWebhookOutcome(webhookLog);
+
+        // Assert
+        assertThat(replay()).containsExactly(new PaymentJournalCodec.WebhookOutcomeEntry(
+                NOW, 9L, null, null, WebhookEventStatus.FAILED, null));
+    }
+
+    @Test
+    @DisplayName("Should not fail the caller when a record cannot be journaled")
+    void recordPayment_appendFails_doesNotThrow() {
+        // Arrange
+        PaymentResponse oversized = PaymentResponse.builder().status("SUCCESS").transactionId("x".repeat(5000)).build();
+
+        // Act & Assert
+        assertThatCode(() -> journal.recordPayment(oversized)).doesNotThrowAnyException();
+        assertThat(replay()).isEmpty();
+    }
+
+    private List<PaymentJournalCodec.Entry> replay() {
+        List<PaymentJournalCodec.Entry> entries = new ArrayList<>();
+        journal.reader(journal.startPosition()).poll(record -> entries.add(PaymentJournalCodec.decode(record)), 100);
+        return entries;
+    }
+}
@@ -0,0 +1,209 @@
+package com.ezyCollect.payments.payment_service.journal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SegmentedJournalTest {
+
+    // 8 frame + 9 record header + 10 payload: four records per 128-byte segment
+    private static final int RECORD_SIZE = 27;
+    private static final int SEGMENT_SIZE = 128;
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    @TempDir
+    Path directory;
+
+    // ─── append / read ────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should read appended records back in order")
+    void reader_readsRecordsInOrder() throws IOException {
+        // Arrange
+        SegmentedJournal journal = SegmentedJournal.open(directory, SEGMENT_SIZE, 4, clock);
+        long first = journal.append((byte) 1, payload(0));
+        long second = journal.append((byte) 2, payload(1));
+
+        // Act
+        List<JournalRecord> records = readAll(journal.reader(journal.startPosition()));
+
+        // Assert
+        assertThat(first).isZero();
+        assertThat(second).isEqualTo(RECORD_SIZE);
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0).type()).isEqualTo((byte) 1);
+        assertThat(records.get(0).timestamp()).isEqualTo(NOW);
+        assertThat(records.get(0).payload()).isEqualTo(payload(0));
+        assertThat(records.get(0).nextPosition()).isEqualTo(second);
+        assertThat(records.get(1).payload()).isEqualTo(payload(1));
+    }
+
+    @Test
+    @DisplayName("Should roll to a new segment when a record does not fit")
+    void append_full_rollsSegment() throws IOException {
+        // Arrange
+        SegmentedJournal journal = SegmentedJournal.open(directory, SEGMENT_SIZE, 4, clock);
+
+        // Act
+        List<Long> positions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            positions.add(journal.append((byte) 1, payload(i)));
+        }
+
+        // Assert — the fifth record starts the second segment
+        assertThat(positions.get(4)).isEqualTo(SEGMENT_SIZE);
+        assertThat(segmentFiles()).hasSize(2);
+        assertThat(readAll(journal.reader(0))).extracting(JournalRecord::position).containsExactlyElementsOf(positions);
+    }
+
+    @Test
+    @DisplayName("Should pick up records appended after the reader caught up, across a roll")
+    void reader_tailsWriter() throws IOException {
+        // Arrange
+        SegmentedJournal journal = SegmentedJournal.open(directory, SEGMENT_SIZE, 4, clock);
+        JournalReader reader = journal.reader(0);
+        for (int i = 0; i < 4; i++) {
+            journal.append((byte) 1, payload(i));
+        }
+        assertThat(readAll(reader)).hasSize(4);
+        assertThat(reader.poll(record -> {}, 10)).isZero();
+
+        // Act
+        journal.append((byte) 1, payload(4));
+        List<JournalRecord> tail = readAll(reader);
+
+        // Assert
+        assertThat(tail).hasSize(1);
+        assertThat(tail.get(0).payload()).isEqualTo(payload(4));
+        assertThat(reader.position()).isEqualTo(journal.endPosition());
+    }
+
+    @Test
+    @DisplayName("Should hand out at most maxRecords per poll")
+    void poll_limitedToMaxRecords() throws IOException {
+        // Arrange
+        SegmentedJournal journal = SegmentedJournal.open(directory, SEGMENT_SIZE, 4, clock);
+        for (int i = 0; i < 3; i++) {
+            journal.append((byte) 1, payload(i));
+        }
+        JournalReader reader = journal.reader(0);
+
+        // Act & Assert
+        assertThat(reader.poll(record -> {}, 2)).isEqualTo(2);
+        assertThat(reader.poll(record -> {}, 2)).isEqualTo(1);
+    }
+
+    // ─── retention ────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should delete the oldest segments beyond max-segments and skip readers ahead")
+    void roll_enforcesRetention() throws IOException {
+        // Arrange
+        SegmentedJournal journal = SegmentedJournal.open(directory, SEGMENT_SIZE, 2, clock);
+
+        // Act — three segments' worth of records
+        for (int i = 0; i < 9; i++) {
+            journal.append((byte) 1, payload(i));
+        }
+
+        // Assert
+        assertThat(segmentFiles()).hasSize(2);
+        assertThat(journal.startPosition()).isEqualTo(SEGMENT_SIZE);
+        List<JournalRecord> records = readAll(journal.reader(0));
+        assertThat(records).hasSize(5);
+        assertThat(records.get(0).payload()).isEqualTo(payload(4));
+    }
+
+    // ─── recovery ─────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should resume appending after the last record when reopened")
+    void open_existingJournal_resumesAtEnd() throws IOException {
+        // Arrange
+        SegmentedJournal journal = SegmentedJournal.open(directory, SEGMENT_SIZE, 4, clock);
+        for (int i = 0; i < 5; i++) {
+            journal.append((byte) 1, payload(i));
+        }
+        long end = journal.endPosition();
+        journal.close();
+
+        // Act
+        SegmentedJournal reopened = SegmentedJournal.open(directory, SEGMENT_SIZE, 4, clock);
+        long next = reopened.append((byte) 1, payload(5));
+
+        // Assert
+        assertThat(next).isEqualTo(end);
+        assertThat(readAll(reopened.reader(0))).hasSize(6);
+    }
+
+    @Test
+    @DisplayName("Should drop a torn record at the end of the journal when reopened")
+    void open_tornRecord_truncated() throws IOException {
+        // Arrange
+        SegmentedJournal journal = SegmentedJournal.open(directory, SEGMENT_SIZE, 4, clock);
+        journal.append((byte) 1, payload(0));
+        long torn = journal.append((byte) 1, payload(1));
+        journal.close();
+        try (FileChannel channel = FileChannel.open(segmentFiles().get(0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {'X'}), torn + RECORD_SIZE - 1); // last payload byte
+        }
+
+        // Act
+        SegmentedJournal reopened = SegmentedJournal.open(directory, SEGMENT_SIZE, 4, clock);
+
+        // Assert
+        assertThat(reopened.endPosition()).isEqualTo(torn);
+        assertThat(reopened.append((byte) 1, payload(2))).isEqualTo(torn);
+        assertThat(readAll(reopened.reader(0))).extracting(record -> new String(record.payload(), StandardCharsets.UTF_8))
+                .containsExactly("payload-00", "payload-02");
+    }
+
+    // ─── validation ───────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should reject a record larger than a segment")
+    void append_oversizedRecord_throws() throws IOException {
+        // Arrange
+        SegmentedJournal journal = SegmentedJournal.open(directory, SEGMENT_SIZE, 4, clock);
+
+        // Act & Assert
+        assertThatThrownBy(() -> journal.append((byte) 1, new byte[SEGMENT_SIZE]))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(journal.endPosition()).isZero();
+    }
+
+    private static byte[] payload(int i) {
+        return String.format("payload-%02d", i).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<JournalRecord> readAll(JournalReader reader) {
+        List<JournalRecord> records = new ArrayList<>();
+        reader.poll(records::add, Integer.MAX_VALUE);
+        return records;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.ezyCollect.payments.payment_service.repository;
+
+import com.ezyCollect.payments.payment_service.entity.Payment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingPaymentWriteRepositoryTest {
+
+    @Mock
+    private JdbcPaymentBatchRepository paymentBatchRepository;
+
+    private final AtomicLong nextId = new AtomicLong(1);
+    private CoalescingPaymentWriteRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        // a generous linger so concurrent test callers reliably land in one batch
+        repository = new CoalescingPaymentWriteRepository(paymentBatchRepository, 8, Duration.ofMillis(200), 100);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        repository.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should group concurrent inserts into one batch and give each caller its own id")
+    void insert_concurrentCallers_shareOneBatch() {
+        // Arrange
+        when(paymentBatchRepository.insertAll(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+
+        // Act
+        List<CompletableFuture<Payment>> results = IntStream.range(0, 8)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> repository.insert(payment("Christy" + i)), callers))
+                .toList();
+        List<Payment> saved = results.stream().map(CompletableFuture::join).toList();
+        callers.shutdown();
+
+        // Assert
+        assertThat(saved).extracting(Payment::getId).doesNotContainNull().doesNotHaveDuplicates();
+        verify(paymentBatchRepository, atMost(2)).insertAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should complete a lone insert after the linger time")
+    void insert_singleCaller_returnsGeneratedId() {
+        // Arrange
+        when(paymentBatchRepository.insertAll(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+
+        // Act
+        Payment saved = repository.insert(payment("Christy"));
+
+        // Assert
+        assertThat(saved.getId()).isEqualTo(1L);
+        verify(paymentBatchRepository).insertAll(List.of(saved));
+    }
+
+    @Test
+    @DisplayName("Should retry a failed batch row by row so only the bad payment fails")
+    void insert_batchFails_retriesIndividually() {
+        // Arrange — any batch containing "Bad" fails
+        when(paymentBatchRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Payment> payments = invocation.getArgument(0);
+            if (payments.stream().anyMatch(p -> p.getFirstName().equals("Bad"))) {
+                throw new DataIntegrityViolationException("Cannot add or update a child row");
+            }
+            return assignIds(payments);
+        });
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+
+        // Act
+        CompletableFuture<Payment> good = CompletableFuture.supplyAsync(() -> repository.insert(payment("Good")), callers);
+        CompletableFuture<Payment> bad = CompletableFuture.supplyAsync(() -> repository.insert(payment("Bad")), callers);
+        callers.shutdown();
+
+        // Assert
+        assertThat(good.join().getId()).isNotNull();
+        assertThatThrownBy(bad::join).hasCauseInstanceOf(DataAccessException.class);
+    }
+
+    private List<Payment> assignIds(List<Payment> payments) {
+        payments.forEach(payment -> payment.setId(nextId.getAndIncrement()));
+        return payments;
+    }
+
+    private static Payment payment(String firstName) {
+        return Payment.builder()
+                .firstName(firstName)
+                .lastName("Wu")
+                .zipCode("2065")
+                .cardTokenId(7L)
+                .build();
+    }
+}
@@ -0,0 +1,156 @@
+package com.ezyCollect.payments.payment_service.service;
+
+import com.ezyCollect.payments.payment_service.crypto.DataKey;
+import com.ezyCollect.payments.payment_service.crypto.DataKeyRing;
+import com.ezyCollect.payments.payment_service.crypto.ThreadLocalDrbgIvGenerator;
+import com.ezyCollect.payments.payment_service.dto.EncryptedCardInfo;
+import com.ezyCollect.payments.payment_service.dto.ReEncryptedCard;
+import com.ezyCollect.payments.payment_service.dto.StoredCard;
+import com.ezyCollect.payments.payment_service.exception.EncryptionException;
+import com.ezyCollect.payments.payment_service.repository.DataKeyRepository;
+import com.ezyCollect.payments.payment_service.util.AESUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.security.Provider;
+import java.security.Security;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CardEncryptionServiceTest {
+
+    private static final String AES_KEY = "MDEyMzQ1Njc4OWFiY2RlZg==";
+    private static final String FINGERPRINT_KEY = "ZmluZ2VycHJpbnQta2V5LWZvci10ZXN0cw==";
+    private static final String CARD_NUMBER = "4242424242424242";
+    private static final Provider SUN_JCE = Security.getProvider("SunJCE");
+
+    private DataKeyRing dataKeyRing;
+    private CardEncryptionService cardEncryptionService;
+
+    @BeforeEach
+    void setUp() {
+        // empty data_key table; inserted keys get versions 1, 2, ...
+        DataKeyRepository dataKeyRepository = mock(DataKeyRepository.class);
+        when(dataKeyRepository.findLatest()).thenReturn(Optional.empty());
+        int[] nextVersion = {1};
+        when(dataKeyRepository.insert(anyString(), anyString())).thenAnswer(invocation -> new DataKey(
+                nextVersion[0]++, invocation.getArgument(0), invocation.getArgument(1), LocalDateTime.now()));
+
+        dataKeyRing = new DataKeyRing(AES_KEY, dataKeyRepository, SUN_JCE, Duration.ofSeconds(30));
+        cardEncryptionService = new CardEncryptionService(dataKeyRing, FINGERPRINT_KEY, new ThreadLocalDrbgIvGenerator(), SUN_JCE);
+    }
+
+    @Test
+    @DisplayName("Should produce cipher text, IV, fingerprint, BIN and last4 for a card")
+    void encryptCard_returnsAllCardFields() {
+        // Act
+        EncryptedCardInfo info = cardEncryptionService.encryptCard(CARD_NUMBER);
+
+        // Assert
+        assertThat(info.encryptedCard()).isNotBlank().doesNotContain(CARD_NUMBER);
+        assertThat(info.iv()).isNotBlank();
+        assertThat(info.keyVersion()).isEqualTo(1);
+        assertThat(info.fingerprint()).hasSize(64).doesNotContain(CARD_NUMBER);
+        assertThat(info.bin()).isEqualTo("424242");
+        assertThat(info.last4()).isEqualTo("4242");
+    }
+
+    @Test
+    @DisplayName("Should produce the same fingerprint for the same card despite a fresh IV")
+    void encryptCard_sameCard_sameFingerprint() {
+        // Act
+        EncryptedCardInfo first = cardEncryptionService.encryptCard(CARD_NUMBER);
+        EncryptedCardInfo second = cardEncryptionService.encryptCard(CARD_NUMBER);
+
+        // Assert
+        assertThat(first.iv()).isNotEqualTo(second.iv());
+        assertThat(first.fingerprint()).isEqualTo(second.fingerprint());
+        assertThat(cardEncryptionService.fingerprintCard(CARD_NUMBER)).isEqualTo(first.fingerprint());
+    }
+
+    @Test
+    @DisplayName("Should produce a different fingerprint under a different key")
+    void fingerprintCard_differentKey_differentFingerprint() {
+        // Arrange
+        CardEncryptionService otherKeyService =
+                new CardEncryptionService(dataKeyRing, "YW5vdGhlci1maW5nZXJwcmludC1rZXk=", new ThreadLocalDrbgIvGenerator(), SUN_JCE);
+
+        // Act & Assert
+        assertThat(otherKeyService.fingerprintCard(CARD_NUMBER))
+                .isNotEqualTo(cardEncryptionService.fingerprintCard(CARD_NUMBER));
+    }
+
+    @Test
+    @DisplayName("Should decrypt and mask a stored card")
+    void maskCard_roundTrip_returnsMaskedCard() {
+        // Arrange
+        EncryptedCardInfo info = cardEncryptionService.encryptCard(CARD_NUMBER);
+
+        // Act & Assert
+        assertThat(cardEncryptionService.maskCard(info.encryptedCard(), info.iv(), info.keyVersion()))
+                .isEqualTo("************4242");
+    }
+
+    @Test
+    @DisplayName("Should decrypt legacy cards encrypted directly with the AES secret key")
+    void maskCard_legacyKeyVersion_usesSecretKey() {
+        // Arrange
+        byte[] iv = AESUtil.generateRandomIV();
+        String legacyCipherText = AESUtil.encrypt(CARD_NUMBER, AESUtil.decodeKeyFromBase64(AES_KEY), iv);
+
+        // Act & Assert
+        assertThat(cardEncryptionService.maskCard(
+                legacyCipherText, Base64.getEncoder().encodeToString(iv), DataKeyRing.LEGACY_VERSION))
+                .isEqualTo("************4242");
+    }
+
+    @Test
+    @DisplayName("Should re-encrypt a card under the rotated key with a fresh IV")
+    void reEncryptCard_rotatedKey_roundTrips() {
+        // Arrange
+        EncryptedCardInfo info = cardEncryptionService.encryptCard(CARD_NUMBER);
+        int rotatedVersion = dataKeyRing.rotate();
+
+        // Act
+        ReEncryptedCard reEncrypted = cardEncryptionService.reEncryptCard(
+                new StoredCard(42L, info.encryptedCard(), info.iv(), info.keyVersion()), rotatedVersion);
+
+        // Assert
+        assertThat(reEncrypted.id()).isEqualTo(42L);
+        assertThat(reEncrypted.previousKeyVersion()).isEqualTo(1);
+        assertThat(reEncrypted.keyVersion()).isEqualTo(2);
+        assertThat(reEncrypted.iv()).isNotEqualTo(info.iv());
+        assertThat(cardEncryptionService.maskCard(reEncrypted.encryptedCard(), reEncrypted.iv(), reEncrypted.keyVersion()))
+                .isEqualTo("************4242");
+        assertThatThrownBy(() -> cardEncryptionService.maskCard(reEncrypted.encryptedCard(), reEncrypted.iv(), 1))
+                .isInstanceOf(EncryptionException.class);
+    }
+
+    @Test
+    @DisplayName("Should throw EncryptionException when cipher text was tampered with")
+    void maskCard_tamperedCipherText_throwsEncryptionException() {
+        // Arrange
+        EncryptedCardInfo info = cardEncryptionService.encryptCard(CARD_NUMBER);
+        String cipherText = info.encryptedCard();
+        String tampered = (cipherText.charAt(0) == 'A' ? "B" : "A") + cipherText.substring(1);
+
+        // Act & Assert
+        assertThatThrownBy(() -> cardEncryptionService.maskCard(tampered, info.iv(), info.keyVersion()))
+                .isInstanceOf(EncryptionException.class);
+    }
+
+    @Test
+    @DisplayName("Should fail fast when the fingerprint key is blank")
+    void constructor_blankFingerprintKey_throwsIllegalStateException() {
+        assertThatThrownBy(() -> new CardEncryptionService(dataKeyRing, " ", new ThreadLocalDrbgIvGenerator(), SUN_JCE))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,144 @@
+package com.ezyCollect.payments.payment_service.service;
+
+import com.ezyCollect.payments.payment_service.crypto.DataKeyRing;
+import com.ezyCollect.payments.payment_service.dto.ReEncryptedCard;
+import com.ezyCollect.payments.payment_service.dto.ReEncryptionStatus;
+import com.ezyCollect.payments.payment_service.dto.StoredCard;
+import com.ezyCollect.payments.payment_service.exception.EncryptionException;
+import com.ezyCollect.payments.payment_service.repository.CardCipherRepository;
+import com.ezyCollect.payments.payment_service.repository.CardCipherTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardReEncryptionServiceTest {
+
+    private static final int TARGET_VERSION = 2;
+
+    @Mock
+    private CardCipherRepository cardCipherRepository;
+
+    @Mock
+    private CardEncryptionService cardEncryptionService;
+
+    @Mock
+    private DataKeyRing dataKeyRing;
+
+    private CardReEncryptionService cardReEncryptionService;
+
+    @BeforeEach
+    void setUp() {
+        // run the job on the calling thread
+        cardReEncryptionService = new CardReEncryptionService(cardCipherRepository, cardEncryptionService,
+                dataKeyRing, Runnable::run, 2, Duration.ZERO, 2);
+        when(dataKeyRing.refreshActiveVersion()).thenReturn(TARGET_VERSION);
+    }
+
+    @Test
+    @DisplayName("Should walk each table in keyset chunks and write each chunk back in one batch")
+    void start_reEncryptsAllChunks() {
+        // Arrange — the vault is already on the target version
+        when(cardCipherRepository.findChunkNotOnKeyVersion(CardCipherTable.CARD_TOKEN, 0L, TARGET_VERSION, 2))
+                .thenReturn(List.of());
+        StoredCard first = new StoredCard(1L, "c1", "iv1", 0);
+        StoredCard second = new StoredCard(5L, "c5", "iv5", 1);
+        StoredCard third = new StoredCard(9L, "c9", "iv9", 0);
+        when(cardCipherRepository.findChunkNotOnKeyVersion(CardCipherTable.PAYMENT, 0L, TARGET_VERSION, 2)).thenReturn(List.of(first, second));
+        when(cardCipherRepository.findChunkNotOnKeyVersion(CardCipherTable.PAYMENT, 5L, TARGET_VERSION, 2)).thenReturn(List.of(third));
+        when(cardCipherRepository.findChunkNotOnKeyVersion(CardCipherTable.PAYMENT, 9L, TARGET_VERSION, 2)).thenReturn(List.of());
+        when(cardEncryptionService.reEncryptCard(any(), eq(TARGET_VERSION))).thenAnswer(invocation -> {
+            StoredCard card = invocation.getArgument(0);
+            return new ReEncryptedCard(card.id(), card.keyVersion(), "new-" + card.encryptedCard(), "newIv", TARGET_VERSION);
+        });
+        when(cardCipherRepository.updateCiphers(eq(CardCipherTable.PAYMENT), anyList())).thenAnswer(invocation -> invocation.<List<?>>getArgument(1).size());
+
+        // Act
+        boolean started = cardReEncryptionService.start();
+
+        // Assert
+        assertThat(started).isTrue();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ReEncryptedCard>> batches = ArgumentCaptor.forClass(List.class);
+        verify(cardCipherRepository, times(2)).updateCiphers(eq(CardCipherTable.PAYMENT), batches.capture());
+        assertThat(batches.getAllValues().get(0)).extracting(ReEncryptedCard::id).containsExactlyInAnyOrder(1L, 5L);
+        assertThat(batches.getAllValues().get(1)).extracting(ReEncryptedCard::id).containsExactly(9L);
+
+        ReEncryptionStatus status = cardReEncryptionService.status();
+        assertThat(status.running()).isFalse();
+        assertThat(status.targetVersion()).isEqualTo(TARGET_VERSION);
+        assertThat(status.reEncrypted()).isEqualTo(3);
+        assertThat(status.table()).isEqualTo("payment");
+        assertThat(status.lastId()).isEqualTo(9L);
+        assertThat(status.finishedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should count undecryptable cards as failed and carry on with the rest")
+    void start_failedCard_skipsItAndContinues() {
+        // Arrange
+        when(cardCipherRepository.findChunkNotOnKeyVersion(CardCipherTable.CARD_TOKEN, 0L, TARGET_VERSION, 2))
+                .thenReturn(List.of());
+        StoredCard broken = new StoredCard(1L, "broken", "iv1", 0);
+        StoredCard good = new StoredCard(2L, "c2", "iv2", 0);
+        when(cardCipherRepository.findChunkNotOnKeyVersion(CardCipherTable.PAYMENT, 0L, TARGET_VERSION, 2)).thenReturn(List.of(broken, good));
+        when(cardCipherRepository.findChunkNotOnKeyVersion(CardCipherTable.PAYMENT, 2L, TARGET_VERSION, 2)).thenReturn(List.of());
+        when(cardEncryptionService.reEncryptCard(broken, TARGET_VERSION))
+                .thenThrow(new EncryptionException("Failed to decrypt card number"));
+        when(cardEncryptionService.reEncryptCard(good, TARGET_VERSION))
+                .thenReturn(new ReEncryptedCard(2L, 0, "new", "newIv", TARGET_VERSION));
+        // the row was re-encrypted concurrently by another instance
+        when(cardCipherRepository.updateCiphers(eq(CardCipherTable.PAYMENT), anyList())).thenReturn(0);
+
+        // Act
+        cardReEncryptionService.start();
+
+        // Assert
+        ReEncryptionStatus status = cardReEncryptionService.status();
+        assertThat(status.failed()).isEqualTo(1);
+        assertThat(status.skipped()).isEqualTo(1);
+        assertThat(status.reEncrypted()).isZero();
+        assertThat(status.lastId()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Should start over with the newer key when another instance rotates during the job")
+    void start_rotatedDuringJob_startsOverWithNewerVersion() {
+        // Arrange — version 3 becomes active after the first chunk
+        int newerVersion = TARGET_VERSION + 1;
+        when(dataKeyRing.refreshActiveVersion()).thenReturn(TARGET_VERSION, TARGET_VERSION, newerVersion);
+        StoredCard card = new StoredCard(1L, "c1", "iv1", 0);
+        when(cardCipherRepository.findChunkNotOnKeyVersion(CardCipherTable.CARD_TOKEN, 0L, TARGET_VERSION, 2))
+                .thenReturn(List.of(card));
+        when(cardCipherRepository.findChunkNotOnKeyVersion(CardCipherTable.CARD_TOKEN, 0L, newerVersion, 2))
+                .thenReturn(List.of(card));
+        when(cardCipherRepository.findChunkNotOnKeyVersion(CardCipherTable.CARD_TOKEN, 1L, newerVersion, 2))
+                .thenReturn(List.of());
+        when(cardCipherRepository.findChunkNotOnKeyVersion(CardCipherTable.PAYMENT, 0L, newerVersion, 2))
+                .thenReturn(List.of());
+        when(cardEncryptionService.reEncryptCard(eq(card), anyInt())).thenAnswer(invocation ->
+                new ReEncryptedCard(1L, 0, "new", "newIv", invocation.getArgument(1)));
+        when(cardCipherRepository.updateCiphers(eq(CardCipherTable.CARD_TOKEN), anyList())).thenReturn(1);
+
+        // Act
+        cardReEncryptionService.start();
+
+        // Assert
+        verify(cardEncryptionService).reEncryptCard(card, TARGET_VERSION);
+        verify(cardEncryptionService).reEncryptCard(card, newerVersion);
+        verify(cardCipherRepository, never()).findChunkNotOnKeyVersion(CardCipherTable.PAYMENT, 0L, TARGET_VERSION, 2);
+        assertThat(cardReEncryptionService.status().targetVersion()).isEqualTo(newerVersion);
+    }
+}
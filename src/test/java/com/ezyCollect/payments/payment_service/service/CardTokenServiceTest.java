@@ -0,0 +1,126 @@
+package com.ezyCollect.payments.payment_service.service;
+
+import com.ezyCollect.payments.payment_service.dto.CardTokenInfo;
+import com.ezyCollect.payments.payment_service.dto.EncryptedCardInfo;
+import com.ezyCollect.payments.payment_service.entity.CardToken;
+import com.ezyCollect.payments.payment_service.repository.CardTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardTokenServiceTest {
+
+    private static final String CARD_NUMBER = "4242424242424242";
+    private static final String FINGERPRINT = "fingerprint123";
+
+    @Mock
+    private CardTokenRepository cardTokenRepository;
+
+    @Mock
+    private CardEncryptionService cardEncryptionService;
+
+    private CardTokenService cardTokenService;
+    private CardToken storedToken;
+
+    @BeforeEach
+    void setUp() {
+        cardTokenService = new CardTokenService(cardTokenRepository, cardEncryptionService, 100, Duration.ofMinutes(5));
+        when(cardEncryptionService.fingerprintCard(CARD_NUMBER)).thenReturn(FINGERPRINT);
+
+        storedToken = CardToken.builder()
+                .id(7L)
+                .fingerprint(FINGERPRINT)
+                .cardNumber("encryptedCard123")
+                .iv("ivBase64==")
+                .keyVersion(1)
+                .cardBin("424242")
+                .cardLast4("4242")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should encrypt and vault a card seen for the first time")
+    void tokenize_newCard_encryptsAndSaves() {
+        // Arrange
+        when(cardTokenRepository.findByFingerprint(FINGERPRINT)).thenReturn(Optional.empty());
+        when(cardEncryptionService.encryptCard(CARD_NUMBER)).thenReturn(
+                new EncryptedCardInfo("encryptedCard123", "ivBase64==", 1, FINGERPRINT, "424242", "4242"));
+        when(cardTokenRepository.save(any(CardToken.class))).thenAnswer(invocation -> {
+            CardToken token = invocation.getArgument(0);
+            token.setId(7L);
+            return token;
+        });
+
+        // Act
+        CardTokenInfo token = cardTokenService.tokenize(CARD_NUMBER);
+
+        // Assert
+        assertThat(token).isEqualTo(new CardTokenInfo(7L, FINGERPRINT, "424242", "4242"));
+        verify(cardTokenRepository).save(argThat(saved ->
+                saved.getFingerprint().equals(FINGERPRINT) &&
+                        saved.getCardNumber().equals("encryptedCard123") &&
+                        saved.getKeyVersion() == 1 &&
+                        saved.getCreatedAt() != null));
+    }
+
+    @Test
+    @DisplayName("Should reuse the stored token for a known card without encrypting again")
+    void tokenize_knownCard_reusesToken() {
+        // Arrange
+        when(cardTokenRepository.findByFingerprint(FINGERPRINT)).thenReturn(Optional.of(storedToken));
+
+        // Act
+        CardTokenInfo token = cardTokenService.tokenize(CARD_NUMBER);
+
+        // Assert
+        assertThat(token.tokenId()).isEqualTo(7L);
+        verify(cardEncryptionService, never()).encryptCard(any());
+        verify(cardTokenRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should serve repeat cards from the cache without touching the database")
+    void tokenize_repeatCard_servedFromCache() {
+        // Arrange
+        when(cardTokenRepository.findByFingerprint(FINGERPRINT)).thenReturn(Optional.of(storedToken));
+
+        // Act
+        cardTokenService.tokenize(CARD_NUMBER);
+        CardTokenInfo second = cardTokenService.tokenize(CARD_NUMBER);
+
+        // Assert
+        assertThat(second.tokenId()).isEqualTo(7L);
+        verify(cardTokenRepository, times(1)).findByFingerprint(FINGERPRINT);
+        verify(cardEncryptionService, never()).encryptCard(any());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the concurrently created token when the fingerprint is already taken")
+    void tokenize_concurrentInsert_reusesWinningToken() {
+        // Arrange
+        when(cardTokenRepository.findByFingerprint(FINGERPRINT))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(storedToken));
+        when(cardEncryptionService.encryptCard(CARD_NUMBER)).thenReturn(
+                new EncryptedCardInfo("otherCipherText", "otherIv==", 1, FINGERPRINT, "424242", "4242"));
+        when(cardTokenRepository.save(any(CardToken.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry for key 'uk_card_token_fingerprint'"));
+
+        // Act
+        CardTokenInfo token = cardTokenService.tokenize(CARD_NUMBER);
+
+        // Assert
+        assertThat(token.tokenId()).isEqualTo(7L);
+    }
+}
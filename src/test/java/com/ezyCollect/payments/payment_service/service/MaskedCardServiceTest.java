@@ -0,0 +1,104 @@
+package com.ezyCollect.payments.payment_service.service;
+
+import com.ezyCollect.payments.payment_service.entity.Payment;
+import com.ezyCollect.payments.payment_service.exception.EncryptionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MaskedCardServiceTest {
+
+    @Mock
+    private CardEncryptionService cardEncryptionService;
+
+    private MaskedCardService maskedCardService;
+
+    private Payment payment;
+
+    @BeforeEach
+    void setUp() {
+        // Run "parallel" work on the calling thread to keep the test deterministic
+        maskedCardService = new MaskedCardService(cardEncryptionService, Runnable::run, 100, Duration.ofMinutes(5));
+
+        payment = Payment.builder()
+                .id(1L)
+                .cardNumber("encryptedCard123")
+                .iv("ivBase64==")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should decrypt only once and serve repeat lookups from the cache")
+    void getMaskedCard_repeatLookup_decryptsOnce() {
+        // Arrange
+        when(cardEncryptionService.maskCard("encryptedCard123", "ivBase64==", 0))
+                .thenReturn("************3456");
+
+        // Act
+        String first = maskedCardService.getMaskedCard(payment);
+        String second = maskedCardService.getMaskedCard(payment);
+
+        // Assert
+        assertThat(first).isEqualTo("************3456");
+        assertThat(second).isEqualTo("************3456");
+        verify(cardEncryptionService, times(1)).maskCard(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should mask from stored last4 without decrypting")
+    void getMaskedCard_storedLast4_skipsDecryption() {
+        // Arrange
+        payment.setCardLast4("3456");
+
+        // Act
+        String masked = maskedCardService.getMaskedCard(payment);
+
+        // Assert
+        assertThat(masked).isEqualTo("************3456");
+        verifyNoInteractions(cardEncryptionService);
+    }
+
+    @Test
+    @DisplayName("Should resolve masked cards for every payment in a bulk lookup")
+    void getMaskedCards_returnsMaskedCardPerPayment() {
+        // Arrange
+        Payment second = Payment.builder().id(2L).cardNumber("encryptedCard456").iv("iv2==").build();
+        when(cardEncryptionService.maskCard("encryptedCard123", "ivBase64==", 0)).thenReturn("************3456");
+        when(cardEncryptionService.maskCard("encryptedCard456", "iv2==", 0)).thenReturn("************4242");
+
+        // Act
+        Map<Long, String> maskedCards = maskedCardService.getMaskedCards(List.of(payment, second));
+
+        // Assert
+        assertThat(maskedCards).containsExactlyInAnyOrderEntriesOf(
+                Map.of(1L, "************3456", 2L, "************4242"));
+    }
+
+    @Test
+    @DisplayName("Should propagate EncryptionException when decryption fails in a bulk lookup")
+    void getMaskedCards_decryptionFails_throwsEncryptionException() {
+        // Arrange
+        when(cardEncryptionService.maskCard(any(), any(), anyInt()))
+                .thenThrow(new EncryptionException("Failed to decrypt card number"));
+
+        // Act & Assert
+        EncryptionException ex = catchThrowableOfType(
+                () -> maskedCardService.getMaskedCards(List.of(payment)),
+                EncryptionException.class
+        );
+
+        assertThat(ex).isNotNull();
+    }
+}
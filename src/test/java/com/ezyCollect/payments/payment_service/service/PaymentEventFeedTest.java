@@ -0,0 +1,355 @@
+package com.ezyCollect.payments.payment_service.service;
+
+import com.ezyCollect.payments.payment_service.dto.PaymentEvent;
+import com.ezyCollect.payments.payment_service.dto.PaymentResponse;
+import com.ezyCollect.payments.payment_service.enums.WebhookEventType;
+import com.ezyCollect.payments.payment_service.exception.ErrorCode;
+import com.ezyCollect.payments.payment_service.exception.PaymentException;
+import com.ezyCollect.payments.payment_service.repository.JdbcPaymentEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentEventFeedTest {
+
+    @Mock
+    private JdbcPaymentEventRepository paymentEventRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+
+    private final AtomicLong nextId = new AtomicLong();
+
+    private PaymentEventFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        taskScheduler.initialize();
+        // the table plays auto-increment
+        lenient().when(paymentEventRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<PaymentEvent> events = invocation.getArgument(0);
+            return events.stream().map(event -> event.toBuilder().id(nextId.incrementAndGet()).build()).toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (feed != null) {
+            feed.shutdown();
+        }
+        taskScheduler.shutdown();
+    }
+
+    // ─── Reading ──────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should serve published events from the ring in id order, once each")
+    void poll_afterPublish_returnsEventsInOrder() throws Exception {
+        // Arrange
+        feed = newFeed(100);
+        feed.flush(events(3));
+
+        // Act
+        PaymentEventFeed.Page first = feed.poll(0, 2, Duration.ZERO).get();
+        PaymentEventFeed.Page second = feed.poll(first.lastId(), 2, Duration.ZERO).get();
+
+        // Assert
+        assertThat(json(first)).containsExactly(
+                "{\"id\":1,\"type\":\"PAYMENT_SUCCEEDED\",\"status\":\"SUCCESS\",\"transactionId\":\"1\",\"createdAt\":\"2026-01-01T00:00:00\"}",
+                "{\"id\":2,\"type\":\"PAYMENT_SUCCEEDED\",\"status\":\"SUCCESS\",\"transactionId\":\"2\",\"createdAt\":\"2026-01-01T00:00:00\"}");
+        assertThat(first.lastId()).isEqualTo(2L);
+        assertThat(second.events()).hasSize(1);
+        assertThat(second.lastId()).isEqualTo(3L);
+        verify(paymentEventRepository, never()).findAfter(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should hand every reader the same serialized bytes")
+    void poll_manyReaders_shareSerializedEvents() throws Exception {
+        // Arrange
+        feed = newFeed(100);
+        feed.flush(events(1));
+
+        // Act
+        PaymentEventFeed.Page a = feed.poll(0, 10, Duration.ZERO).get();
+        PaymentEventFeed.Page b = feed.poll(0, 10, Duration.ZERO).get();
+
+        // Assert
+        assertThat(a.events().get(0)).isSameAs(b.events().get(0));
+    }
+
+    @Test
+    @DisplayName("Should page from the table when the cursor is behind the ring")
+    void poll_behindRing_readsTable() throws Exception {
+        // Arrange — a ring of 2 has evicted event 1 after 3 appends
+        feed = newFeed(2);
+        feed.flush(events(3));
+        PaymentEvent evicted = events(1).get(0).toBuilder().id(1L).build();
+        when(paymentEventRepository.findAfter(0L, 10)).thenReturn(List.of(evicted));
+
+        // Act
+        PaymentEventFeed.Page page = feed.poll(0, 10, Duration.ZERO).get();
+        PaymentEventFeed.Page tail = feed.poll(1, 10, Duration.ZERO).get();
+
+        // Assert
+        assertThat(page.lastId()).isEqualTo(1L);
+        assertThat(tail.events()).hasSize(2);
+        assertThat(tail.lastId()).isEqualTo(3L);
+    }
+
+    // ─── Long polling ─────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should complete a waiting poll when the next event is appended")
+    void poll_waiting_completesOnAppend() throws Exception {
+        // Arrange
+        feed = newFeed(100);
+        CompletableFuture<PaymentEventFeed.Page> waiting = feed.poll(0, 10, Duration.ofSeconds(10));
+        assertThat(waiting).isNotDone();
+
+        // Act
+        feed.publish(PaymentResponse.builder().status("FAILED").transactionId("9").build());
+
+        // Assert — the writer thread appends it
+        PaymentEventFeed.Page page = waiting.get(5, TimeUnit.SECONDS);
+        assertThat(json(page)).singleElement().asString().contains("\"type\":\"PAYMENT_FAILED\"", "\"transactionId\":\"9\"");
+    }
+
+    @Test
+    @DisplayName("Should not hide a waiting reader from the writer while another reader registers")
+    void poll_registeringRacesAppends_noLostWakeup() throws Exception {
+        // Arrange — appends land while reader B is between its read and registering, and again
+        // while B completes its own poll; reader A waits for the second append throughout
+        TaskScheduler scheduler = mock(TaskScheduler.class);
+        ScheduledFuture<?> timeout = mock(ScheduledFuture.class);
+        ScheduledFuture<?> racingTimeout = mock(ScheduledFuture.class);
+        doReturn(timeout).doAnswer(invocation -> {
+            appendOnWriter();
+            return racingTimeout;
+        }).when(scheduler).schedule(any(Runnable.class), any(Instant.class));
+        doAnswer(invocation -> {
+            appendOnWriter();
+            return true;
+        }).when(racingTimeout).cancel(false);
+        feed = new PaymentEventFeed(paymentEventRepository, objectMapper, scheduler, 100, 16, 100, 3, Duration.ZERO);
+        feed.start();
+        CompletableFuture<PaymentEventFeed.Page> readerA = feed.poll(1, 10, Duration.ofSeconds(30));
+
+        // Act
+        PaymentEventFeed.Page readerB = feed.poll(0, 10, Duration.ofSeconds(30)).get(5, TimeUnit.SECONDS);
+
+        // Assert — A is woken by the second append rather than waiting out its poll
+        assertThat(readerB.lastId()).isEqualTo(1L);
+        assertThat(readerA.get(5, TimeUnit.SECONDS).lastId()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Should complete a waiting poll empty after the wait time")
+    void poll_nothingNew_completesEmptyAfterWait() throws Exception {
+        // Arrange
+        feed = newFeed(100);
+
+        // Act
+        PaymentEventFeed.Page page = feed.poll(0, 10, Duration.ofMillis(100)).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertThat(page.events()).isEmpty();
+        assertThat(page.lastId()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should leave payments without an event type out of the feed")
+    void publish_unknownStatus_ignored() throws Exception {
+        // Arrange
+        feed = newFeed(100);
+
+        // Act
+        feed.publish(PaymentResponse.builder().status("PENDING").transactionId("1").build());
+        feed.shutdown();
+
+        // Assert
+        verify(paymentEventRepository, never()).insertAll(anyList());
+    }
+
+    // ─── Writer failures ──────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should give up a batch whose inserts keep failing, report it and keep writing")
+    void flush_insertKeepsFailing_givesUpAndReports() throws Exception {
+        // Arrange
+        feed = newFeed(100);
+        doThrow(new QueryTimeoutException("database down")).when(paymentEventRepository).insertAll(anyList());
+
+        // Act
+        feed.flush(events(2));
+
+        // Assert — three attempts, then both events counted as lost
+        verify(paymentEventRepository, times(3)).insertAll(anyList());
+        PaymentEventFeed.Status status = feed.status();
+        assertThat(status.failedEvents()).isEqualTo(2);
+        assertThat(status.writeFailure()).contains("database down");
+        assertThat(feed.poll(0, 10, Duration.ZERO).get().events()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should clear the write failure once an insert succeeds again")
+    void flush_insertRecovers_clearsFailure() throws Exception {
+        // Arrange
+        feed = newFeed(100);
+        AtomicLong calls = new AtomicLong();
+        doAnswer(invocation -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new QueryTimeoutException("database down");
+            }
+            List<PaymentEvent> events = invocation.getArgument(0);
+            return events.stream().map(event -> event.toBuilder().id(nextId.incrementAndGet()).build()).toList();
+        }).when(paymentEventRepository).insertAll(anyList());
+
+        // Act
+        feed.flush(events(1));
+
+        // Assert
+        PaymentEventFeed.Status status = feed.status();
+        assertThat(status.writeFailure()).isNull();
+        assertThat(status.failedEvents()).isZero();
+        assertThat(feed.poll(0, 10, Duration.ZERO).get().events()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should count events left out because the queue is full")
+    void publish_queueFull_countsDropped() throws Exception {
+        // Arrange — the writer is stuck inserting the first event; the queue holds one more
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            List<PaymentEvent> events = invocation.getArgument(0);
+            return events.stream().map(event -> event.toBuilder().id(nextId.incrementAndGet()).build()).toList();
+        }).when(paymentEventRepository).insertAll(anyList());
+        feed = new PaymentEventFeed(paymentEventRepository, objectMapper, taskScheduler, 100, 16, 1, 3, Duration.ZERO);
+        feed.start();
+        try {
+            feed.publish(success("1"));
+            verify(paymentEventRepository, timeout(5000)).insertAll(anyList());
+
+            // Act
+            feed.publish(success("2"));
+            feed.publish(success("3"));
+
+            // Assert
+            assertThat(feed.status().queued()).isEqualTo(1);
+            assertThat(feed.status().droppedEvents()).isEqualTo(1);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    // ─── Single writer ────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should refuse reads once another instance's rows show up before a batch")
+    void flush_otherWriter_refusesReads() throws Exception {
+        // Arrange — ids 1 and 2 were inserted by someone else
+        feed = newFeed(100);
+        CompletableFuture<PaymentEventFeed.Page> waiting = feed.poll(0, 10, Duration.ofSeconds(30));
+        nextId.set(2);
+        when(paymentEventRepository.findAfter(0L, 1)).thenReturn(List.of(events(1).get(0).toBuilder().id(1L).build()));
+
+        // Act
+        feed.flush(events(1));
+
+        // Assert
+        assertThat(feed.status().otherWriter()).isTrue();
+        assertThatThrownBy(() -> feed.poll(0, 10, Duration.ZERO))
+                .isInstanceOf(PaymentException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.EVENT_FEED_UNAVAILABLE);
+        assertThat(waiting).isCompletedExceptionally();
+    }
+
+    @Test
+    @DisplayName("Should not mistake ids used up by rolled back inserts for another writer")
+    void flush_idGapWithoutRows_keepsServing() throws Exception {
+        // Arrange
+        feed = newFeed(100);
+        nextId.set(2);
+        when(paymentEventRepository.findAfter(0L, 1)).thenReturn(List.of(events(1).get(0).toBuilder().id(3L).build()));
+
+        // Act
+        feed.flush(events(1));
+
+        // Assert
+        assertThat(feed.status().otherWriter()).isFalse();
+        assertThat(feed.poll(0, 10, Duration.ZERO).get().lastId()).isEqualTo(3L);
+    }
+
+    private PaymentEventFeed newFeed(int bufferSize) {
+        PaymentEventFeed feed = new PaymentEventFeed(paymentEventRepository, objectMapper, taskScheduler, bufferSize, 16, 100, 3, Duration.ZERO);
+        feed.start();
+        return feed;
+    }
+
+    // appends one event from another thread, as the writer would
+    private void appendOnWriter() throws Exception {
+        CompletableFuture.runAsync(() -> {
+            try {
+                feed.flush(events(1));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }).get(5, TimeUnit.SECONDS);
+    }
+
+    private static PaymentResponse success(String transactionId) {
+        return PaymentResponse.builder().status("SUCCESS").transactionId(transactionId).build();
+    }
+
+    private static List<PaymentEvent> events(int count) {
+        List<PaymentEvent> events = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            events.add(PaymentEvent.builder()
+                    .type(WebhookEventType.PAYMENT_SUCCEEDED)
+                    .status("SUCCESS")
+                    .transactionId(Integer.toString(i))
+                    .createdAt(LocalDateTime.of(2026, 1, 1, 0, 0))
+                    .build());
+        }
+        return events;
+    }
+
+    private static List<String> json(PaymentEventFeed.Page page) {
+        return page.events().stream().map(bytes -> new String(bytes, StandardCharsets.UTF_8)).toList();
+    }
+}
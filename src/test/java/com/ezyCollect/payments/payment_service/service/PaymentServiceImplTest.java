@@ -1,6 +1,7 @@
 package com.ezyCollect.payments.payment_service.service;
 
-import com.ezyCollect.payments.payment_service.dto.EncryptedCardInfo;
+import com.ezyCollect.payments.payment_service.dto.CardTokenInfo;
+import com.ezyCollect.payments.payment_service.dto.PaymentDetailResponse;
 import com.ezyCollect.payments.payment_service.dto.PaymentRequest;
 import com.ezyCollect.payments.payment_service.dto.PaymentResponse;
 import com.ezyCollect.payments.payment_service.entity.Payment;
@@ -8,16 +9,26 @@ import com.ezyCollect.payments.payment_service.exception.EncryptionException;
 import com.ezyCollect.payments.payment_service.exception.ErrorCode;
 import com.ezyCollect.payments.payment_service.exception.PaymentException;
 import com.ezyCollect.payments.payment_service.exception.WebhookException;
+import com.ezyCollect.payments.payment_service.journal.PaymentJournal;
 import com.ezyCollect.payments.payment_service.repository.PaymentRepository;
+import com.ezyCollect.payments.payment_service.repository.PaymentWriteRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessException;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.LongStream;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowableOfType;
 import static org.mockito.ArgumentMatchers.any;
@@ -29,37 +40,55 @@ class PaymentServiceImplTest {
     @Mock
     private PaymentRepository paymentRepository;
 
+    @Mock
+    private PaymentWriteRepository paymentWriteRepository;
+
     @Mock
     private WebhookService webhookService;
 
     @Mock
-    private CardEncryptionService cardEncryptionService;
+    private PaymentEventFeed paymentEventFeed;
+
+    @Mock
+    private PaymentJournal paymentJournal;
+
+    @Mock
+    private CardTokenService cardTokenService;
+
+    @Mock
+    private MaskedCardService maskedCardService;
 
-    @InjectMocks
     private PaymentServiceImpl paymentService;
+    private List<String> executedOn;
 
     private PaymentRequest request;
-    private EncryptedCardInfo encryptedCardInfo;
+    private CardTokenInfo cardTokenInfo;
     private Payment savedPayment;
 
     @BeforeEach
     void setUp() {
+        // Executors run inline but record which pool each stage was handed to
+        executedOn = new ArrayList<>();
+        Executor cryptoExecutor = task -> { executedOn.add("crypto"); task.run(); };
+        Executor ioExecutor = task -> { executedOn.add("io"); task.run(); };
+        paymentService = new PaymentServiceImpl(paymentRepository, paymentWriteRepository,
+                webhookService, paymentEventFeed, paymentJournal, cardTokenService, maskedCardService, cryptoExecutor, ioExecutor);
+
         request = PaymentRequest.builder()
                 .firstName("Christy")
                 .lastName("Wu")
                 .zipCode("2065")
-                .cardNumber("1234567890123456")
+                .cardNumber("4242424242424242")
                 .build();
 
-        encryptedCardInfo = new EncryptedCardInfo("encryptedCard123", "ivBase64==");
+        cardTokenInfo = new CardTokenInfo(7L, "fingerprint123", "424242", "4242");
 
         savedPayment = Payment.builder()
                 .id(1L)
                 .firstName("Christy")
                 .lastName("Wu")
                 .zipCode("2065")
-                .cardNumber("encryptedCard123")
-                .iv("ivBase64==")
+                .cardTokenId(7L)
                 .build();
     }
 
@@ -69,9 +98,9 @@ class PaymentServiceImplTest {
     @DisplayName("Should process payment successfully and return SUCCESS response")
     void processPayment_success() {
         // Arrange
-        when(cardEncryptionService.encryptCard(request.cardNumber()))
-                .thenReturn(encryptedCardInfo);
-        when(paymentRepository.save(any(Payment.class)))
+        when(cardTokenService.tokenize(request.cardNumber()))
+                .thenReturn(cardTokenInfo);
+        when(paymentWriteRepository.insert(any(Payment.class)))
                 .thenReturn(savedPayment);
 
         // Act
@@ -81,30 +110,36 @@ class PaymentServiceImplTest {
         assertThat(response.status()).isEqualTo("SUCCESS");
         assertThat(response.transactionId()).isEqualTo("1");
 
-        verify(cardEncryptionService).encryptCard(request.cardNumber());
-        verify(paymentRepository).save(any(Payment.class));
+        verify(cardTokenService).tokenize(request.cardNumber());
+        verify(paymentWriteRepository).insert(any(Payment.class));
+        verify(paymentEventFeed).publish(response);
+        verify(paymentJournal).recordPayment(response);
         verify(webhookService).triggerWebhooks(response);
     }
 
     @Test
-    @DisplayName("Should save payment with encrypted card number and IV")
-    void processPayment_savesEncryptedCardDetails() {
+    @DisplayName("Should save payment referencing the card token, without its own card cipher text")
+    void processPayment_savesCardTokenReference() {
         // Arrange
-        when(cardEncryptionService.encryptCard(request.cardNumber()))
-                .thenReturn(encryptedCardInfo);
-        when(paymentRepository.save(any(Payment.class)))
+        when(cardTokenService.tokenize(request.cardNumber()))
+                .thenReturn(cardTokenInfo);
+        when(paymentWriteRepository.insert(any(Payment.class)))
                 .thenReturn(savedPayment);
 
         // Act
         paymentService.processPayment(request);
 
-        // Assert — verify the payment saved has encrypted card, not raw
-        verify(paymentRepository).save(argThat(payment ->
-                payment.getCardNumber().equals("encryptedCard123") &&
-                        payment.getIv().equals("ivBase64==") &&
+        // Assert — the card lives in the vault, the payment only references it
+        verify(paymentWriteRepository).insert(argThat(payment ->
+                payment.getCardTokenId().equals(7L) &&
+                        payment.getCardNumber() == null &&
+                        payment.getIv() == null &&
                         payment.getFirstName().equals("Christy") &&
                         payment.getLastName().equals("Wu") &&
-                        payment.getZipCode().equals("2065")
+                        payment.getZipCode().equals("2065") &&
+                        payment.getCardFingerprint().equals("fingerprint123") &&
+                        payment.getCardBin().equals("424242") &&
+                        payment.getCardLast4().equals("4242")
         ));
     }
 
@@ -114,7 +149,7 @@ class PaymentServiceImplTest {
     @DisplayName("Should throw PaymentException with CARD_ENCRYPTION_ERROR when encryption fails")
     void processPayment_encryptionFails_throwsPaymentException() {
         // Arrange
-        when(cardEncryptionService.encryptCard(request.cardNumber()))
+        when(cardTokenService.tokenize(request.cardNumber()))
                 .thenThrow(new EncryptionException("Failed to encrypt card number"));
 
         // Act & Assert
@@ -126,7 +161,7 @@ class PaymentServiceImplTest {
         assertThat(ex.getErrorCode()).isEqualTo(ErrorCode.CARD_ENCRYPTION_ERROR);
 
         // Verify payment was never saved
-        verify(paymentRepository, never()).save(any());
+        verify(paymentWriteRepository, never()).insert(any());
         verify(webhookService, never()).triggerWebhooks(any());
     }
 
@@ -136,9 +171,9 @@ class PaymentServiceImplTest {
     @DisplayName("Should throw PaymentException with DATABASE_ERROR when save fails")
     void processPayment_databaseFails_throwsPaymentException() {
         // Arrange
-        when(cardEncryptionService.encryptCard(request.cardNumber()))
-                .thenReturn(encryptedCardInfo);
-        when(paymentRepository.save(any(Payment.class)))
+        when(cardTokenService.tokenize(request.cardNumber()))
+                .thenReturn(cardTokenInfo);
+        when(paymentWriteRepository.insert(any(Payment.class)))
                 .thenThrow(new DataAccessException("DB connection lost") {});
 
         // Act & Assert
@@ -153,15 +188,32 @@ class PaymentServiceImplTest {
         verify(webhookService, never()).triggerWebhooks(any());
     }
 
+    @Test
+    @DisplayName("Should throw PaymentException with DATABASE_ERROR when the token vault is unavailable")
+    void processPayment_tokenVaultFails_throwsPaymentException() {
+        // Arrange
+        when(cardTokenService.tokenize(request.cardNumber()))
+                .thenThrow(new DataAccessException("DB connection lost") {});
+
+        // Act & Assert
+        PaymentException ex = catchThrowableOfType(
+                () -> paymentService.processPayment(request),
+                PaymentException.class
+        );
+
+        assertThat(ex.getErrorCode()).isEqualTo(ErrorCode.DATABASE_ERROR);
+        verify(paymentWriteRepository, never()).insert(any());
+    }
+
     // ─── Webhook Failure ──────────────────────────────────────────────────────
 
     @Test
     @DisplayName("Should still return SUCCESS response even when webhook fails")
     void processPayment_webhookFails_doesNotFailPayment() {
         // Arrange
-        when(cardEncryptionService.encryptCard(request.cardNumber()))
-                .thenReturn(encryptedCardInfo);
-        when(paymentRepository.save(any(Payment.class)))
+        when(cardTokenService.tokenize(request.cardNumber()))
+                .thenReturn(cardTokenInfo);
+        when(paymentWriteRepository.insert(any(Payment.class)))
                 .thenReturn(savedPayment);
         doThrow(new WebhookException(ErrorCode.WEBHOOK_DELIVERY_FAILED))
                 .when(webhookService).triggerWebhooks(any());
@@ -181,9 +233,9 @@ class PaymentServiceImplTest {
     @DisplayName("Should still return SUCCESS response even when unexpected exception thrown from webhook")
     void processPayment_webhookThrowsUnexpectedException_doesNotFailPayment() {
         // Arrange
-        when(cardEncryptionService.encryptCard(request.cardNumber()))
-                .thenReturn(encryptedCardInfo);
-        when(paymentRepository.save(any(Payment.class)))
+        when(cardTokenService.tokenize(request.cardNumber()))
+                .thenReturn(cardTokenInfo);
+        when(paymentWriteRepository.insert(any(Payment.class)))
                 .thenReturn(savedPayment);
 
         // Note: RuntimeException is NOT caught in current code — this test
@@ -200,6 +252,65 @@ class PaymentServiceImplTest {
         assertThat(response.status()).isEqualTo("SUCCESS");
     }
 
+    // ─── processPaymentAsync ──────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should tokenize on the crypto pool, then save on the I/O pool, and complete with SUCCESS")
+    void processPaymentAsync_success() {
+        // Arrange
+        when(cardTokenService.tokenize(request.cardNumber()))
+                .thenReturn(cardTokenInfo);
+        when(paymentWriteRepository.insert(any(Payment.class)))
+                .thenReturn(savedPayment);
+
+        // Act
+        PaymentResponse response = paymentService.processPaymentAsync(request)
+                .toCompletableFuture().join();
+
+        // Assert
+        assertThat(response.status()).isEqualTo("SUCCESS");
+        assertThat(response.transactionId()).isEqualTo("1");
+        assertThat(executedOn).containsExactly("crypto", "io");
+        verify(webhookService).triggerWebhooks(response);
+    }
+
+    @Test
+    @DisplayName("Should complete exceptionally with CARD_ENCRYPTION_ERROR and skip the I/O stage when encryption fails")
+    void processPaymentAsync_encryptionFails_completesExceptionally() {
+        // Arrange
+        when(cardTokenService.tokenize(request.cardNumber()))
+                .thenThrow(new EncryptionException("Failed to encrypt card number"));
+
+        // Act
+        CompletionException ex = catchThrowableOfType(
+                () -> paymentService.processPaymentAsync(request).toCompletableFuture().join(),
+                CompletionException.class
+        );
+
+        // Assert
+        assertThat(ex.getCause()).isInstanceOf(PaymentException.class);
+        assertThat(((PaymentException) ex.getCause()).getErrorCode())
+                .isEqualTo(ErrorCode.CARD_ENCRYPTION_ERROR);
+        assertThat(executedOn).containsExactly("crypto");
+        verify(paymentWriteRepository, never()).insert(any());
+    }
+
+    @Test
+    @DisplayName("Should surface RejectedExecutionException when the crypto pool is saturated")
+    void processPaymentAsync_executorSaturated_rejects() {
+        // Arrange
+        Executor saturated = task -> { throw new RejectedExecutionException("queue full"); };
+        PaymentServiceImpl busyService = new PaymentServiceImpl(paymentRepository, paymentWriteRepository,
+                webhookService, paymentEventFeed, paymentJournal, cardTokenService, maskedCardService, saturated, Runnable::run);
+
+        // Act & Assert
+        assertThat(catchThrowableOfType(
+                () -> busyService.processPaymentAsync(request),
+                RejectedExecutionException.class
+        )).hasMessage("queue full");
+        verify(cardTokenService, never()).tokenize(any());
+    }
+
     // ─── savePayment ──────────────────────────────────────────────────────────
 
     @Test
@@ -210,14 +321,14 @@ class PaymentServiceImplTest {
                 .firstName("Christy")
                 .cardNumber("encryptedCard123")
                 .build();
-        when(paymentRepository.save(payment)).thenReturn(savedPayment);
+        when(paymentWriteRepository.insert(payment)).thenReturn(savedPayment);
 
         // Act
         Payment result = paymentService.savePayment(payment);
 
         // Assert
         assertThat(result.getId()).isEqualTo(1L);
-        verify(paymentRepository).save(payment);
+        verify(paymentWriteRepository).insert(payment);
     }
 
     @Test
@@ -225,7 +336,7 @@ class PaymentServiceImplTest {
     void savePayment_dataAccessException_throwsPaymentException() {
         // Arrange
         Payment payment = Payment.builder().cardNumber("encryptedCard123").build();
-        when(paymentRepository.save(payment))
+        when(paymentWriteRepository.insert(payment))
                 .thenThrow(new DataAccessException("Connection timeout") {});
 
         // Act & Assert
@@ -236,4 +347,92 @@ class PaymentServiceImplTest {
 
         assertThat(ex.getErrorCode()).isEqualTo(ErrorCode.DATABASE_ERROR);
     }
-}
\ No newline at end of file
+
+    // ─── getPayment ───────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should return payment details with masked card when payment exists")
+    void getPayment_success_returnsMaskedCard() {
+        // Arrange
+        when(paymentRepository.findById(1L)).thenReturn(Optional.of(savedPayment));
+        when(maskedCardService.getMaskedCard(savedPayment)).thenReturn("************3456");
+
+        // Act
+        PaymentDetailResponse response = paymentService.getPayment(1L);
+
+        // Assert
+        assertThat(response.transactionId()).isEqualTo("1");
+        assertThat(response.firstName()).isEqualTo("Christy");
+        assertThat(response.maskedCardNumber()).isEqualTo("************3456");
+    }
+
+    @Test
+    @DisplayName("Should throw PaymentException with PAYMENT_NOT_FOUND when payment does not exist")
+    void getPayment_notFound_throwsPaymentException() {
+        // Arrange
+        when(paymentRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        PaymentException ex = catchThrowableOfType(
+                () -> paymentService.getPayment(99L),
+                PaymentException.class
+        );
+
+        assertThat(ex.getErrorCode()).isEqualTo(ErrorCode.PAYMENT_NOT_FOUND);
+        verify(maskedCardService, never()).getMaskedCard(any());
+    }
+
+    @Test
+    @DisplayName("Should throw PaymentException with CARD_DECRYPTION_ERROR when decryption fails")
+    void getPayment_decryptionFails_throwsPaymentException() {
+        // Arrange
+        when(paymentRepository.findById(1L)).thenReturn(Optional.of(savedPayment));
+        when(maskedCardService.getMaskedCard(savedPayment))
+                .thenThrow(new EncryptionException("Failed to decrypt card number"));
+
+        // Act & Assert
+        PaymentException ex = catchThrowableOfType(
+                () -> paymentService.getPayment(1L),
+                PaymentException.class
+        );
+
+        assertThat(ex.getErrorCode()).isEqualTo(ErrorCode.CARD_DECRYPTION_ERROR);
+    }
+
+    // ─── getPayments ──────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should return payments in requested order and skip unknown ids")
+    void getPayments_returnsRequestedOrderAndSkipsUnknown() {
+        // Arrange
+        Payment second = Payment.builder().id(2L).firstName("Cindy").build();
+        when(paymentRepository.findAllById(List.of(2L, 99L, 1L)))
+                .thenReturn(List.of(savedPayment, second));
+        when(maskedCardService.getMaskedCards(List.of(savedPayment, second)))
+                .thenReturn(Map.of(1L, "************3456", 2L, "************4242"));
+
+        // Act
+        List<PaymentDetailResponse> responses = paymentService.getPayments(List.of(2L, 99L, 1L));
+
+        // Assert
+        assertThat(responses).extracting(PaymentDetailResponse::transactionId).containsExactly("2", "1");
+        assertThat(responses).extracting(PaymentDetailResponse::maskedCardNumber)
+                .containsExactly("************4242", "************3456");
+    }
+
+    @Test
+    @DisplayName("Should throw PaymentException with LOOKUP_LIMIT_EXCEEDED when too many ids are requested")
+    void getPayments_tooManyIds_throwsPaymentException() {
+        // Arrange
+        List<Long> ids = LongStream.rangeClosed(1, 101).boxed().toList();
+
+        // Act & Assert
+        PaymentException ex = catchThrowableOfType(
+                () -> paymentService.getPayments(ids),
+                PaymentException.class
+        );
+
+        assertThat(ex.getErrorCode()).isEqualTo(ErrorCode.LOOKUP_LIMIT_EXCEEDED);
+        verify(paymentRepository, never()).findAllById(any());
+    }
+}
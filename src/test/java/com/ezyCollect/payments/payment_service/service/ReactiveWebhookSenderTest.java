@@ -0,0 +1,313 @@
+package com.ezyCollect.payments.payment_service.service;
+
+import com.ezyCollect.payments.payment_service.dto.PaymentResponse;
+import com.ezyCollect.payments.payment_service.entity.Webhook;
+import com.ezyCollect.payments.payment_service.entity.WebhookLog;
+import com.ezyCollect.payments.payment_service.enums.WebhookDirection;
+import com.ezyCollect.payments.payment_service.enums.WebhookEventStatus;
+import com.ezyCollect.payments.payment_service.exception.ErrorCode;
+import com.ezyCollect.payments.payment_service.exception.WebhookException;
+import com.ezyCollect.payments.payment_service.util.RetryBudget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveWebhookSenderTest {
+
+    @Mock
+    private WebhookLogService webhookLogService;
+
+    private ReactiveWebhookSender sender;
+
+    private final WebhookDeliveryStats deliveryStats = new WebhookDeliveryStats(5);
+
+    private Webhook webhook;
+    private WebhookLog webhookLog;
+    private PaymentResponse paymentResponse;
+
+    @BeforeEach
+    void setUp() {
+        webhook = Webhook.builder()
+                .id(1L)
+                .url("http://localhost:8080/v1/webhooks/receive")
+                .active(true)
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        webhookLog = WebhookLog.builder()
+                .webhookId(1L)
+                .direction(WebhookDirection.OUTGOING)
+                .url(webhook.getUrl())
+                .eventStatus(WebhookEventStatus.PENDING)
+                .sentAt(LocalDateTime.now())
+                .build();
+
+        paymentResponse = PaymentResponse.builder()
+                .status("SUCCESS")
+                .transactionId("42")
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (sender != null) {
+            sender.shutdown();
+        }
+    }
+
+    // ─── sendWebhook ──────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should call handleSuccess when the subscriber returns 2xx")
+    void sendWebhook_success_callsHandleSuccess() {
+        // Arrange
+        sender = newSender(request -> Mono.just(ClientResponse.create(HttpStatus.OK).body("received").build()), 4);
+
+        // Act
+        sender.sendWebhook(webhook, webhookLog, paymentResponse);
+
+        // Assert
+        ArgumentCaptor<ResponseEntity<String>> captor = ArgumentCaptor.captor();
+        verify(webhookLogService, timeout(2000)).handleSuccess(eq(webhookLog), captor.capture());
+        assertThat(captor.getValue().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(captor.getValue().getBody()).isEqualTo("received");
+        verify(webhookLogService, never()).handleFailure(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should retry 3 times then call handleFailure with WEBHOOK_SENDING_FAILED on 5xx")
+    void sendWebhook_5xxResponse_retriesThenCallsHandleFailure() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+        sender = newSender(request -> {
+            attempts.incrementAndGet();
+            return Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).body("error").build());
+        }, 4);
+
+        // Act
+        sender.sendWebhook(webhook, webhookLog, paymentResponse);
+
+        // Assert
+        ArgumentCaptor<Exception> captor = ArgumentCaptor.forClass(Exception.class);
+        verify(webhookLogService, timeout(2000)).handleFailure(eq(webhookLog), captor.capture());
+        assertThat(captor.getValue()).isInstanceOf(WebhookException.class);
+        assertThat(((WebhookException) captor.getValue()).getErrorCode()).isEqualTo(ErrorCode.WEBHOOK_SENDING_FAILED);
+        assertThat(attempts).hasValue(3);
+        verify(webhookLogService, never()).handleSuccess(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should call handleFailure with WEBHOOK_REJECTED after one attempt on 404")
+    void sendWebhook_404Response_failsWithoutRetry() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+        sender = newSender(request -> {
+            attempts.incrementAndGet();
+            return Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build());
+        }, 4);
+
+        // Act
+        sender.sendWebhook(webhook, webhookLog, paymentResponse);
+
+        // Assert
+        ArgumentCaptor<Exception> captor = ArgumentCaptor.forClass(Exception.class);
+        verify(webhookLogService, timeout(2000)).handleFailure(eq(webhookLog), captor.capture());
+        assertThat(((WebhookException) captor.getValue()).getErrorCode()).isEqualTo(ErrorCode.WEBHOOK_REJECTED);
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should keep at most max-concurrency deliveries in flight across a burst")
+    void sendWebhook_burst_boundsConcurrency() {
+        // Arrange — every call stays open for 50ms so overlapping deliveries are visible
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        sender = newSender(request -> Mono.defer(() -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    return Mono.delay(Duration.ofMillis(50))
+                            .map(tick -> {
+                                inFlight.decrementAndGet();
+                                return ClientResponse.create(HttpStatus.OK).body("received").build();
+                            });
+                }), 2);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            sender.sendWebhook(webhook, webhookLog, paymentResponse);
+        }
+
+        // Assert
+        verify(webhookLogService, timeout(5000).times(10)).handleSuccess(eq(webhookLog), any());
+        assertThat(maxInFlight.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should deliver every event when many threads send at once")
+    void sendWebhook_concurrentCallers_allDelivered() throws InterruptedException {
+        // Arrange
+        sender = newSender(request -> Mono.just(ClientResponse.create(HttpStatus.OK).body("received").build()), 64);
+        int threads = 8;
+        int perThread = 100;
+        ExecutorService callers = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // Act
+        for (int t = 0; t < threads; t++) {
+            callers.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    sender.sendWebhook(webhook, webhookLog, paymentResponse);
+                }
+            });
+        }
+        start.countDown();
+        callers.shutdown();
+        assertThat(callers.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        // Assert
+        verify(webhookLogService, timeout(5000).times(threads * perThread)).handleSuccess(eq(webhookLog), any());
+        verify(webhookLogService, never()).handleFailure(any(), any());
+    }
+
+    // ─── Statistics ───────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should record a pipeline delivery and each of its attempts")
+    void sendWebhook_retriedThenOk_recordsStats() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+        sender = newSender(request -> Mono.just(attempts.incrementAndGet() == 1
+                ? ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build()
+                : ClientResponse.create(HttpStatus.OK).body("received").build()), 4);
+
+        // Act
+        sender.sendWebhook(webhook, webhookLog, paymentResponse);
+
+        // Assert
+        verify(webhookLogService, timeout(2000)).handleSuccess(eq(webhookLog), any());
+        WebhookDeliveryStats.Snapshot snapshot = deliveryStats.snapshot(webhook.getId());
+        assertThat(snapshot.succeeded()).isEqualTo(1);
+        assertThat(snapshot.inFlight()).isZero();
+        assertThat(snapshot.attempts()).isEqualTo(2);
+        assertThat(snapshot.retries()).isEqualTo(1);
+        assertThat(snapshot.attemptLatency().count()).isEqualTo(2);
+        assertThat(snapshot.deliveryLatency().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should record a failed pipeline delivery")
+    void sendWebhook_404_recordsFailure() {
+        // Arrange
+        sender = newSender(request -> Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build()), 4);
+
+        // Act
+        sender.sendWebhook(webhook, webhookLog, paymentResponse);
+
+        // Assert
+        verify(webhookLogService, timeout(2000)).handleFailure(eq(webhookLog), any());
+        WebhookDeliveryStats.Snapshot snapshot = deliveryStats.snapshot(webhook.getId());
+        assertThat(snapshot.failed()).isEqualTo(1);
+        assertThat(snapshot.attempts()).isEqualTo(1);
+        assertThat(snapshot.consecutiveFailures()).isEqualTo(1);
+    }
+
+    // ─── attemptDelivery ──────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should finish an ordered webhook's attempt only once the subscriber has answered")
+    void attemptDelivery_ordered_completesWithExchange() {
+        // Arrange — the subscriber answers after 100ms
+        webhook.setOrderedDelivery(true);
+        sender = newSender(request -> Mono.delay(Duration.ofMillis(100))
+                .map(tick -> ClientResponse.create(HttpStatus.OK).body("received").build()), 4);
+
+        // Act
+        WebhookSender.Backoff backoff = sender.attemptDelivery(webhook, webhookLog, paymentResponse, null);
+
+        // Assert — recorded before returning, so the scheduler may start the next event
+        assertThat(backoff).isNull();
+        verify(webhookLogService).handleSuccess(eq(webhookLog), any());
+        assertThat(deliveryStats.snapshot(webhook.getId()).succeeded()).isEqualTo(1);
+        assertThat(deliveryStats.snapshot(webhook.getId()).attemptLatency().max()).isGreaterThanOrEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should hand an ordered webhook's retries back to the scheduler instead of retrying itself")
+    void attemptDelivery_ordered5xx_returnsBackoffThenFails() {
+        // Arrange
+        webhook.setOrderedDelivery(true);
+        AtomicInteger attempts = new AtomicInteger();
+        sender = newSender(request -> {
+            attempts.incrementAndGet();
+            return Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build());
+        }, 4);
+
+        // Act
+        WebhookSender.Backoff first = sender.attemptDelivery(webhook, webhookLog, paymentResponse, null);
+        WebhookSender.Backoff second = sender.attemptDelivery(webhook, webhookLog, paymentResponse, first.retries());
+        WebhookSender.Backoff done = sender.attemptDelivery(webhook, webhookLog, paymentResponse, second.retries());
+
+        // Assert
+        assertThat(first.delay()).isEqualTo(Duration.ofMillis(10));
+        assertThat(done).isNull();
+        assertThat(attempts).hasValue(3);
+        ArgumentCaptor<Exception> captor = ArgumentCaptor.forClass(Exception.class);
+        verify(webhookLogService).handleFailure(eq(webhookLog), captor.capture());
+        assertThat(((WebhookException) captor.getValue()).getErrorCode()).isEqualTo(ErrorCode.WEBHOOK_SENDING_FAILED);
+        WebhookDeliveryStats.Snapshot snapshot = deliveryStats.snapshot(webhook.getId());
+        assertThat(snapshot.failed()).isEqualTo(1);
+        assertThat(snapshot.attempts()).isEqualTo(3);
+        assertThat(snapshot.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should hand an unordered webhook's delivery to the pipeline")
+    void attemptDelivery_unordered_usesPipeline() {
+        // Arrange
+        sender = newSender(request -> Mono.just(ClientResponse.create(HttpStatus.OK).body("received").build()), 4);
+
+        // Act
+        WebhookSender.Backoff backoff = sender.attemptDelivery(webhook, webhookLog, paymentResponse, null);
+
+        // Assert
+        assertThat(backoff).isNull();
+        verify(webhookLogService, timeout(2000)).handleSuccess(eq(webhookLog), any());
+    }
+
+    private ReactiveWebhookSender newSender(ExchangeFunction exchangeFunction, int maxConcurrency) {
+        WebhookRetryPolicy retryPolicy = new WebhookRetryPolicy(3, Duration.ofMillis(10), Duration.ofMillis(10),
+                Duration.ofSeconds(60), new RetryBudget(2, 0, 100, Clock.systemUTC()), millis -> {}, Clock.systemUTC());
+        return new ReactiveWebhookSender(WebClient.builder().exchangeFunction(exchangeFunction),
+                webhookLogService, retryPolicy, deliveryStats, maxConcurrency, 1000, Duration.ofSeconds(1));
+    }
+}
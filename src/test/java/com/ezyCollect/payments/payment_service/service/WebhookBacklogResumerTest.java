@@ -0,0 +1,40 @@
+package com.ezyCollect.payments.payment_service.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class WebhookBacklogResumerTest {
+
+    @Mock
+    private WebhookService webhookService;
+
+    @InjectMocks
+    private WebhookBacklogResumer webhookBacklogResumer;
+
+    @Test
+    @DisplayName("Should resume pending deliveries when started")
+    void start_resumesPendingDeliveries() {
+        // Act
+        webhookBacklogResumer.start();
+
+        // Assert
+        verify(webhookService).resumePendingDeliveries();
+        assertThat(webhookBacklogResumer.isRunning()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should start before the web server, which starts below its graceful shutdown phase")
+    void getPhase_beforeWebServer() {
+        assertThat(webhookBacklogResumer.getPhase())
+                .isLessThan(WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1024);
+    }
+}
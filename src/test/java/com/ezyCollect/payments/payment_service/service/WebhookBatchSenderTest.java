@@ -0,0 +1,241 @@
+package com.ezyCollect.payments.payment_service.service;
+
+import com.ezyCollect.payments.payment_service.dto.PaymentResponse;
+import com.ezyCollect.payments.payment_service.dto.WebhookBatchEvent;
+import com.ezyCollect.payments.payment_service.entity.Webhook;
+import com.ezyCollect.payments.payment_service.entity.WebhookLog;
+import com.ezyCollect.payments.payment_service.exception.ErrorCode;
+import com.ezyCollect.payments.payment_service.exception.WebhookException;
+import com.ezyCollect.payments.payment_service.util.RetryBudget;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WebhookBatchSenderTest {
+
+    @Mock
+    private WebhookLogService webhookLogService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private WebhookBatchSender webhookBatchSender;
+
+    private final List<Long> sleeps = new ArrayList<>();
+    private final WebhookDeliveryStats deliveryStats = new WebhookDeliveryStats(5);
+
+    private Webhook webhook;
+    private List<WebhookLog> webhookLogs;
+    private List<WebhookBatchEvent> events;
+
+    @BeforeEach
+    void setUp() {
+        // sleeps would be recorded instead of taken, though batches never sleep; a budget of two retries per delivery never limits these tests
+        WebhookRetryPolicy retryPolicy = new WebhookRetryPolicy(3, Duration.ofMillis(10), Duration.ofMillis(100),
+                Duration.ofSeconds(60), new RetryBudget(2, 0, 100, Clock.systemUTC()), sleeps::add, Clock.systemUTC());
+        webhookBatchSender = new WebhookBatchSender(webhookLogService, objectMapper, retryPolicy, deliveryStats);
+
+        webhook = Webhook.builder()
+                .id(1L)
+                .url("http://localhost:8080/v1/webhooks/receive")
+                .active(true)
+                .batchDelivery(true)
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        webhookLogs = List.of(
+                WebhookLog.builder().id(7L).url(webhook.getUrl()).build(),
+                WebhookLog.builder().id(8L).url(webhook.getUrl()).build());
+
+        events = List.of(
+                new WebhookBatchEvent(7L, PaymentResponse.builder().status("SUCCESS").transactionId("42").build()),
+                new WebhookBatchEvent(8L, PaymentResponse.builder().status("SUCCESS").transactionId("43").build()));
+    }
+
+    // ─── Wire format ──────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should serialize each batch element as the single-event payload plus its eventId")
+    void batchEvent_serializesFlat() throws Exception {
+        assertThat(objectMapper.writeValueAsString(events.get(0)))
+                .isEqualTo("{\"eventId\":7,\"status\":\"SUCCESS\",\"transactionId\":\"42\"}");
+    }
+
+    // ─── attemptBatch ────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should accept every event when the subscriber returns 2xx without results")
+    void attemptBatch_emptyBody_acceptsAll() {
+        // Arrange
+        ResponseEntity<String> response = ResponseEntity.ok(null);
+        when(webhookLogService.executeBatchCall(webhook, events)).thenReturn(response);
+
+        // Act
+        WebhookSender.Backoff backoff = webhookBatchSender.attemptBatch(webhook, webhookLogs, events, null);
+
+        // Assert
+        assertThat(backoff).isNull();
+        verify(webhookLogService).handleBatchResult(webhookLogs, response, Map.of());
+        assertThat(deliveryStats.snapshot(webhook.getId()).succeeded()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should report only the events the subscriber rejected")
+    void attemptBatch_partialFailure_reportsRejected() {
+        // Arrange
+        ResponseEntity<String> response = ResponseEntity.ok("""
+                {"results":[
+                  {"eventId":7,"accepted":true},
+                  {"eventId":8,"accepted":false,"error":"unknown merchant"}
+                ]}""");
+        when(webhookLogService.executeBatchCall(webhook, events)).thenReturn(response);
+
+        // Act
+        webhookBatchSender.attemptBatch(webhook, webhookLogs, events, null);
+
+        // Assert
+        verify(webhookLogService).handleBatchResult(webhookLogs, response, Map.of(8L, "unknown merchant"));
+    }
+
+    @Test
+    @DisplayName("Should treat an unrecognised 2xx body as accepting every event")
+    void attemptBatch_unrecognisedBody_acceptsAll() {
+        // Arrange
+        ResponseEntity<String> response = ResponseEntity.ok("OK");
+        when(webhookLogService.executeBatchCall(webhook, events)).thenReturn(response);
+
+        // Act
+        webhookBatchSender.attemptBatch(webhook, webhookLogs, events, null);
+
+        // Assert
+        verify(webhookLogService).handleBatchResult(webhookLogs, response, Map.of());
+    }
+
+    @Test
+    @DisplayName("Should throw WEBHOOK_SENDING_FAILED for a 503 response so the batch is retried")
+    void attempt_non2xx_throws() {
+        // Arrange
+        when(webhookLogService.executeBatchCall(webhook, events))
+                .thenReturn(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+
+        // Act & Assert
+        WebhookException ex = catchThrowableOfType(
+                () -> webhookBatchSender.attempt(webhook, events),
+                WebhookException.class);
+
+        assertThat(ex.getErrorCode()).isEqualTo(ErrorCode.WEBHOOK_SENDING_FAILED);
+        verify(webhookLogService, never()).handleBatchResult(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should throw WEBHOOK_ACCESS_FAILED when the subscriber is unreachable")
+    void attempt_unreachable_throws() {
+        // Arrange
+        when(webhookLogService.executeBatchCall(webhook, events))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+
+        // Act & Assert
+        WebhookException ex = catchThrowableOfType(
+                () -> webhookBatchSender.attempt(webhook, events),
+                WebhookException.class);
+
+        assertThat(ex.getErrorCode()).isEqualTo(ErrorCode.WEBHOOK_ACCESS_FAILED);
+    }
+
+    @Test
+    @DisplayName("Should fail the whole batch after a 400 without retrying")
+    void attemptBatch_400_failsWithoutRetry() {
+        // Arrange
+        when(webhookLogService.executeBatchCall(webhook, events))
+                .thenReturn(ResponseEntity.status(HttpStatus.BAD_REQUEST).build());
+
+        // Act
+        WebhookSender.Backoff backoff = webhookBatchSender.attemptBatch(webhook, webhookLogs, events, null);
+
+        // Assert
+        assertThat(backoff).isNull();
+        verify(webhookLogService, times(1)).executeBatchCall(webhook, events);
+        ArgumentCaptor<WebhookException> captor = ArgumentCaptor.forClass(WebhookException.class);
+        verify(webhookLogService).handleBatchFailure(eq(webhookLogs), captor.capture());
+        assertThat(captor.getValue().getErrorCode()).isEqualTo(ErrorCode.WEBHOOK_REJECTED);
+        assertThat(deliveryStats.snapshot(webhook.getId()).failed()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should hand back the backoff for an unreachable subscriber and record the batch once it answers")
+    void attemptBatch_unreachableThenOk_returnsBackoff() {
+        // Arrange
+        ResponseEntity<String> response = ResponseEntity.ok(null);
+        when(webhookLogService.executeBatchCall(webhook, events))
+                .thenThrow(new ResourceAccessException("Connection refused"))
+                .thenReturn(response);
+
+        // Act
+        WebhookSender.Backoff backoff = webhookBatchSender.attemptBatch(webhook, webhookLogs, events, null);
+        WebhookSender.Backoff done = webhookBatchSender.attemptBatch(webhook, webhookLogs, events, backoff.retries());
+
+        // Assert — the caller waits out the delay; this thread never sleeps
+        assertThat(backoff.delay()).isBetween(Duration.ofMillis(10), Duration.ofMillis(100));
+        assertThat(done).isNull();
+        verify(webhookLogService, times(2)).executeBatchCall(webhook, events);
+        verify(webhookLogService).handleBatchResult(webhookLogs, response, Map.of());
+        verify(webhookLogService, never()).handleBatchFailure(any(), any());
+        assertThat(sleeps).isEmpty();
+        assertThat(deliveryStats.snapshot(webhook.getId()).succeeded()).isEqualTo(1);
+        assertThat(deliveryStats.snapshot(webhook.getId()).attempts()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should fail the whole batch once retries are used up")
+    void attemptBatch_retriesExhausted_failsBatch() {
+        // Arrange
+        when(webhookLogService.executeBatchCall(webhook, events))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+
+        // Act
+        WebhookSender.Backoff backoff = webhookBatchSender.attemptBatch(webhook, webhookLogs, events, null);
+        backoff = webhookBatchSender.attemptBatch(webhook, webhookLogs, events, backoff.retries());
+        WebhookSender.Backoff done = webhookBatchSender.attemptBatch(webhook, webhookLogs, events, backoff.retries());
+
+        // Assert
+        assertThat(done).isNull();
+        verify(webhookLogService, times(3)).executeBatchCall(webhook, events);
+        ArgumentCaptor<WebhookException> captor = ArgumentCaptor.forClass(WebhookException.class);
+        verify(webhookLogService).handleBatchFailure(eq(webhookLogs), captor.capture());
+        assertThat(captor.getValue().getErrorCode()).isEqualTo(ErrorCode.WEBHOOK_ACCESS_FAILED);
+    }
+
+    // ─── recover ──────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should fail every event of the batch after retries are exhausted")
+    void recover_failsWholeBatch() {
+        // Arrange
+        WebhookException ex = new WebhookException(ErrorCode.WEBHOOK_SENDING_FAILED);
+
+        // Act
+        webhookBatchSender.recover(ex, webhook, webhookLogs, events);
+
+        // Assert
+        verify(webhookLogService).handleBatchFailure(webhookLogs, ex);
+    }
+}
@@ -0,0 +1,132 @@
+package com.ezyCollect.payments.payment_service.service;
+
+import com.ezyCollect.payments.payment_service.dto.PaymentResponse;
+import com.ezyCollect.payments.payment_service.dto.WebhookBatchEvent;
+import com.ezyCollect.payments.payment_service.entity.Webhook;
+import com.ezyCollect.payments.payment_service.entity.WebhookLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WebhookBatcherTest {
+
+    private static final int MAX_SIZE = 3;
+
+    @Mock
+    private WebhookDeliveryScheduler webhookDeliveryScheduler;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Mock
+    private ScheduledFuture<Object> lingerTimer;
+
+    @Captor
+    private ArgumentCaptor<List<WebhookBatchEvent>> events;
+
+    @Captor
+    private ArgumentCaptor<List<WebhookLog>> logs;
+
+    private WebhookBatcher webhookBatcher;
+    private Webhook webhook;
+
+    @BeforeEach
+    void setUp() {
+        lenient().doReturn(lingerTimer).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        webhookBatcher = new WebhookBatcher(webhookDeliveryScheduler, taskScheduler, MAX_SIZE, Duration.ofMillis(200));
+
+        webhook = Webhook.builder()
+                .id(1L)
+                .url("http://localhost:8080/v1/webhooks/receive")
+                .active(true)
+                .batchDelivery(true)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    // ─── Size threshold ───────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should queue one batch as soon as max-size events are waiting")
+    void enqueue_reachesMaxSize_queuesOneBatch() {
+        // Act
+        for (long id = 1; id <= MAX_SIZE; id++) {
+            webhookBatcher.enqueue(webhook, log(id), payment(id));
+        }
+
+        // Assert
+        verify(webhookDeliveryScheduler, times(1)).submitBatch(eq(webhook), any(), events.capture());
+        assertThat(events.getValue()).extracting(WebhookBatchEvent::eventId).containsExactly(1L, 2L, 3L);
+        verify(lingerTimer).cancel(false);
+    }
+
+    @Test
+    @DisplayName("Should not queue anything before the threshold or the linger timeout")
+    void enqueue_belowMaxSize_waits() {
+        // Act
+        webhookBatcher.enqueue(webhook, log(1L), payment(1L));
+        webhookBatcher.enqueue(webhook, log(2L), payment(2L));
+
+        // Assert — one timer for the batch, started by its first event
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+        verifyNoInteractions(webhookDeliveryScheduler);
+    }
+
+    // ─── Linger timeout ───────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should queue a partial batch when the linger timeout fires")
+    void lingerTimeout_queuesPartialBatch() {
+        // Arrange
+        ArgumentCaptor<Runnable> timer = ArgumentCaptor.forClass(Runnable.class);
+        webhookBatcher.enqueue(webhook, log(1L), payment(1L));
+        webhookBatcher.enqueue(webhook, log(2L), payment(2L));
+        verify(taskScheduler).schedule(timer.capture(), any(Instant.class));
+
+        // Act
+        timer.getValue().run();
+
+        // Assert
+        verify(webhookDeliveryScheduler).submitBatch(eq(webhook), logs.capture(), any());
+        assertThat(logs.getValue()).extracting(WebhookLog::getId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should keep separate batches per webhook")
+    void enqueue_differentWebhooks_batchedSeparately() {
+        // Arrange
+        Webhook other = Webhook.builder().id(2L).url("http://example.com/webhook").active(true).batchDelivery(true).build();
+
+        // Act
+        webhookBatcher.enqueue(webhook, log(1L), payment(1L));
+        webhookBatcher.enqueue(other, log(2L), payment(2L));
+
+        // Assert
+        verify(taskScheduler, times(2)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    private WebhookLog log(Long id) {
+        return WebhookLog.builder().id(id).webhookId(webhook.getId()).url(webhook.getUrl()).build();
+    }
+
+    private static PaymentResponse payment(Long id) {
+        return PaymentResponse.builder().status("SUCCESS").transactionId(id.toString()).build();
+    }
+}
@@ -0,0 +1,151 @@
+package com.ezyCollect.payments.payment_service.service;
+
+import com.ezyCollect.payments.payment_service.repository.WebhookEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WebhookDedupeServiceTest {
+
+    @Mock
+    private WebhookEventRepository webhookEventRepository;
+
+    private WebhookDedupeService webhookDedupeService;
+
+    @BeforeEach
+    void setUp() {
+        webhookDedupeService = new WebhookDedupeService(webhookEventRepository, 1_000, 0.01, Duration.ofHours(24), 100);
+    }
+
+    // ─── isDuplicate ──────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should treat a first-seen event as new without touching the database")
+    void isDuplicate_firstDelivery_answersFromMemory() {
+        assertThat(webhookDedupeService.isDuplicate("evt_1")).isFalse();
+
+        verifyNoInteractions(webhookEventRepository);
+    }
+
+    @Test
+    @DisplayName("Should confirm a repeat delivery against the event table")
+    void isDuplicate_repeatDelivery_confirmedByTable() {
+        // Arrange
+        webhookDedupeService.isDuplicate("evt_1");
+        when(webhookEventRepository.existsByEventKey("evt_1")).thenReturn(true);
+
+        // Act & Assert
+        assertThat(webhookDedupeService.isDuplicate("evt_1")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should treat a possible duplicate as new when the table has no row for it")
+    void isDuplicate_notYetClaimed_isNew() {
+        // Arrange — e.g. the first delivery is still being processed, or a bloom false positive
+        webhookDedupeService.isDuplicate("evt_1");
+        when(webhookEventRepository.existsByEventKey("evt_1")).thenReturn(false);
+
+        // Act & Assert
+        assertThat(webhookDedupeService.isDuplicate("evt_1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should fail open when the event table cannot be read")
+    void isDuplicate_lookupFails_isNew() {
+        // Arrange
+        webhookDedupeService.isDuplicate("evt_1");
+        when(webhookEventRepository.existsByEventKey(anyString()))
+                .thenThrow(new DataAccessResourceFailureException("DB down"));
+
+        // Act & Assert
+        assertThat(webhookDedupeService.isDuplicate("evt_1")).isFalse();
+    }
+
+    // ─── purgeExpired ────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should delete rows older than the window in batches until a short batch")
+    void purgeExpired_deletesInBatchesUntilDone() {
+        // Arrange
+        when(webhookEventRepository.deleteReceivedBefore(any(LocalDateTime.class), eq(100)))
+                .thenReturn(100, 100, 42);
+        LocalDateTime before = LocalDateTime.now().minusHours(24);
+
+        // Act
+        webhookDedupeService.purgeExpired();
+
+        // Assert — one cutoff, one window back
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(webhookEventRepository, times(3)).deleteReceivedBefore(cutoff.capture(), eq(100));
+        assertThat(cutoff.getAllValues()).containsOnly(cutoff.getValue());
+        assertThat(cutoff.getValue()).isBetween(before, LocalDateTime.now().minusHours(24));
+    }
+
+    @Test
+    @DisplayName("Should leave remaining rows for the next run when a delete fails")
+    void purgeExpired_deleteFails_stops() {
+        // Arrange
+        when(webhookEventRepository.deleteReceivedBefore(any(LocalDateTime.class), anyInt()))
+                .thenReturn(100)
+                .thenThrow(new DataAccessResourceFailureException("DB down"));
+
+        // Act & Assert
+        assertThatCode(webhookDedupeService::purgeExpired).doesNotThrowAnyException();
+        verify(webhookEventRepository, times(2)).deleteReceivedBefore(any(LocalDateTime.class), anyInt());
+    }
+
+    // ─── eventKey ─────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should key on X-Event-Id when present, else on a digest of the body")
+    void eventKey_prefersEventId() {
+        assertThat(WebhookDedupeService.eventKey("evt_1", body("42", "SUCCESS"))).isEqualTo("evt_1");
+        assertThat(WebhookDedupeService.eventKey(" ", body("42", "SUCCESS")))
+                .startsWith("body:")
+                .isEqualTo(WebhookDedupeService.eventKey(null, body("42", "SUCCESS")));
+    }
+
+    @Test
+    @DisplayName("Should give different events of one transaction different keys without X-Event-Id")
+    void eventKey_sameTransactionDifferentEvents_distinctKeys() {
+        // Arrange
+        String pending = WebhookDedupeService.eventKey(null, body("42", "PENDING"));
+        String success = WebhookDedupeService.eventKey(null, body("42", "SUCCESS"));
+
+        // Act & Assert — the later event is new, a redelivery of it is not
+        assertThat(pending).isNotEqualTo(success);
+        assertThat(webhookDedupeService.isDuplicate(pending)).isFalse();
+        assertThat(webhookDedupeService.isDuplicate(success)).isFalse();
+        verifyNoInteractions(webhookEventRepository);
+    }
+
+    @Test
+    @DisplayName("Should hash event ids longer than the indexed column")
+    void eventKey_oversizedId_hashed() {
+        String key = WebhookDedupeService.eventKey("e".repeat(200), body("42", "SUCCESS"));
+
+        assertThat(key).hasSize(64).matches("[0-9a-f]+");
+    }
+
+    private static byte[] body(String transactionId, String status) {
+        return ("{\"transactionId\":\"" + transactionId + "\",\"status\":\"" + status + "\"}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+}
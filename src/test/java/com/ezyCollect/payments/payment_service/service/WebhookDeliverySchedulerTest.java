@@ -0,0 +1,315 @@
+package com.ezyCollect.payments.payment_service.service;
+
+import com.ezyCollect.payments.payment_service.dto.PaymentResponse;
+import com.ezyCollect.payments.payment_service.dto.WebhookBatchEvent;
+import com.ezyCollect.payments.payment_service.entity.Webhook;
+import com.ezyCollect.payments.payment_service.entity.WebhookLog;
+import com.ezyCollect.payments.payment_service.exception.WebhookException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WebhookDeliverySchedulerTest {
+
+    @Mock
+    private WebhookSender webhookSender;
+
+    @Mock
+    private WebhookBatchSender webhookBatchSender;
+
+    @Mock
+    private WebhookLogService webhookLogService;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private WebhookDeliveryScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    // ─── Deficit round-robin ──────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should serve webhooks in proportion to their delivery weight")
+    void poll_servesByWeight() {
+        // Arrange — workers are not started; the test drives poll/complete itself
+        scheduler = new WebhookDeliveryScheduler(webhookSender, webhookBatchSender, webhookLogService, taskScheduler, 0, 100, 1000);
+        Webhook heavy = webhook(1L, 3);
+        Webhook light = webhook(2L, 1);
+        for (int i = 0; i < 6; i++) {
+            scheduler.submit(heavy, log(i), payment(i));
+            scheduler.submit(light, log(100 + i), payment(100 + i));
+        }
+
+        // Act
+        List<Long> order = drain(8);
+
+        // Assert — three for the weight-3 webhook, then one for the weight-1 webhook
+        assertThat(order).containsExactly(1L, 1L, 1L, 2L, 1L, 1L, 1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should serve a fresh delivery within one round despite another webhook's backlog")
+    void poll_backlogDoesNotStarveFreshDelivery() {
+        // Arrange
+        scheduler = new WebhookDeliveryScheduler(webhookSender, webhookBatchSender, webhookLogService, taskScheduler, 0, 100, 10_000);
+        Webhook backlogged = webhook(1L, 1);
+        Webhook healthy = webhook(2L, 1);
+        for (int i = 0; i < 5_000; i++) {
+            scheduler.submit(backlogged, log(i), payment(i));
+        }
+        scheduler.submit(healthy, log(9_999), payment(9_999));
+
+        // Act
+        List<Long> order = drain(2);
+
+        // Assert
+        assertThat(order).containsExactly(1L, 2L);
+        assertThat(scheduler.queuedDeliveries()).isEqualTo(4_999);
+    }
+
+    @Test
+    @DisplayName("Should skip a webhook at its in-flight limit until one of its deliveries completes")
+    void poll_inFlightLimit_skipsWebhook() {
+        // Arrange
+        scheduler = new WebhookDeliveryScheduler(webhookSender, webhookBatchSender, webhookLogService, taskScheduler, 0, 2, 1000);
+        Webhook slow = webhook(1L, 10);
+        for (int i = 0; i < 5; i++) {
+            scheduler.submit(slow, log(i), payment(i));
+        }
+        WebhookDeliveryScheduler.Delivery first = scheduler.poll();
+        scheduler.poll();
+
+        // Act & Assert — both slots taken
+        assertThat(scheduler.poll()).isNull();
+
+        scheduler.complete(first);
+        assertThat(scheduler.poll()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should hold back an ordered webhook's next delivery until the previous one completes")
+    void poll_orderedWebhook_oneInFlightInQueueOrder() {
+        // Arrange
+        scheduler = new WebhookDeliveryScheduler(webhookSender, webhookBatchSender, webhookLogService, taskScheduler, 0, 4, 1000);
+        Webhook ordered = webhook(1L, 10);
+        ordered.setOrderedDelivery(true);
+        for (int i = 0; i < 3; i++) {
+            scheduler.submit(ordered, log(i), payment(i));
+        }
+
+        // Act & Assert
+        WebhookDeliveryScheduler.Delivery first = scheduler.poll();
+        assertThat(first.webhookLog().getId()).isEqualTo(0L);
+        assertThat(scheduler.poll()).isNull();
+
+        scheduler.complete(first);
+        assertThat(scheduler.poll().webhookLog().getId()).isEqualTo(1L);
+    }
+
+    // ─── Retries ──────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should serve a delivery back from its backoff before the webhook's pending ones, in its held slot")
+    void requeue_retryServedFirstInHeldSlot() {
+        // Arrange
+        scheduler = new WebhookDeliveryScheduler(webhookSender, webhookBatchSender, webhookLogService, taskScheduler, 0, 4, 1000);
+        Webhook ordered = webhook(1L, 1);
+        ordered.setOrderedDelivery(true);
+        scheduler.submit(ordered, log(0), payment(0));
+        scheduler.submit(ordered, log(1), payment(1));
+        WebhookDeliveryScheduler.Delivery first = scheduler.poll();
+
+        // Act & Assert — while the first delivery backs off, the next one still waits
+        assertThat(scheduler.poll()).isNull();
+
+        scheduler.requeue(first);
+        WebhookDeliveryScheduler.Delivery retried = scheduler.poll();
+        assertThat(retried.webhookLog().getId()).isEqualTo(0L);
+        assertThat(scheduler.poll()).isNull();
+
+        scheduler.complete(retried);
+        assertThat(scheduler.poll().webhookLog().getId()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should keep delivering to other webhooks while one backs off, without holding a worker")
+    void start_backoff_doesNotBlockWorker() throws Exception {
+        // Arrange — a single worker; webhook 1 fails with a 30s backoff
+        Webhook failing = webhook(1L, 1);
+        Webhook healthy = webhook(2L, 1);
+        CountDownLatch delivered = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            Webhook webhook = invocation.getArgument(0);
+            if (webhook.getId().equals(failing.getId())) {
+                return new WebhookSender.Backoff(null, Duration.ofSeconds(30));
+            }
+            delivered.countDown();
+            return null;
+        }).when(webhookSender).attemptDelivery(any(), any(), any(), any());
+        scheduler = new WebhookDeliveryScheduler(webhookSender, webhookBatchSender, webhookLogService, taskScheduler, 1, 4, 1000);
+        scheduler.start();
+
+        // Act
+        Instant before = Instant.now();
+        scheduler.submit(failing, log(1), payment(1));
+        scheduler.submit(healthy, log(2), payment(2));
+
+        // Assert
+        assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        ArgumentCaptor<Instant> notBefore = ArgumentCaptor.forClass(Instant.class);
+        verify(taskScheduler, timeout(5000)).schedule(any(Runnable.class), notBefore.capture());
+        assertThat(notBefore.getValue()).isAfterOrEqualTo(before.plusSeconds(30));
+    }
+
+    // ─── Capacity ─────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should fail the delivery instead of queueing past capacity")
+    void submit_full_failsDelivery() {
+        // Arrange
+        scheduler = new WebhookDeliveryScheduler(webhookSender, webhookBatchSender, webhookLogService, taskScheduler, 0, 4, 1);
+        Webhook webhook = webhook(1L, 1);
+        scheduler.submit(webhook, log(1), payment(1));
+        WebhookLog overflow = log(2);
+
+        // Act
+        scheduler.submit(webhook, overflow, payment(2));
+
+        // Assert
+        verify(webhookLogService).handleFailure(eq(overflow), any(WebhookException.class));
+        assertThat(scheduler.queuedDeliveries()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fail every event of a batch instead of queueing it past capacity")
+    void submitBatch_full_failsBatch() {
+        // Arrange
+        scheduler = new WebhookDeliveryScheduler(webhookSender, webhookBatchSender, webhookLogService, taskScheduler, 0, 4, 1);
+        Webhook webhook = webhook(1L, 1);
+        scheduler.submit(webhook, log(1), payment(1));
+        List<WebhookLog> logs = List.of(log(2), log(3));
+        List<WebhookBatchEvent> events = List.of(new WebhookBatchEvent(2L, payment(2)), new WebhookBatchEvent(3L, payment(3)));
+
+        // Act
+        scheduler.submitBatch(webhook, logs, events);
+
+        // Assert
+        verify(webhookBatchSender).recover(any(WebhookException.class), eq(webhook), eq(logs), eq(events));
+        assertThat(scheduler.queuedDeliveries()).isEqualTo(1);
+    }
+
+    // ─── Workers ──────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should deliver queued events on the worker threads")
+    void start_workersDeliver() throws Exception {
+        // Arrange
+        CountDownLatch delivered = new CountDownLatch(3);
+        doAnswer(invocation -> {
+            delivered.countDown();
+            return null;
+        }).when(webhookSender).attemptDelivery(any(), any(), any(), any());
+        scheduler = new WebhookDeliveryScheduler(webhookSender, webhookBatchSender, webhookLogService, taskScheduler, 2, 4, 1000);
+        scheduler.start();
+        Webhook webhook = webhook(1L, 1);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            scheduler.submit(webhook, log(i), payment(i));
+        }
+
+        // Assert
+        assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should send batches on the worker threads and re-queue them after a backoff")
+    void start_workersSendBatches() throws Exception {
+        // Arrange — the first attempt fails with a backoff, the retry succeeds
+        CountDownLatch sent = new CountDownLatch(1);
+        WebhookSender.Backoff backoff = new WebhookSender.Backoff(null, Duration.ofSeconds(2));
+        when(webhookBatchSender.attemptBatch(any(), any(), any(), any())).thenReturn(backoff).thenAnswer(invocation -> {
+            sent.countDown();
+            return null;
+        });
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        scheduler = new WebhookDeliveryScheduler(webhookSender, webhookBatchSender, webhookLogService, taskScheduler, 1, 4, 1000);
+        scheduler.start();
+        Webhook webhook = webhook(1L, 1);
+        List<WebhookLog> logs = List.of(log(1), log(2));
+        List<WebhookBatchEvent> events = List.of(new WebhookBatchEvent(1L, payment(1)), new WebhookBatchEvent(2L, payment(2)));
+
+        // Act
+        scheduler.submitBatch(webhook, logs, events);
+
+        // Assert
+        assertThat(sent.await(5, TimeUnit.SECONDS)).isTrue();
+        verify(webhookBatchSender, times(2)).attemptBatch(eq(webhook), eq(logs), eq(events), any());
+        verifyNoInteractions(webhookSender);
+    }
+
+    @Test
+    @DisplayName("Should count a batch against its webhook's in-flight limit")
+    void poll_batch_heldToInFlightLimit() {
+        // Arrange
+        scheduler = new WebhookDeliveryScheduler(webhookSender, webhookBatchSender, webhookLogService, taskScheduler, 0, 1, 1000);
+        Webhook webhook = webhook(1L, 10);
+        scheduler.submitBatch(webhook, List.of(log(1)), List.of(new WebhookBatchEvent(1L, payment(1))));
+        scheduler.submitBatch(webhook, List.of(log(2)), List.of(new WebhookBatchEvent(2L, payment(2))));
+
+        // Act & Assert
+        WebhookDeliveryScheduler.Delivery first = scheduler.poll();
+        assertThat(first.batch().webhookLogs()).extracting(WebhookLog::getId).containsExactly(1L);
+        assertThat(scheduler.poll()).isNull();
+
+        scheduler.complete(first);
+        assertThat(scheduler.poll().batch().webhookLogs()).extracting(WebhookLog::getId).containsExactly(2L);
+    }
+
+    private List<Long> drain(int count) {
+        List<Long> webhookIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            WebhookDeliveryScheduler.Delivery delivery = scheduler.poll();
+            webhookIds.add(delivery.webhook().getId());
+            scheduler.complete(delivery);
+        }
+        return webhookIds;
+    }
+
+    private static Webhook webhook(Long id, int weight) {
+        return Webhook.builder().id(id).url("http://example.com/webhook/" + id).active(true).deliveryWeight(weight).build();
+    }
+
+    private static WebhookLog log(long id) {
+        return WebhookLog.builder().id(id).build();
+    }
+
+    private static PaymentResponse payment(long id) {
+        return PaymentResponse.builder().status("SUCCESS").transactionId(Long.toString(id)).build();
+    }
+}
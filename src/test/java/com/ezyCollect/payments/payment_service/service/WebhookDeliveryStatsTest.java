@@ -0,0 +1,155 @@
+package com.ezyCollect.payments.payment_service.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class WebhookDeliveryStatsTest {
+
+    private static final Long WEBHOOK_ID = 1L;
+
+    private final WebhookDeliveryStats stats = new WebhookDeliveryStats(3);
+
+    // ─── counters ─────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should report in-flight deliveries, outcome rates and retries")
+    void snapshot_countsDeliveries() {
+        // Arrange — one success after a retry, one failure after two retries, one in its first attempt
+        deliver(true, 2);
+        deliver(false, 3);
+        stats.deliveryStarted(WEBHOOK_ID);
+        stats.attemptStarted(WEBHOOK_ID);
+
+        // Act
+        WebhookDeliveryStats.Snapshot snapshot = stats.snapshot(WEBHOOK_ID);
+
+        // Assert
+        assertThat(snapshot.inFlight()).isEqualTo(1);
+        assertThat(snapshot.succeeded()).isEqualTo(1);
+        assertThat(snapshot.failed()).isEqualTo(1);
+        assertThat(snapshot.successRate()).isEqualTo(0.5);
+        assertThat(snapshot.failureRate()).isEqualTo(0.5);
+        assertThat(snapshot.attempts()).isEqualTo(6);
+        assertThat(snapshot.retries()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should report nothing for a webhook without deliveries")
+    void snapshot_unknownWebhook_null() {
+        assertThat(stats.snapshot(WEBHOOK_ID)).isNull();
+        assertThat(stats.snapshot()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should key the full snapshot by webhook id")
+    void snapshot_allWebhooks() {
+        // Arrange
+        deliver(true, 1);
+        stats.deliveryStarted(2L);
+
+        // Act & Assert
+        assertThat(stats.snapshot()).containsOnlyKeys(1L, 2L);
+    }
+
+    // ─── circuit ──────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should open the circuit after consecutive failures and close it on a success")
+    void circuit_followsConsecutiveFailures() {
+        // Act & Assert
+        deliver(false, 1);
+        deliver(false, 1);
+        assertThat(stats.snapshot(WEBHOOK_ID).circuit()).isEqualTo(WebhookDeliveryStats.CIRCUIT_CLOSED);
+
+        deliver(false, 1);
+        assertThat(stats.snapshot(WEBHOOK_ID).circuit()).isEqualTo(WebhookDeliveryStats.CIRCUIT_OPEN);
+        assertThat(stats.snapshot(WEBHOOK_ID).consecutiveFailures()).isEqualTo(3);
+
+        deliver(true, 1);
+        assertThat(stats.snapshot(WEBHOOK_ID).circuit()).isEqualTo(WebhookDeliveryStats.CIRCUIT_CLOSED);
+    }
+
+    // ─── latency ──────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should report latency percentiles in milliseconds across snapshots")
+    void latency_percentiles() {
+        // Arrange — 1ms to 100ms
+        for (int ms = 1; ms <= 100; ms++) {
+            stats.attemptCompleted(WEBHOOK_ID, TimeUnit.MILLISECONDS.toNanos(ms));
+        }
+        stats.snapshot(WEBHOOK_ID);
+        stats.attemptCompleted(WEBHOOK_ID, TimeUnit.MILLISECONDS.toNanos(100));
+
+        // Act
+        WebhookDeliveryStats.Latency latency = stats.snapshot(WEBHOOK_ID).attemptLatency();
+
+        // Assert — values recorded before the first snapshot are kept
+        assertThat(latency.count()).isEqualTo(101);
+        assertThat(latency.p50()).isCloseTo(51, within(1.0));
+        assertThat(latency.p99()).isCloseTo(100, within(1.0));
+        assertThat(latency.max()).isCloseTo(100, within(1.0));
+    }
+
+    @Test
+    @DisplayName("Should record latencies beyond the histogram range as the maximum")
+    void latency_outOfRange_clamped() {
+        // Act
+        stats.attemptCompleted(WEBHOOK_ID, TimeUnit.HOURS.toNanos(2));
+        stats.attemptCompleted(WEBHOOK_ID, -1);
+
+        // Assert
+        WebhookDeliveryStats.Latency latency = stats.snapshot(WEBHOOK_ID).attemptLatency();
+        assertThat(latency.count()).isEqualTo(2);
+        assertThat(latency.max()).isCloseTo(TimeUnit.MINUTES.toMillis(10), within(10_000.0));
+    }
+
+    // ─── allocation ───────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should not allocate when recording for a known webhook")
+    void record_allocationFree() {
+        // Arrange
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < 20_000; i++) {
+            record(i);
+        }
+
+        // Act
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 10_000; i++) {
+            record(i);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        // Assert — a single allocation per recording would be at least 160KB
+        assertThat(allocated).isLessThan(1024);
+    }
+
+    private void record(int i) {
+        stats.deliveryStarted(WEBHOOK_ID);
+        stats.attemptStarted(WEBHOOK_ID);
+        stats.attemptCompleted(WEBHOOK_ID, i * 1000L);
+        stats.deliverySucceeded(WEBHOOK_ID, i * 1000L);
+    }
+
+    private void deliver(boolean success, int attempts) {
+        stats.deliveryStarted(WEBHOOK_ID);
+        for (int i = 0; i < attempts; i++) {
+            stats.attemptStarted(WEBHOOK_ID);
+            stats.attemptCompleted(WEBHOOK_ID, TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        if (success) {
+            stats.deliverySucceeded(WEBHOOK_ID, TimeUnit.MILLISECONDS.toNanos(10L * attempts));
+        } else {
+            stats.deliveryFailed(WEBHOOK_ID, TimeUnit.MILLISECONDS.toNanos(10L * attempts));
+        }
+    }
+}
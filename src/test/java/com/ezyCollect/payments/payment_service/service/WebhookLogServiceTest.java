@@ -1,9 +1,11 @@
 package com.ezyCollect.payments.payment_service.service;
 
 import com.ezyCollect.payments.payment_service.dto.PaymentResponse;
+import com.ezyCollect.payments.payment_service.dto.WebhookBatchEvent;
 import com.ezyCollect.payments.payment_service.entity.Webhook;
 import com.ezyCollect.payments.payment_service.entity.WebhookLog;
 import com.ezyCollect.payments.payment_service.enums.WebhookEventStatus;
+import com.ezyCollect.payments.payment_service.journal.PaymentJournal;
 import com.ezyCollect.payments.payment_service.repository.WebhookLogRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,6 +20,8 @@ import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -27,6 +31,7 @@ class WebhookLogServiceTest {
 
     @Mock private RestTemplate restTemplate;
     @Mock private WebhookLogRepository webhookLogRepository;
+    @Mock private PaymentJournal paymentJournal;
 
     @InjectMocks
     private WebhookLogService webhookLogService;
@@ -137,9 +142,11 @@ class WebhookLogServiceTest {
         webhookLogService.handleSuccess(webhookLog, response);
 
         // Assert
+        assertThat(webhookLog.getEventStatus()).isEqualTo(WebhookEventStatus.SUCCESS);
         assertThat(webhookLog.getHttpStatus()).isEqualTo(200);
         assertThat(webhookLog.getResponseBody()).isEqualTo("OK");
         verify(webhookLogRepository).save(webhookLog);
+        verify(paymentJournal).recordWebhookOutcome(webhookLog);
     }
 
     @Test
@@ -242,5 +249,66 @@ class WebhookLogServiceTest {
         assertThat(webhookLog.getEventStatus()).isEqualTo(WebhookEventStatus.FAILED);
         assertThat(webhookLog.getResponseBody()).isNull();
         verify(webhookLogRepository).save(webhookLog);
+        verify(paymentJournal).recordWebhookOutcome(webhookLog);
     }
-}
\ No newline at end of file
+
+    // ─── batches ──────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should post the batch events as one request to the webhook URL")
+    void executeBatchCall_postsEventsArray() {
+        // Arrange
+        List<WebhookBatchEvent> events = List.of(new WebhookBatchEvent(7L, paymentResponse));
+        when(restTemplate.postForEntity(webhook.getUrl(), events, String.class))
+                .thenReturn(ResponseEntity.ok(""));
+
+        // Act
+        ResponseEntity<String> result = webhookLogService.executeBatchCall(webhook, events);
+
+        // Assert
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        verify(restTemplate, times(1)).postForEntity(webhook.getUrl(), events, String.class);
+    }
+
+    @Test
+    @DisplayName("Should fail rejected events and succeed the rest of a delivered batch")
+    void handleBatchResult_partialFailure_setsStatusPerEvent() {
+        // Arrange
+        WebhookLog accepted = WebhookLog.builder().id(7L).url(webhook.getUrl()).build();
+        WebhookLog rejected = WebhookLog.builder().id(8L).url(webhook.getUrl()).build();
+        ResponseEntity<String> response = ResponseEntity.ok("{\"results\":[]}");
+
+        // Act
+        webhookLogService.handleBatchResult(List.of(accepted, rejected), response, Map.of(8L, "unknown merchant"));
+
+        // Assert
+        assertThat(accepted.getEventStatus()).isEqualTo(WebhookEventStatus.SUCCESS);
+        assertThat(accepted.getHttpStatus()).isEqualTo(200);
+        assertThat(rejected.getEventStatus()).isEqualTo(WebhookEventStatus.FAILED);
+        assertThat(rejected.getResponseBody()).isEqualTo("unknown merchant");
+        verify(webhookLogRepository).saveAll(List.of(accepted, rejected));
+        verify(paymentJournal).recordWebhookOutcome(accepted);
+        verify(paymentJournal).recordWebhookOutcome(rejected);
+    }
+
+    @Test
+    @DisplayName("Should fail every event of a batch that could not be delivered")
+    void handleBatchFailure_failsAllEvents() {
+        // Arrange
+        WebhookLog first = WebhookLog.builder().id(7L).url(webhook.getUrl()).httpStatus(500).build();
+        WebhookLog second = WebhookLog.builder().id(8L).url(webhook.getUrl()).build();
+
+        // Act
+        webhookLogService.handleBatchFailure(List.of(first, second), new RuntimeException("Timeout"));
+
+        // Assert
+        assertThat(List.of(first, second)).allSatisfy(log -> {
+            assertThat(log.getEventStatus()).isEqualTo(WebhookEventStatus.FAILED);
+            assertThat(log.getHttpStatus()).isNull();
+            assertThat(log.getResponseBody()).isEqualTo("Timeout");
+        });
+        verify(webhookLogRepository).saveAll(List.of(first, second));
+        verify(paymentJournal).recordWebhookOutcome(first);
+        verify(paymentJournal).recordWebhookOutcome(second);
+    }
+}
@@ -4,7 +4,9 @@ import com.ezyCollect.payments.payment_service.dto.PaymentResponse;
 import com.ezyCollect.payments.payment_service.entity.WebhookLog;
 import com.ezyCollect.payments.payment_service.enums.WebhookDirection;
 import com.ezyCollect.payments.payment_service.enums.WebhookEventStatus;
+import com.ezyCollect.payments.payment_service.repository.WebhookEventRepository;
 import com.ezyCollect.payments.payment_service.repository.WebhookLogRepository;
+import com.ezyCollect.payments.payment_service.util.StripedExecutor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,10 +17,17 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,14 +36,26 @@ class WebhookReceivingServiceTest {
     @Mock
     private WebhookLogRepository webhookLogRepository;
 
+    @Mock
+    private WebhookEventRepository webhookEventRepository;
+
+    @Mock
+    private StripedExecutor webhookLanes;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private WebhookReceivingService webhookReceivingService;
 
     // Use real ObjectMapper — no need to mock serialization
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    private PaymentResponse paymentResponse;
+    private final SimpleTransactionStatus transactionStatus = new SimpleTransactionStatus();
+
+    private byte[] body;
     private static final String WEBHOOK_URL = "http://localhost:8080/v1/webhooks/receive";
+    private static final String EVENT_KEY = "evt_42";
 
     @BeforeEach
     void setUp() throws Exception {
@@ -43,10 +64,18 @@ class WebhookReceivingServiceTest {
         field.setAccessible(true);
         field.set(webhookReceivingService, objectMapper);
 
-        paymentResponse = PaymentResponse.builder()
-                .status("SUCCESS")
-                .transactionId("42")
-                .build();
+        // run lane tasks inline so assertions see their effects
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return null;
+        }).when(webhookLanes).execute(any(), any(Runnable.class));
+
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(transactionStatus);
+
+        // every event is new unless a test says otherwise
+        lenient().when(webhookEventRepository.insertIfAbsent(anyString(), any())).thenReturn(1);
+
+        body = "{\"status\":\"SUCCESS\",\"transactionId\":\"42\"}".getBytes(StandardCharsets.UTF_8);
     }
 
     // ─── Happy Path ───────────────────────────────────────────────────────────
@@ -55,7 +84,7 @@ class WebhookReceivingServiceTest {
     @DisplayName("Should save webhook log with correct fields when payload is valid")
     void processWebhookAsync_success_savesLogWithCorrectFields() {
         // Act
-        webhookReceivingService.processWebhookAsync(paymentResponse, WEBHOOK_URL);
+        webhookReceivingService.processWebhookAsync(body, "42", EVENT_KEY, WEBHOOK_URL);
 
         // Assert — capture the saved log and verify all fields
         ArgumentCaptor<WebhookLog> captor = ArgumentCaptor.forClass(WebhookLog.class);
@@ -71,24 +100,27 @@ class WebhookReceivingServiceTest {
     }
 
     @Test
-    @DisplayName("Should serialize payload to JSON and save in webhook log")
-    void processWebhookAsync_success_savesSerializedPayload() throws Exception {
+    @DisplayName("Should save the original body bytes as the webhook log payload")
+    void processWebhookAsync_success_savesOriginalPayload() {
+        // Arrange — field order and whitespace are kept as received
+        byte[] rawBody = "{ \"transactionId\": \"42\",\n  \"status\": \"SUCCESS\" }"
+                .getBytes(StandardCharsets.UTF_8);
+
         // Act
-        webhookReceivingService.processWebhookAsync(paymentResponse, WEBHOOK_URL);
+        webhookReceivingService.processWebhookAsync(rawBody, "42", EVENT_KEY, WEBHOOK_URL);
 
-        // Assert — payload is JSON string of the PaymentResponse
+        // Assert
         ArgumentCaptor<WebhookLog> captor = ArgumentCaptor.forClass(WebhookLog.class);
         verify(webhookLogRepository).save(captor.capture());
 
-        String expectedPayload = objectMapper.writeValueAsString(paymentResponse);
-        assertThat(captor.getValue().getPayload()).isEqualTo(expectedPayload);
+        assertThat(captor.getValue().getPayload()).isEqualTo(new String(rawBody, StandardCharsets.UTF_8));
     }
 
     @Test
     @DisplayName("Should save webhook log once for each webhook received")
     void processWebhookAsync_success_savesExactlyOnce() {
         // Act
-        webhookReceivingService.processWebhookAsync(paymentResponse, WEBHOOK_URL);
+        webhookReceivingService.processWebhookAsync(body, "42", EVENT_KEY, WEBHOOK_URL);
 
         // Assert
         verify(webhookLogRepository, times(1)).save(any(WebhookLog.class));
@@ -105,17 +137,17 @@ class WebhookReceivingServiceTest {
 
         // Act & Assert — should NOT propagate exception (caught internally)
         assertThatCode(() ->
-                webhookReceivingService.processWebhookAsync(paymentResponse, WEBHOOK_URL)
+                webhookReceivingService.processWebhookAsync(body, "42", EVENT_KEY, WEBHOOK_URL)
         ).doesNotThrowAnyException();
     }
 
     @Test
-    @DisplayName("Should not throw exception when ObjectMapper serialization fails")
-    void processWebhookAsync_serializationFails_doesNotThrow() throws Exception {
-        // Arrange — inject a broken ObjectMapper that always fails
+    @DisplayName("Should not throw exception when the body cannot be parsed")
+    void processWebhookAsync_parseFails_doesNotThrow() throws Exception {
+        // Arrange — inject a broken ObjectMapper that always fails to parse
         ObjectMapper brokenMapper = mock(ObjectMapper.class);
-        when(brokenMapper.writeValueAsString(any()))
-                .thenThrow(new RuntimeException("Serialization failed"));
+        when(brokenMapper.readValue(any(byte[].class), eq(PaymentResponse.class)))
+                .thenThrow(new RuntimeException("Parsing failed"));
 
         var field = WebhookReceivingService.class.getDeclaredField("objectMapper");
         field.setAccessible(true);
@@ -123,27 +155,27 @@ class WebhookReceivingServiceTest {
 
         // Act & Assert — exception caught internally, nothing propagates
         assertThatCode(() ->
-                webhookReceivingService.processWebhookAsync(paymentResponse, WEBHOOK_URL)
+                webhookReceivingService.processWebhookAsync(body, "42", EVENT_KEY, WEBHOOK_URL)
         ).doesNotThrowAnyException();
 
-        // Verify log was never saved since serialization failed before save
+        // Verify log was never saved since parsing failed before save
         verify(webhookLogRepository, never()).save(any());
     }
 
     @Test
-    @DisplayName("Should not save log when serialization fails")
-    void processWebhookAsync_serializationFails_neverSavesLog() throws Exception {
+    @DisplayName("Should not save log when the body cannot be parsed")
+    void processWebhookAsync_parseFails_neverSavesLog() throws Exception {
         // Arrange
         ObjectMapper brokenMapper = mock(ObjectMapper.class);
-        when(brokenMapper.writeValueAsString(any()))
-                .thenThrow(new RuntimeException("Serialization failed"));
+        when(brokenMapper.readValue(any(byte[].class), eq(PaymentResponse.class)))
+                .thenThrow(new RuntimeException("Parsing failed"));
 
         var field = WebhookReceivingService.class.getDeclaredField("objectMapper");
         field.setAccessible(true);
         field.set(webhookReceivingService, brokenMapper);
 
         // Act
-        webhookReceivingService.processWebhookAsync(paymentResponse, WEBHOOK_URL);
+        webhookReceivingService.processWebhookAsync(body, "42", EVENT_KEY, WEBHOOK_URL);
 
         // Assert
         verify(webhookLogRepository, never()).save(any());
@@ -155,14 +187,11 @@ class WebhookReceivingServiceTest {
     @DisplayName("Should handle null transactionId in payload without throwing")
     void processWebhookAsync_nullTransactionId_doesNotThrow() {
         // Arrange
-        PaymentResponse nullTransactionResponse = PaymentResponse.builder()
-                .status("SUCCESS")
-                .transactionId(null)
-                .build();
+        byte[] nullTransactionBody = "{\"status\":\"SUCCESS\"}".getBytes(StandardCharsets.UTF_8);
 
         // Act & Assert
         assertThatCode(() ->
-                webhookReceivingService.processWebhookAsync(nullTransactionResponse, WEBHOOK_URL)
+                webhookReceivingService.processWebhookAsync(nullTransactionBody, null, EVENT_KEY, WEBHOOK_URL)
         ).doesNotThrowAnyException();
 
         verify(webhookLogRepository).save(any(WebhookLog.class));
@@ -172,16 +201,123 @@ class WebhookReceivingServiceTest {
     @DisplayName("Should process multiple webhooks independently")
     void processWebhookAsync_calledMultipleTimes_savesEachLog() {
         // Arrange
-        PaymentResponse secondResponse = PaymentResponse.builder()
-                .status("SUCCESS")
-                .transactionId("99")
-                .build();
+        byte[] secondBody = "{\"status\":\"SUCCESS\",\"transactionId\":\"99\"}".getBytes(StandardCharsets.UTF_8);
 
         // Act
-        webhookReceivingService.processWebhookAsync(paymentResponse, WEBHOOK_URL);
-        webhookReceivingService.processWebhookAsync(secondResponse, WEBHOOK_URL);
+        webhookReceivingService.processWebhookAsync(body, "42", EVENT_KEY, WEBHOOK_URL);
+        webhookReceivingService.processWebhookAsync(secondBody, "99", EVENT_KEY, WEBHOOK_URL);
 
         // Assert — saved once per call
         verify(webhookLogRepository, times(2)).save(any(WebhookLog.class));
     }
-}
\ No newline at end of file
+
+    // ─── Dedupe ───────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should claim the event key before saving the log")
+    void processWebhookAsync_newEvent_claimsEventKey() {
+        // Act
+        webhookReceivingService.processWebhookAsync(body, "42", EVENT_KEY, WEBHOOK_URL);
+
+        // Assert
+        verify(webhookEventRepository).insertIfAbsent(eq(EVENT_KEY), any());
+        verify(webhookLogRepository).save(any(WebhookLog.class));
+    }
+
+    @Test
+    @DisplayName("Should skip processing when the event key was already claimed")
+    void processWebhookAsync_duplicateEvent_neverSavesLog() {
+        // Arrange — a concurrent delivery of the same event claimed it first
+        when(webhookEventRepository.insertIfAbsent(eq(EVENT_KEY), any())).thenReturn(0);
+
+        // Act
+        webhookReceivingService.processWebhookAsync(body, "42", EVENT_KEY, WEBHOOK_URL);
+
+        // Assert
+        verify(webhookLogRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should claim the event before parsing it or running the business step")
+    void processWebhookAsync_duplicateEvent_claimedBeforeParsing() throws Exception {
+        // Arrange
+        ObjectMapper spiedMapper = spy(objectMapper);
+        var field = WebhookReceivingService.class.getDeclaredField("objectMapper");
+        field.setAccessible(true);
+        field.set(webhookReceivingService, spiedMapper);
+        when(webhookEventRepository.insertIfAbsent(eq(EVENT_KEY), any())).thenReturn(0);
+
+        // Act
+        webhookReceivingService.processWebhookAsync(body, "42", EVENT_KEY, WEBHOOK_URL);
+
+        // Assert
+        verify(spiedMapper, never()).readValue(any(byte[].class), eq(PaymentResponse.class));
+    }
+
+    @Test
+    @DisplayName("Should roll back the claim when processing fails, so a redelivery is processed")
+    void processWebhookAsync_processingFails_rollsBackClaim() {
+        // Arrange
+        doThrow(new RuntimeException("DB connection lost"))
+                .when(webhookLogRepository).save(any());
+
+        // Act
+        webhookReceivingService.processWebhookAsync(body, "42", EVENT_KEY, WEBHOOK_URL);
+
+        // Assert
+        verify(webhookEventRepository).insertIfAbsent(eq(EVENT_KEY), any());
+        assertThat(transactionStatus.isRollbackOnly()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should process without claiming when the event has no dedupe key")
+    void processWebhookAsync_noEventKey_savesWithoutClaim() {
+        // Act
+        webhookReceivingService.processWebhookAsync(body, "42", null, WEBHOOK_URL);
+
+        // Assert
+        verify(webhookEventRepository, never()).insertIfAbsent(any(), any());
+        verify(webhookLogRepository).save(any(WebhookLog.class));
+    }
+
+    // ─── Ordered Lanes ────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should queue the event on the lane of its transactionId")
+    void processWebhookAsync_stripesByTransactionId() {
+        // Act
+        webhookReceivingService.processWebhookAsync(body, "42", EVENT_KEY, WEBHOOK_URL);
+
+        // Assert
+        verify(webhookLanes).execute(eq("42"), any(Runnable.class));
+    }
+
+    @Test
+    @DisplayName("Should claim and save inside one webhook log transaction")
+    void processWebhookAsync_runsInTransaction() {
+        // Act
+        webhookReceivingService.processWebhookAsync(body, "42", EVENT_KEY, WEBHOOK_URL);
+
+        // Assert
+        var inOrder = inOrder(transactionManager, webhookEventRepository, webhookLogRepository);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(webhookEventRepository).insertIfAbsent(eq(EVENT_KEY), any());
+        inOrder.verify(webhookLogRepository).save(any(WebhookLog.class));
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should propagate rejection when the lane queue is full")
+    void processWebhookAsync_laneFull_throwsRejected() {
+        // Arrange
+        doThrow(new RejectedExecutionException("webhook-lane-0 is full"))
+                .when(webhookLanes).execute(any(), any(Runnable.class));
+
+        // Act & Assert
+        assertThatThrownBy(() ->
+                webhookReceivingService.processWebhookAsync(body, "42", EVENT_KEY, WEBHOOK_URL)
+        ).isInstanceOf(RejectedExecutionException.class);
+
+        verify(webhookLogRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,160 @@
+package com.ezyCollect.payments.payment_service.service;
+
+import com.ezyCollect.payments.payment_service.exception.ErrorCode;
+import com.ezyCollect.payments.payment_service.exception.WebhookException;
+import com.ezyCollect.payments.payment_service.util.RetryBudget;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class WebhookRetryPolicyTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    private final List<Long> sleeps = new ArrayList<>();
+
+    // ─── Classification ───────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should retry timeouts, throttling and server errors but not other statuses")
+    void responseFailure_classifiesByStatus() {
+        WebhookRetryPolicy policy = policy(3);
+
+        assertThat(policy.responseFailure(HttpStatus.SERVICE_UNAVAILABLE, null, null).getErrorCode())
+                .isEqualTo(ErrorCode.WEBHOOK_SENDING_FAILED);
+        assertThat(policy.responseFailure(HttpStatus.TOO_MANY_REQUESTS, null, null).getErrorCode())
+                .isEqualTo(ErrorCode.WEBHOOK_SENDING_FAILED);
+        assertThat(policy.responseFailure(HttpStatus.REQUEST_TIMEOUT, null, null).getErrorCode())
+                .isEqualTo(ErrorCode.WEBHOOK_SENDING_FAILED);
+        assertThat(policy.responseFailure(HttpStatus.BAD_REQUEST, null, null).getErrorCode())
+                .isEqualTo(ErrorCode.WEBHOOK_REJECTED);
+        assertThat(policy.responseFailure(HttpStatus.GONE, null, null).getErrorCode())
+                .isEqualTo(ErrorCode.WEBHOOK_REJECTED);
+        assertThat(policy.responseFailure(HttpStatus.NOT_IMPLEMENTED, null, null).getErrorCode())
+                .isEqualTo(ErrorCode.WEBHOOK_REJECTED);
+    }
+
+    @Test
+    @DisplayName("Should treat client errors and rejections as terminal")
+    void isRetryable_byErrorCode() {
+        WebhookRetryPolicy policy = policy(3);
+
+        assertThat(policy.isRetryable(new WebhookException(ErrorCode.WEBHOOK_ACCESS_FAILED))).isTrue();
+        assertThat(policy.isRetryable(new WebhookException(ErrorCode.WEBHOOK_SENDING_FAILED))).isTrue();
+        assertThat(policy.isRetryable(new WebhookException(ErrorCode.WEBHOOK_REJECTED))).isFalse();
+        assertThat(policy.isRetryable(new WebhookException(ErrorCode.WEBHOOK_CLIENT_ERROR))).isFalse();
+        assertThat(policy.isRetryable(new IllegalStateException())).isFalse();
+    }
+
+    // ─── Retry-After ──────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should parse Retry-After as delta-seconds or HTTP-date")
+    void parseRetryAfter_secondsAndDate() {
+        WebhookRetryPolicy policy = policy(3);
+
+        assertThat(policy.parseRetryAfter("120")).isEqualTo(Duration.ofSeconds(120));
+        assertThat(policy.parseRetryAfter("Thu, 01 Jan 2026 00:00:30 GMT")).isEqualTo(Duration.ofSeconds(30));
+        assertThat(policy.parseRetryAfter("Wed, 31 Dec 2025 23:00:00 GMT")).isEqualTo(Duration.ZERO);
+        assertThat(policy.parseRetryAfter("soon")).isNull();
+        assertThat(policy.parseRetryAfter(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should carry Retry-After on retryable responses")
+    void responseFailure_carriesRetryAfter() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "3");
+
+        WebhookException ex = policy(3).responseFailure(HttpStatus.TOO_MANY_REQUESTS, headers, null);
+
+        assertThat(ex.getRetryAfter()).isEqualTo(Duration.ofSeconds(3));
+    }
+
+    @Test
+    @DisplayName("Should give up when Retry-After exceeds the longest wait allowed")
+    void next_retryAfterTooLong_givesUp() {
+        WebhookRetryPolicy.Retries retries = policy(3).start();
+
+        Duration delay = retries.next(new WebhookException(ErrorCode.WEBHOOK_SENDING_FAILED, Duration.ofMinutes(5), null));
+
+        assertThat(delay).isNull();
+    }
+
+    // ─── Backoff ──────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should jitter each delay between the base delay and three times the previous one")
+    void next_decorrelatedJitter() {
+        WebhookRetryPolicy policy = policy(100);
+
+        for (int run = 0; run < 100; run++) {
+            WebhookRetryPolicy.Retries retries = policy.start();
+            long previous = 100;
+            for (int i = 0; i < 5; i++) {
+                long delay = retries.next(new WebhookException(ErrorCode.WEBHOOK_ACCESS_FAILED)).toMillis();
+                assertThat(delay).isBetween(100L, Math.min(1_000L, previous * 3));
+                previous = delay;
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should stop after max attempts")
+    void execute_stopsAfterMaxAttempts() {
+        // Arrange
+        WebhookRetryPolicy policy = policy(3);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act
+        Throwable thrown = catchThrowable(() -> policy.execute(() -> {
+            attempts.incrementAndGet();
+            throw new WebhookException(ErrorCode.WEBHOOK_ACCESS_FAILED);
+        }));
+
+        // Assert
+        assertThat(thrown).isInstanceOf(WebhookException.class);
+        assertThat(attempts).hasValue(3);
+        assertThat(sleeps).hasSize(2);
+    }
+
+    // ─── Budget ───────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should stop retrying once retries exceed the budgeted share of traffic")
+    void execute_budgetExhausted_stopsRetrying() {
+        // Arrange — 20% budget: ten failing deliveries may retry twice in total
+        WebhookRetryPolicy policy = new WebhookRetryPolicy(3, Duration.ofMillis(100), Duration.ofSeconds(1),
+                Duration.ofSeconds(60), new RetryBudget(0.2, 0, 100, CLOCK), sleeps::add, CLOCK);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            catchThrowable(() -> policy.execute(() -> {
+                attempts.incrementAndGet();
+                throw new WebhookException(ErrorCode.WEBHOOK_SENDING_FAILED);
+            }));
+        }
+
+        // Assert
+        assertThat(attempts).hasValueLessThanOrEqualTo(12);
+        assertThat(sleeps).hasSizeLessThanOrEqualTo(2);
+    }
+
+    // a budget far above maxAttempts, so only the tests under "Budget" are limited by it
+    private WebhookRetryPolicy policy(int maxAttempts) {
+        return new WebhookRetryPolicy(maxAttempts, Duration.ofMillis(100), Duration.ofSeconds(1), Duration.ofSeconds(60),
+                new RetryBudget(maxAttempts, 0, 10_000, CLOCK), sleeps::add, CLOCK);
+    }
+}
@@ -0,0 +1,101 @@
+package com.ezyCollect.payments.payment_service.service;
+
+import com.ezyCollect.payments.payment_service.entity.Webhook;
+import com.ezyCollect.payments.payment_service.enums.WebhookEventType;
+import com.ezyCollect.payments.payment_service.repository.WebhookRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WebhookRoutingIndexTest {
+
+    @Mock
+    private WebhookRepository webhookRepository;
+
+    @InjectMocks
+    private WebhookRoutingIndex webhookRoutingIndex;
+
+    private final Webhook allEvents = webhook(1L, EnumSet.noneOf(WebhookEventType.class));
+    private final Webhook failuresOnly = webhook(2L, EnumSet.of(WebhookEventType.PAYMENT_FAILED));
+
+    // ─── subscribers ──────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should route each event type only to the webhooks subscribed to it")
+    void subscribers_routesByEventType() {
+        // Arrange
+        when(webhookRepository.findAllByActiveTrue()).thenReturn(List.of(allEvents, failuresOnly));
+
+        // Act & Assert
+        assertThat(webhookRoutingIndex.subscribers(WebhookEventType.PAYMENT_SUCCEEDED)).containsExactly(allEvents);
+        assertThat(webhookRoutingIndex.subscribers(WebhookEventType.PAYMENT_FAILED)).containsExactly(allEvents, failuresOnly);
+    }
+
+    @Test
+    @DisplayName("Should send webhooks without event types every event")
+    void subscribers_noEventTypes_receivesEverything() {
+        // Arrange — rows registered before subscriptions existed
+        Webhook legacy = webhook(3L, null);
+        when(webhookRepository.findAllByActiveTrue()).thenReturn(List.of(legacy));
+
+        // Act & Assert
+        for (WebhookEventType eventType : WebhookEventType.values()) {
+            assertThat(webhookRoutingIndex.subscribers(eventType)).containsExactly(legacy);
+        }
+    }
+
+    @Test
+    @DisplayName("Should load the index once and serve later lookups from memory")
+    void subscribers_loadsOnce() {
+        // Arrange
+        when(webhookRepository.findAllByActiveTrue()).thenReturn(List.of(allEvents));
+
+        // Act
+        webhookRoutingIndex.subscribers(WebhookEventType.PAYMENT_SUCCEEDED);
+        webhookRoutingIndex.subscribers(WebhookEventType.PAYMENT_FAILED);
+        webhookRoutingIndex.subscribers(WebhookEventType.PAYMENT_SUCCEEDED);
+
+        // Assert
+        verify(webhookRepository, times(1)).findAllByActiveTrue();
+    }
+
+    // ─── rebuild ──────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should pick up registration changes on rebuild")
+    void rebuild_replacesRoutes() {
+        // Arrange
+        when(webhookRepository.findAllByActiveTrue())
+                .thenReturn(List.of(allEvents))
+                .thenReturn(List.of(failuresOnly));
+        webhookRoutingIndex.rebuild();
+
+        // Act
+        webhookRoutingIndex.rebuild();
+
+        // Assert
+        assertThat(webhookRoutingIndex.subscribers(WebhookEventType.PAYMENT_SUCCEEDED)).isEmpty();
+        assertThat(webhookRoutingIndex.subscribers(WebhookEventType.PAYMENT_FAILED)).containsExactly(failuresOnly);
+    }
+
+    private static Webhook webhook(Long id, EnumSet<WebhookEventType> eventTypes) {
+        return Webhook.builder()
+                .id(id)
+                .url("http://example.com/webhook/" + id)
+                .active(true)
+                .createdAt(LocalDateTime.now())
+                .eventTypes(eventTypes)
+                .build();
+    }
+}
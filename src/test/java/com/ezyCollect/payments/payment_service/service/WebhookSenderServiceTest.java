@@ -7,21 +7,30 @@ import com.ezyCollect.payments.payment_service.enums.WebhookDirection;
 import com.ezyCollect.payments.payment_service.enums.WebhookEventStatus;
 import com.ezyCollect.payments.payment_service.exception.ErrorCode;
 import com.ezyCollect.payments.payment_service.exception.WebhookException;
+import com.ezyCollect.payments.payment_service.util.RetryBudget;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientException;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,15 +39,22 @@ class WebhookSenderServiceTest {
     @Mock
     private WebhookLogService webhookLogService;
 
-    @InjectMocks
     private WebhookSenderService webhookSenderService;
 
+    private final List<Long> sleeps = new ArrayList<>();
+    private final WebhookDeliveryStats deliveryStats = new WebhookDeliveryStats(5);
+
     private Webhook webhook;
     private WebhookLog webhookLog;
     private PaymentResponse paymentResponse;
 
     @BeforeEach
     void setUp() {
+        // sleeps are recorded instead of taken; a budget of two retries per delivery never limits these tests
+        WebhookRetryPolicy retryPolicy = new WebhookRetryPolicy(3, Duration.ofMillis(10), Duration.ofMillis(100),
+                Duration.ofSeconds(60), new RetryBudget(2, 0, 100, Clock.systemUTC()), sleeps::add, Clock.systemUTC());
+        webhookSenderService = new WebhookSenderService(webhookLogService, retryPolicy, deliveryStats);
+
         webhook = Webhook.builder()
                 .id(1L)
                 .url("http://localhost:8080/v1/webhooks/receive")
@@ -95,19 +111,19 @@ class WebhookSenderServiceTest {
     // ─── sendWebhook — Non-2xx Response ──────────────────────────────────────
 
     @Test
-    @DisplayName("Should throw WebhookException with WEBHOOK_SENDING_FAILED when response is 4xx")
-    void sendWebhook_4xxResponse_throwsWebhookSendingFailed() {
+    @DisplayName("Should throw WebhookException with WEBHOOK_REJECTED when response is 4xx")
+    void sendWebhook_4xxResponse_throwsWebhookRejected() {
         // Arrange
         when(webhookLogService.executeWebhookCall(webhook, paymentResponse))
                 .thenReturn(ResponseEntity.status(HttpStatus.BAD_REQUEST).body("bad request"));
 
         // Act & Assert
         WebhookException ex = catchThrowableOfType(
-                () -> webhookSenderService.sendWebhook(webhook, webhookLog, paymentResponse),
+                () -> webhookSenderService.attempt(webhook, paymentResponse),
                 WebhookException.class
         );
 
-        assertThat(ex.getErrorCode()).isEqualTo(ErrorCode.WEBHOOK_SENDING_FAILED);
+        assertThat(ex.getErrorCode()).isEqualTo(ErrorCode.WEBHOOK_REJECTED);
         verify(webhookLogService, never()).handleSuccess(any(), any());
     }
 
@@ -120,7 +136,7 @@ class WebhookSenderServiceTest {
 
         // Act & Assert
         WebhookException ex = catchThrowableOfType(
-                () -> webhookSenderService.sendWebhook(webhook, webhookLog, paymentResponse),
+                () -> webhookSenderService.attempt(webhook, paymentResponse),
                 WebhookException.class
         );
 
@@ -139,7 +155,7 @@ class WebhookSenderServiceTest {
 
         // Act & Assert
         WebhookException ex = catchThrowableOfType(
-                () -> webhookSenderService.sendWebhook(webhook, webhookLog, paymentResponse),
+                () -> webhookSenderService.attempt(webhook, paymentResponse),
                 WebhookException.class
         );
 
@@ -156,7 +172,7 @@ class WebhookSenderServiceTest {
 
         // Act & Assert
         WebhookException ex = catchThrowableOfType(
-                () -> webhookSenderService.sendWebhook(webhook, webhookLog, paymentResponse),
+                () -> webhookSenderService.attempt(webhook, paymentResponse),
                 WebhookException.class
         );
 
@@ -174,13 +190,153 @@ class WebhookSenderServiceTest {
 
         // Act & Assert
         WebhookException ex = catchThrowableOfType(
-                () -> webhookSenderService.sendWebhook(webhook, webhookLog, paymentResponse),
+                () -> webhookSenderService.attempt(webhook, paymentResponse),
                 WebhookException.class
         );
 
         assertThat(ex.getCause()).isEqualTo(cause);
     }
 
+    @Test
+    @DisplayName("Should carry the subscriber's Retry-After on a 429 error response")
+    void sendWebhook_429WithRetryAfter_carriesRetryAfter() {
+        // Arrange
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "7");
+        when(webhookLogService.executeWebhookCall(webhook, paymentResponse))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, null, null));
+
+        // Act & Assert
+        WebhookException ex = catchThrowableOfType(
+                () -> webhookSenderService.attempt(webhook, paymentResponse),
+                WebhookException.class
+        );
+
+        assertThat(ex.getErrorCode()).isEqualTo(ErrorCode.WEBHOOK_SENDING_FAILED);
+        assertThat(ex.getRetryAfter()).isEqualTo(Duration.ofSeconds(7));
+    }
+
+    // ─── sendWebhook — Retries ────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should retry a 5xx up to max attempts then call handleFailure")
+    void sendWebhook_5xx_retriesThenCallsHandleFailure() {
+        // Arrange
+        when(webhookLogService.executeWebhookCall(webhook, paymentResponse))
+                .thenThrow(HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "Unavailable", null, null, null));
+
+        // Act
+        webhookSenderService.sendWebhook(webhook, webhookLog, paymentResponse);
+
+        // Assert
+        verify(webhookLogService, times(3)).executeWebhookCall(webhook, paymentResponse);
+        ArgumentCaptor<WebhookException> captor = ArgumentCaptor.forClass(WebhookException.class);
+        verify(webhookLogService).handleFailure(eq(webhookLog), captor.capture());
+        assertThat(captor.getValue().getErrorCode()).isEqualTo(ErrorCode.WEBHOOK_SENDING_FAILED);
+        assertThat(sleeps).hasSize(2).allSatisfy(sleep -> assertThat(sleep).isBetween(10L, 100L));
+
+        WebhookDeliveryStats.Snapshot stats = deliveryStats.snapshot(webhook.getId());
+        assertThat(stats.failed()).isEqualTo(1);
+        assertThat(stats.attempts()).isEqualTo(3);
+        assertThat(stats.retries()).isEqualTo(2);
+        assertThat(stats.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should fail a 410 after one attempt without retrying")
+    void sendWebhook_410_failsWithoutRetry() {
+        // Arrange
+        when(webhookLogService.executeWebhookCall(webhook, paymentResponse))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.GONE, "Gone", null, null, null));
+
+        // Act
+        webhookSenderService.sendWebhook(webhook, webhookLog, paymentResponse);
+
+        // Assert
+        verify(webhookLogService, times(1)).executeWebhookCall(webhook, paymentResponse);
+        ArgumentCaptor<WebhookException> captor = ArgumentCaptor.forClass(WebhookException.class);
+        verify(webhookLogService).handleFailure(eq(webhookLog), captor.capture());
+        assertThat(captor.getValue().getErrorCode()).isEqualTo(ErrorCode.WEBHOOK_REJECTED);
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should wait at least the subscriber's Retry-After before retrying")
+    void sendWebhook_retryAfter_honoured() {
+        // Arrange
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "5");
+        ResponseEntity<String> ok = ResponseEntity.ok("received");
+        when(webhookLogService.executeWebhookCall(webhook, paymentResponse))
+                .thenThrow(HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "Unavailable", headers, null, null))
+                .thenReturn(ok);
+
+        // Act
+        webhookSenderService.sendWebhook(webhook, webhookLog, paymentResponse);
+
+        // Assert
+        assertThat(sleeps).containsExactly(5000L);
+        verify(webhookLogService).handleSuccess(webhookLog, ok);
+        verify(webhookLogService, never()).handleFailure(any(), any());
+
+        WebhookDeliveryStats.Snapshot stats = deliveryStats.snapshot(webhook.getId());
+        assertThat(stats.succeeded()).isEqualTo(1);
+        assertThat(stats.retries()).isEqualTo(1);
+        assertThat(stats.attemptLatency().count()).isEqualTo(2);
+        assertThat(stats.deliveryLatency().count()).isEqualTo(1);
+    }
+
+    // ─── attemptDelivery ─────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should return the backoff of a retryable failure instead of sleeping, then fail once attempts run out")
+    void attemptDelivery_5xx_returnsRetryUntilAttemptsUsedUp() {
+        // Arrange
+        when(webhookLogService.executeWebhookCall(webhook, paymentResponse))
+                .thenThrow(HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "Unavailable", null, null, null));
+
+        // Act
+        WebhookSender.Backoff first = webhookSenderService.attemptDelivery(webhook, webhookLog, paymentResponse, null);
+        WebhookSender.Backoff second = webhookSenderService.attemptDelivery(webhook, webhookLog, paymentResponse, first.retries());
+        WebhookSender.Backoff third = webhookSenderService.attemptDelivery(webhook, webhookLog, paymentResponse, second.retries());
+
+        // Assert
+        assertThat(first.delay()).isBetween(Duration.ofMillis(10), Duration.ofMillis(100));
+        assertThat(second.retries()).isSameAs(first.retries());
+        assertThat(third).isNull();
+        assertThat(sleeps).isEmpty();
+        verify(webhookLogService).handleFailure(eq(webhookLog), any(WebhookException.class));
+
+        WebhookDeliveryStats.Snapshot stats = deliveryStats.snapshot(webhook.getId());
+        assertThat(stats.failed()).isEqualTo(1);
+        assertThat(stats.attempts()).isEqualTo(3);
+        assertThat(stats.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should record a success on a later attempt as one delivery")
+    void attemptDelivery_successAfterRetry_callsHandleSuccess() {
+        // Arrange
+        ResponseEntity<String> ok = ResponseEntity.ok("received");
+        when(webhookLogService.executeWebhookCall(webhook, paymentResponse))
+                .thenThrow(new ResourceAccessException("Connection refused"))
+                .thenReturn(ok);
+
+        // Act
+        WebhookSender.Backoff backoff = webhookSenderService.attemptDelivery(webhook, webhookLog, paymentResponse, null);
+        WebhookSender.Backoff done = webhookSenderService.attemptDelivery(webhook, webhookLog, paymentResponse, backoff.retries());
+
+        // Assert
+        assertThat(done).isNull();
+        verify(webhookLogService).handleSuccess(webhookLog, ok);
+        verify(webhookLogService, never()).handleFailure(any(), any());
+
+        WebhookDeliveryStats.Snapshot stats = deliveryStats.snapshot(webhook.getId());
+        assertThat(stats.succeeded()).isEqualTo(1);
+        assertThat(stats.retries()).isEqualTo(1);
+        assertThat(stats.inFlight()).isZero();
+    }
+
     // ─── recover ─────────────────────────────────────────────────────────────
 
     @Test
@@ -0,0 +1,92 @@
+package com.ezyCollect.payments.payment_service.service;
+
+import com.ezyCollect.payments.payment_service.repository.WebhookSequenceRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WebhookSequencerTest {
+
+    @Mock
+    private WebhookSequenceRepository webhookSequenceRepository;
+
+    @Test
+    @DisplayName("Should hand out consecutive numbers from one reserved block")
+    void next_consecutiveWithinBlock() {
+        // Arrange
+        when(webhookSequenceRepository.reserveBlock(1L, 3L)).thenReturn(3L, 6L);
+        WebhookSequencer sequencer = new WebhookSequencer(webhookSequenceRepository, 3);
+
+        // Act
+        List<Long> sequences = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            sequences.add(sequencer.next(1L));
+        }
+
+        // Assert — the fourth number comes from a second block
+        assertThat(sequences).containsExactly(1L, 2L, 3L, 4L);
+        verify(webhookSequenceRepository, times(2)).reserveBlock(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should keep an independent sequence per webhook")
+    void next_independentPerWebhook() {
+        // Arrange
+        when(webhookSequenceRepository.reserveBlock(eq(1L), anyLong())).thenReturn(10L);
+        when(webhookSequenceRepository.reserveBlock(eq(2L), anyLong())).thenReturn(110L);
+        WebhookSequencer sequencer = new WebhookSequencer(webhookSequenceRepository, 10);
+
+        // Act & Assert — webhook 2 continues above its persisted high-water mark
+        assertThat(sequencer.next(1L)).isEqualTo(1L);
+        assertThat(sequencer.next(2L)).isEqualTo(101L);
+        assertThat(sequencer.next(1L)).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Should never hand out the same number twice under concurrency")
+    void next_concurrent_unique() throws Exception {
+        // Arrange
+        AtomicLong highWater = new AtomicLong();
+        when(webhookSequenceRepository.reserveBlock(eq(1L), anyLong()))
+                .thenAnswer(i -> highWater.addAndGet(i.getArgument(1)));
+        WebhookSequencer sequencer = new WebhookSequencer(webhookSequenceRepository, 16);
+        List<Long> sequences = Collections.synchronizedList(new ArrayList<>());
+
+        // Act
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            pool.execute(() -> sequences.add(sequencer.next(1L)));
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // Assert
+        assertThat(new HashSet<>(sequences)).hasSize(1000);
+        assertThat(Collections.max(sequences)).isLessThanOrEqualTo(highWater.get());
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive block size")
+    void constructor_invalidBlockSize_throws() {
+        assertThatThrownBy(() -> new WebhookSequencer(webhookSequenceRepository, 0))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
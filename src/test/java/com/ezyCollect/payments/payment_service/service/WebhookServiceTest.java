@@ -6,6 +6,7 @@ import com.ezyCollect.payments.payment_service.entity.Webhook;
 import com.ezyCollect.payments.payment_service.entity.WebhookLog;
 import com.ezyCollect.payments.payment_service.enums.WebhookDirection;
 import com.ezyCollect.payments.payment_service.enums.WebhookEventStatus;
+import com.ezyCollect.payments.payment_service.enums.WebhookEventType;
 import com.ezyCollect.payments.payment_service.exception.ErrorCode;
 import com.ezyCollect.payments.payment_service.exception.WebhookException;
 import com.ezyCollect.payments.payment_service.repository.WebhookLogRepository;
@@ -20,9 +21,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -33,7 +43,11 @@ class WebhookServiceTest {
 
     @Mock private WebhookRepository webhookRepository;
     @Mock private WebhookLogRepository webhookLogRepository;
-    @Mock private WebhookSenderService webhookSenderService;
+    @Mock private WebhookDeliveryScheduler webhookDeliveryScheduler;
+    @Mock private WebhookLogService webhookLogService;
+    @Mock private WebhookRoutingIndex webhookRoutingIndex;
+    @Mock private WebhookBatcher webhookBatcher;
+    @Mock private WebhookSequencer webhookSequencer;
 
     @InjectMocks
     private WebhookService webhookService;
@@ -42,6 +56,7 @@ class WebhookServiceTest {
 
     private Webhook webhook;
     private PaymentResponse paymentResponse;
+    private PaymentResponse sequenced;
 
     @BeforeEach
     void setUp() throws Exception {
@@ -49,6 +64,7 @@ class WebhookServiceTest {
         var field = WebhookService.class.getDeclaredField("objectMapper");
         field.setAccessible(true);
         field.set(webhookService, objectMapper);
+        ReflectionTestUtils.setField(webhookService, "resumeLimit", 1000);
 
         webhook = Webhook.builder()
                 .id(1L)
@@ -61,6 +77,8 @@ class WebhookServiceTest {
                 .status("SUCCESS")
                 .transactionId("42")
                 .build();
+        sequenced = paymentResponse.toBuilder().sequence(7L).build();
+        lenient().when(webhookSequencer.next(any())).thenReturn(7L);
     }
 
     // ─── triggerWebhooks ──────────────────────────────────────────────────────
@@ -69,7 +87,7 @@ class WebhookServiceTest {
     @DisplayName("Should save webhook log and trigger send for each active webhook")
     void triggerWebhooks_success_savesLogAndTriggersSend() {
         // Arrange
-        when(webhookRepository.findAllByActiveTrue()).thenReturn(List.of(webhook));
+        when(webhookRoutingIndex.subscribers(WebhookEventType.PAYMENT_SUCCEEDED)).thenReturn(List.of(webhook));
         when(webhookLogRepository.save(any(WebhookLog.class))).thenAnswer(i -> i.getArgument(0));
 
         // Act
@@ -77,14 +95,14 @@ class WebhookServiceTest {
 
         // Assert
         verify(webhookLogRepository).save(any(WebhookLog.class));
-        verify(webhookSenderService).sendWebhook(eq(webhook), any(WebhookLog.class), eq(paymentResponse));
+        verify(webhookDeliveryScheduler).submit(eq(webhook), any(WebhookLog.class), eq(sequenced));
     }
 
     @Test
     @DisplayName("Should create webhook log with correct fields")
     void triggerWebhooks_createsLogWithCorrectFields() throws Exception {
         // Arrange
-        when(webhookRepository.findAllByActiveTrue()).thenReturn(List.of(webhook));
+        when(webhookRoutingIndex.subscribers(WebhookEventType.PAYMENT_SUCCEEDED)).thenReturn(List.of(webhook));
         when(webhookLogRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 
         // Act
@@ -100,21 +118,23 @@ class WebhookServiceTest {
         assertThat(savedLog.getUrl()).isEqualTo(webhook.getUrl());
         assertThat(savedLog.getEventStatus()).isEqualTo(WebhookEventStatus.PENDING);
         assertThat(savedLog.getSentAt()).isNotNull();
-        assertThat(savedLog.getPayload()).isEqualTo(objectMapper.writeValueAsString(paymentResponse));
+        assertThat(savedLog.getSequenceNumber()).isEqualTo(7L);
+        assertThat(savedLog.getPayload()).isEqualTo(objectMapper.writeValueAsString(sequenced));
+        assertThat(savedLog.getPayload()).contains("\"sequence\":7");
     }
 
     @Test
-    @DisplayName("Should do nothing when no active webhooks exist")
+    @DisplayName("Should do nothing when no active webhook subscribes to the event")
     void triggerWebhooks_noActiveWebhooks_doesNothing() {
         // Arrange
-        when(webhookRepository.findAllByActiveTrue()).thenReturn(List.of());
+        when(webhookRoutingIndex.subscribers(WebhookEventType.PAYMENT_SUCCEEDED)).thenReturn(List.of());
 
         // Act
         webhookService.triggerWebhooks(paymentResponse);
 
         // Assert
         verify(webhookLogRepository, never()).save(any());
-        verify(webhookSenderService, never()).sendWebhook(any(), any(), any());
+        verify(webhookDeliveryScheduler, never()).submit(any(), any(), any());
     }
 
     @Test
@@ -128,7 +148,7 @@ class WebhookServiceTest {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        when(webhookRepository.findAllByActiveTrue()).thenReturn(List.of(webhook, webhook2));
+        when(webhookRoutingIndex.subscribers(WebhookEventType.PAYMENT_SUCCEEDED)).thenReturn(List.of(webhook, webhook2));
         when(webhookLogRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 
         // Act
@@ -136,7 +156,7 @@ class WebhookServiceTest {
 
         // Assert
         verify(webhookLogRepository, times(2)).save(any(WebhookLog.class));
-        verify(webhookSenderService, times(2)).sendWebhook(any(), any(), eq(paymentResponse));
+        verify(webhookDeliveryScheduler, times(2)).submit(any(), any(), eq(sequenced));
     }
 
     @Test
@@ -151,7 +171,7 @@ class WebhookServiceTest {
         field.setAccessible(true);
         field.set(webhookService, brokenMapper);
 
-        when(webhookRepository.findAllByActiveTrue()).thenReturn(List.of(webhook));
+        when(webhookRoutingIndex.subscribers(WebhookEventType.PAYMENT_SUCCEEDED)).thenReturn(List.of(webhook));
 
         // Act & Assert
         WebhookException ex = catchThrowableOfType(
@@ -161,7 +181,152 @@ class WebhookServiceTest {
 
         assertThat(ex.getErrorCode()).isEqualTo(ErrorCode.WEBHOOK_PAYLOAD_SERIALIZATION_FAILED);
         verify(webhookLogRepository, never()).save(any());
-        verify(webhookSenderService, never()).sendWebhook(any(), any(), any());
+        verify(webhookDeliveryScheduler, never()).submit(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should route a successful payment to PAYMENT_SUCCEEDED subscribers only")
+    void triggerWebhooks_routesByEventType() {
+        // Arrange
+        when(webhookRoutingIndex.subscribers(WebhookEventType.PAYMENT_SUCCEEDED)).thenReturn(List.of(webhook));
+        when(webhookLogRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        // Act
+        webhookService.triggerWebhooks(paymentResponse);
+
+        // Assert
+        verify(webhookRoutingIndex, never()).subscribers(WebhookEventType.PAYMENT_FAILED);
+        verify(webhookRepository, never()).findAllByActiveTrue();
+        verify(webhookDeliveryScheduler).submit(eq(webhook), any(WebhookLog.class), eq(sequenced));
+    }
+
+    @Test
+    @DisplayName("Should hand events for batch-delivery webhooks to the batcher")
+    void triggerWebhooks_batchDelivery_enqueuesInsteadOfSending() {
+        // Arrange
+        webhook.setBatchDelivery(true);
+        when(webhookRoutingIndex.subscribers(WebhookEventType.PAYMENT_SUCCEEDED)).thenReturn(List.of(webhook));
+        when(webhookLogRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        // Act
+        webhookService.triggerWebhooks(paymentResponse);
+
+        // Assert — the log row exists before the event waits in a batch
+        verify(webhookLogRepository).save(any(WebhookLog.class));
+        verify(webhookBatcher).enqueue(eq(webhook), any(WebhookLog.class), eq(sequenced));
+        verify(webhookDeliveryScheduler, never()).submit(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should send nothing when the payment status maps to no event type")
+    void triggerWebhooks_unknownStatus_sendsNothing() {
+        // Arrange
+        PaymentResponse pending = PaymentResponse.builder().status("PENDING").transactionId("42").build();
+
+        // Act
+        webhookService.triggerWebhooks(pending);
+
+        // Assert
+        verifyNoInteractions(webhookRoutingIndex, webhookLogRepository, webhookDeliveryScheduler);
+    }
+
+    @Test
+    @DisplayName("Should number each subscriber's events from its own sequence")
+    void triggerWebhooks_sequencePerWebhook() {
+        // Arrange
+        Webhook webhook2 = Webhook.builder().id(2L).url("http://example.com/webhook").active(true).build();
+        when(webhookRoutingIndex.subscribers(WebhookEventType.PAYMENT_SUCCEEDED)).thenReturn(List.of(webhook, webhook2));
+        when(webhookSequencer.next(1L)).thenReturn(11L);
+        when(webhookSequencer.next(2L)).thenReturn(3L);
+        when(webhookLogRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        // Act
+        webhookService.triggerWebhooks(paymentResponse);
+
+        // Assert
+        verify(webhookDeliveryScheduler).submit(eq(webhook), any(WebhookLog.class),
+                eq(paymentResponse.toBuilder().sequence(11L).build()));
+        verify(webhookDeliveryScheduler).submit(eq(webhook2), any(WebhookLog.class),
+                eq(paymentResponse.toBuilder().sequence(3L).build()));
+    }
+
+    @Test
+    @DisplayName("Should submit concurrent events for an ordered webhook in sequence order")
+    void triggerWebhooks_orderedWebhook_submitsInSequenceOrder() throws Exception {
+        // Arrange
+        webhook.setOrderedDelivery(true);
+        when(webhookRoutingIndex.subscribers(WebhookEventType.PAYMENT_SUCCEEDED)).thenReturn(List.of(webhook));
+        AtomicLong sequences = new AtomicLong();
+        when(webhookSequencer.next(1L)).thenAnswer(i -> sequences.incrementAndGet());
+        when(webhookLogRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+        List<Long> submitted = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(i -> submitted.add(i.<PaymentResponse>getArgument(2).sequence()))
+                .when(webhookDeliveryScheduler).submit(any(), any(), any());
+
+        // Act
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int n = 0; n < 200; n++) {
+            pool.execute(() -> webhookService.triggerWebhooks(paymentResponse));
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // Assert
+        assertThat(submitted).hasSize(200).isSorted();
+    }
+
+    // ─── resumePendingDeliveries ──────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should re-queue pending outgoing deliveries oldest first at startup")
+    void resumePendingDeliveries_requeuesBacklog() throws Exception {
+        // Arrange
+        WebhookLog first = pendingLog(10L, webhook.getId());
+        WebhookLog second = pendingLog(11L, webhook.getId());
+        when(webhookLogRepository.findByDirectionAndEventStatusOrderByIdAsc(
+                eq(WebhookDirection.OUTGOING), eq(WebhookEventStatus.PENDING), any()))
+                .thenReturn(List.of(first, second));
+        when(webhookRepository.findAllById(Set.of(webhook.getId()))).thenReturn(List.of(webhook));
+
+        // Act
+        webhookService.resumePendingDeliveries();
+
+        // Assert
+        var inOrder = inOrder(webhookDeliveryScheduler);
+        inOrder.verify(webhookDeliveryScheduler).submit(webhook, first, paymentResponse);
+        inOrder.verify(webhookDeliveryScheduler).submit(webhook, second, paymentResponse);
+    }
+
+    @Test
+    @DisplayName("Should fail pending deliveries whose webhook no longer exists or is inactive")
+    void resumePendingDeliveries_missingWebhook_failsDelivery() throws Exception {
+        // Arrange
+        WebhookLog orphan = pendingLog(10L, 99L);
+        when(webhookLogRepository.findByDirectionAndEventStatusOrderByIdAsc(
+                eq(WebhookDirection.OUTGOING), eq(WebhookEventStatus.PENDING), any()))
+                .thenReturn(List.of(orphan));
+        when(webhookRepository.findAllById(Set.of(99L))).thenReturn(List.of());
+
+        // Act
+        webhookService.resumePendingDeliveries();
+
+        // Assert
+        verify(webhookLogService).handleFailure(eq(orphan), any(WebhookException.class));
+        verify(webhookDeliveryScheduler, never()).submit(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should do nothing at startup when there is no backlog")
+    void resumePendingDeliveries_noBacklog_doesNothing() {
+        // Arrange
+        when(webhookLogRepository.findByDirectionAndEventStatusOrderByIdAsc(any(), any(), any()))
+                .thenReturn(List.of());
+
+        // Act
+        webhookService.resumePendingDeliveries();
+
+        // Assert
+        verifyNoInteractions(webhookRepository, webhookDeliveryScheduler, webhookBatcher);
     }
 
     // ─── registerWebhook ─────────────────────────────────────────────────────
@@ -170,7 +335,7 @@ class WebhookServiceTest {
     @DisplayName("Should register webhook successfully when URL does not exist")
     void registerWebhook_success_returnsWebhook() {
         // Arrange
-        WebhookRequest request = new WebhookRequest("http://example.com/webhook");
+        WebhookRequest request = new WebhookRequest("http://example.com/webhook", null, null, null, null);
         when(webhookRepository.existsByUrl(request.url())).thenReturn(false);
         when(webhookRepository.save(any(Webhook.class))).thenReturn(webhook);
 
@@ -187,7 +352,7 @@ class WebhookServiceTest {
     @DisplayName("Should save webhook with active=true, correct URL and createdAt")
     void registerWebhook_savesCorrectFields() {
         // Arrange
-        WebhookRequest request = new WebhookRequest("http://example.com/webhook");
+        WebhookRequest request = new WebhookRequest("http://example.com/webhook", null, null, null, null);
         when(webhookRepository.existsByUrl(request.url())).thenReturn(false);
         when(webhookRepository.save(any())).thenReturn(webhook);
 
@@ -202,13 +367,94 @@ class WebhookServiceTest {
         assertThat(saved.getUrl()).isEqualTo("http://example.com/webhook");
         assertThat(saved.isActive()).isTrue();
         assertThat(saved.getCreatedAt()).isNotNull();
+        assertThat(saved.getEventTypes()).isEmpty();
+        assertThat(saved.isBatchDelivery()).isFalse();
+        assertThat(saved.getDeliveryWeight()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should save batch delivery and delivery weight when the subscriber sets them")
+    void registerWebhook_batchDelivery_saved() {
+        // Arrange
+        WebhookRequest request = new WebhookRequest("http://example.com/webhook", null, true, 5, null);
+        when(webhookRepository.existsByUrl(request.url())).thenReturn(false);
+        when(webhookRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        // Act
+        Webhook saved = webhookService.registerWebhook(request);
+
+        // Assert
+        assertThat(saved.isBatchDelivery()).isTrue();
+        assertThat(saved.getDeliveryWeight()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should save ordered delivery when the subscriber opts in")
+    void registerWebhook_orderedDelivery_saved() {
+        // Arrange
+        WebhookRequest request = new WebhookRequest("http://example.com/webhook", null, null, null, true);
+        when(webhookRepository.existsByUrl(request.url())).thenReturn(false);
+        when(webhookRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        // Act
+        Webhook saved = webhookService.registerWebhook(request);
+
+        // Assert
+        assertThat(saved.isOrderedDelivery()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject ordered delivery combined with batch delivery")
+    void registerWebhook_orderedBatch_throwsWebhookException() {
+        // Arrange
+        WebhookRequest request = new WebhookRequest("http://example.com/webhook", null, true, null, true);
+
+        // Act
+        WebhookException ex = catchThrowableOfType(() -> webhookService.registerWebhook(request), WebhookException.class);
+
+        // Assert
+        assertThat(ex.getErrorCode()).isEqualTo(ErrorCode.WEBHOOK_ORDERED_BATCH_UNSUPPORTED);
+        verify(webhookRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should save requested event types and rebuild the routing index")
+    void registerWebhook_eventTypes_savedAndIndexRebuilt() {
+        // Arrange
+        WebhookRequest request = new WebhookRequest("http://example.com/webhook",
+                Set.of(WebhookEventType.PAYMENT_SUCCEEDED), null, null, null);
+        when(webhookRepository.existsByUrl(request.url())).thenReturn(false);
+        when(webhookRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        // Act
+        Webhook saved = webhookService.registerWebhook(request);
+
+        // Assert
+        assertThat(saved.getEventTypes()).containsExactly(WebhookEventType.PAYMENT_SUCCEEDED);
+        verify(webhookRoutingIndex).rebuild();
+    }
+
+    @Test
+    @DisplayName("Should reject an event type that is never sent to webhooks")
+    void registerWebhook_paymentFailed_throwsWebhookException() {
+        // Arrange
+        WebhookRequest request = new WebhookRequest("http://example.com/webhook",
+                Set.of(WebhookEventType.PAYMENT_SUCCEEDED, WebhookEventType.PAYMENT_FAILED), null, null, null);
+
+        // Act
+        WebhookException ex = catchThrowableOfType(() -> webhookService.registerWebhook(request), WebhookException.class);
+
+        // Assert
+        assertThat(ex.getErrorCode()).isEqualTo(ErrorCode.WEBHOOK_EVENT_TYPE_UNSUPPORTED);
+        assertThat(ex.getErrorCode().getHttpStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(webhookRepository, never()).save(any());
     }
 
     @Test
     @DisplayName("Should throw WebhookException with WEBHOOK_ALREADY_EXISTS when URL is duplicate")
     void registerWebhook_duplicateUrl_throwsWebhookException() {
         // Arrange
-        WebhookRequest request = new WebhookRequest("http://example.com/webhook");
+        WebhookRequest request = new WebhookRequest("http://example.com/webhook", null, null, null, null);
         when(webhookRepository.existsByUrl(request.url())).thenReturn(true);
 
         // Act & Assert
@@ -225,7 +471,7 @@ class WebhookServiceTest {
     @DisplayName("Should throw WebhookException with WEBHOOK_REGISTER_FAILED when DB save fails")
     void registerWebhook_dbSaveFails_throwsWebhookException() {
         // Arrange
-        WebhookRequest request = new WebhookRequest("http://example.com/webhook");
+        WebhookRequest request = new WebhookRequest("http://example.com/webhook", null, null, null, null);
         when(webhookRepository.existsByUrl(request.url())).thenReturn(false);
         when(webhookRepository.save(any())).thenThrow(new DataAccessException("DB error") {});
 
@@ -236,13 +482,14 @@ class WebhookServiceTest {
         );
 
         assertThat(ex.getErrorCode()).isEqualTo(ErrorCode.WEBHOOK_REGISTER_FAILED);
+        verify(webhookRoutingIndex, never()).rebuild();
     }
 
     @Test
     @DisplayName("Should not call save when duplicate URL check throws")
     void registerWebhook_duplicateUrl_neverCallsSave() {
         // Arrange
-        WebhookRequest request = new WebhookRequest("http://example.com/webhook");
+        WebhookRequest request = new WebhookRequest("http://example.com/webhook", null, null, null, null);
         when(webhookRepository.existsByUrl(request.url())).thenReturn(true);
 
         // Act
@@ -254,4 +501,15 @@ class WebhookServiceTest {
         // Assert
         verify(webhookRepository, never()).save(any());
     }
-}
\ No newline at end of file
+
+    private WebhookLog pendingLog(Long id, Long webhookId) throws Exception {
+        return WebhookLog.builder()
+                .id(id)
+                .webhookId(webhookId)
+                .direction(WebhookDirection.OUTGOING)
+                .url(webhook.getUrl())
+                .payload(objectMapper.writeValueAsString(paymentResponse))
+                .eventStatus(WebhookEventStatus.PENDING)
+                .build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.ezyCollect.payments.payment_service.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonFieldsTest {
+
+    private final JsonFactory factory = new JsonFactory();
+
+    @Test
+    @DisplayName("Should read a top-level field after skipping nested values")
+    void topLevelText_skipsNestedValues() throws Exception {
+        String json = "{\"meta\":{\"transactionId\":\"nested\",\"list\":[1,{\"a\":2}]},\"transactionId\":\"42\"}";
+
+        assertThat(JsonFields.topLevelText(factory, bytes(json), "transactionId")).isEqualTo("42");
+    }
+
+    @Test
+    @DisplayName("Should stop at the field without reading the rest of the body")
+    void topLevelText_stopsAtField() throws Exception {
+        // the trailing garbage is never reached
+        String json = "{\"transactionId\":\"42\", this is not json";
+
+        assertThat(JsonFields.topLevelText(factory, bytes(json), "transactionId")).isEqualTo("42");
+    }
+
+    @Test
+    @DisplayName("Should return scalars as text and null for absent, null or structured values")
+    void topLevelText_valueKinds() throws Exception {
+        assertThat(JsonFields.topLevelText(factory, bytes("{\"transactionId\":42}"), "transactionId")).isEqualTo("42");
+        assertThat(JsonFields.topLevelText(factory, bytes("{\"transactionId\":null}"), "transactionId")).isNull();
+        assertThat(JsonFields.topLevelText(factory, bytes("{\"transactionId\":{}}"), "transactionId")).isNull();
+        assertThat(JsonFields.topLevelText(factory, bytes("{\"status\":\"SUCCESS\"}"), "transactionId")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should throw when the body is not a JSON object or is malformed")
+    void topLevelText_malformed_throws() {
+        assertThatThrownBy(() -> JsonFields.topLevelText(factory, bytes("[\"42\"]"), "transactionId"))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> JsonFields.topLevelText(factory, bytes("{\"status\":"), "transactionId"))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> JsonFields.topLevelText(factory, new byte[0], "transactionId"))
+                .isInstanceOf(IOException.class);
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
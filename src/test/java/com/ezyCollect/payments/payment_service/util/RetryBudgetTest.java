@@ -0,0 +1,94 @@
+package com.ezyCollect.payments.payment_service.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RetryBudgetTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    @DisplayName("Should allow retries only up to the ratio of original requests")
+    void tryWithdraw_limitedByRatio() {
+        // Arrange
+        RetryBudget budget = new RetryBudget(0.2, 0, 100, clock);
+        for (int i = 0; i < 10; i++) {
+            budget.deposit();
+        }
+
+        // Act & Assert — ten requests at 20% buy two retries
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should accrue the per-second allowance without traffic")
+    void tryWithdraw_minPerSecondRefills() {
+        // Arrange
+        RetryBudget budget = new RetryBudget(0.2, 1, 100, clock);
+        assertThat(budget.tryWithdraw()).isFalse();
+
+        // Act
+        clock.advance(Duration.ofSeconds(3));
+
+        // Assert
+        assertThat(budget.balance()).isEqualTo(3.0);
+        assertThat(budget.tryWithdraw()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should never bank more than the max balance")
+    void deposit_cappedAtMaxBalance() {
+        // Arrange
+        RetryBudget budget = new RetryBudget(0.5, 1, 5, clock);
+
+        // Act
+        clock.advance(Duration.ofHours(1));
+        for (int i = 0; i < 100; i++) {
+            budget.deposit();
+        }
+
+        // Assert
+        assertThat(budget.balance()).isEqualTo(5.0);
+    }
+
+    @Test
+    @DisplayName("Should reject a negative ratio")
+    void constructor_invalidArguments_throws() {
+        assertThatThrownBy(() -> new RetryBudget(-0.1, 0, 10, clock))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.ezyCollect.payments.payment_service.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RotatingBloomFilterTest {
+
+    private static final Duration WINDOW = Duration.ofHours(1);
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    @DisplayName("Should size bits and hash count from expected insertions and false positive rate")
+    void constructor_sizesFilter() {
+        RotatingBloomFilter filter = new RotatingBloomFilter(1_000_000, 0.01, WINDOW, clock);
+
+        // m = -n ln p / (ln 2)^2 ≈ 9.59M bits, k ≈ 7
+        assertThat(filter.numBits()).isBetween(9_585_000, 9_586_000);
+        assertThat(filter.numHashes()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Should never report a false negative for keys put in the current window")
+    void mightContain_putKeys_noFalseNegatives() {
+        RotatingBloomFilter filter = new RotatingBloomFilter(10_000, 0.01, WINDOW, clock);
+
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("evt_" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("evt_" + i)).as("evt_" + i).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the false positive rate near the configured rate at capacity")
+    void mightContain_unknownKeys_falsePositiveRateNearConfigured() {
+        RotatingBloomFilter filter = new RotatingBloomFilter(10_000, 0.01, WINDOW, clock);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("evt_" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other_" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+
+    @Test
+    @DisplayName("Should remember a key for one more window after rotation, then forget it")
+    void mightContain_afterRotations_forgetsOldKeys() {
+        RotatingBloomFilter filter = new RotatingBloomFilter(1_000, 0.01, WINDOW, clock);
+        filter.put("evt_1");
+
+        clock.advance(WINDOW);
+        assertThat(filter.mightContain("evt_1")).isTrue();
+
+        clock.advance(WINDOW);
+        assertThat(filter.mightContain("evt_1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject a false positive rate outside (0, 1)")
+    void constructor_invalidRate_throws() {
+        assertThatThrownBy(() -> new RotatingBloomFilter(1_000, 1.0, WINDOW, clock))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
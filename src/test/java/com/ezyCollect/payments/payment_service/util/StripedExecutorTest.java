@@ -0,0 +1,128 @@
+package com.ezyCollect.payments.payment_service.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StripedExecutorTest {
+
+    private StripedExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run tasks with the same key in submission order")
+    void execute_sameKey_runsInOrder() throws Exception {
+        // Arrange
+        executor = new StripedExecutor("test-lane", 4, 1000);
+        List<Integer> seen = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(500);
+
+        // Act
+        for (int i = 0; i < 500; i++) {
+            int sequence = i;
+            executor.execute("txn_1", () -> {
+                seen.add(sequence);
+                done.countDown();
+            });
+        }
+
+        // Assert
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 500; i++) {
+            assertThat(seen.get(i)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep processing other keys while one lane is blocked")
+    void execute_blockedLane_otherLanesProgress() throws Exception {
+        // Arrange — two lanes; find a key that lands on the other lane
+        executor = new StripedExecutor("test-lane", 2, 10);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute("txn_blocked", () -> await(release));
+        String otherKey = keyOnOtherLane("txn_blocked");
+        CountDownLatch ran = new CountDownLatch(1);
+
+        // Act
+        executor.execute(otherKey, ran::countDown);
+
+        // Assert
+        assertThat(ran.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Should reject instead of blocking when a lane queue is full")
+    void execute_fullLane_rejects() {
+        // Arrange — one task running and one queued fills a lane of capacity 1
+        executor = new StripedExecutor("test-lane", 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute("txn_1", () -> await(release));
+        executor.execute("txn_1", () -> { });
+
+        // Act & Assert
+        assertThatThrownBy(() -> executor.execute("txn_1", () -> { }))
+                .isInstanceOf(RejectedExecutionException.class)
+                .hasMessageContaining("test-lane-0 is full");
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Should keep a lane running after a task throws")
+    void execute_taskThrows_laneSurvives() throws Exception {
+        // Arrange
+        executor = new StripedExecutor("test-lane", 1, 10);
+        CountDownLatch ran = new CountDownLatch(1);
+
+        // Act
+        executor.execute("txn_1", () -> { throw new IllegalStateException("boom"); });
+        executor.execute("txn_1", ran::countDown);
+
+        // Assert
+        assertThat(ran.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive stripes or queue capacity")
+    void constructor_invalidArguments_throws() {
+        assertThatThrownBy(() -> new StripedExecutor("test-lane", 0, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new StripedExecutor("test-lane", 2, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        executor = new StripedExecutor("test-lane", 1, 1);
+    }
+
+    private String keyOnOtherLane(String key) {
+        // a lane holds one running task, so a key sharing the blocked lane would wait behind it
+        for (int i = 0; ; i++) {
+            String candidate = "txn_" + i;
+            int hash = candidate.hashCode();
+            int blockedHash = key.hashCode();
+            if (Math.floorMod(hash ^ (hash >>> 16), 2) != Math.floorMod(blockedHash ^ (blockedHash >>> 16), 2)) {
+                return candidate;
+            }
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
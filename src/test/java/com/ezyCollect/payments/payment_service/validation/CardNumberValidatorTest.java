@@ -0,0 +1,88 @@
+package com.ezyCollect.payments.payment_service.validation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CardNumberValidatorTest {
+
+    private final CardNumberValidator validator = new CardNumberValidator();
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "4242424242424242",     // Visa
+            "4222222222222",        // Visa, 13 digits
+            "5555555555554444",     // Mastercard
+            "2223003122003222",     // Mastercard 2-series
+            "378282246310005",      // American Express
+            "6011111111111117",     // Discover
+            "6200000000000005",     // UnionPay
+            "3530111333300000",     // JCB
+            "36227206271667",       // Diners Club
+            "30569309025904",       // Diners Club
+            "2200000000000004",     // Mir
+            "2204000000000000",     // Mir
+            "6759649826438453",     // Maestro
+            "5018000000000009",     // Maestro
+            "6304000000000000000",  // Maestro, 19 digits
+            "5018000000007"         // Maestro, 13 digits
+    })
+    @DisplayName("Should accept network test cards")
+    void isValid_knownTestCards_returnsTrue(String cardNumber) {
+        assertThat(validator.isValid(cardNumber, null)).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "4242424242424241",     // Luhn failure
+            "1234567890123452",     // passes Luhn, no network issues 1xxx
+            "3782822463100005",     // Amex prefix with 16 digits
+            "424242424242",         // too short
+            "42424242424242424242", // too long
+            "4242 4242 4242 4242",  // separators
+            "42424242424242a2",     // non-digit
+            "501800000009",         // Maestro, but 12 digits is below the 13-digit minimum
+            "9792000000000003",     // Troy: passes Luhn, network not accepted
+            "1000000000000008"      // UATP-style prefix 1: passes Luhn, network not accepted
+    })
+    @DisplayName("Should reject malformed, Luhn-invalid and unknown-BIN cards")
+    void isValid_badCards_returnsFalse(String cardNumber) {
+        assertThat(validator.isValid(cardNumber, null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should leave null and empty card numbers to @NotBlank")
+    void isValid_nullOrEmpty_returnsTrue() {
+        assertThat(validator.isValid(null, null)).isTrue();
+        assertThat(validator.isValid("", null)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should match range boundaries of multi-digit BIN ranges")
+    void binRangeTable_rangeBoundaries() {
+        // Arrange
+        BinRangeTable table = BinRangeTable.builder()
+                .range("2221", "2720", 16, 16)
+                .build();
+
+        // Act & Assert
+        assertThat(table.contains("2221000000000000")).isTrue();
+        assertThat(table.contains("2720999999999999")).isTrue();
+        assertThat(table.contains("2220999999999999")).isFalse();
+        assertThat(table.contains("2721000000000000")).isFalse();
+        assertThat(table.contains("222100000000000")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should refuse overlapping BIN ranges")
+    void binRangeTable_overlappingRanges_throws() {
+        assertThatThrownBy(() -> BinRangeTable.builder()
+                .range("62", "62", 16, 19)
+                .range("622126", "622925", 16, 16)
+                .build())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}